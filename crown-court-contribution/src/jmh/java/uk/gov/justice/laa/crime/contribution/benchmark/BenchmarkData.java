@@ -0,0 +1,171 @@
+package uk.gov.justice.laa.crime.contribution.benchmark;
+
+import uk.gov.justice.laa.crime.common.model.common.ApiCrownCourtOutcome;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiAssessment;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionRequest;
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.dto.AssessmentResults;
+import uk.gov.justice.laa.crime.contribution.model.Contribution;
+import uk.gov.justice.laa.crime.enums.AppealType;
+import uk.gov.justice.laa.crime.enums.AssessmentResult;
+import uk.gov.justice.laa.crime.enums.CaseType;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+import uk.gov.justice.laa.crime.enums.CurrentStatus;
+import uk.gov.justice.laa.crime.enums.MagCourtOutcome;
+import uk.gov.justice.laa.crime.enums.contribution.AssessmentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded input mixes shared by the benchmarks. Sizes are powers of two so that benchmarks can cycle through them
+ * with a mask, and the seed is fixed so that every run measures the same data.
+ */
+final class BenchmarkData {
+
+    static final int SIZE = 1024;
+    static final int MASK = SIZE - 1;
+
+    private static final long SEED = 20_240_601L;
+    private static final BigDecimal[] PERCENTAGES = {
+        BigDecimal.valueOf(90), BigDecimal.valueOf(30), BigDecimal.valueOf(15), BigDecimal.TEN
+    };
+    private static final String[] PASSPORT_RESULTS = {null, null, null, Constants.PASS, Constants.FAIL, Constants.TEMP};
+    private static final String[] INIT_RESULTS = {
+        null, Constants.PASS, Constants.FAIL, Constants.FULL, Constants.HARDSHIP_APPLICATION
+    };
+    private static final String[] FULL_RESULTS = {null, null, Constants.PASS, Constants.FAIL, Constants.INEL};
+    private static final String[] HARDSHIP_RESULTS = {null, null, null, Constants.PASS, Constants.FAIL};
+
+    private BenchmarkData() {}
+
+    static BigDecimal[] annualDisposableIncomes() {
+        Random random = new Random(SEED);
+        BigDecimal[] incomes = new BigDecimal[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            // mostly whole pounds between 0 and 60k, with a share of pence values and negative incomes
+            long pence = random.nextInt(4) == 0 ? random.nextLong(-500_000L, 6_000_000L) : random.nextInt(60_000) * 100L;
+            incomes[i] = BigDecimal.valueOf(pence, 2);
+        }
+        return incomes;
+    }
+
+    static BigDecimal[] percentages() {
+        Random random = new Random(SEED + 1);
+        BigDecimal[] percentages = new BigDecimal[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            percentages[i] = PERCENTAGES[random.nextInt(PERCENTAGES.length)];
+        }
+        return percentages;
+    }
+
+    static ApiCalculateContributionRequest[] calculateContributionRequests() {
+        BigDecimal[] incomes = annualDisposableIncomes();
+        Random random = new Random(SEED + 2);
+        ApiCalculateContributionRequest[] requests = new ApiCalculateContributionRequest[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            boolean uplifted = random.nextInt(10) == 0;
+            requests[i] = new ApiCalculateContributionRequest()
+                    .withAnnualDisposableIncome(incomes[i])
+                    .withDisposableIncomePercent(BigDecimal.valueOf(90))
+                    .withMinimumMonthlyAmount(BigDecimal.valueOf(20))
+                    .withContributionCap(random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(100, 2_000)) : null)
+                    .withUpfrontTotalMonths(random.nextBoolean() ? 6 : 0)
+                    .withUpliftApplied(uplifted)
+                    .withUpliftedIncomePercent(BigDecimal.valueOf(100))
+                    .withMinUpliftedMonthlyAmount(BigDecimal.valueOf(300));
+        }
+        return requests;
+    }
+
+    static AssessmentResults[] assessmentResults() {
+        Random random = new Random(SEED + 3);
+        AssessmentResults[] results = new AssessmentResults[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            String passportResult = pick(random, PASSPORT_RESULTS);
+            String initResult = pick(random, INIT_RESULTS);
+            if (passportResult != null && initResult == null) {
+                initResult = Constants.FAIL;
+            }
+            results[i] = new AssessmentResults(
+                    passportResult, initResult, pick(random, FULL_RESULTS), pick(random, HARDSHIP_RESULTS));
+        }
+        return results;
+    }
+
+    static ApiMaatCalculateContributionRequest[] maatCalculateContributionRequests() {
+        Random random = new Random(SEED + 4);
+        CaseType[] caseTypes = CaseType.values();
+        MagCourtOutcome[] magCourtOutcomes = MagCourtOutcome.values();
+        CrownCourtOutcome[] crownCourtOutcomes = CrownCourtOutcome.values();
+        LocalDateTime effectiveDate = LocalDateTime.of(2024, 4, 1, 0, 0);
+        ApiMaatCalculateContributionRequest[] requests = new ApiMaatCalculateContributionRequest[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            requests[i] = new ApiMaatCalculateContributionRequest()
+                    .withApplicantId(random.nextInt(1_000_000))
+                    .withRepId(random.nextInt(1_000_000))
+                    .withContributionId(random.nextInt(1_000_000))
+                    .withCaseType(pick(random, caseTypes))
+                    .withAppealType(random.nextBoolean() ? pick(random, AppealType.values()) : null)
+                    .withEffectiveDate(effectiveDate.plusDays(random.nextInt(365)))
+                    .withCommittalDate(random.nextBoolean() ? effectiveDate.minusDays(random.nextInt(60)) : null)
+                    .withMonthlyContributions(random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(500)) : null)
+                    .withContributionCap(BigDecimal.valueOf(random.nextInt(100, 5_000)))
+                    .withTotalAnnualDisposableIncome(BigDecimal.valueOf(random.nextInt(60_000)))
+                    .withMagCourtOutcome(random.nextBoolean() ? pick(random, magCourtOutcomes) : null)
+                    .withCrownCourtOutcome(
+                            random.nextBoolean()
+                                    ? List.of(new ApiCrownCourtOutcome().withOutcome(pick(random, crownCourtOutcomes)))
+                                    : List.of())
+                    .withAssessments(List.of(new ApiAssessment()
+                            .withAssessmentType(AssessmentType.INIT)
+                            .withStatus(CurrentStatus.COMPLETE)
+                            .withResult(random.nextBoolean() ? AssessmentResult.PASS : AssessmentResult.FAIL)
+                            .withAssessmentDate(effectiveDate)))
+                    .withUserCreated("BENCHMARK");
+        }
+        return requests;
+    }
+
+    static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * A rep order's contribution history as MAAT returns it, oldest first. Every contribution but the last has been
+     * replaced, so a search for the active one has to read to the end.
+     */
+    static List<Contribution> contributionHistory(int repId, int size) {
+        Random random = new Random(SEED + 3);
+        LocalDate start = LocalDate.of(2010, 1, 1);
+        List<Contribution> history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean active = i == size - 1;
+            LocalDate effectiveDate = start.plusDays(i);
+            history.add(Contribution.builder()
+                    .id(i + 1)
+                    .applicantId(repId + 1)
+                    .repId(repId)
+                    .effectiveDate(effectiveDate)
+                    .calcDate(effectiveDate)
+                    .contributionCap(BigDecimal.valueOf(random.nextInt(5_000_000), 2))
+                    .monthlyContributions(BigDecimal.valueOf(random.nextInt(50_000), 2))
+                    .upfrontContributions(BigDecimal.valueOf(random.nextInt(100_000), 2))
+                    .upliftApplied(Constants.N)
+                    .basedOn("Means")
+                    .dateCreated(effectiveDate.atStartOfDay())
+                    .userCreated("benchmark")
+                    .createContributionOrder(Constants.N)
+                    .active(active ? Constants.Y : Constants.N)
+                    .replacedDate(active ? null : effectiveDate.plusDays(1))
+                    .latest(active)
+                    .build());
+        }
+        return history;
+    }
+}
@@ -0,0 +1,64 @@
+package uk.gov.justice.laa.crime.contribution.benchmark;
+
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionResponse;
+import uk.gov.justice.laa.crime.contribution.service.CalculateContributionService;
+import uk.gov.justice.laa.crime.contribution.util.CalculateContributionUtil;
+
+import java.math.BigDecimal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class CalculateContributionBenchmark {
+
+    private static final BigDecimal MINIMUM_MONTHLY_AMOUNT = BigDecimal.valueOf(20);
+    private static final BigDecimal MIN_UPLIFTED_MONTHLY_AMOUNT = BigDecimal.valueOf(300);
+    private static final BigDecimal CONTRIBUTION_CAP = BigDecimal.valueOf(1_500);
+
+    private final CalculateContributionService calculateContributionService = new CalculateContributionService();
+
+    private BigDecimal[] incomes;
+    private BigDecimal[] percentages;
+    private ApiCalculateContributionRequest[] requests;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        incomes = BenchmarkData.annualDisposableIncomes();
+        percentages = BenchmarkData.percentages();
+        requests = BenchmarkData.calculateContributionRequests();
+    }
+
+    @Benchmark
+    public BigDecimal calculateMonthlyContribution() {
+        int i = next();
+        return CalculateContributionUtil.calculateMonthlyContribution(
+                incomes[i], percentages[i], MINIMUM_MONTHLY_AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal calculateUpliftedMonthlyAmount() {
+        int i = next();
+        return CalculateContributionUtil.calculateUpliftedMonthlyAmount(
+                incomes[i], percentages[i], MIN_UPLIFTED_MONTHLY_AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal calculateUpfrontContributions() {
+        int i = next();
+        return CalculateContributionUtil.calculateUpfrontContributions(incomes[i], CONTRIBUTION_CAP, 6);
+    }
+
+    @Benchmark
+    public ApiCalculateContributionResponse calculateContribution() {
+        return calculateContributionService.calculateContribution(requests[next()]);
+    }
+
+    private int next() {
+        return index++ & BenchmarkData.MASK;
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.laa.crime.contribution.benchmark;
+
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionRequest;
+import uk.gov.justice.laa.crime.contribution.builder.ContributionDTOBuilder;
+import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ContributionDTOBuilderBenchmark {
+
+    private ApiMaatCalculateContributionRequest[] requests;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        requests = BenchmarkData.maatCalculateContributionRequests();
+    }
+
+    @Benchmark
+    public CalculateContributionDTO build() {
+        return ContributionDTOBuilder.build(requests[index++ & BenchmarkData.MASK]);
+    }
+}
@@ -0,0 +1,133 @@
+package uk.gov.justice.laa.crime.contribution.benchmark;
+
+import reactor.core.publisher.Flux;
+import uk.gov.justice.laa.crime.contribution.config.WebClientsConfiguration;
+import uk.gov.justice.laa.crime.contribution.model.Contribution;
+import uk.gov.justice.laa.crime.contribution.service.CompareContributionService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Finds the active contribution in a large history, decoding the MAAT response either into a list first, as
+ * {@code find} does, or one contribution at a time, as {@code streamContributions} does. The response arrives in 8 KB
+ * chunks, as it would from the connection.
+ *
+ * <p>Besides throughput and allocation, each iteration reports {@code liveHeapBytes}: the heap still reachable, after
+ * a full GC, while the lookup is looking through the contributions. For the buffered decode that is the whole list, and
+ * its true peak is higher still, since the raw response is held while it decodes.
+ */
+@State(Scope.Thread)
+public class ContributionHistoryDecodeBenchmark {
+
+    private static final int REP_ID = 5_678;
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final ResolvableType CONTRIBUTION_LIST =
+            ResolvableType.forClassWithGenerics(List.class, Contribution.class);
+    private static final ResolvableType CONTRIBUTION = ResolvableType.forClass(Contribution.class);
+    private static final Predicate<Contribution> IS_ACTIVE = CompareContributionService.isActiveContribution(REP_ID);
+
+    @Param({"1000", "10000"})
+    public int historySize;
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private Jackson2JsonDecoder decoder;
+    private byte[][] chunks;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapSample {
+
+        public long liveHeapBytes;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        decoder = new Jackson2JsonDecoder(objectMapper);
+        decoder.setMaxInMemorySize(WebClientsConfiguration.MAX_IN_MEMORY_SIZE);
+        byte[] body = objectMapper.writeValueAsBytes(BenchmarkData.contributionHistory(REP_ID, historySize));
+        chunks = new byte[(body.length + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = Arrays.copyOfRange(body, i * CHUNK_SIZE, Math.min(body.length, (i + 1) * CHUNK_SIZE));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void sampleLiveHeap(HeapSample sample, BenchmarkParams params) {
+        long baseline = liveHeap();
+        long[] halfway = new long[1];
+        if (params.getBenchmark().endsWith("Streamed")) {
+            findActiveStreamed(contribution -> {
+                if (contribution.getId() == historySize / 2) {
+                    halfway[0] = liveHeap();
+                }
+            });
+        } else {
+            findActiveBuffered(contributions -> halfway[0] = liveHeap());
+        }
+        sample.liveHeapBytes = halfway[0] - baseline;
+    }
+
+    @Benchmark
+    public Contribution findActiveContributionBuffered() {
+        return findActiveBuffered(contributions -> {});
+    }
+
+    @Benchmark
+    public Contribution findActiveContributionStreamed() {
+        return findActiveStreamed(contribution -> {});
+    }
+
+    private Contribution findActiveBuffered(Consumer<List<Contribution>> onDecoded) {
+        return decoder.decodeToMono(body(), CONTRIBUTION_LIST, null, Map.of())
+                .map(list -> {
+                    @SuppressWarnings("unchecked")
+                    List<Contribution> contributions = (List<Contribution>) list;
+                    onDecoded.accept(contributions);
+                    return contributions.stream().filter(IS_ACTIVE).findFirst().orElseThrow();
+                })
+                .block();
+    }
+
+    private Contribution findActiveStreamed(Consumer<Contribution> onDecoded) {
+        return decoder.decode(body(), CONTRIBUTION, null, Map.of())
+                .cast(Contribution.class)
+                .doOnNext(onDecoded)
+                .filter(IS_ACTIVE)
+                .next()
+                .block();
+    }
+
+    private Flux<DataBuffer> body() {
+        return Flux.fromArray(chunks).map(bufferFactory::wrap);
+    }
+
+    private static long liveHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
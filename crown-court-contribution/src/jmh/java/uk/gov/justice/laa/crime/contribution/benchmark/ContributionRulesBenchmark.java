@@ -0,0 +1,87 @@
+package uk.gov.justice.laa.crime.contribution.benchmark;
+
+import uk.gov.justice.laa.crime.contribution.dto.AssessmentResults;
+import uk.gov.justice.laa.crime.contribution.service.AppealContributionRules;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRulesService;
+import uk.gov.justice.laa.crime.contribution.service.ContributionService;
+import uk.gov.justice.laa.crime.contribution.staticdata.enums.MeansAssessmentResult;
+import uk.gov.justice.laa.crime.enums.AppealType;
+import uk.gov.justice.laa.crime.enums.AssessmentResult;
+import uk.gov.justice.laa.crime.enums.CaseType;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+import uk.gov.justice.laa.crime.enums.MagCourtOutcome;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class ContributionRulesBenchmark {
+
+    // getMeansAssessmentResult does not touch the service's collaborators
+    private final ContributionService contributionService = new ContributionService(null, null, null);
+    private final ContributionRulesService contributionRulesService = new ContributionRulesService();
+    // the rules start out with the calculated amounts, so the lookup runs without loading them from the repository
+    private final AppealContributionRules appealContributionRules = new AppealContributionRules(null);
+
+    private AppealType[] appealTypes;
+    private CrownCourtOutcome[] appealOutcomes;
+    private AssessmentResult[] assessmentResults;
+    private AssessmentResults[] meansResults;
+    private CaseType[] caseTypes;
+    private MagCourtOutcome[] magCourtOutcomes;
+    private CrownCourtOutcome[] crownCourtOutcomes;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7L);
+        CrownCourtOutcome[] appealOutcomeMix = {
+            CrownCourtOutcome.SUCCESSFUL, CrownCourtOutcome.UNSUCCESSFUL, CrownCourtOutcome.PART_SUCCESS, null
+        };
+        AssessmentResult[] assessmentResultMix = {AssessmentResult.PASS, AssessmentResult.FAIL, null};
+        appealTypes = new AppealType[BenchmarkData.SIZE];
+        appealOutcomes = new CrownCourtOutcome[BenchmarkData.SIZE];
+        assessmentResults = new AssessmentResult[BenchmarkData.SIZE];
+        caseTypes = new CaseType[BenchmarkData.SIZE];
+        magCourtOutcomes = new MagCourtOutcome[BenchmarkData.SIZE];
+        crownCourtOutcomes = new CrownCourtOutcome[BenchmarkData.SIZE];
+        for (int i = 0; i < BenchmarkData.SIZE; i++) {
+            appealTypes[i] = BenchmarkData.pick(random, AppealType.values());
+            appealOutcomes[i] = BenchmarkData.pick(random, appealOutcomeMix);
+            assessmentResults[i] = BenchmarkData.pick(random, assessmentResultMix);
+            // most cases are either way, and most rule checks happen before a crown court outcome exists
+            caseTypes[i] = random.nextInt(3) == 0 ? BenchmarkData.pick(random, CaseType.values()) : CaseType.EITHER_WAY;
+            magCourtOutcomes[i] = random.nextInt(4) == 0 ? null : BenchmarkData.pick(random, MagCourtOutcome.values());
+            crownCourtOutcomes[i] =
+                    random.nextInt(4) == 0 ? BenchmarkData.pick(random, CrownCourtOutcome.values()) : null;
+        }
+        meansResults = BenchmarkData.assessmentResults();
+    }
+
+    @Benchmark
+    public BigDecimal getAppealContributionAmount() {
+        int i = next();
+        return appealContributionRules.getContributionAmount(appealTypes[i], appealOutcomes[i], assessmentResults[i]);
+    }
+
+    @Benchmark
+    public MeansAssessmentResult getMeansAssessmentResult() {
+        return contributionService.getMeansAssessmentResult(meansResults[next()]);
+    }
+
+    @Benchmark
+    public boolean isContributionRuleApplicable() {
+        int i = next();
+        return contributionRulesService.isContributionRuleApplicable(
+                caseTypes[i], magCourtOutcomes[i], crownCourtOutcomes[i]);
+    }
+
+    private int next() {
+        return index++ & BenchmarkData.MASK;
+    }
+}
@@ -2,10 +2,12 @@ package uk.gov.justice.laa.crime.contribution;
 
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Hooks;
+import uk.gov.justice.laa.crime.contribution.service.RecalculationJobRunner;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @Slf4j
 @SpringBootApplication
@@ -15,6 +17,10 @@ public class CrownCourtContributionApplication {
     public static void main(String[] args) {
         log.info("********** CrownCourtContributionApplication start **************");
         Hooks.enableAutomaticContextPropagation();
-        SpringApplication.run(CrownCourtContributionApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(CrownCourtContributionApplication.class, args);
+        if (context.getBeanNamesForType(RecalculationJobRunner.class).length > 0) {
+            // the job has finished once run returns
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
@@ -0,0 +1,20 @@
+package uk.gov.justice.laa.crime.contribution.client;
+
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.ApiCalculateHardshipByDetailRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.ApiCalculateHardshipByDetailResponse;
+
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+
+/**
+ * Non-blocking twin of {@link HardshipApiClient}.
+ */
+@HttpExchange()
+public interface ReactiveHardshipApiClient {
+
+    @PostExchange("/calculate-hardship-for-detail")
+    Mono<ApiCalculateHardshipByDetailResponse> calculateHardshipForDetail(
+            @RequestBody ApiCalculateHardshipByDetailRequest request);
+}
@@ -0,0 +1,57 @@
+package uk.gov.justice.laa.crime.contribution.client;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.CreateContributionRequest;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionsSummaryDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
+import uk.gov.justice.laa.crime.contribution.model.Contribution;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+
+/**
+ * Non-blocking twin of {@link MaatCourtDataApiClient}. A 404 from MAAT completes empty rather than with a value.
+ *
+ * <p>The {@code stream} lookups decode the JSON array MAAT returns one element at a time, so a caller that reduces or
+ * stops early never holds the whole list, and the response is not limited by the in-memory buffer size.
+ */
+@HttpExchange()
+public interface ReactiveMaatCourtDataApiClient {
+
+    @GetExchange("/contribution-calc-params/{effectiveDate}")
+    Mono<ContributionCalcParametersDTO> getContributionCalcParameters(@PathVariable String effectiveDate);
+
+    @GetExchange("/contributions/{repId}/summary")
+    Mono<List<ContributionsSummaryDTO>> getContributionsSummary(@PathVariable Integer repId);
+
+    @GetExchange("/rep-orders/{repId}")
+    Mono<RepOrderDTO> getRepOrderByRepId(@PathVariable Integer repId);
+
+    @GetExchange("/rep-orders/cc-outcome/reporder/{repId}")
+    Mono<List<RepOrderCCOutcomeDTO>> getRepOrderCCOutcomeByRepId(@PathVariable Integer repId);
+
+    @PostExchange("/contributions")
+    Mono<Contribution> create(@RequestBody CreateContributionRequest request);
+
+    @GetExchange("/contributions/{repId}")
+    Mono<List<Contribution>> find(@PathVariable Integer repId, @RequestParam Boolean findLatestContribution);
+
+    @GetExchange("/contributions/{repId}")
+    Flux<Contribution> streamContributions(
+            @PathVariable Integer repId, @RequestParam Boolean findLatestContribution);
+
+    @GetExchange("/contributions/{repId}/summary")
+    Flux<ContributionsSummaryDTO> streamContributionsSummary(@PathVariable Integer repId);
+
+    @GetExchange("/rep-orders/cc-outcome/reporder/{repId}")
+    Flux<RepOrderCCOutcomeDTO> streamRepOrderCCOutcomes(@PathVariable Integer repId);
+}
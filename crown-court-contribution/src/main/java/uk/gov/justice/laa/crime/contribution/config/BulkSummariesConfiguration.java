@@ -0,0 +1,26 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.bulk-summaries")
+public class BulkSummariesConfiguration {
+
+    /**
+     * Most distinct rep orders one bulk request may ask for. Larger requests are rejected rather than queued.
+     */
+    @Min(1)
+    private int maxRepIds = 200;
+
+    /**
+     * Most MAAT summary lookups one bulk request runs at once, so a single dashboard cannot take over the MAAT
+     * connection pool.
+     */
+    @Min(1)
+    private int concurrency = 8;
+}
@@ -0,0 +1,33 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.calc-parameters-cache")
+public class CalcParametersCacheConfiguration {
+
+    /**
+     * How long a cached parameter set is served before it must be reloaded from MAAT.
+     */
+    @NotNull
+    private Duration timeToLive = Duration.ofHours(12);
+
+    /**
+     * Age after which the next request reloads the parameter set while it is still fresh.
+     */
+    @NotNull
+    private Duration refreshAhead = Duration.ofHours(10);
+
+    /**
+     * How long an expired parameter set may still be served while MAAT is failing.
+     */
+    @NotNull
+    private Duration maxStale = Duration.ofDays(7);
+}
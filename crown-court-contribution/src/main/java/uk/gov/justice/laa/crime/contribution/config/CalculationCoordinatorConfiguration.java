@@ -0,0 +1,20 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.calculation-coordinator")
+public class CalculationCoordinatorConfiguration {
+
+    /**
+     * Number of locks that calculations are spread over by rep ID. Calculations for rep IDs that share a lock run one
+     * at a time, so this bounds how many calculations with different rep IDs can run together.
+     */
+    @Min(1)
+    private int stripes = 256;
+}
@@ -0,0 +1,83 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfiguration {
+
+    public static final String CALCULATION_EXECUTOR = "calculationExecutor";
+    public static final String DOWNSTREAM_EXECUTOR = "downstreamExecutor";
+    public static final String REFRESH_EXECUTOR = "refreshExecutor";
+
+    private static final int DOWNSTREAM_POOL_SIZE = 32;
+    private static final int DOWNSTREAM_QUEUE_CAPACITY = 256;
+    private static final int DOWNSTREAM_VIRTUAL_CONCURRENCY_LIMIT = 512;
+
+    /**
+     * CPU-bound pool for pure contribution calculations, sized to the available cores.
+     */
+    @Bean(name = CALCULATION_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService calculationExecutor() {
+        return Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("calculation-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Single background thread that reloads cached reference data before it expires, so no request waits for the
+     * reload. Tasks do not carry the caller's request, which has usually finished by the time they run.
+     */
+    @Bean(name = REFRESH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService refreshExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("refresh-", 0).daemon(true).factory());
+    }
+
+    /**
+     * I/O-bound pool for concurrent MAAT and Hardship API calls. Tasks carry the caller's request, security and
+     * tracing context, and run on the caller's thread once the pool and queue are full.
+     */
+    @Bean(name = DOWNSTREAM_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor downstreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("downstream-");
+        executor.setCorePoolSize(DOWNSTREAM_POOL_SIZE);
+        executor.setMaxPoolSize(DOWNSTREAM_POOL_SIZE);
+        executor.setQueueCapacity(DOWNSTREAM_QUEUE_CAPACITY);
+        executor.setDaemon(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(new CompositeTaskDecorator(
+                List.of(new ContextPropagatingTaskDecorator(), new RequestContextTaskDecorator())));
+        return executor;
+    }
+
+    /**
+     * Virtual thread variant of the downstream pool, one thread per call. The concurrency limit makes callers wait
+     * rather than letting a slow MAAT accumulate an unbounded number of parked calls.
+     */
+    @Bean(name = DOWNSTREAM_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualDownstreamExecutor(
+            @Qualifier(VirtualThreadConfiguration.DOWNSTREAM_CALLS_IN_FLIGHT)
+                    VirtualThreadConfiguration.InFlightTracker downstreamCallsInFlight) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("downstream-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(DOWNSTREAM_VIRTUAL_CONCURRENCY_LIMIT);
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.of(
+                new ContextPropagatingTaskDecorator(), new RequestContextTaskDecorator(), downstreamCallsInFlight)));
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.hedging")
+public class HedgingConfiguration {
+
+    /**
+     * Whether GET calls to MAAT are hedged.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long to wait for MAAT before sending the hedge. Set it near the observed p95 of MAAT GETs, so only the
+     * slowest calls are hedged.
+     */
+    @NotNull
+    private Duration delay = Duration.ofMillis(500);
+
+    /**
+     * Hedge tokens earned by each GET. Each hedge spends one token, so 0.05 holds hedges to a twentieth of calls.
+     */
+    @DecimalMin("0.0")
+    private double hedgeRatio = 0.05;
+
+    /**
+     * Most tokens that can be banked, which bounds the burst of hedges after a quiet period.
+     */
+    @Min(1)
+    private int maxTokens = 10;
+}
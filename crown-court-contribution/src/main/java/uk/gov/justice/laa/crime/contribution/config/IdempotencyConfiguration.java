@@ -0,0 +1,52 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.idempotency")
+public class IdempotencyConfiguration {
+
+    public enum Store {
+        MEMORY,
+        DATABASE
+    }
+
+    /**
+     * Where completed responses are kept: in this instance's memory, or in the service's own schema so every instance
+     * can replay them.
+     */
+    @NotNull
+    private Store store = Store.MEMORY;
+
+    /**
+     * How long a completed response is replayed for a request carrying the same Idempotency-Key.
+     */
+    @NotNull
+    private Duration replayWindow = Duration.ofHours(24);
+
+    /**
+     * How long a request holds its key while it runs. A claim left behind by an instance that stopped mid-request
+     * lapses after this, so it should comfortably exceed the longest calculation.
+     */
+    @NotNull
+    private Duration claimTimeout = Duration.ofMinutes(2);
+
+    /**
+     * How often a repeat of a request running on another instance checks the store for its response.
+     */
+    @NotNull
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Minimum time between sweeps that remove responses older than the replay window.
+     */
+    @NotNull
+    private Duration purgeInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,40 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.oauth-token")
+public class OAuthTokenConfiguration {
+
+    /**
+     * How long before expiry the access token for a downstream service is replaced. Tokens that live for less than
+     * twice this are replaced halfway through their lifetime instead.
+     */
+    @NotNull
+    private Duration refreshAhead = Duration.ofMinutes(5);
+
+    /**
+     * Wait before retrying a failed refresh, doubled after each further failure.
+     */
+    @NotNull
+    private Duration retryBackoff = Duration.ofSeconds(5);
+
+    /**
+     * Longest wait between retries of a failed refresh.
+     */
+    @NotNull
+    private Duration maxRetryBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Connect and read timeout for calls to the token endpoint.
+     */
+    @NotNull
+    private Duration requestTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,49 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.recalculation")
+public class RecalculationConfiguration {
+
+    /** Set to run the application as a recalculation job rather than serve requests. */
+    public static final String ENABLED_PROPERTY = "contribution.recalculation.enabled";
+
+    /**
+     * Runs a bulk recalculation at startup and exits when it has finished, instead of serving requests.
+     */
+    private boolean enabled;
+
+    /**
+     * Case inputs to recalculate, as CSV with a header row when the file name ends in {@code .csv}, otherwise NDJSON.
+     */
+    private String cases;
+
+    /**
+     * JSON array of the contribution calculation parameters to apply, each valid from its {@code fromDate} until its
+     * {@code toDate}.
+     */
+    private String parameters;
+
+    /**
+     * NDJSON file the results are written to, one line per case in input order.
+     */
+    private String output;
+
+    /**
+     * Number of cases recalculated in parallel.
+     */
+    @Min(1)
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of cases between progress log lines.
+     */
+    @Min(1)
+    private int progressInterval = 10_000;
+}
@@ -0,0 +1,31 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Starts the application as a recalculation job when {@link RecalculationConfiguration#ENABLED_PROPERTY} is set:
+ * without a web server, and with beans created only when the job needs them. The beans left out of job mode, such as
+ * the downstream clients, can then be excluded without failing the services that use them.
+ */
+public class RecalculationJobEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY_SOURCE_NAME = "recalculationJob";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.getProperty(RecalculationConfiguration.ENABLED_PROPERTY, Boolean.class, false)) {
+            environment
+                    .getPropertySources()
+                    .addFirst(new MapPropertySource(
+                            PROPERTY_SOURCE_NAME,
+                            Map.of(
+                                    "spring.main.web-application-type", "none",
+                                    "spring.main.lazy-initialization", "true")));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.retry-budget")
+public class RetryBudgetConfiguration {
+
+    /**
+     * Retry tokens earned by each successful downstream call. Each retry spends one token, so 0.2 holds retries to a
+     * fifth of recent successes.
+     */
+    @DecimalMin("0.0")
+    private double retryRatio = 0.2;
+
+    /**
+     * Most tokens a client can bank, which bounds the burst of retries allowed after a quiet period.
+     */
+    @Min(1)
+    private int maxTokens = 20;
+}
@@ -0,0 +1,32 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.rule-reload")
+public class RuleReloadConfiguration {
+
+    /**
+     * Listens for rule change notifications from PostgreSQL and reloads the in-memory rules when they arrive.
+     */
+    private boolean enabled;
+
+    /**
+     * How often the rule tables are checksummed, to catch a change whose notification was missed.
+     */
+    @NotNull
+    private Duration checksumInterval = Duration.ofMinutes(5);
+
+    /**
+     * How long to wait before reconnecting after the listening connection is lost.
+     */
+    @NotNull
+    private Duration reconnectDelay = Duration.ofSeconds(10);
+}
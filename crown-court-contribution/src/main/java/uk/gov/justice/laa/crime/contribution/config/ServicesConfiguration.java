@@ -1,10 +1,18 @@
 package uk.gov.justice.laa.crime.contribution.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -29,6 +37,16 @@ public class ServicesConfiguration {
 
         @NotNull
         private String registrationId;
+
+        @Valid
+        @NotNull
+        private ConnectionPool connectionPool = new ConnectionPool();
+
+        /**
+         * Protocols offered to the service, e.g. {@code H2, HTTP11} to negotiate HTTP/2 over TLS.
+         */
+        @NotEmpty
+        private List<HttpProtocol> protocols = new ArrayList<>(List.of(HttpProtocol.HTTP11));
     }
 
     @Data
@@ -40,5 +58,47 @@ public class ServicesConfiguration {
 
         @NotNull
         private String registrationId;
+
+        @Valid
+        @NotNull
+        private ConnectionPool connectionPool = new ConnectionPool();
+
+        /**
+         * Protocols offered to the service, e.g. {@code H2C, HTTP11} to upgrade to cleartext HTTP/2 in cluster.
+         */
+        @NotEmpty
+        private List<HttpProtocol> protocols = new ArrayList<>(List.of(HttpProtocol.HTTP11));
+    }
+
+    /**
+     * The connection pool kept for one downstream service.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class ConnectionPool {
+
+        @Min(1)
+        private int maxConnections = 100;
+
+        /**
+         * How long an unused connection is kept open. Keep this below the idle timeout of any load balancer in between.
+         */
+        @NotNull
+        private Duration maxIdleTime = Duration.ofSeconds(45);
+
+        /**
+         * How long a connection is used before it is retired, so DNS and load balancer changes are picked up.
+         */
+        @NotNull
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+
+        @NotNull
+        private Duration evictInBackground = Duration.ofSeconds(30);
+
+        /**
+         * How long a call waits for a connection when the pool is fully in use.
+         */
+        @NotNull
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
     }
 }
@@ -0,0 +1,32 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "contribution.simulation")
+public class SimulationConfiguration {
+
+    /**
+     * Directory holding the case corpora simulations run against, each a {@code <name>.csv} or {@code <name>.ndjson}
+     * file in the bulk recalculation case format. Simulations are unavailable when it is not set.
+     */
+    private String corpusDirectory;
+
+    /**
+     * Number of simulation results kept, least recently used first out. A result is reused while its corpus file is
+     * unchanged.
+     */
+    @Min(1)
+    private int cacheSize = 50;
+
+    /**
+     * Number of cases in each chunk a simulation hands to the calculation executor.
+     */
+    @Min(1)
+    private int chunkSize = 1_000;
+}
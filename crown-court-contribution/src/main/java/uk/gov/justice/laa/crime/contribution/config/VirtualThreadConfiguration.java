@@ -0,0 +1,114 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled} is set. Spring Boot then serves Tomcat requests on virtual
+ * threads, so the blocking MAAT and Hardship client calls and the JPA work below them park a virtual thread instead
+ * of holding a platform thread for the whole response timeout. This adds the JFR backed pinning metrics from
+ * micrometer-java21 ({@code jvm.threads.virtual.pinned}) and gauges of the work running on virtual threads.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    public static final String IN_FLIGHT_METRIC = "contribution.virtual.threads.in.flight";
+    public static final String REQUESTS_IN_FLIGHT = "requestsInFlight";
+    public static final String DOWNSTREAM_CALLS_IN_FLIGHT = "downstreamCallsInFlight";
+
+    @Bean(destroyMethod = "close")
+    public VirtualThreadMetrics virtualThreadMetrics() {
+        log.info("Virtual threads enabled, recording pinned virtual thread events");
+        return new VirtualThreadMetrics();
+    }
+
+    @Bean(REQUESTS_IN_FLIGHT)
+    public InFlightTracker requestsInFlight(MeterRegistry meterRegistry) {
+        return new InFlightTracker(meterRegistry, "request");
+    }
+
+    @Bean(DOWNSTREAM_CALLS_IN_FLIGHT)
+    public InFlightTracker downstreamCallsInFlight(MeterRegistry meterRegistry) {
+        return new InFlightTracker(meterRegistry, "downstream");
+    }
+
+    @Bean
+    public OncePerRequestFilter virtualThreadRequestsInFlightFilter(
+            @Qualifier(REQUESTS_IN_FLIGHT) InFlightTracker tracker) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(
+                    @NonNull HttpServletRequest request,
+                    @NonNull HttpServletResponse response,
+                    @NonNull FilterChain filterChain)
+                    throws ServletException, IOException {
+                tracker.started();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    tracker.finished();
+                }
+            }
+        };
+    }
+
+    /**
+     * Counts units of work currently running on virtual threads, tagged by where they were started.
+     */
+    public static class InFlightTracker implements TaskDecorator {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        public InFlightTracker(MeterRegistry meterRegistry, String source) {
+            Gauge.builder(IN_FLIGHT_METRIC, inFlight, AtomicInteger::get)
+                    .description("Work currently running on virtual threads")
+                    .tag("source", source)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        @NonNull
+        public Runnable decorate(@NonNull Runnable runnable) {
+            return () -> {
+                started();
+                try {
+                    runnable.run();
+                } finally {
+                    finished();
+                }
+            };
+        }
+
+        public int get() {
+            return inFlight.get();
+        }
+
+        void started() {
+            inFlight.incrementAndGet();
+        }
+
+        void finished() {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -1,29 +1,48 @@
 package uk.gov.justice.laa.crime.contribution.config;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.RetryRegistry;
-import io.netty.resolver.DefaultAddressResolverGroup;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 import uk.gov.justice.laa.crime.contribution.client.HardshipApiClient;
 import uk.gov.justice.laa.crime.contribution.client.MaatCourtDataApiClient;
+import uk.gov.justice.laa.crime.contribution.client.ReactiveHardshipApiClient;
+import uk.gov.justice.laa.crime.contribution.client.ReactiveMaatCourtDataApiClient;
+import uk.gov.justice.laa.crime.contribution.filter.ClientCredentialsTokenFilter;
+import uk.gov.justice.laa.crime.contribution.filter.ClientCredentialsTokenManager;
+import uk.gov.justice.laa.crime.contribution.filter.HedgingFilter;
+import uk.gov.justice.laa.crime.contribution.filter.Resilience4jBulkheadFilter;
+import uk.gov.justice.laa.crime.contribution.filter.Resilience4jCircuitBreakerFilter;
 import uk.gov.justice.laa.crime.contribution.filter.Resilience4jRetryFilter;
+import uk.gov.justice.laa.crime.contribution.filter.RetryBudget;
 import uk.gov.justice.laa.crime.contribution.filter.WebClientFilters;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
 import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.security.oauth2.client.endpoint.RestClientClientCredentialsTokenResponseClient;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
-import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
-import org.springframework.security.oauth2.client.web.reactive.function.client.ServletOAuth2AuthorizedClientExchangeFilterFunction;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
@@ -32,51 +51,101 @@ import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 @Slf4j
 @Configuration
 @AllArgsConstructor
+// a recalculation job never calls MAAT or Hardship, so it does not start their clients or token refreshes
+@ConditionalOnBooleanProperty(
+        name = RecalculationConfiguration.ENABLED_PROPERTY,
+        havingValue = false,
+        matchIfMissing = true)
 public class WebClientsConfiguration {
     public static final int MAX_IN_MEMORY_SIZE = 10485760;
     public static final String HARDSHIP_SERVICE_WEB_CLIENT_NAME = "hardshipWebClient";
     public static final String COURT_DATA_API_WEB_CLIENT_NAME = "maatCourtDataWebClient";
+    // cap cached DNS answers so a moved ingress or service is picked up within a minute
+    private static final Duration DNS_CACHE_MAX_TIME_TO_LIVE = Duration.ofSeconds(60);
+    private static final Duration DNS_CACHE_NEGATIVE_TIME_TO_LIVE = Duration.ofSeconds(5);
 
     @Bean
     WebClientCustomizer webClientCustomizer() {
-        ConnectionProvider provider = ConnectionProvider.builder("custom")
-                .maxConnections(500)
-                .maxIdleTime(Duration.ofSeconds(20))
-                .maxLifeTime(Duration.ofSeconds(60))
-                .evictInBackground(Duration.ofSeconds(120))
-                .pendingAcquireTimeout(Duration.ofSeconds(60))
-                .build();
-
         return builder -> {
-            builder.clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)
-                    .resolver(DefaultAddressResolverGroup.INSTANCE)
-                    .compress(true)
-                    .responseTimeout(Duration.ofSeconds(30))));
             builder.defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
             builder.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
             builder.codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE));
         };
     }
 
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider maatCourtDataConnectionProvider(ServicesConfiguration servicesConfiguration) {
+        return connectionProvider(
+                COURT_DATA_API_WEB_CLIENT_NAME, servicesConfiguration.getMaatApi().getConnectionPool());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider hardshipConnectionProvider(ServicesConfiguration servicesConfiguration) {
+        return connectionProvider(
+                HARDSHIP_SERVICE_WEB_CLIENT_NAME, servicesConfiguration.getHardshipApi().getConnectionPool());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    ClientCredentialsTokenManager maatApiTokenManager(
+            ServicesConfiguration servicesConfiguration,
+            ClientRegistrationRepository clientRegistrations,
+            OAuthTokenConfiguration oAuthTokenConfiguration,
+            MeterRegistry meterRegistry) {
+        return tokenManager(
+                clientRegistrations.findByRegistrationId(servicesConfiguration.getMaatApi().getRegistrationId()),
+                oAuthTokenConfiguration,
+                meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    ClientCredentialsTokenManager hardshipApiTokenManager(
+            ServicesConfiguration servicesConfiguration,
+            ClientRegistrationRepository clientRegistrations,
+            OAuthTokenConfiguration oAuthTokenConfiguration,
+            MeterRegistry meterRegistry) {
+        return tokenManager(
+                clientRegistrations.findByRegistrationId(servicesConfiguration.getHardshipApi().getRegistrationId()),
+                oAuthTokenConfiguration,
+                meterRegistry);
+    }
+
     @Bean(COURT_DATA_API_WEB_CLIENT_NAME)
     WebClient maatCourtDataWebClient(
             WebClient.Builder webClientBuilder,
             ServicesConfiguration servicesConfiguration,
-            ClientRegistrationRepository clientRegistrations,
-            OAuth2AuthorizedClientRepository authorizedClients,
-            RetryRegistry retryRegistry) {
+            @Qualifier("maatCourtDataConnectionProvider") ConnectionProvider connectionProvider,
+            @Qualifier("maatApiTokenManager") ClientCredentialsTokenManager tokenManager,
+            RetryRegistry retryRegistry,
+            RetryBudgetConfiguration retryBudgetConfiguration,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            HedgingConfiguration hedgingConfiguration,
+            MeterRegistry meterRegistry) {
 
-        ServletOAuth2AuthorizedClientExchangeFilterFunction oauthFilter =
-                new ServletOAuth2AuthorizedClientExchangeFilterFunction(clientRegistrations, authorizedClients);
-        oauthFilter.setDefaultClientRegistrationId(
-                servicesConfiguration.getMaatApi().getRegistrationId());
+        ClientCredentialsTokenFilter oauthFilter = new ClientCredentialsTokenFilter(tokenManager);
 
+        RetryBudget retryBudget = retryBudget(retryBudgetConfiguration, meterRegistry, COURT_DATA_API_WEB_CLIENT_NAME);
         Resilience4jRetryFilter retryFilter =
-                new Resilience4jRetryFilter(retryRegistry, COURT_DATA_API_WEB_CLIENT_NAME);
+                new Resilience4jRetryFilter(retryRegistry, retryBudget, COURT_DATA_API_WEB_CLIENT_NAME);
+        Resilience4jCircuitBreakerFilter circuitBreakerFilter = new Resilience4jCircuitBreakerFilter(
+                circuitBreakerRegistry, meterRegistry, COURT_DATA_API_WEB_CLIENT_NAME);
+        Resilience4jBulkheadFilter bulkheadFilter =
+                new Resilience4jBulkheadFilter(bulkheadRegistry, meterRegistry, COURT_DATA_API_WEB_CLIENT_NAME);
+        HedgingFilter hedgingFilter = hedgingConfiguration.isEnabled()
+                ? new HedgingFilter(
+                        COURT_DATA_API_WEB_CLIENT_NAME,
+                        hedgingConfiguration.getDelay(),
+                        hedgingConfiguration.getHedgeRatio(),
+                        hedgingConfiguration.getMaxTokens(),
+                        meterRegistry)
+                : null;
 
         return webClientBuilder
                 .baseUrl(servicesConfiguration.getMaatApi().getBaseUrl())
-                .filters(filters -> configureFilters(filters, oauthFilter, retryFilter))
+                .clientConnector(clientConnector(
+                        connectionProvider, servicesConfiguration.getMaatApi().getProtocols()))
+                .filters(filters -> configureFilters(
+                        filters, oauthFilter, retryFilter, circuitBreakerFilter, bulkheadFilter, hedgingFilter))
                 .build();
     }
 
@@ -84,21 +153,31 @@ public class WebClientsConfiguration {
     WebClient hardshipWebClient(
             WebClient.Builder webClientBuilder,
             ServicesConfiguration servicesConfiguration,
-            ClientRegistrationRepository clientRegistrations,
-            OAuth2AuthorizedClientRepository authorizedClients,
-            RetryRegistry retryRegistry) {
+            @Qualifier("hardshipConnectionProvider") ConnectionProvider connectionProvider,
+            @Qualifier("hardshipApiTokenManager") ClientCredentialsTokenManager tokenManager,
+            RetryRegistry retryRegistry,
+            RetryBudgetConfiguration retryBudgetConfiguration,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
 
-        ServletOAuth2AuthorizedClientExchangeFilterFunction oauthFilter =
-                new ServletOAuth2AuthorizedClientExchangeFilterFunction(clientRegistrations, authorizedClients);
-        oauthFilter.setDefaultClientRegistrationId(
-                servicesConfiguration.getHardshipApi().getRegistrationId());
+        ClientCredentialsTokenFilter oauthFilter = new ClientCredentialsTokenFilter(tokenManager);
 
+        RetryBudget retryBudget =
+                retryBudget(retryBudgetConfiguration, meterRegistry, HARDSHIP_SERVICE_WEB_CLIENT_NAME);
         Resilience4jRetryFilter retryFilter =
-                new Resilience4jRetryFilter(retryRegistry, HARDSHIP_SERVICE_WEB_CLIENT_NAME);
+                new Resilience4jRetryFilter(retryRegistry, retryBudget, HARDSHIP_SERVICE_WEB_CLIENT_NAME);
+        Resilience4jCircuitBreakerFilter circuitBreakerFilter = new Resilience4jCircuitBreakerFilter(
+                circuitBreakerRegistry, meterRegistry, HARDSHIP_SERVICE_WEB_CLIENT_NAME);
+        Resilience4jBulkheadFilter bulkheadFilter =
+                new Resilience4jBulkheadFilter(bulkheadRegistry, meterRegistry, HARDSHIP_SERVICE_WEB_CLIENT_NAME);
 
         return webClientBuilder
                 .baseUrl(servicesConfiguration.getHardshipApi().getBaseUrl())
-                .filters(filters -> configureFilters(filters, oauthFilter, retryFilter))
+                .clientConnector(clientConnector(
+                        connectionProvider, servicesConfiguration.getHardshipApi().getProtocols()))
+                .filters(filters -> configureFilters(
+                        filters, oauthFilter, retryFilter, circuitBreakerFilter, bulkheadFilter, null))
                 .build();
     }
 
@@ -119,12 +198,99 @@ public class WebClientsConfiguration {
         return httpServiceProxyFactory.createClient(HardshipApiClient.class);
     }
 
-    private void configureFilters(
+    @Bean
+    ReactiveMaatCourtDataApiClient reactiveMaatCourtDataApiClient(
+            @Qualifier("maatCourtDataWebClient") WebClient maatCourtDataWebClient) {
+        HttpServiceProxyFactory httpServiceProxyFactory = HttpServiceProxyFactory.builderFor(
+                        WebClientAdapter.create(maatCourtDataWebClient))
+                .build();
+        return httpServiceProxyFactory.createClient(ReactiveMaatCourtDataApiClient.class);
+    }
+
+    @Bean
+    ReactiveHardshipApiClient reactiveHardshipApiClient(@Qualifier("hardshipWebClient") WebClient hardshipApiClient) {
+        HttpServiceProxyFactory httpServiceProxyFactory = HttpServiceProxyFactory.builderFor(
+                        WebClientAdapter.create(hardshipApiClient))
+                .build();
+        return httpServiceProxyFactory.createClient(ReactiveHardshipApiClient.class);
+    }
+
+    private static ClientCredentialsTokenManager tokenManager(
+            ClientRegistration clientRegistration,
+            OAuthTokenConfiguration oAuthTokenConfiguration,
+            MeterRegistry meterRegistry) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(oAuthTokenConfiguration.getRequestTimeout());
+        requestFactory.setReadTimeout(oAuthTokenConfiguration.getRequestTimeout());
+        // the converters and error handler the token response client uses by default, plus timeouts
+        RestClient restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .messageConverters(converters -> {
+                    converters.clear();
+                    converters.add(new FormHttpMessageConverter());
+                    converters.add(new OAuth2AccessTokenResponseHttpMessageConverter());
+                })
+                .defaultStatusHandler(new OAuth2ErrorResponseErrorHandler())
+                .build();
+        RestClientClientCredentialsTokenResponseClient tokenResponseClient =
+                new RestClientClientCredentialsTokenResponseClient();
+        tokenResponseClient.setRestClient(restClient);
+
+        return new ClientCredentialsTokenManager(
+                clientRegistration,
+                tokenResponseClient,
+                oAuthTokenConfiguration.getRefreshAhead(),
+                oAuthTokenConfiguration.getRetryBackoff(),
+                oAuthTokenConfiguration.getMaxRetryBackoff(),
+                meterRegistry,
+                Clock.systemUTC());
+    }
+
+    private static ConnectionProvider connectionProvider(
+            String clientName, ServicesConfiguration.ConnectionPool connectionPool) {
+        return ConnectionProvider.builder(clientName)
+                .maxConnections(connectionPool.getMaxConnections())
+                .maxIdleTime(connectionPool.getMaxIdleTime())
+                .maxLifeTime(connectionPool.getMaxLifeTime())
+                .evictInBackground(connectionPool.getEvictInBackground())
+                .pendingAcquireTimeout(connectionPool.getPendingAcquireTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    private static ReactorClientHttpConnector clientConnector(
+            ConnectionProvider connectionProvider, List<HttpProtocol> protocols) {
+        return new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .protocol(protocols.toArray(HttpProtocol[]::new))
+                .resolver(dns -> dns.cacheMaxTimeToLive(DNS_CACHE_MAX_TIME_TO_LIVE)
+                        .cacheNegativeTimeToLive(DNS_CACHE_NEGATIVE_TIME_TO_LIVE))
+                .compress(true)
+                .responseTimeout(Duration.ofSeconds(30)));
+    }
+
+    private static RetryBudget retryBudget(
+            RetryBudgetConfiguration retryBudgetConfiguration, MeterRegistry meterRegistry, String clientName) {
+        return new RetryBudget(
+                clientName,
+                retryBudgetConfiguration.getRetryRatio(),
+                retryBudgetConfiguration.getMaxTokens(),
+                meterRegistry);
+    }
+
+    static void configureFilters(
             List<ExchangeFilterFunction> filters,
-            ServletOAuth2AuthorizedClientExchangeFilterFunction oauthFilter,
-            ExchangeFilterFunction retryFilter) {
+            ExchangeFilterFunction oauthFilter,
+            ExchangeFilterFunction retryFilter,
+            ExchangeFilterFunction circuitBreakerFilter,
+            ExchangeFilterFunction bulkheadFilter,
+            @Nullable ExchangeFilterFunction hedgingFilter) {
         filters.add(WebClientFilters.logRequestHeaders());
         filters.add(retryFilter);
+        filters.add(circuitBreakerFilter);
+        filters.add(bulkheadFilter);
+        if (hedgingFilter != null) {
+            filters.add(hedgingFilter);
+        }
         filters.add(oauthFilter);
         filters.add(WebClientFilters.errorResponseHandler());
         filters.add(WebClientFilters.handleNotFoundResponse());
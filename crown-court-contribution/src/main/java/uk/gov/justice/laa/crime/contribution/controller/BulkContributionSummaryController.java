@@ -0,0 +1,58 @@
+package uk.gov.justice.laa.crime.contribution.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import uk.gov.justice.laa.crime.annotation.DefaultHTTPErrorResponse;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesBulkRequest;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesResult;
+import uk.gov.justice.laa.crime.contribution.service.BulkContributionSummaryService;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Contribution summaries for many rep orders in one call, served the same way in either pipeline mode.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/internal/v1/contribution")
+public class BulkContributionSummaryController {
+
+    private final BulkContributionSummaryService bulkContributionSummaryService;
+
+    @PostMapping(value = "/summaries/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            description = "Get Contribution Summaries for many rep orders, one JSON object per rep order and line, "
+                    + "in the order the lookups finish. A failed lookup is reported in its own line.")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ContributionSummariesResult.class)))
+    @DefaultHTTPErrorResponse
+    public Flux<ContributionSummariesResult> getContributionSummaries(
+            @Parameter(
+                            description = "Rep order ids to look up, duplicates are looked up once",
+                            content =
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = ContributionSummariesBulkRequest.class)))
+                    @Valid
+                    @RequestBody
+                    ContributionSummariesBulkRequest request) {
+        log.info("Received request to get contribution summaries for {} repIds", request.getRepIds().size());
+        return bulkContributionSummaryService.getContributionSummaries(request.getRepIds());
+    }
+}
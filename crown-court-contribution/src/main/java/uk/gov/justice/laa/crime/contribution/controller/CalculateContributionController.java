@@ -5,20 +5,28 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.justice.laa.crime.annotation.DefaultHTTPErrorResponse;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionResponse;
+import uk.gov.justice.laa.crime.contribution.service.BatchCalculateContributionService;
 import uk.gov.justice.laa.crime.contribution.service.CalculateContributionService;
+import uk.gov.justice.laa.crime.contribution.tracing.TraceIdHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -27,6 +35,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class CalculateContributionController {
 
     private final CalculateContributionService calculateContributionService;
+    private final BatchCalculateContributionService batchCalculateContributionService;
+    private final TraceIdHandler traceIdHandler;
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(description = "Calculate Contribution")
@@ -51,4 +61,30 @@ public class CalculateContributionController {
         log.info("Received request to calculate contributions");
         return ResponseEntity.ok(calculateContributionService.calculateContribution(apiCalculateContributionRequest));
     }
+
+    @PostMapping(
+            value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            description = "Calculate Contributions for a JSON array or NDJSON stream of requests. "
+                    + "Responses are streamed as NDJSON in request order; a request that cannot be "
+                    + "calculated is answered with an error line in its place")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ApiCalculateContributionResponse.class)))
+    @DefaultHTTPErrorResponse
+    public ResponseEntity<StreamingResponseBody> calculateContributions(HttpServletRequest request)
+            throws IOException {
+        log.info("Received batch request to calculate contributions");
+        InputStream requests = request.getInputStream();
+        String traceId = traceIdHandler.getTraceId();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(responses ->
+                        batchCalculateContributionService.calculateContributions(requests, responses, traceId));
+    }
 }
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import uk.gov.justice.laa.crime.annotation.DefaultHTTPErrorResponse;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionRequest;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
@@ -15,29 +16,42 @@ import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCheckContributi
 import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
 import uk.gov.justice.laa.crime.contribution.builder.ContributionDTOBuilder;
 import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesPage;
 import uk.gov.justice.laa.crime.contribution.service.ContributionRulesService;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyService;
 import uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService;
 import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
 
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("api/internal/v1/contribution")
+@ConditionalOnProperty(
+        prefix = "contribution.pipeline",
+        name = "mode",
+        havingValue = "blocking",
+        matchIfMissing = true)
 public class ContributionController {
 
+    private static final String CALCULATE_CONTRIBUTION_OPERATION = "calculate-contribution";
+
     private final MaatCalculateContributionService maatCalculateContributionService;
     private final ContributionRulesService contributionRulesService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping(value = "/calculate-contribution", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(description = "Calculate Contribution")
@@ -60,13 +74,26 @@ public class ContributionController {
                                                                     ApiMaatCalculateContributionRequest.class)))
                     @Valid
                     @RequestBody
-                    ApiMaatCalculateContributionRequest maatCalculateContributionRequest) {
+                    ApiMaatCalculateContributionRequest maatCalculateContributionRequest,
+            @Parameter(description = "Repeats of a request with the same key within the replay window are answered "
+                            + "with the first response instead of being calculated again")
+                    @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+                    String idempotencyKey) {
         log.info("Contributions - {}", maatCalculateContributionRequest);
-        CalculateContributionDTO calculateContributionDTO = preProcessRequest(maatCalculateContributionRequest);
-        ApiMaatCalculateContributionResponse response =
-                maatCalculateContributionService.calculateContribution(calculateContributionDTO);
-        log.info("calculateContribution response - {}", response);
-        return ResponseEntity.ok(response);
+        IdempotencyService.Result<ApiMaatCalculateContributionResponse> result = idempotencyService.execute(
+                CALCULATE_CONTRIBUTION_OPERATION,
+                idempotencyKey,
+                maatCalculateContributionRequest,
+                ApiMaatCalculateContributionResponse.class,
+                () -> maatCalculateContributionService.calculateContribution(
+                        preProcessRequest(maatCalculateContributionRequest)));
+        log.info("calculateContribution response - {}, replayed - {}", result.body(), result.replayed());
+        if (result.replayed()) {
+            return ResponseEntity.ok()
+                    .header(IdempotencyService.REPLAYED_HEADER, "true")
+                    .body(result.body());
+        }
+        return ResponseEntity.ok(result.body());
     }
 
     private CalculateContributionDTO preProcessRequest(
@@ -88,6 +115,39 @@ public class ContributionController {
         return ResponseEntity.ok(maatCalculateContributionService.getContributionSummaries(repId));
     }
 
+    @GetMapping(value = "/summaries/{repId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "Stream Contribution Summaries, one JSON object per line")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ApiContributionSummary.class)))
+    @DefaultHTTPErrorResponse
+    public Flux<ApiContributionSummary> streamContributionSummaries(@PathVariable int repId) {
+        log.info("Received request to stream contribution summaries for repId {}", repId);
+        return maatCalculateContributionService.streamContributionSummaries(repId);
+    }
+
+    @GetMapping(value = "/summaries/{repId}/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Get a page of Contribution Summaries")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ContributionSummariesPage.class)))
+    @DefaultHTTPErrorResponse
+    public ResponseEntity<ContributionSummariesPage> getContributionSummariesPage(
+            @PathVariable int repId,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+                    @RequestParam(required = false)
+                    Integer after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Received request to get contribution summaries page for repId {} after {}", repId, after);
+        return ResponseEntity.ok(maatCalculateContributionService.getContributionSummariesPage(repId, after, size));
+    }
+
     @PostMapping(value = "/check-contribution-rule", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(description = "Check if contribution Rule is applicable")
     @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
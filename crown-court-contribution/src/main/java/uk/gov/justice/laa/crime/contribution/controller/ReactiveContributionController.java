@@ -0,0 +1,177 @@
+package uk.gov.justice.laa.crime.contribution.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.annotation.DefaultHTTPErrorResponse;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCheckContributionRuleRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.contribution.builder.ContributionDTOBuilder;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesPage;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRulesService;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyService;
+import uk.gov.justice.laa.crime.contribution.service.ReactiveMaatCalculateContributionService;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The v1 contribution API served by {@link ReactiveMaatCalculateContributionService}, in place of
+ * {@link ContributionController} when {@code contribution.pipeline.mode=reactive}. Spring MVC releases the Tomcat
+ * thread as soon as a {@link Mono} is returned and writes the response when it completes.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/internal/v1/contribution")
+@ConditionalOnProperty(prefix = "contribution.pipeline", name = "mode", havingValue = "reactive")
+public class ReactiveContributionController {
+
+    private static final String CALCULATE_CONTRIBUTION_OPERATION = "calculate-contribution";
+
+    private final ReactiveMaatCalculateContributionService reactiveMaatCalculateContributionService;
+    private final ContributionRulesService contributionRulesService;
+    private final IdempotencyService idempotencyService;
+
+    @PostMapping(value = "/calculate-contribution", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Calculate Contribution")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiMaatCalculateContributionResponse.class)))
+    @DefaultHTTPErrorResponse
+    public Mono<ResponseEntity<ApiMaatCalculateContributionResponse>> calculateContribution(
+            @Parameter(
+                            description = "Data required to calculate contributions",
+                            content =
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                                    @Schema(
+                                                            implementation =
+                                                                    ApiMaatCalculateContributionRequest.class)))
+                    @Valid
+                    @RequestBody
+                    ApiMaatCalculateContributionRequest maatCalculateContributionRequest,
+            @Parameter(description = "Repeats of a request with the same key within the replay window are answered "
+                            + "with the first response instead of being calculated again")
+                    @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false)
+                    String idempotencyKey) {
+        log.info("Contributions - {}", maatCalculateContributionRequest);
+        return idempotencyService
+                .executeReactive(
+                        CALCULATE_CONTRIBUTION_OPERATION,
+                        idempotencyKey,
+                        maatCalculateContributionRequest,
+                        ApiMaatCalculateContributionResponse.class,
+                        () -> reactiveMaatCalculateContributionService.calculateContribution(
+                                ContributionDTOBuilder.build(maatCalculateContributionRequest)))
+                .doOnNext(result -> log.info(
+                        "calculateContribution response - {}, replayed - {}", result.body(), result.replayed()))
+                .map(result -> result.replayed()
+                        ? ResponseEntity.ok()
+                                .header(IdempotencyService.REPLAYED_HEADER, "true")
+                                .body(result.body())
+                        : ResponseEntity.ok(result.body()));
+    }
+
+    @GetMapping(value = "/summaries/{repId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Get Contribution Summary")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiMaatCalculateContributionResponse.class)))
+    @DefaultHTTPErrorResponse
+    public Mono<ResponseEntity<List<ApiContributionSummary>>> getContributionSummaries(@PathVariable int repId) {
+        log.info("Received request to get contribution summaries for repId {}", repId);
+        return reactiveMaatCalculateContributionService
+                .getContributionSummaries(repId)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/summaries/{repId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(description = "Stream Contribution Summaries, one JSON object per line")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = ApiContributionSummary.class)))
+    @DefaultHTTPErrorResponse
+    public Flux<ApiContributionSummary> streamContributionSummaries(@PathVariable int repId) {
+        log.info("Received request to stream contribution summaries for repId {}", repId);
+        return reactiveMaatCalculateContributionService.streamContributionSummaries(repId);
+    }
+
+    @GetMapping(value = "/summaries/{repId}/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Get a page of Contribution Summaries")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ContributionSummariesPage.class)))
+    @DefaultHTTPErrorResponse
+    public Mono<ResponseEntity<ContributionSummariesPage>> getContributionSummariesPage(
+            @PathVariable int repId,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+                    @RequestParam(required = false)
+                    Integer after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Received request to get contribution summaries page for repId {} after {}", repId, after);
+        return reactiveMaatCalculateContributionService
+                .getContributionSummariesPage(repId, after, size)
+                .map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/check-contribution-rule", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Check if contribution Rule is applicable")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
+    @DefaultHTTPErrorResponse
+    public ResponseEntity<Boolean> checkContributionRule(
+            @Parameter(
+                            description = "Data required to check contribution rule",
+                            content =
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema =
+                                                    @Schema(
+                                                            implementation =
+                                                                    ApiMaatCheckContributionRuleRequest.class)))
+                    @Valid
+                    @RequestBody
+                    ApiMaatCheckContributionRuleRequest apiMaatCheckContributionRuleRequest) {
+        log.info("Received request to check contribution rule");
+        CrownCourtOutcome crownCourtOutcome =
+                contributionRulesService.getActiveCCOutcome(apiMaatCheckContributionRuleRequest.getCrownCourtOutcome());
+        return ResponseEntity.ok(contributionRulesService.isContributionRuleApplicable(
+                apiMaatCheckContributionRuleRequest.getCaseType(),
+                apiMaatCheckContributionRuleRequest.getMagCourtOutcome(),
+                crownCourtOutcome));
+    }
+}
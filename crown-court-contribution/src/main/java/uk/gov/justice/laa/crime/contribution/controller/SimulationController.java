@@ -0,0 +1,61 @@
+package uk.gov.justice.laa.crime.contribution.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.annotation.DefaultHTTPErrorResponse;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationRequest;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationResult;
+import uk.gov.justice.laa.crime.contribution.service.ContributionSimulationService;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * What-if simulations of proposed contribution calculation parameters, served the same way in either pipeline mode.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/internal/v1/contribution")
+public class SimulationController {
+
+    private final ContributionSimulationService contributionSimulationService;
+
+    @PostMapping(
+            value = "/simulations",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            description = "Simulate proposed contribution calculation parameters against a stored case corpus. "
+                    + "Nothing is written back to MAAT.")
+    @ApiResponse(
+            responseCode = "200",
+            content =
+                    @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = SimulationResult.class)))
+    @DefaultHTTPErrorResponse
+    public ResponseEntity<SimulationResult> simulate(
+            @Parameter(
+                            description = "Corpus to simulate and the proposed calculation parameters",
+                            content =
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(implementation = SimulationRequest.class)))
+                    @Valid
+                    @RequestBody
+                    SimulationRequest request) {
+        log.info("Received request to simulate calculation parameters against corpus {}", request.getCorpus());
+        return ResponseEntity.ok(contributionSimulationService.simulate(request));
+    }
+}
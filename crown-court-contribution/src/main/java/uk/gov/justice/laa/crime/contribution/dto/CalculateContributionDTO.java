@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.gov.justice.laa.crime.common.model.common.ApiCrownCourtOutcome;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiAssessment;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.ApiCalculateHardshipByDetailResponse;
+import uk.gov.justice.laa.crime.contribution.model.Contribution;
 import uk.gov.justice.laa.crime.enums.AppealType;
 import uk.gov.justice.laa.crime.enums.CaseType;
 import uk.gov.justice.laa.crime.enums.MagCourtOutcome;
@@ -50,4 +52,10 @@ public class CalculateContributionDTO {
     private BigDecimal disposableIncomeAfterCrownHardship;
     private BigDecimal disposableIncomeAfterMagHardship;
     private BigDecimal totalAnnualDisposableIncome;
+
+    // Downstream results fetched alongside other calls; null when they were not fetched
+    private ContributionCalcParametersDTO contributionCalcParameters;
+    private ApiCalculateHardshipByDetailResponse solicitorCostsHardship;
+    private List<RepOrderCCOutcomeDTO> repOrderCCOutcomes;
+    private List<Contribution> currentContributions;
 }
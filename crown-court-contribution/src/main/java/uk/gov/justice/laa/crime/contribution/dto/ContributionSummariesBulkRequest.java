@@ -0,0 +1,18 @@
+package uk.gov.justice.laa.crime.contribution.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContributionSummariesBulkRequest {
+    @NotEmpty
+    private List<Integer> repIds;
+}
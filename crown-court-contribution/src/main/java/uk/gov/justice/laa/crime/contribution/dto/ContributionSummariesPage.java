@@ -0,0 +1,19 @@
+package uk.gov.justice.laa.crime.contribution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContributionSummariesPage {
+    private List<ApiContributionSummary> summaries;
+    /** Id of the last summary on the page, to pass as {@code after} for the next page. Null on the last page. */
+    private Integer nextCursor;
+}
@@ -0,0 +1,21 @@
+package uk.gov.justice.laa.crime.contribution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContributionSummariesResult {
+    private Integer repId;
+    /** Null when the lookup failed. */
+    private List<ApiContributionSummary> summaries;
+    /** The status code of a failed lookup, such as {@code 502 BAD_GATEWAY}, or null when it succeeded. */
+    private String error;
+}
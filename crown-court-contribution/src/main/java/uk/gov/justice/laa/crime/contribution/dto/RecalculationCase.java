@@ -0,0 +1,42 @@
+package uk.gov.justice.laa.crime.contribution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.justice.laa.crime.enums.AppealType;
+import uk.gov.justice.laa.crime.enums.CaseType;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+import uk.gov.justice.laa.crime.enums.MagCourtOutcome;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The inputs to recalculate one case offline, taken from an extract rather than from MAAT. Assessment results are
+ * those of completed assessments, and the annual disposable income already includes any hardship reduction.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecalculationCase {
+
+    private Integer repId;
+    private CaseType caseType;
+    private LocalDate assessmentEffectiveDate;
+    private LocalDate contributionEffectiveDate;
+    private String iojResult;
+    private String passportResult;
+    private String initResult;
+    private String fullResult;
+    private String hardshipResult;
+    private MagCourtOutcome magCourtOutcome;
+    private CrownCourtOutcome crownCourtOutcome;
+    private AppealType appealType;
+    private BigDecimal annualDisposableIncome;
+    private BigDecimal contributionCap;
+    private Boolean upliftApplied;
+    private BigDecimal currentMonthlyContributions;
+    private BigDecimal currentUpfrontContributions;
+}
@@ -0,0 +1,27 @@
+package uk.gov.justice.laa.crime.contribution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecalculationResult {
+
+    private Integer repId;
+    private Boolean contributionsRequired;
+    private BigDecimal monthlyContributions;
+    private BigDecimal upfrontContributions;
+    private Integer totalMonths;
+    private String basedOn;
+    private String upliftApplied;
+    private BigDecimal monthlyContributionsChange;
+    private BigDecimal upfrontContributionsChange;
+    private Boolean changed;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package uk.gov.justice.laa.crime.contribution.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationRequest {
+    @NotBlank
+    private String corpus;
+
+    @NotNull
+    private ContributionCalcParametersDTO parameters;
+}
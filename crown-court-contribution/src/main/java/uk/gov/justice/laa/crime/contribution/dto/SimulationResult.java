@@ -0,0 +1,28 @@
+package uk.gov.justice.laa.crime.contribution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationResult {
+
+    private String corpus;
+    private Long cases;
+    private Long contributingCases;
+    private Long changedCases;
+    private Long failedCases;
+    private Long casesAtCap;
+    private Long casesBelowMinimum;
+    private BigDecimal totalMonthlyContributions;
+    private BigDecimal currentTotalMonthlyContributions;
+    private BigDecimal totalContributions;
+    private Map<String, BigDecimal> monthlyContributionsPercentiles;
+}
@@ -21,7 +21,7 @@ import java.math.BigDecimal;
 @Setter
 @ToString
 @Entity
-@Table(name = "CONTRIB_APPEAL_RULES")
+@Table(name = "CONTRIB_APPEAL_RULES", schema = "crown_court_contribution")
 public class ContributionAppealRulesEntity {
 
     @Id
@@ -0,0 +1,43 @@
+package uk.gov.justice.laa.crime.contribution.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Entity
+@Table(name = "idempotent_responses", schema = "crown_court_contribution")
+public class IdempotentResponseEntity {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @NotNull
+    @Column(name = "request_hash")
+    private String requestHash;
+
+    // null while the request that claimed the key is still running
+    @ToString.Exclude
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @NotNull
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
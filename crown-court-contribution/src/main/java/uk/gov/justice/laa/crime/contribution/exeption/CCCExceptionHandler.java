@@ -1,5 +1,7 @@
 package uk.gov.justice.laa.crime.contribution.exeption;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.justice.laa.crime.contribution.tracing.TraceIdHandler;
@@ -45,6 +47,14 @@ public class CCCExceptionHandler {
                 HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage(), traceIdHandler.getTraceId());
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorDTO> onDownstreamUnavailable(RuntimeException exception) {
+        return buildErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Downstream service unavailable: " + exception.getMessage(),
+                traceIdHandler.getTraceId());
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ErrorDTO> handleValidationException(ValidationException exception) {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), traceIdHandler.getTraceId());
@@ -0,0 +1,36 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Adds the bearer token from a {@link ClientCredentialsTokenManager}, and drops the token if the downstream service
+ * answers {@code 401 Unauthorized} so the next call fetches a new one. The 401 is recognised whether it arrives as a
+ * response or, once {@link WebClientFilters#errorResponseHandler()} has turned it into one, as an error.
+ */
+@RequiredArgsConstructor
+public class ClientCredentialsTokenFilter implements ExchangeFilterFunction {
+
+    private final ClientCredentialsTokenManager tokenManager;
+
+    @Override
+    public @NonNull Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+        return tokenManager.getToken().flatMap(token -> next.exchange(ClientRequest.from(request)
+                        .headers(headers -> headers.setBearerAuth(token))
+                        .build())
+                .doOnNext(response -> {
+                    if (HttpStatus.UNAUTHORIZED.equals(response.statusCode())) {
+                        tokenManager.invalidate(token);
+                    }
+                })
+                .doOnError(WebClientResponseException.Unauthorized.class, exception -> tokenManager.invalidate(token)));
+    }
+}
@@ -0,0 +1,186 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+/**
+ * Holds the client credentials access token for one client registration and replaces it in the background before it
+ * expires. Callers read the current token without locking and never wait on the token endpoint while it is valid. Only
+ * when there is no usable token, before the first fetch succeeds or after one is rejected, does a caller fetch it
+ * inline; concurrent callers then share the one fetch.
+ *
+ * <p>Unlike the servlet OAuth2 filter, it needs no request attributes, so it works the same from request, worker,
+ * virtual and reactor threads.
+ */
+@Slf4j
+public class ClientCredentialsTokenManager implements AutoCloseable {
+
+    public static final String REFRESH_METRIC = "contribution.oauth.token.refresh";
+    public static final String EXPIRY_METRIC = "contribution.oauth.token.expiry";
+
+    // a token this close to expiry may lapse before the downstream service checks it
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(30);
+    private static final Duration MIN_REFRESH_DELAY = Duration.ofSeconds(1);
+
+    private final ClientRegistration clientRegistration;
+    private final OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient;
+    private final Duration refreshAhead;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<OAuth2AccessToken> current = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private Duration failureBackoff;
+
+    public ClientCredentialsTokenManager(
+            ClientRegistration clientRegistration,
+            OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient,
+            Duration refreshAhead,
+            Duration retryBackoff,
+            Duration maxRetryBackoff,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.clientRegistration = clientRegistration;
+        this.tokenResponseClient = tokenResponseClient;
+        this.refreshAhead = refreshAhead;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.failureBackoff = retryBackoff;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("oauth-token-" + clientRegistration.getRegistrationId())
+                .daemon(true)
+                .factory());
+        Gauge.builder(EXPIRY_METRIC, this, ClientCredentialsTokenManager::getSecondsUntilExpiry)
+                .description("Seconds until the current access token for a client registration expires")
+                .baseUnit("seconds")
+                .tag("registration", clientRegistration.getRegistrationId())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches the first token in the background and keeps it fresh from then on.
+     */
+    public void start() {
+        scheduler.execute(this::scheduledRefresh);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    public Mono<String> getToken() {
+        OAuth2AccessToken token = current.get();
+        if (isUsable(token)) {
+            return Mono.just(token.getTokenValue());
+        }
+        return Mono.fromCallable(() -> refreshIfUnusable().getTokenValue()).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Drops the given token if it is still current, e.g. after a downstream service rejected it, so the next call
+     * fetches a new one.
+     */
+    public void invalidate(String tokenValue) {
+        current.updateAndGet(token -> token != null && token.getTokenValue().equals(tokenValue) ? null : token);
+    }
+
+    double getSecondsUntilExpiry() {
+        OAuth2AccessToken token = current.get();
+        if (token == null || token.getExpiresAt() == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(clock.instant(), token.getExpiresAt()).toMillis() / 1000.0);
+    }
+
+    private OAuth2AccessToken refreshIfUnusable() {
+        refreshLock.lock();
+        try {
+            OAuth2AccessToken token = current.get();
+            return isUsable(token) ? token : refresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void scheduledRefresh() {
+        Duration delay;
+        refreshLock.lock();
+        try {
+            delay = untilRefreshDue(refresh());
+            failureBackoff = retryBackoff;
+        } catch (RuntimeException exception) {
+            log.warn(
+                    "Failed to refresh the access token for {}, retrying in {}s",
+                    clientRegistration.getRegistrationId(),
+                    failureBackoff.toSeconds(),
+                    exception);
+            delay = failureBackoff;
+            failureBackoff = min(failureBackoff.multipliedBy(2), maxRetryBackoff);
+        } finally {
+            refreshLock.unlock();
+        }
+        scheduler.schedule(this::scheduledRefresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private OAuth2AccessToken refresh() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            OAuth2AccessToken token = tokenResponseClient
+                    .getTokenResponse(new OAuth2ClientCredentialsGrantRequest(clientRegistration))
+                    .getAccessToken();
+            current.set(token);
+            outcome = "success";
+            return token;
+        } finally {
+            sample.stop(Timer.builder(REFRESH_METRIC)
+                    .description("Time taken to fetch an access token for a client registration")
+                    .tag("registration", clientRegistration.getRegistrationId())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Duration untilRefreshDue(OAuth2AccessToken token) {
+        if (token.getIssuedAt() == null || token.getExpiresAt() == null) {
+            return refreshAhead;
+        }
+        Duration lifetime = Duration.between(token.getIssuedAt(), token.getExpiresAt());
+        Instant refreshAt = token.getExpiresAt().minus(min(refreshAhead, lifetime.dividedBy(2)));
+        Duration delay = Duration.between(clock.instant(), refreshAt);
+        return delay.compareTo(MIN_REFRESH_DELAY) < 0 ? MIN_REFRESH_DELAY : delay;
+    }
+
+    private boolean isUsable(OAuth2AccessToken token) {
+        return token != null
+                && (token.getExpiresAt() == null
+                        || clock.instant().plus(CLOCK_SKEW).isBefore(token.getExpiresAt()));
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
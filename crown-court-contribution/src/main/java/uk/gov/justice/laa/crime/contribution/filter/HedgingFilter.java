@@ -0,0 +1,76 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+/**
+ * Hedges GET calls. If no response has arrived after the hedge delay, the same request is sent again; whichever
+ * response arrives first is used and the other call is cancelled. A failed hedge is ignored, leaving the original call
+ * to answer. Hedges draw on a token bucket filled by every GET, so they stay a small share of the traffic.
+ *
+ * <p>Only for services where GETs are idempotent.
+ */
+@Slf4j
+public class HedgingFilter implements ExchangeFilterFunction {
+
+    public static final String HEDGES_SENT_METRIC = "contribution.downstream.hedges.sent";
+    public static final String HEDGES_WON_METRIC = "contribution.downstream.hedges.won";
+    public static final String HEDGES_DENIED_METRIC = "contribution.downstream.hedges.denied";
+
+    private final Duration delay;
+    private final TokenBucket hedgeBudget;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter denied;
+
+    public HedgingFilter(
+            String clientName, Duration delay, double hedgeRatio, int maxTokens, MeterRegistry meterRegistry) {
+        this.delay = delay;
+        this.hedgeBudget = new TokenBucket(hedgeRatio, maxTokens);
+        this.sent = hedgesCounter(meterRegistry, HEDGES_SENT_METRIC, "Hedged requests sent", clientName);
+        this.won = hedgesCounter(meterRegistry, HEDGES_WON_METRIC, "Hedged requests answered first", clientName);
+        this.denied = hedgesCounter(
+                meterRegistry, HEDGES_DENIED_METRIC, "Hedged requests refused by the hedge budget", clientName);
+    }
+
+    @Override
+    public @NonNull Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method())) {
+            return next.exchange(request);
+        }
+        hedgeBudget.deposit();
+
+        Mono<ClientResponse> hedge = Mono.delay(delay).flatMap(elapsed -> {
+            if (!hedgeBudget.tryAcquire()) {
+                denied.increment();
+                return Mono.never();
+            }
+            log.debug("Hedging {} {} after {}ms", request.method(), request.url(), delay.toMillis());
+            sent.increment();
+            return next.exchange(request)
+                    .doOnNext(response -> won.increment())
+                    .onErrorResume(exception -> Mono.never());
+        });
+
+        return Mono.firstWithSignal(next.exchange(request), hedge);
+    }
+
+    private static Counter hedgesCounter(
+            MeterRegistry meterRegistry, String name, String description, String clientName) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+}
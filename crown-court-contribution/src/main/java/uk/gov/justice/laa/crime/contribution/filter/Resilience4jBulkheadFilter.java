@@ -0,0 +1,40 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+/**
+ * Caps the calls in flight to a downstream client, so one slow dependency cannot take every pooled connection. Calls
+ * over the limit fail immediately with a {@link io.github.resilience4j.bulkhead.BulkheadFullException}.
+ */
+public class Resilience4jBulkheadFilter implements ExchangeFilterFunction {
+
+    private final Bulkhead bulkhead;
+
+    public Resilience4jBulkheadFilter(
+            BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry, String clientName) {
+        bulkhead = bulkheadRegistry.bulkhead(clientName);
+        Counter rejected = Counter.builder(Resilience4jCircuitBreakerFilter.REJECTED_METRIC)
+                .description("Downstream calls rejected without being sent")
+                .tag("client", clientName)
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+
+        bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+    }
+
+    @Override
+    public @NonNull Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+        return next.exchange(request).transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+}
@@ -0,0 +1,52 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+/**
+ * Guards a downstream client with its own circuit breaker, named after the client. While the breaker is open calls
+ * fail immediately with a {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException}, which is not
+ * retried. Instances without their own configuration use the {@code default} config.
+ */
+@Slf4j
+public class Resilience4jCircuitBreakerFilter implements ExchangeFilterFunction {
+
+    public static final String REJECTED_METRIC = "contribution.downstream.rejected";
+
+    private final CircuitBreaker circuitBreaker;
+
+    public Resilience4jCircuitBreakerFilter(
+            CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry, String clientName) {
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker(clientName);
+        Counter rejected = Counter.builder(REJECTED_METRIC)
+                .description("Downstream calls rejected without being sent")
+                .tag("client", clientName)
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+
+        circuitBreaker
+                .getEventPublisher()
+                .onStateTransition(event -> log.warn(
+                        "Circuit breaker {} moved from {} to {}",
+                        event.getCircuitBreakerName(),
+                        event.getStateTransition().getFromState(),
+                        event.getStateTransition().getToState()))
+                .onCallNotPermitted(event -> rejected.increment());
+    }
+
+    @Override
+    public @NonNull Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+        return next.exchange(request).transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+}
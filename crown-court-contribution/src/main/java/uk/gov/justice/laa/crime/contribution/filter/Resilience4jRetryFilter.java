@@ -2,11 +2,13 @@ package uk.gov.justice.laa.crime.contribution.filter;
 
 import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.lang.NonNull;
 import org.springframework.web.reactive.function.client.ClientRequest;
@@ -14,13 +16,20 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 
+/**
+ * Retries failed calls with the client's Resilience4j retry, but only while the client's {@link RetryBudget} has a
+ * token to spend. The budget is consulted as soon as an attempt fails, so when it is empty the failure is returned as
+ * it stands, without waiting out the backoff or retrying.
+ */
 @Slf4j
 public class Resilience4jRetryFilter implements ExchangeFilterFunction {
 
     private final Retry retry;
+    private final RetryBudget retryBudget;
     private static final String DEFAULT_RETRY = "default";
 
-    public Resilience4jRetryFilter(RetryRegistry retryRegistry, String clientName) {
+    public Resilience4jRetryFilter(RetryRegistry retryRegistry, RetryBudget retryBudget, String clientName) {
+        this.retryBudget = retryBudget;
         Set<String> availableRetries =
                 retryRegistry.getAllRetries().stream().map(Retry::getName).collect(java.util.stream.Collectors.toSet());
 
@@ -39,6 +48,39 @@ public class Resilience4jRetryFilter implements ExchangeFilterFunction {
 
     @Override
     public @NonNull Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
-        return next.exchange(request).transformDeferred(RetryOperator.of(retry));
+        return Mono.defer(() -> {
+            AtomicInteger failedAttempts = new AtomicInteger();
+            return Mono.defer(() -> next.exchange(request))
+                    .doOnNext(response -> retryBudget.recordSuccess())
+                    .onErrorMap(
+                            failure -> isRetryDenied(failure, failedAttempts.incrementAndGet()),
+                            failure -> {
+                                log.warn("Retry budget exhausted, not retrying {} {}", request.method(), request.url());
+                                return new RetryBudgetExhaustedException(failure);
+                            })
+                    .transformDeferred(RetryOperator.of(retry))
+                    .onErrorMap(RetryBudgetExhaustedException.class, Throwable::getCause);
+        });
+    }
+
+    /**
+     * Decides, as soon as an attempt fails and before the retry waits out its backoff, whether the budget refuses a
+     * retry that the retry configuration would otherwise make.
+     */
+    private boolean isRetryDenied(Throwable failure, int failedAttempts) {
+        RetryConfig retryConfig = retry.getRetryConfig();
+        return failedAttempts < retryConfig.getMaxAttempts()
+                && retryConfig.getExceptionPredicate().test(failure)
+                && !retryBudget.tryAcquireRetry();
+    }
+
+    /**
+     * Ends the retry loop when the budget is spent. It is not among the configured retry exceptions, so Resilience4j
+     * gives up on it, and the failure it wraps is what the caller sees.
+     */
+    private static class RetryBudgetExhaustedException extends RuntimeException {
+        RetryBudgetExhaustedException(Throwable lastFailure) {
+            super(lastFailure.getMessage(), lastFailure, false, false);
+        }
     }
 }
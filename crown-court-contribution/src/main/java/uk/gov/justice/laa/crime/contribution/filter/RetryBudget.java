@@ -0,0 +1,55 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A token bucket shared by every call through one downstream client. Successful calls deposit a fraction of a token,
+ * each retry withdraws a whole one, and retries are refused once the bucket is empty. While the downstream service is
+ * healthy the bucket stays full; during a brownout successes dry up, and retries stop adding to its load.
+ */
+public class RetryBudget {
+
+    public static final String RETRIES_METRIC = "contribution.downstream.retries";
+    public static final String BALANCE_METRIC = "contribution.downstream.retry.budget";
+
+    private final TokenBucket tokens;
+    private final Counter allowed;
+    private final Counter denied;
+
+    public RetryBudget(String clientName, double retryRatio, int maxTokens, MeterRegistry meterRegistry) {
+        this.tokens = new TokenBucket(retryRatio, maxTokens);
+        this.allowed = retriesCounter(meterRegistry, clientName, "allowed");
+        this.denied = retriesCounter(meterRegistry, clientName, "denied");
+        Gauge.builder(BALANCE_METRIC, this, RetryBudget::getAvailableTokens)
+                .description("Retry tokens available to a downstream client")
+                .tag("client", clientName)
+                .register(meterRegistry);
+    }
+
+    public void recordSuccess() {
+        tokens.deposit();
+    }
+
+    public boolean tryAcquireRetry() {
+        if (tokens.tryAcquire()) {
+            allowed.increment();
+            return true;
+        }
+        denied.increment();
+        return false;
+    }
+
+    public double getAvailableTokens() {
+        return tokens.getAvailableTokens();
+    }
+
+    private static Counter retriesCounter(MeterRegistry meterRegistry, String clientName, String result) {
+        return Counter.builder(RETRIES_METRIC)
+                .description("Retries requested of a downstream client, by whether the retry budget allowed them")
+                .tag("client", clientName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
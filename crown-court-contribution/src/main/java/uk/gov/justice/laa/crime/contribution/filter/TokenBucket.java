@@ -0,0 +1,42 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket that starts full. Each deposit adds a fraction of a token, up to the capacity, and each
+ * acquisition takes a whole one.
+ */
+class TokenBucket {
+
+    // balances are held in thousandths of a token so deposits can be fractional
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    TokenBucket(double depositRatio, int maxTokens) {
+        this.deposit = Math.round(depositRatio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    void deposit() {
+        balance.updateAndGet(current -> Math.min(capacity, current + deposit));
+    }
+
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    double getAvailableTokens() {
+        return (double) balance.get() / SCALE;
+    }
+}
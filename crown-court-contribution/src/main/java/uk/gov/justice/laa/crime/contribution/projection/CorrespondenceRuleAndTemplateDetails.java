@@ -0,0 +1,37 @@
+package uk.gov.justice.laa.crime.contribution.projection;
+
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.justice.laa.crime.contribution.entity.CorrespondenceRule;
+import uk.gov.justice.laa.crime.contribution.entity.CorrespondenceTemplate;
+
+/**
+ * Immutable, detached implementation of {@link CorrespondenceRuleAndTemplateInfo} built from a loaded
+ * {@link CorrespondenceRule} and its template.
+ */
+@Value
+@Builder
+public class CorrespondenceRuleAndTemplateDetails implements CorrespondenceRuleAndTemplateInfo {
+
+    String calcContribs;
+    Integer upliftCoteId;
+    Integer reassessmentCoteId;
+    Integer id;
+    String cotyCorrespondenceType;
+    String description;
+
+    public static CorrespondenceRuleAndTemplateDetails of(CorrespondenceRule rule) {
+        CorrespondenceTemplate cote = rule.getCote();
+        return CorrespondenceRuleAndTemplateDetails.builder()
+                .calcContribs(rule.getCalcContribs())
+                .upliftCoteId(rule.getUpliftCote() != null ? rule.getUpliftCote().getId() : null)
+                .reassessmentCoteId(
+                        rule.getReassessmentCote() != null
+                                ? rule.getReassessmentCote().getId()
+                                : null)
+                .id(cote.getId())
+                .cotyCorrespondenceType(cote.getCotyCorrespondenceType())
+                .description(cote.getDescription())
+                .build();
+    }
+}
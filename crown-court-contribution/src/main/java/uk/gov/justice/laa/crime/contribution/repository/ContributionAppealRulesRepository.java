@@ -0,0 +1,14 @@
+package uk.gov.justice.laa.crime.contribution.repository;
+
+import uk.gov.justice.laa.crime.contribution.entity.ContributionAppealRulesEntity;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContributionAppealRulesRepository extends JpaRepository<ContributionAppealRulesEntity, Integer> {
+
+    List<ContributionAppealRulesEntity> findAllByCaseType(String caseType);
+}
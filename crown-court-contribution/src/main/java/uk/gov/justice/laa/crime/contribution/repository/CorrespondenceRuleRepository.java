@@ -3,6 +3,7 @@ package uk.gov.justice.laa.crime.contribution.repository;
 import uk.gov.justice.laa.crime.contribution.entity.CorrespondenceRule;
 import uk.gov.justice.laa.crime.contribution.projection.CorrespondenceRuleAndTemplateInfo;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -25,4 +26,11 @@ public interface CorrespondenceRuleRepository extends JpaRepository<Corresponden
             nativeQuery = true)
     Optional<CorrespondenceRuleAndTemplateInfo> getCoteInfo(
             String meansResult, String iojResult, String magsOutcome, String ccOutcome, String initResult);
+
+    /**
+     * Loads every rule that has a correspondence template, together with that template, in a single query.
+     * Rules without a template can never be returned by {@link #getCoteInfo}.
+     */
+    @Query("SELECT r FROM CorrespondenceRule r JOIN FETCH r.cote")
+    List<CorrespondenceRule> findAllWithTemplate();
 }
@@ -0,0 +1,61 @@
+package uk.gov.justice.laa.crime.contribution.repository;
+
+import uk.gov.justice.laa.crime.contribution.entity.IdempotentResponseEntity;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface IdempotentResponseRepository extends JpaRepository<IdempotentResponseEntity, String> {
+
+    interface StoredRow {
+        String getRequestHash();
+
+        String getResponseBody();
+
+        Instant getExpiresAt();
+    }
+
+    /**
+     * Reads the row's values rather than a managed entity, so a repeat polling for a response sees what other
+     * instances have written even while the persistence context stays open for the whole request.
+     */
+    @Query("SELECT r.requestHash AS requestHash, r.responseBody AS responseBody, r.expiresAt AS expiresAt "
+            + "FROM IdempotentResponseEntity r WHERE r.idempotencyKey = :key")
+    Optional<StoredRow> findRow(String key);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotentResponseEntity r WHERE r.expiresAt <= :now")
+    int deleteExpired(Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotentResponseEntity r WHERE r.idempotencyKey = :key AND r.expiresAt <= :now")
+    int deleteExpired(String key, Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotentResponseEntity r WHERE r.idempotencyKey = :key AND r.responseBody IS NULL")
+    int deletePending(String key);
+
+    /**
+     * Inserts a pending response, one without a body, unless a row with the same key exists.
+     *
+     * @return 1 if the row was inserted, 0 if the key was already taken
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = "INSERT INTO crown_court_contribution.idempotent_responses "
+                    + "(idempotency_key, request_hash, expires_at) VALUES (:key, :requestHash, :expiresAt) "
+                    + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(String key, String requestHash, Instant expiresAt);
+}
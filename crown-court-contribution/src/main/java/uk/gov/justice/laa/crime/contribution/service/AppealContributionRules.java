@@ -0,0 +1,114 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.contribution.entity.ContributionAppealRulesEntity;
+import uk.gov.justice.laa.crime.contribution.repository.ContributionAppealRulesRepository;
+import uk.gov.justice.laa.crime.contribution.staticdata.enums.AppealContributionAmount;
+import uk.gov.justice.laa.crime.enums.AppealType;
+import uk.gov.justice.laa.crime.enums.AssessmentResult;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory copy of the {@code CONTRIB_APPEAL_RULES} table, giving the upfront contribution for an appeal by appeal
+ * type, crown court outcome and assessment result. The rules are loaded into a dense array with one slot per
+ * combination, so a lookup is a single index with no database access.
+ *
+ * <p>Combinations the table does not have, such as outcomes that are not appeal outcomes, keep the amount from
+ * {@link AppealContributionAmount#calculate}. A rule without an amount means no contribution. Each load is checked
+ * against {@link AppealContributionAmount#calculate} and any difference is logged, so that a rule change shows up in
+ * the logs rather than only in the amounts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AppealContributionRules {
+
+    static final String APPEAL_CASE_TYPE = "APPEAL CC";
+
+    private static final AppealType[] APPEAL_TYPES = AppealType.values();
+    private static final CrownCourtOutcome[] OUTCOMES = CrownCourtOutcome.values();
+    private static final AssessmentResult[] ASSESSMENT_RESULTS = AssessmentResult.values();
+    private static final Map<String, CrownCourtOutcome> OUTCOMES_BY_CODE =
+            Arrays.stream(OUTCOMES).collect(Collectors.toMap(CrownCourtOutcome::getCode, Function.identity()));
+    private static final Map<String, AssessmentResult> ASSESSMENT_RESULTS_BY_NAME =
+            Arrays.stream(ASSESSMENT_RESULTS).collect(Collectors.toMap(AssessmentResult::name, Function.identity()));
+
+    private final ContributionAppealRulesRepository contributionAppealRulesRepository;
+
+    private volatile BigDecimal[] contributionAmounts = calculatedAmounts();
+
+    @PostConstruct
+    public void reload() {
+        List<ContributionAppealRulesEntity> rules =
+                contributionAppealRulesRepository.findAllByCaseType(APPEAL_CASE_TYPE);
+        BigDecimal[] amounts = calculatedAmounts();
+        int differences = 0;
+        for (ContributionAppealRulesEntity rule : rules) {
+            AppealType appealType = AppealType.getFrom(rule.getAppealTypeCode());
+            CrownCourtOutcome outcome = OUTCOMES_BY_CODE.get(rule.getOutcome());
+            AssessmentResult assessmentResult = ASSESSMENT_RESULTS_BY_NAME.get(rule.getAssessmentResult());
+            if (appealType == null || outcome == null || assessmentResult == null) {
+                throw new IllegalStateException("Unrecognised appeal contribution rule " + rule);
+            }
+            int index = index(appealType, outcome, assessmentResult);
+            BigDecimal amount = Objects.requireNonNullElse(rule.getContributionAmount(), BigDecimal.ZERO);
+            if (amount.compareTo(amounts[index]) != 0) {
+                differences++;
+                log.warn(
+                        "Appeal contribution rule {} ({}, {}, {}) gives {} where the calculated amount is {}",
+                        rule.getId(),
+                        appealType,
+                        outcome,
+                        assessmentResult,
+                        amount,
+                        amounts[index]);
+            }
+            amounts[index] = amount;
+        }
+        contributionAmounts = amounts;
+        log.info(
+                "Loaded {} appeal contribution rules, {} differ from the calculated amounts",
+                rules.size(),
+                differences);
+    }
+
+    public BigDecimal getContributionAmount(
+            AppealType appealType, CrownCourtOutcome appealOutcome, AssessmentResult assessmentResult) {
+        if (appealType == null || appealOutcome == null || assessmentResult == null) {
+            return AppealContributionAmount.calculate(appealType, appealOutcome, assessmentResult)
+                    .getContributionAmount();
+        }
+        return contributionAmounts[index(appealType, appealOutcome, assessmentResult)];
+    }
+
+    private static BigDecimal[] calculatedAmounts() {
+        BigDecimal[] amounts = new BigDecimal[APPEAL_TYPES.length * OUTCOMES.length * ASSESSMENT_RESULTS.length];
+        for (AppealType appealType : APPEAL_TYPES) {
+            for (CrownCourtOutcome outcome : OUTCOMES) {
+                for (AssessmentResult assessmentResult : ASSESSMENT_RESULTS) {
+                    amounts[index(appealType, outcome, assessmentResult)] = AppealContributionAmount.calculate(
+                                    appealType, outcome, assessmentResult)
+                            .getContributionAmount();
+                }
+            }
+        }
+        return amounts;
+    }
+
+    private static int index(AppealType appealType, CrownCourtOutcome outcome, AssessmentResult assessmentResult) {
+        return (appealType.ordinal() * OUTCOMES.length + outcome.ordinal()) * ASSESSMENT_RESULTS.length
+                + assessmentResult.ordinal();
+    }
+}
@@ -1,5 +1,10 @@
 package uk.gov.justice.laa.crime.contribution.service;
 
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.APPEAL_DECISION;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CREATE_CONTRIBUTION_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CURRENT_CONTRIBUTIONS_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.MAPPING_STAGE;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.justice.laa.crime.common.model.common.ApiCrownCourtOutcome;
@@ -10,7 +15,6 @@ import uk.gov.justice.laa.crime.contribution.builder.CreateContributionRequestMa
 import uk.gov.justice.laa.crime.contribution.builder.MaatCalculateContributionResponseMapper;
 import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
 import uk.gov.justice.laa.crime.contribution.model.Contribution;
-import uk.gov.justice.laa.crime.contribution.staticdata.enums.AppealContributionAmount;
 import uk.gov.justice.laa.crime.enums.AssessmentResult;
 import uk.gov.justice.laa.crime.enums.CrownCourtOutcomeType;
 import uk.gov.justice.laa.crime.enums.CurrentStatus;
@@ -30,6 +34,8 @@ public class AppealContributionService {
     private final MaatCourtDataService maatCourtDataService;
     private final CreateContributionRequestMapper createContributionRequestMapper;
     private final MaatCalculateContributionResponseMapper maatCalculateContributionResponseMapper;
+    private final CalculationStageRunner calculationStageRunner;
+    private final AppealContributionRules appealContributionRules;
 
     private AssessmentResult determineAssessmentResult(List<ApiAssessment> assessments) {
         for (ApiAssessment assessment : assessments) {
@@ -42,38 +48,66 @@ public class AppealContributionService {
 
     public ApiMaatCalculateContributionResponse calculateAppealContribution(
             CalculateContributionDTO calculateContributionDTO) {
-        AssessmentResult assessmentResult = determineAssessmentResult(calculateContributionDTO.getAssessments());
-        ApiCrownCourtOutcome latestAppealOutcome = Optional.ofNullable(
-                        calculateContributionDTO.getCrownCourtOutcomeList())
-                .orElse(Collections.emptyList())
-                .stream()
-                .reduce((first, second) -> second)
-                .filter(outcome -> CrownCourtOutcomeType.APPEAL
-                        .getType()
-                        .equals(outcome.getOutcome().getType()))
-                .orElse(null);
+        ApiCrownCourtOutcome latestAppealOutcome =
+                getLatestAppealOutcome(calculateContributionDTO.getCrownCourtOutcomeList());
 
         if (latestAppealOutcome != null) {
-            BigDecimal appealContributionAmount = AppealContributionAmount.calculate(
-                            calculateContributionDTO.getAppealType(),
-                            latestAppealOutcome.getOutcome(),
-                            assessmentResult)
-                    .getContributionAmount();
+            BigDecimal appealContributionAmount =
+                    getAppealContributionAmount(calculateContributionDTO, latestAppealOutcome);
 
             Integer repId = calculateContributionDTO.getRepId();
-            List<Contribution> currentContributionList = maatCourtDataService.findContribution(repId, true);
+            List<Contribution> currentContributionList = calculateContributionDTO.getCurrentContributions();
+            if (currentContributionList == null) {
+                currentContributionList = calculationStageRunner.run(
+                        CURRENT_CONTRIBUTIONS_STAGE, () -> maatCourtDataService.findContribution(repId, true));
+            }
             if (!currentContributionList.isEmpty()) {
                 Contribution currentContribution = currentContributionList.getFirst();
-                if (currentContribution.getUpfrontContributions() == null
-                        || currentContribution.getUpfrontContributions().compareTo(appealContributionAmount) != 0) {
+                if (isAppealContributionChanged(currentContribution, appealContributionAmount)) {
+                    recordBranch(calculateContributionDTO, "created");
                     CreateContributionRequest createContributionRequest =
                             createContributionRequestMapper.map(calculateContributionDTO, appealContributionAmount);
-                    Contribution newContribution = maatCourtDataService.createContribution(createContributionRequest);
-                    return maatCalculateContributionResponseMapper.map(newContribution);
+                    Contribution newContribution = calculationStageRunner.run(
+                            CREATE_CONTRIBUTION_STAGE,
+                            () -> maatCourtDataService.createContribution(createContributionRequest));
+                    return calculationStageRunner.run(
+                            MAPPING_STAGE, () -> maatCalculateContributionResponseMapper.map(newContribution));
                 }
-                return maatCalculateContributionResponseMapper.map(currentContribution);
+                recordBranch(calculateContributionDTO, "unchanged");
+                return calculationStageRunner.run(
+                        MAPPING_STAGE, () -> maatCalculateContributionResponseMapper.map(currentContribution));
             }
+            recordBranch(calculateContributionDTO, "no_current_contribution");
+        } else {
+            recordBranch(calculateContributionDTO, "no_appeal_outcome");
         }
         return new ApiMaatCalculateContributionResponse();
     }
+
+    private void recordBranch(CalculateContributionDTO calculateContributionDTO, String branch) {
+        calculationStageRunner.recordBranch(calculateContributionDTO.getCaseType(), APPEAL_DECISION, branch);
+    }
+
+    BigDecimal getAppealContributionAmount(
+            CalculateContributionDTO calculateContributionDTO, ApiCrownCourtOutcome latestAppealOutcome) {
+        AssessmentResult assessmentResult = determineAssessmentResult(calculateContributionDTO.getAssessments());
+        return appealContributionRules.getContributionAmount(
+                calculateContributionDTO.getAppealType(), latestAppealOutcome.getOutcome(), assessmentResult);
+    }
+
+    static boolean isAppealContributionChanged(Contribution currentContribution, BigDecimal appealContributionAmount) {
+        return currentContribution.getUpfrontContributions() == null
+                || currentContribution.getUpfrontContributions().compareTo(appealContributionAmount) != 0;
+    }
+
+    public static ApiCrownCourtOutcome getLatestAppealOutcome(List<ApiCrownCourtOutcome> crownCourtOutcomeList) {
+        return Optional.ofNullable(crownCourtOutcomeList)
+                .orElse(Collections.emptyList())
+                .stream()
+                .reduce((first, second) -> second)
+                .filter(outcome -> CrownCourtOutcomeType.APPEAL
+                        .getType()
+                        .equals(outcome.getOutcome().getType()))
+                .orElse(null);
+    }
 }
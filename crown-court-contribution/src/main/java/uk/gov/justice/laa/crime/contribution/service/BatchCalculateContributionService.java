@@ -0,0 +1,125 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
+import uk.gov.justice.laa.crime.contribution.config.ExecutorConfiguration;
+import uk.gov.justice.laa.crime.dto.ErrorDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs {@link CalculateContributionService#calculateContribution} over a stream of requests. The input may be a
+ * JSON array or newline-delimited JSON; each result is written as one line of NDJSON in input order. At most
+ * {@link #MAX_IN_FLIGHT} requests are held in memory at a time, so the size of a batch is unbounded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchCalculateContributionService {
+
+    static final int MAX_IN_FLIGHT = 512;
+    private static final byte NEW_LINE = '\n';
+
+    private final CalculateContributionService calculateContributionService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Qualifier(ExecutorConfiguration.CALCULATION_EXECUTOR)
+    private final ExecutorService calculationExecutor;
+
+    public void calculateContributions(InputStream requests, OutputStream responses, String traceId)
+            throws IOException {
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(MAX_IN_FLIGHT);
+        long index = 0;
+        try (MappingIterator<ApiCalculateContributionRequest> iterator =
+                objectMapper.readerFor(ApiCalculateContributionRequest.class).readValues(requests)) {
+            while (iterator.hasNextValue()) {
+                ApiCalculateContributionRequest request = iterator.nextValue();
+                long requestIndex = index++;
+                inFlight.addLast(CompletableFuture.supplyAsync(
+                        () -> calculate(requestIndex, request, traceId), calculationExecutor));
+                if (inFlight.size() >= MAX_IN_FLIGHT) {
+                    write(inFlight.removeFirst(), responses);
+                }
+            }
+        } catch (JsonProcessingException exception) {
+            log.warn("Unable to read batch request at index {}", index, exception);
+            drain(inFlight, responses);
+            writeLine(
+                    buildError(HttpStatus.BAD_REQUEST, index, exception.getOriginalMessage(), traceId), responses);
+            return;
+        }
+        drain(inFlight, responses);
+        log.info("Calculated contributions for {} batch requests", index);
+    }
+
+    private byte[] calculate(long index, ApiCalculateContributionRequest request, String traceId) {
+        Object result;
+        Set<ConstraintViolation<ApiCalculateContributionRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            result = buildError(HttpStatus.BAD_REQUEST, index, message, traceId);
+        } else {
+            try {
+                result = calculateContributionService.calculateContribution(request);
+            } catch (RuntimeException exception) {
+                log.error("Failed to calculate contribution for batch request at index {}", index, exception);
+                result = buildError(HttpStatus.INTERNAL_SERVER_ERROR, index, exception.getMessage(), traceId);
+            }
+        }
+        try {
+            return objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void drain(Deque<CompletableFuture<byte[]>> inFlight, OutputStream responses) throws IOException {
+        while (!inFlight.isEmpty()) {
+            write(inFlight.removeFirst(), responses);
+        }
+        responses.flush();
+    }
+
+    private static void write(CompletableFuture<byte[]> result, OutputStream responses) throws IOException {
+        responses.write(result.join());
+        responses.write(NEW_LINE);
+    }
+
+    private void writeLine(Object value, OutputStream responses) throws IOException {
+        responses.write(objectMapper.writeValueAsBytes(value));
+        responses.write(NEW_LINE);
+        responses.flush();
+    }
+
+    private static ErrorDTO buildError(HttpStatus status, long index, String message, String traceId) {
+        return ErrorDTO.builder()
+                .traceId(traceId)
+                .code(status.toString())
+                .message("Request " + index + ": " + message)
+                .build();
+    }
+}
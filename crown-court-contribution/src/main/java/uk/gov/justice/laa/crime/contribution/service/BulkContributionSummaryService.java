@@ -0,0 +1,90 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.justice.laa.crime.contribution.builder.ContributionSummaryMapper;
+import uk.gov.justice.laa.crime.contribution.config.BulkSummariesConfiguration;
+import uk.gov.justice.laa.crime.contribution.config.ExecutorConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesResult;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Looks up the contribution summaries of many rep orders for one inbound request. Each distinct rep order is looked up
+ * once through {@link MaatCourtDataService#getContributionsSummary} on the downstream executor, a bounded number at a
+ * time. Results are emitted as each lookup finishes, so they arrive in completion order rather than request order. A
+ * failed lookup is reported in its own result, with the status the same failure would give a single lookup, and does
+ * not fail the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkContributionSummaryService {
+
+    private final MaatCourtDataService maatCourtDataService;
+    private final ContributionSummaryMapper contributionSummaryMapper;
+    private final BulkSummariesConfiguration bulkSummariesConfiguration;
+
+    @Qualifier(ExecutorConfiguration.DOWNSTREAM_EXECUTOR)
+    private final Executor downstreamExecutor;
+
+    public Flux<ContributionSummariesResult> getContributionSummaries(final List<Integer> repIds) {
+        List<Integer> distinctRepIds = repIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctRepIds.size() > bulkSummariesConfiguration.getMaxRepIds()) {
+            throw new ValidationException("At most " + bulkSummariesConfiguration.getMaxRepIds()
+                    + " repIds can be requested at once, got " + distinctRepIds.size());
+        }
+        log.info("Getting contribution summaries for {} rep orders", distinctRepIds.size());
+        Scheduler scheduler = Schedulers.fromExecutor(downstreamExecutor);
+        return Flux.fromIterable(distinctRepIds)
+                .flatMap(
+                        repId -> getContributionSummaries(repId).subscribeOn(scheduler),
+                        bulkSummariesConfiguration.getConcurrency());
+    }
+
+    private Mono<ContributionSummariesResult> getContributionSummaries(final Integer repId) {
+        return Mono.fromCallable(() -> maatCourtDataService.getContributionsSummary(repId))
+                .map(summaries -> ContributionSummariesResult.builder()
+                        .repId(repId)
+                        .summaries(summaries.stream()
+                                .map(contributionSummaryMapper::map)
+                                .toList())
+                        .build())
+                .onErrorResume(exception -> {
+                    log.warn("Failed to get contribution summaries for repId {}", repId, exception);
+                    return Mono.just(ContributionSummariesResult.builder()
+                            .repId(repId)
+                            .error(errorCode(exception).toString())
+                            .build());
+                });
+    }
+
+    /**
+     * The status {@code CCCExceptionHandler} would respond with had the lookup been made on its own. The exception's
+     * message is only logged, as it can carry downstream URLs and response bodies.
+     */
+    static HttpStatusCode errorCode(final Throwable exception) {
+        if (exception instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode();
+        }
+        if (exception instanceof CallNotPermittedException || exception instanceof BulkheadFullException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
@@ -0,0 +1,144 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import uk.gov.justice.laa.crime.contribution.config.ExecutorConfiguration;
+import uk.gov.justice.laa.crime.enums.CaseType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs the stages of the contribution calculation pipeline, synchronously or on the downstream executor, and records
+ * how long each stage takes on the {@code contribution.calculation.stage} timer. The whole pipeline is timed on
+ * {@code contribution.calculation} by case type, and the decisions it takes are counted on
+ * {@code contribution.calculation.branch}. Every tag takes one of a small, fixed set of values.
+ */
+@Service
+@RequiredArgsConstructor
+public class CalculationStageRunner {
+
+    static final String STAGE_METRIC = "contribution.calculation.stage";
+    static final String PIPELINE_METRIC = "contribution.calculation";
+    static final String BRANCH_METRIC = "contribution.calculation.branch";
+
+    static final String SUCCESS = "success";
+    static final String ERROR = "error";
+    static final String CANCELLED = "cancelled";
+
+    @Qualifier(ExecutorConfiguration.DOWNSTREAM_EXECUTOR)
+    private final Executor downstreamExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T run(String stage, Supplier<T> supplier) {
+        return record(supplier, outcome -> stageTimer(stage, outcome));
+    }
+
+    /**
+     * Times a non-blocking stage from subscription until it completes, fails or is cancelled.
+     */
+    public <T> Mono<T> runReactive(String stage, Mono<T> mono) {
+        return recordReactive(mono, outcome -> stageTimer(stage, outcome));
+    }
+
+    public <T> T runPipeline(CaseType caseType, Supplier<T> supplier) {
+        return record(supplier, outcome -> pipelineTimer(caseType, outcome));
+    }
+
+    public <T> Mono<T> runPipelineReactive(CaseType caseType, Mono<T> mono) {
+        return recordReactive(mono, outcome -> pipelineTimer(caseType, outcome));
+    }
+
+    /**
+     * Counts the branch the pipeline took at one of its decisions, such as whether contributions are required.
+     */
+    public void recordBranch(CaseType caseType, String decision, String branch) {
+        Counter.builder(BRANCH_METRIC)
+                .description("Branches taken by the contribution calculation pipeline")
+                .tag("case.type", caseTypeTag(caseType))
+                .tag("decision", decision)
+                .tag("branch", branch)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public <T> CompletableFuture<T> runAsync(String stage, Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> run(stage, supplier), downstreamExecutor);
+    }
+
+    /**
+     * Waits for a stage started with {@link #runAsync} and rethrows its failure unwrapped, so callers see the same
+     * exception the synchronous call would have thrown.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    private <T> T record(Supplier<T> supplier, Function<String, Timer> timer) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR;
+        try {
+            T result = supplier.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            sample.stop(timer.apply(outcome));
+        }
+    }
+
+    private <T> Mono<T> recordReactive(Mono<T> mono, Function<String, Timer> timer) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono.doFinally(signal -> sample.stop(timer.apply(outcome(signal))));
+        });
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> ERROR;
+            case CANCEL -> CANCELLED;
+            default -> SUCCESS;
+        };
+    }
+
+    private static String caseTypeTag(CaseType caseType) {
+        return caseType != null ? caseType.name() : "none";
+    }
+
+    private Timer stageTimer(String stage, String outcome) {
+        return Timer.builder(STAGE_METRIC)
+                .description("Time taken by each stage of the contribution calculation pipeline")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer pipelineTimer(CaseType caseType, String outcome) {
+        return Timer.builder(PIPELINE_METRIC)
+                .description("Time taken to calculate contributions for a v1 request")
+                .tag("case.type", caseTypeTag(caseType))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
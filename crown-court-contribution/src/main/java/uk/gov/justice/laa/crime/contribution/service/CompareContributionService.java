@@ -28,13 +28,28 @@ public class CompareContributionService {
     public boolean shouldCreateContribution(
             CalculateContributionDTO calculateContributionDTO, ContributionResult contributionResult) {
         int repId = calculateContributionDTO.getRepId();
-        List<Contribution> contributions = maatCourtDataService.findContribution(repId, false);
+        Optional<Contribution> activeContribution =
+                maatCourtDataService.findFirstContribution(repId, false, isActiveContribution(repId));
+        return shouldCreateContribution(calculateContributionDTO, contributionResult, activeContribution);
+    }
+
+    public boolean shouldCreateContribution(
+            CalculateContributionDTO calculateContributionDTO,
+            ContributionResult contributionResult,
+            List<Contribution> contributions) {
+        int repId = calculateContributionDTO.getRepId();
         log.debug("shouldCreateContribution.contributions--" + contributions);
         Optional<Contribution> activeContribution =
                 Optional.ofNullable(contributions).orElse(Collections.emptyList()).stream()
                         .filter(isActiveContribution(repId))
                         .findFirst();
+        return shouldCreateContribution(calculateContributionDTO, contributionResult, activeContribution);
+    }
 
+    private boolean shouldCreateContribution(
+            CalculateContributionDTO calculateContributionDTO,
+            ContributionResult contributionResult,
+            Optional<Contribution> activeContribution) {
         if (activeContribution.isPresent()
                 && areContributionRecordsIdentical(contributionResult, activeContribution.get())
                 && isMagsCourtOutcomeUnchanged(
@@ -60,7 +75,7 @@ public class CompareContributionService {
                 && contribution.getEffectiveDate().isEqual(contributionResult.effectiveDate());
     }
 
-    private static Predicate<Contribution> isActiveContribution(int repId) {
+    public static Predicate<Contribution> isActiveContribution(int repId) {
         return contribution -> contribution.getRepId().equals(repId)
                 && contribution.getReplacedDate() == null
                 && contribution.getActive().equals("Y");
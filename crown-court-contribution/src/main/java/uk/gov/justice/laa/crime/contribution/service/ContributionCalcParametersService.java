@@ -0,0 +1,303 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.contribution.config.CalcParametersCacheConfiguration;
+import uk.gov.justice.laa.crime.contribution.config.ExecutorConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.util.DateUtil;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Caches the contribution calculation parameters returned by MAAT against the interval they are valid for. Any
+ * effective date inside a cached interval is answered from memory. As in MAAT, both {@code fromDate} and
+ * {@code toDate} are part of the interval.
+ *
+ * <p>A cached entry is fresh for {@code timeToLive}. Once it is older than {@code refreshAhead}, the next request is
+ * answered from the cached copy and starts a reload in the background. An expired entry that cannot be reloaded is
+ * served for up to {@code maxStale} before the MAAT error is passed on.
+ */
+@Slf4j
+@Service
+public class ContributionCalcParametersService {
+
+    static final String CACHE_METRIC = "contribution.calc.parameters.cache";
+
+    private final MaatCourtDataService maatCourtDataService;
+    private final CalcParametersCacheConfiguration cacheConfiguration;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final ConcurrentSkipListMap<LocalDate, CachedParameters> parametersByFromDate =
+            new ConcurrentSkipListMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+    private final Counter staleHits;
+
+    private record CachedParameters(
+            LocalDate fromDate,
+            LocalDate toDate,
+            ContributionCalcParametersDTO parameters,
+            Instant loadedAt,
+            AtomicBoolean refreshing) {
+
+        private boolean covers(LocalDate date) {
+            return !date.isBefore(fromDate) && (toDate == null || !date.isAfter(toDate));
+        }
+
+        private boolean overlaps(CachedParameters other) {
+            return (other.toDate == null || !fromDate.isAfter(other.toDate))
+                    && (toDate == null || !other.fromDate.isAfter(toDate));
+        }
+    }
+
+    @Autowired
+    public ContributionCalcParametersService(
+            MaatCourtDataService maatCourtDataService,
+            CalcParametersCacheConfiguration cacheConfiguration,
+            MeterRegistry meterRegistry,
+            @Qualifier(ExecutorConfiguration.REFRESH_EXECUTOR) Executor refreshExecutor) {
+        this(maatCourtDataService, cacheConfiguration, meterRegistry, refreshExecutor, Clock.systemUTC());
+    }
+
+    ContributionCalcParametersService(
+            MaatCourtDataService maatCourtDataService,
+            CalcParametersCacheConfiguration cacheConfiguration,
+            MeterRegistry meterRegistry,
+            Executor refreshExecutor,
+            Clock clock) {
+        this.maatCourtDataService = maatCourtDataService;
+        this.cacheConfiguration = cacheConfiguration;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.refreshes = counter(meterRegistry, "refresh");
+        this.staleHits = counter(meterRegistry, "stale");
+        Gauge.builder(CACHE_METRIC + ".size", parametersByFromDate, Map::size)
+                .description("Number of cached contribution calculation parameter intervals")
+                .register(meterRegistry);
+    }
+
+    public ContributionCalcParametersDTO getContributionCalcParameters(LocalDate effectiveDate) {
+        if (effectiveDate == null) {
+            return maatCourtDataService.getContributionCalcParameters(null);
+        }
+        CachedParameters cached = findCached(effectiveDate);
+        if (cached == null) {
+            misses.increment();
+            return load(effectiveDate, null);
+        }
+
+        Instant now = clock.instant();
+        if (isFresh(cached, now)) {
+            hits.increment();
+            if (startRefresh(cached, now)) {
+                refreshInBackground(effectiveDate, cached);
+            }
+            return copy(cached.parameters());
+        }
+        misses.increment();
+        return load(effectiveDate, cached);
+    }
+
+    /**
+     * Non-blocking lookup for the reactive pipeline, sharing the cache with the blocking lookup. {@code fetch} loads
+     * the parameters from MAAT for an effective date in MAAT's format, and is only called when the cache cannot
+     * answer.
+     */
+    public Mono<ContributionCalcParametersDTO> getContributionCalcParameters(
+            LocalDate effectiveDate, Function<String, Mono<ContributionCalcParametersDTO>> fetch) {
+        return Mono.defer(() -> {
+            if (effectiveDate == null) {
+                return fetch.apply(null);
+            }
+            CachedParameters cached = findCached(effectiveDate);
+            if (cached == null) {
+                misses.increment();
+                return load(effectiveDate, null, fetch);
+            }
+
+            Instant now = clock.instant();
+            if (isFresh(cached, now)) {
+                hits.increment();
+                if (startRefresh(cached, now)) {
+                    refresh(effectiveDate, cached, fetch).subscribe();
+                }
+                return Mono.just(copy(cached.parameters()));
+            }
+            misses.increment();
+            return load(effectiveDate, cached, fetch);
+        });
+    }
+
+    public void clear() {
+        parametersByFromDate.clear();
+    }
+
+    private CachedParameters findCached(LocalDate effectiveDate) {
+        Map.Entry<LocalDate, CachedParameters> entry = parametersByFromDate.floorEntry(effectiveDate);
+        return (entry != null && entry.getValue().covers(effectiveDate)) ? entry.getValue() : null;
+    }
+
+    private boolean isFresh(CachedParameters cached, Instant now) {
+        return now.isBefore(cached.loadedAt().plus(cacheConfiguration.getTimeToLive()));
+    }
+
+    private boolean startRefresh(CachedParameters cached, Instant now) {
+        return !now.isBefore(cached.loadedAt().plus(cacheConfiguration.getRefreshAhead()))
+                && cached.refreshing().compareAndSet(false, true);
+    }
+
+    private boolean isServableWhenStale(CachedParameters stale) {
+        return stale != null
+                && clock.instant()
+                        .isBefore(stale.loadedAt()
+                                .plus(cacheConfiguration.getTimeToLive())
+                                .plus(cacheConfiguration.getMaxStale()));
+    }
+
+    private void refreshInBackground(LocalDate effectiveDate, CachedParameters cached) {
+        try {
+            refreshExecutor.execute(() -> refresh(effectiveDate, cached));
+        } catch (RejectedExecutionException exception) {
+            cached.refreshing().set(false);
+        }
+    }
+
+    private void refresh(LocalDate effectiveDate, CachedParameters cached) {
+        try {
+            fetchAndStore(effectiveDate);
+            refreshes.increment();
+        } catch (RuntimeException exception) {
+            logRefreshFailure(effectiveDate, exception);
+        } finally {
+            cached.refreshing().set(false);
+        }
+    }
+
+    private Mono<Void> refresh(
+            LocalDate effectiveDate,
+            CachedParameters cached,
+            Function<String, Mono<ContributionCalcParametersDTO>> fetch) {
+        return fetch.apply(DateUtil.getLocalDateString(effectiveDate))
+                .doOnSuccess(parameters -> {
+                    store(effectiveDate, parameters);
+                    refreshes.increment();
+                })
+                .onErrorResume(RuntimeException.class, exception -> {
+                    logRefreshFailure(effectiveDate, exception);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> cached.refreshing().set(false))
+                .then();
+    }
+
+    private ContributionCalcParametersDTO load(LocalDate effectiveDate, CachedParameters stale) {
+        try {
+            ContributionCalcParametersDTO parameters = fetchAndStore(effectiveDate);
+            return parameters != null ? copy(parameters) : null;
+        } catch (RuntimeException exception) {
+            if (isServableWhenStale(stale)) {
+                return serveStale(effectiveDate, stale);
+            }
+            throw exception;
+        }
+    }
+
+    private Mono<ContributionCalcParametersDTO> load(
+            LocalDate effectiveDate,
+            CachedParameters stale,
+            Function<String, Mono<ContributionCalcParametersDTO>> fetch) {
+        return fetch.apply(DateUtil.getLocalDateString(effectiveDate))
+                .map(parameters -> copy(store(effectiveDate, parameters)))
+                .onErrorResume(
+                        RuntimeException.class,
+                        exception -> isServableWhenStale(stale)
+                                ? Mono.fromSupplier(() -> serveStale(effectiveDate, stale))
+                                : Mono.error(exception));
+    }
+
+    private ContributionCalcParametersDTO serveStale(LocalDate effectiveDate, CachedParameters stale) {
+        log.warn(
+                "Unable to load contribution calc parameters for {}, serving values loaded at {}",
+                effectiveDate,
+                stale.loadedAt());
+        staleHits.increment();
+        return copy(stale.parameters());
+    }
+
+    private static void logRefreshFailure(LocalDate effectiveDate, RuntimeException exception) {
+        log.warn("Unable to refresh contribution calc parameters for {}, serving cached values", effectiveDate);
+        log.debug("Refresh failure", exception);
+    }
+
+    private ContributionCalcParametersDTO fetchAndStore(LocalDate effectiveDate) {
+        return store(
+                effectiveDate,
+                maatCourtDataService.getContributionCalcParameters(DateUtil.getLocalDateString(effectiveDate)));
+    }
+
+    private ContributionCalcParametersDTO store(LocalDate effectiveDate, ContributionCalcParametersDTO parameters) {
+        if (parameters == null || parameters.getFromDate() == null) {
+            return parameters;
+        }
+        CachedParameters cached = new CachedParameters(
+                parameters.getFromDate().toLocalDate(),
+                DateUtil.parseLocalDate(parameters.getToDate()),
+                copy(parameters),
+                clock.instant(),
+                new AtomicBoolean());
+        if (!cached.covers(effectiveDate)) {
+            log.debug(
+                    "Contribution calc parameters for {} are valid from {} to {}, not caching",
+                    effectiveDate,
+                    cached.fromDate(),
+                    cached.toDate());
+            return parameters;
+        }
+        parametersByFromDate.values().removeIf(existing -> existing.overlaps(cached));
+        parametersByFromDate.put(cached.fromDate(), cached);
+        return parameters;
+    }
+
+    private static ContributionCalcParametersDTO copy(ContributionCalcParametersDTO parameters) {
+        return ContributionCalcParametersDTO.builder()
+                .fromDate(parameters.getFromDate())
+                .toDate(parameters.getToDate())
+                .disposableIncomePercent(parameters.getDisposableIncomePercent())
+                .upliftedIncomePercent(parameters.getUpliftedIncomePercent())
+                .totalMonths(parameters.getTotalMonths())
+                .upfrontTotalMonths(parameters.getUpfrontTotalMonths())
+                .minUpliftedMonthlyAmount(parameters.getMinUpliftedMonthlyAmount())
+                .interestRate(parameters.getInterestRate())
+                .firstReminderDaysDue(parameters.getFirstReminderDaysDue())
+                .secondReminderDaysDue(parameters.getSecondReminderDaysDue())
+                .minimumMonthlyAmount(parameters.getMinimumMonthlyAmount())
+                .build();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(CACHE_METRIC)
+                .description("Contribution calculation parameter lookups by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
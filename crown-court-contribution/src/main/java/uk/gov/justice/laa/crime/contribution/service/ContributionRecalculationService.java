@@ -0,0 +1,359 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionResponse;
+import uk.gov.justice.laa.crime.contribution.builder.CalculateContributionRequestMapper;
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.config.RecalculationConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionRequestDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RecalculationCase;
+import uk.gov.justice.laa.crime.contribution.dto.RecalculationResult;
+import uk.gov.justice.laa.crime.enums.AssessmentResult;
+import uk.gov.justice.laa.crime.enums.CaseType;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcomeType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Recalculates contributions for a caseload from an extract, without calling MAAT, to show the effect of a change to
+ * the contribution calculation parameters. Each case goes through the same contribution rules, calculation and appeal
+ * amounts as a live calculation, using the parameters from the supplied timeline that cover its assessment date.
+ *
+ * <p>Cases are calculated in parallel on a dedicated {@link ForkJoinPool}, and results are written as NDJSON in input
+ * order. At most {@link #MAX_IN_FLIGHT} cases are held in memory at a time, so the size of a caseload is unbounded.
+ * Nothing is written back to MAAT.
+ */
+@Slf4j
+@Service
+public class ContributionRecalculationService {
+
+    static final String RECALCULATION_METRIC = "contribution.recalculation.cases";
+    static final int MAX_IN_FLIGHT = 1024;
+    private static final byte NEW_LINE = '\n';
+
+    private final ContributionService contributionService;
+    private final CalculateContributionService calculateContributionService;
+    private final CalculateContributionRequestMapper calculateContributionRequestMapper;
+    private final AppealContributionRules appealContributionRules;
+    private final RecalculationConfiguration configuration;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    private final Counter changed;
+    private final Counter unchanged;
+    private final Counter failed;
+
+    public enum CaseFormat {
+        CSV,
+        NDJSON;
+
+        public static CaseFormat of(String fileName) {
+            return fileName.toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+        }
+    }
+
+    public record Summary(long cases, long changed, long failed, Duration elapsed) {
+
+        public double casesPerSecond() {
+            return elapsed.isZero() ? cases : cases * 1_000_000_000d / elapsed.toNanos();
+        }
+    }
+
+    public ContributionRecalculationService(
+            ContributionService contributionService,
+            CalculateContributionService calculateContributionService,
+            CalculateContributionRequestMapper calculateContributionRequestMapper,
+            AppealContributionRules appealContributionRules,
+            RecalculationConfiguration configuration,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.contributionService = contributionService;
+        this.calculateContributionService = calculateContributionService;
+        this.calculateContributionRequestMapper = calculateContributionRequestMapper;
+        this.appealContributionRules = appealContributionRules;
+        this.configuration = configuration;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build();
+        this.changed = counter(meterRegistry, "changed");
+        this.unchanged = counter(meterRegistry, "unchanged");
+        this.failed = counter(meterRegistry, "failed");
+    }
+
+    public Summary recalculate(
+            InputStream cases,
+            CaseFormat format,
+            List<ContributionCalcParametersDTO> parameters,
+            OutputStream results)
+            throws IOException {
+        TreeMap<LocalDate, ContributionCalcParametersDTO> timeline = timeline(parameters);
+        Progress progress = new Progress(System.nanoTime());
+        Deque<CompletableFuture<RecalculationResult>> inFlight = new ArrayDeque<>(MAX_IN_FLIGHT);
+        ForkJoinPool pool = new ForkJoinPool(configuration.getParallelism());
+        try (MappingIterator<RecalculationCase> iterator = readCases(cases, format)) {
+            while (iterator.hasNextValue()) {
+                RecalculationCase recalculationCase = iterator.nextValue();
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> recalculate(recalculationCase, timeline), pool));
+                if (inFlight.size() >= MAX_IN_FLIGHT) {
+                    write(inFlight.removeFirst().join(), results, progress);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.removeFirst().join(), results, progress);
+            }
+            results.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        Summary summary = progress.summary();
+        log.info(
+                "Recalculated {} cases, {} changed, {} failed, in {} ({} cases/s)",
+                summary.cases(),
+                summary.changed(),
+                summary.failed(),
+                summary.elapsed(),
+                Math.round(summary.casesPerSecond()));
+        return summary;
+    }
+
+    RecalculationResult recalculate(
+            RecalculationCase recalculationCase, TreeMap<LocalDate, ContributionCalcParametersDTO> timeline) {
+        try {
+            RecalculationResult result = CaseType.APPEAL_CC.equals(recalculationCase.getCaseType())
+                    ? recalculateAppeal(recalculationCase)
+                    : recalculateContributions(recalculationCase, timeline);
+            result.setRepId(recalculationCase.getRepId());
+            return withChanges(result, recalculationCase);
+        } catch (RuntimeException exception) {
+            log.debug("Failed to recalculate repId {}", recalculationCase.getRepId(), exception);
+            return RecalculationResult.builder()
+                    .repId(recalculationCase.getRepId())
+                    .error(exception.getMessage())
+                    .build();
+        }
+    }
+
+    private RecalculationResult recalculateContributions(
+            RecalculationCase recalculationCase, TreeMap<LocalDate, ContributionCalcParametersDTO> timeline) {
+        ContributionResponseDTO contributionResponse =
+                contributionService.checkContributionsCondition(buildContributionRequest(recalculationCase));
+        if (!Constants.Y.equals(contributionResponse.getDoContribs())) {
+            return RecalculationResult.builder().contributionsRequired(false).build();
+        }
+        if (!MaatCalculateContributionService.isContributionCalculationRequired(
+                contributionResponse,
+                recalculationCase.getCurrentMonthlyContributions(),
+                recalculationCase.getFullResult())) {
+            return RecalculationResult.builder()
+                    .contributionsRequired(true)
+                    .monthlyContributions(BigDecimal.ZERO)
+                    .upfrontContributions(BigDecimal.ZERO)
+                    .totalMonths(0)
+                    .build();
+        }
+
+        ContributionCalcParametersDTO parameters =
+                parametersFor(timeline, recalculationCase.getAssessmentEffectiveDate());
+        ApiCalculateContributionRequest request = calculateContributionRequestMapper.map(
+                parameters,
+                Objects.requireNonNullElse(recalculationCase.getAnnualDisposableIncome(), BigDecimal.ZERO),
+                MaatCalculateContributionService.isUpliftApplied(
+                        contributionResponse, Boolean.TRUE.equals(recalculationCase.getUpliftApplied())),
+                recalculationCase.getContributionCap());
+        ApiCalculateContributionResponse response = calculateContributionService.calculateContribution(request);
+        return RecalculationResult.builder()
+                .contributionsRequired(true)
+                .monthlyContributions(response.getMonthlyContributions())
+                .upfrontContributions(MaatCalculateContributionService.getUpfrontContributions(
+                        response, recalculationCase.getCurrentUpfrontContributions()))
+                .totalMonths(MaatCalculateContributionService.getTotalMonths(contributionResponse, parameters))
+                .basedOn(response.getBasedOn())
+                .upliftApplied(response.getUpliftApplied())
+                .build();
+    }
+
+    private RecalculationResult recalculateAppeal(RecalculationCase recalculationCase) {
+        if (recalculationCase.getCrownCourtOutcome() == null
+                || !CrownCourtOutcomeType.APPEAL
+                        .getType()
+                        .equals(recalculationCase.getCrownCourtOutcome().getType())) {
+            return RecalculationResult.builder().contributionsRequired(false).build();
+        }
+        BigDecimal amount = appealContributionRules.getContributionAmount(
+                recalculationCase.getAppealType(),
+                recalculationCase.getCrownCourtOutcome(),
+                hasPassed(recalculationCase) ? AssessmentResult.PASS : AssessmentResult.FAIL);
+        return RecalculationResult.builder()
+                .contributionsRequired(true)
+                .upfrontContributions(amount)
+                .build();
+    }
+
+    static ContributionRequestDTO buildContributionRequest(RecalculationCase recalculationCase) {
+        return ContributionRequestDTO.builder()
+                .caseType(recalculationCase.getCaseType())
+                .effectiveDate(recalculationCase.getContributionEffectiveDate())
+                .iojResult(recalculationCase.getIojResult())
+                .passportResult(recalculationCase.getPassportResult())
+                .initResult(recalculationCase.getInitResult())
+                .fullResult(recalculationCase.getFullResult())
+                .hardshipResult(recalculationCase.getHardshipResult())
+                .monthlyContribs(recalculationCase.getCurrentMonthlyContributions())
+                .magCourtOutcome(
+                        recalculationCase.getMagCourtOutcome() != null
+                                ? recalculationCase.getMagCourtOutcome().getOutcome()
+                                : null)
+                .crownCourtOutcome(
+                        recalculationCase.getCrownCourtOutcome() != null
+                                ? recalculationCase.getCrownCourtOutcome().getCode()
+                                : null)
+                .build();
+    }
+
+    private static boolean hasPassed(RecalculationCase recalculationCase) {
+        return Stream.of(
+                        recalculationCase.getPassportResult(),
+                        recalculationCase.getInitResult(),
+                        recalculationCase.getFullResult(),
+                        recalculationCase.getHardshipResult())
+                .anyMatch(AssessmentResult.PASS.name()::equals);
+    }
+
+    private static RecalculationResult withChanges(RecalculationResult result, RecalculationCase recalculationCase) {
+        BigDecimal monthlyChange =
+                difference(result.getMonthlyContributions(), recalculationCase.getCurrentMonthlyContributions());
+        BigDecimal upfrontChange =
+                difference(result.getUpfrontContributions(), recalculationCase.getCurrentUpfrontContributions());
+        result.setMonthlyContributionsChange(monthlyChange);
+        result.setUpfrontContributionsChange(upfrontChange);
+        result.setChanged(isChanged(result.getMonthlyContributions(), monthlyChange)
+                || isChanged(result.getUpfrontContributions(), upfrontChange));
+        return result;
+    }
+
+    private static BigDecimal difference(BigDecimal recalculated, BigDecimal current) {
+        if (recalculated == null) {
+            return null;
+        }
+        return current == null ? recalculated : recalculated.subtract(current);
+    }
+
+    private static boolean isChanged(BigDecimal recalculated, BigDecimal change) {
+        return recalculated != null && change.signum() != 0;
+    }
+
+    static TreeMap<LocalDate, ContributionCalcParametersDTO> timeline(List<ContributionCalcParametersDTO> parameters) {
+        TreeMap<LocalDate, ContributionCalcParametersDTO> timeline = new TreeMap<>();
+        for (ContributionCalcParametersDTO parameter : parameters) {
+            if (parameter.getFromDate() == null) {
+                throw new IllegalArgumentException("Contribution calculation parameters must have a fromDate");
+            }
+            timeline.put(parameter.getFromDate().toLocalDate(), parameter);
+        }
+        return timeline;
+    }
+
+    private static ContributionCalcParametersDTO parametersFor(
+            TreeMap<LocalDate, ContributionCalcParametersDTO> timeline, LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("assessmentEffectiveDate is required");
+        }
+        Map.Entry<LocalDate, ContributionCalcParametersDTO> entry = timeline.floorEntry(date);
+        if (entry == null
+                || (entry.getValue().getToDate() != null
+                        && !date.isBefore(entry.getValue().getToDate().toLocalDate()))) {
+            throw new IllegalArgumentException("No contribution calculation parameters cover " + date);
+        }
+        return entry.getValue();
+    }
+
+    MappingIterator<RecalculationCase> readCases(InputStream cases, CaseFormat format) throws IOException {
+        ObjectReader reader = format == CaseFormat.CSV
+                ? csvMapper.readerFor(RecalculationCase.class).with(CsvSchema.emptySchema().withHeader())
+                : objectMapper.readerFor(RecalculationCase.class);
+        return reader.readValues(cases);
+    }
+
+    private void write(RecalculationResult result, OutputStream results, Progress progress) throws IOException {
+        try {
+            results.write(objectMapper.writeValueAsBytes(result));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        results.write(NEW_LINE);
+        if (result.getError() != null) {
+            failed.increment();
+            progress.failed++;
+        } else if (Boolean.TRUE.equals(result.getChanged())) {
+            changed.increment();
+            progress.changed++;
+        } else {
+            unchanged.increment();
+        }
+        if (++progress.cases % configuration.getProgressInterval() == 0) {
+            Summary summary = progress.summary();
+            log.info(
+                    "Recalculated {} cases so far, {} changed, {} failed ({} cases/s)",
+                    summary.cases(),
+                    summary.changed(),
+                    summary.failed(),
+                    Math.round(summary.casesPerSecond()));
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(RECALCULATION_METRIC)
+                .description("Cases recalculated by bulk recalculation runs, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Progress {
+
+        private final long startedAt;
+        private long cases;
+        private long changed;
+        private long failed;
+
+        private Progress(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private Summary summary() {
+            return new Summary(cases, changed, failed, Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+    }
+}
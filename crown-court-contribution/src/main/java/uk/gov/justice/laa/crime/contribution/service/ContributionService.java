@@ -1,7 +1,6 @@
 package uk.gov.justice.laa.crime.contribution.service;
 
 import static java.util.Optional.ofNullable;
-import static uk.gov.justice.laa.crime.contribution.common.Constants.FAIL;
 import static uk.gov.justice.laa.crime.contribution.common.Constants.PASS;
 
 import lombok.RequiredArgsConstructor;
@@ -16,7 +15,6 @@ import uk.gov.justice.laa.crime.contribution.dto.PassportAssessmentDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
 import uk.gov.justice.laa.crime.contribution.projection.CorrespondenceRuleAndTemplateInfo;
-import uk.gov.justice.laa.crime.contribution.repository.CorrespondenceRuleRepository;
 import uk.gov.justice.laa.crime.contribution.staticdata.enums.MeansAssessmentResult;
 import uk.gov.justice.laa.crime.enums.CaseType;
 import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
@@ -29,9 +27,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -39,7 +35,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ContributionService {
 
     private static final String INEL = "INEL";
-    private final CorrespondenceRuleRepository correspondenceRuleRepository;
+    private final CorrespondenceRuleIndex correspondenceRuleIndex;
     private final MaatCourtDataService maatCourtDataService;
     private final ContributionResponseDTOMapper contributionResponseDTOMapper;
 
@@ -65,44 +61,10 @@ public class ContributionService {
     }
 
     public MeansAssessmentResult getMeansAssessmentResult(final AssessmentResults results) {
-        if (StringUtils.isNotBlank(results.passportResult())) {
-            if (Set.of(PASS, Constants.TEMP).contains(results.passportResult())) {
-                return MeansAssessmentResult.PASSPORT;
-            } else if (FAIL.equals(results.passportResult())) {
-                return MeansAssessmentResult.FAILPORT;
-            } else if (PASS.equals(results.initResult())
-                    || PASS.equals(results.fullResult())
-                    || PASS.equals(results.hardshipResult())) {
-                return MeansAssessmentResult.PASS;
-            } else if (Set.of(FAIL, Constants.FULL, Constants.HARDSHIP_APPLICATION)
-                            .contains(results.initResult())
-                    && (FAIL.equals(results.fullResult()))
-                    && (FAIL.equals(ofNullable(results.hardshipResult()).orElse(FAIL)))) {
-                return MeansAssessmentResult.FAIL;
-            }
-            return null;
-        }
-
-        if (StringUtils.isBlank(results.fullResult())) {
-            if (StringUtils.isBlank(results.initResult())) {
-                return MeansAssessmentResult.NONE;
-            }
-            return switch (results.initResult()) {
-                case Constants.PASS -> MeansAssessmentResult.INIT_PASS;
-                case Constants.FAIL -> MeansAssessmentResult.INIT_FAIL;
-                default -> null;
-            };
-        }
-
-        return switch (results.fullResult()) {
-            case Constants.PASS -> MeansAssessmentResult.PASS;
-            case Constants.FAIL -> MeansAssessmentResult.FAIL;
-            case Constants.INEL -> MeansAssessmentResult.INEL;
-            default -> null;
-        };
+        return MeansAssessmentResultTable.lookup(
+                results.passportResult(), results.initResult(), results.fullResult(), results.hardshipResult());
     }
 
-    @Transactional
     public ContributionResponseDTO checkContributionsCondition(ContributionRequestDTO request) {
 
         AssessmentResults results = AssessmentResults.builder()
@@ -151,7 +113,7 @@ public class ContributionService {
     }
 
     public CorrespondenceRuleAndTemplateInfo getCoteInfo(ContributionRequestDTO contributionRequestDTO) {
-        return correspondenceRuleRepository
+        return correspondenceRuleIndex
                 .getCoteInfo(
                         contributionRequestDTO.getMeansResult(),
                         contributionRequestDTO.getIojResult(),
@@ -172,13 +134,23 @@ public class ContributionService {
     }
 
     public boolean hasCCOutcomeChanged(final int repId) {
-        return maatCourtDataService.getRepOrderCCOutcomeByRepId(repId).stream()
+        return maatCourtDataService
+                .getEarliestRepOrderCCOutcome(repId)
+                .map(ContributionService::isOutcomeChanged)
+                .orElse(false);
+    }
+
+    public boolean hasCCOutcomeChanged(final List<RepOrderCCOutcomeDTO> repOrderCCOutcomes) {
+        return repOrderCCOutcomes.stream()
                 .min(Comparator.comparing(RepOrderCCOutcomeDTO::getId))
-                .map(outcome -> outcome.getOutcome() != null
-                        && !CrownCourtOutcome.AQUITTED.getCode().equals(outcome.getOutcome()))
+                .map(ContributionService::isOutcomeChanged)
                 .orElse(false);
     }
 
+    private static boolean isOutcomeChanged(final RepOrderCCOutcomeDTO outcome) {
+        return outcome.getOutcome() != null && !CrownCourtOutcome.AQUITTED.getCode().equals(outcome.getOutcome());
+    }
+
     public boolean hasApplicationStatusChanged(RepOrderDTO repOrderDTO, CaseType caseType, String status) {
         return CaseType.INDICTABLE.equals(caseType)
                 && repOrderDTO != null
@@ -0,0 +1,349 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.config.ExecutorConfiguration;
+import uk.gov.justice.laa.crime.contribution.config.SimulationConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RecalculationCase;
+import uk.gov.justice.laa.crime.contribution.dto.RecalculationResult;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationRequest;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationResult;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRecalculationService.CaseFormat;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Shows what a proposed set of contribution calculation parameters would do to a stored caseload. Every case in the
+ * corpus goes through the same contribution rules and calculation as a bulk recalculation, as if the proposed
+ * parameters were in force on its assessment date, and the results are reduced to totals and a distribution of monthly
+ * contributions.
+ *
+ * <p>Cases are calculated in chunks on the calculation executor. Parsed corpora, and the results for the last
+ * {@link SimulationConfiguration#getCacheSize()} corpus and parameter combinations, are kept until the corpus file
+ * changes, so an analyst trying values one after another only pays for the ones they have not tried. Identical
+ * simulations requested at the same time are run once.
+ */
+@Slf4j
+@Service
+public class ContributionSimulationService {
+
+    static final String SIMULATION_METRIC = "contribution.simulation";
+    static final List<Integer> PERCENTILES = List.of(25, 50, 75, 90, 99);
+
+    private static final Pattern CORPUS_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    private static final List<String> CORPUS_EXTENSIONS = List.of(".csv", ".ndjson");
+
+    private final ContributionRecalculationService recalculationService;
+    private final SimulationConfiguration configuration;
+    private final ExecutorService calculationExecutor;
+
+    private final Counter simulated;
+    private final Counter cached;
+
+    private final Map<String, Corpus> corpora = new ConcurrentHashMap<>();
+    private final Map<SimulationKey, CompletableFuture<SimulationResult>> results;
+
+    private record CorpusVersion(String name, long lastModified, long size) {}
+
+    private record Corpus(CorpusVersion version, List<RecalculationCase> cases) {}
+
+    private record SimulationKey(
+            CorpusVersion corpus,
+            BigDecimal disposableIncomePercent,
+            BigDecimal upliftedIncomePercent,
+            BigDecimal minimumMonthlyAmount,
+            BigDecimal minUpliftedMonthlyAmount,
+            Integer totalMonths,
+            Integer upfrontTotalMonths) {
+
+        private static SimulationKey of(CorpusVersion corpus, ContributionCalcParametersDTO parameters) {
+            return new SimulationKey(
+                    corpus,
+                    parameters.getDisposableIncomePercent().stripTrailingZeros(),
+                    parameters.getUpliftedIncomePercent().stripTrailingZeros(),
+                    parameters.getMinimumMonthlyAmount().stripTrailingZeros(),
+                    parameters.getMinUpliftedMonthlyAmount().stripTrailingZeros(),
+                    parameters.getTotalMonths(),
+                    parameters.getUpfrontTotalMonths());
+        }
+    }
+
+    public ContributionSimulationService(
+            ContributionRecalculationService recalculationService,
+            SimulationConfiguration configuration,
+            @Qualifier(ExecutorConfiguration.CALCULATION_EXECUTOR) ExecutorService calculationExecutor,
+            MeterRegistry meterRegistry) {
+        this.recalculationService = recalculationService;
+        this.configuration = configuration;
+        this.calculationExecutor = calculationExecutor;
+        this.simulated = counter(meterRegistry, "simulated");
+        this.cached = counter(meterRegistry, "cached");
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SimulationKey, CompletableFuture<SimulationResult>> eldest) {
+                return size() > configuration.getCacheSize();
+            }
+        };
+    }
+
+    public SimulationResult simulate(SimulationRequest request) {
+        ContributionCalcParametersDTO parameters = inForce(request.getParameters());
+        Corpus corpus = corpus(request.getCorpus());
+        SimulationKey key = SimulationKey.of(corpus.version(), parameters);
+
+        CompletableFuture<SimulationResult> future;
+        boolean owner = false;
+        synchronized (results) {
+            future = results.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                results.put(key, future);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            cached.increment();
+            return CalculationStageRunner.join(future);
+        }
+        try {
+            SimulationResult result = simulate(corpus, parameters);
+            simulated.increment();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException exception) {
+            synchronized (results) {
+                results.remove(key, future);
+            }
+            future.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    private SimulationResult simulate(Corpus corpus, ContributionCalcParametersDTO parameters) {
+        long startedAt = System.nanoTime();
+        TreeMap<LocalDate, ContributionCalcParametersDTO> timeline =
+                new TreeMap<>(Map.of(LocalDate.MIN, parameters));
+        List<RecalculationCase> cases = corpus.cases();
+        List<CompletableFuture<Aggregate>> chunks = new ArrayList<>();
+        int chunkSize = configuration.getChunkSize();
+        for (int from = 0; from < cases.size(); from += chunkSize) {
+            List<RecalculationCase> chunk = cases.subList(from, Math.min(cases.size(), from + chunkSize));
+            chunks.add(CompletableFuture.supplyAsync(() -> aggregate(chunk, timeline), calculationExecutor));
+        }
+        Aggregate total = new Aggregate();
+        chunks.forEach(chunk -> total.merge(CalculationStageRunner.join(chunk)));
+        log.info(
+                "Simulated {} cases of corpus {} in {} ms",
+                total.cases,
+                corpus.version().name(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return total.toResult(corpus.version().name());
+    }
+
+    private Aggregate aggregate(
+            List<RecalculationCase> cases, TreeMap<LocalDate, ContributionCalcParametersDTO> timeline) {
+        Aggregate aggregate = new Aggregate();
+        for (RecalculationCase recalculationCase : cases) {
+            aggregate.add(recalculationCase, recalculationService.recalculate(recalculationCase, timeline));
+        }
+        return aggregate;
+    }
+
+    /**
+     * Copies the parameters a calculation uses, open-ended so that they apply to every assessment date.
+     */
+    private static ContributionCalcParametersDTO inForce(ContributionCalcParametersDTO parameters) {
+        List<String> missing = new ArrayList<>();
+        requireValue(parameters.getDisposableIncomePercent(), "disposableIncomePercent", missing);
+        requireValue(parameters.getUpliftedIncomePercent(), "upliftedIncomePercent", missing);
+        requireValue(parameters.getMinimumMonthlyAmount(), "minimumMonthlyAmount", missing);
+        requireValue(parameters.getMinUpliftedMonthlyAmount(), "minUpliftedMonthlyAmount", missing);
+        requireValue(parameters.getTotalMonths(), "totalMonths", missing);
+        requireValue(parameters.getUpfrontTotalMonths(), "upfrontTotalMonths", missing);
+        if (!missing.isEmpty()) {
+            throw new ValidationException("Simulation parameters are missing " + String.join(", ", missing));
+        }
+        return ContributionCalcParametersDTO.builder()
+                .fromDate(LocalDateTime.MIN)
+                .disposableIncomePercent(parameters.getDisposableIncomePercent())
+                .upliftedIncomePercent(parameters.getUpliftedIncomePercent())
+                .minimumMonthlyAmount(parameters.getMinimumMonthlyAmount())
+                .minUpliftedMonthlyAmount(parameters.getMinUpliftedMonthlyAmount())
+                .totalMonths(parameters.getTotalMonths())
+                .upfrontTotalMonths(parameters.getUpfrontTotalMonths())
+                .build();
+    }
+
+    private static void requireValue(Object value, String name, List<String> missing) {
+        if (value == null) {
+            missing.add(name);
+        }
+    }
+
+    private Corpus corpus(String name) {
+        if (StringUtils.isBlank(configuration.getCorpusDirectory())) {
+            throw new ValidationException("Simulations are not available, no corpus directory is configured");
+        }
+        if (!CORPUS_NAME.matcher(name).matches()) {
+            throw new ValidationException("Unknown corpus " + name);
+        }
+        Path directory = Path.of(configuration.getCorpusDirectory());
+        Path file = CORPUS_EXTENSIONS.stream()
+                .map(extension -> directory.resolve(name + extension))
+                .filter(Files::isRegularFile)
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Unknown corpus " + name));
+        CorpusVersion version = version(name, file);
+        return corpora.compute(name, (ignored, current) -> current != null && current.version().equals(version)
+                ? current
+                : new Corpus(version, load(file)));
+    }
+
+    private static CorpusVersion version(String name, Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new CorpusVersion(name, attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private List<RecalculationCase> load(Path file) {
+        try (InputStream cases = Files.newInputStream(file)) {
+            List<RecalculationCase> loaded = recalculationService
+                    .readCases(cases, CaseFormat.of(file.getFileName().toString()))
+                    .readAll();
+            log.info("Loaded {} simulation cases from {}", loaded.size(), file);
+            return List.copyOf(loaded);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(SIMULATION_METRIC)
+                .description("Simulations of proposed contribution calculation parameters, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Aggregate {
+
+        private long cases;
+        private long contributing;
+        private long changed;
+        private long failed;
+        private long atCap;
+        private long belowMinimum;
+        private BigDecimal monthlyTotal = BigDecimal.ZERO;
+        private BigDecimal currentMonthlyTotal = BigDecimal.ZERO;
+        private BigDecimal total = BigDecimal.ZERO;
+        private final List<BigDecimal> monthlyContributions = new ArrayList<>();
+
+        private void add(RecalculationCase recalculationCase, RecalculationResult result) {
+            cases++;
+            if (result.getError() != null) {
+                failed++;
+                return;
+            }
+            if (recalculationCase.getCurrentMonthlyContributions() != null) {
+                currentMonthlyTotal = currentMonthlyTotal.add(recalculationCase.getCurrentMonthlyContributions());
+            }
+            if (Boolean.TRUE.equals(result.getChanged())) {
+                changed++;
+            }
+            BigDecimal monthly = result.getMonthlyContributions();
+            if (monthly == null) {
+                return;
+            }
+            monthlyContributions.add(monthly);
+            monthlyTotal = monthlyTotal.add(monthly);
+            total = total.add(monthly.multiply(BigDecimal.valueOf(result.getTotalMonths())));
+            if (monthly.signum() > 0) {
+                contributing++;
+            }
+            if (Constants.OFFENCE_TYPE.equals(result.getBasedOn())) {
+                atCap++;
+            } else if (Constants.MEANS.equals(result.getBasedOn())
+                    && monthly.signum() == 0
+                    && hasIncome(recalculationCase)) {
+                belowMinimum++;
+            }
+        }
+
+        private void merge(Aggregate other) {
+            cases += other.cases;
+            contributing += other.contributing;
+            changed += other.changed;
+            failed += other.failed;
+            atCap += other.atCap;
+            belowMinimum += other.belowMinimum;
+            monthlyTotal = monthlyTotal.add(other.monthlyTotal);
+            currentMonthlyTotal = currentMonthlyTotal.add(other.currentMonthlyTotal);
+            total = total.add(other.total);
+            monthlyContributions.addAll(other.monthlyContributions);
+        }
+
+        private SimulationResult toResult(String corpus) {
+            return SimulationResult.builder()
+                    .corpus(corpus)
+                    .cases(cases)
+                    .contributingCases(contributing)
+                    .changedCases(changed)
+                    .failedCases(failed)
+                    .casesAtCap(atCap)
+                    .casesBelowMinimum(belowMinimum)
+                    .totalMonthlyContributions(monthlyTotal)
+                    .currentTotalMonthlyContributions(currentMonthlyTotal)
+                    .totalContributions(total)
+                    .monthlyContributionsPercentiles(percentiles())
+                    .build();
+        }
+
+        private Map<String, BigDecimal> percentiles() {
+            if (monthlyContributions.isEmpty()) {
+                return Map.of();
+            }
+            List<BigDecimal> sorted = monthlyContributions.stream().sorted().toList();
+            Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+            for (int percentile : PERCENTILES) {
+                // nearest rank
+                int rank = (int) Math.ceil(percentile / 100d * sorted.size());
+                percentiles.put("p" + percentile, sorted.get(Math.max(rank, 1) - 1));
+            }
+            return percentiles;
+        }
+
+        private static boolean hasIncome(RecalculationCase recalculationCase) {
+            return Objects.requireNonNullElse(recalculationCase.getAnnualDisposableIncome(), BigDecimal.ZERO)
+                            .signum()
+                    > 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.contribution.entity.CorrespondenceRule;
+import uk.gov.justice.laa.crime.contribution.projection.CorrespondenceRuleAndTemplateDetails;
+import uk.gov.justice.laa.crime.contribution.projection.CorrespondenceRuleAndTemplateInfo;
+import uk.gov.justice.laa.crime.contribution.repository.CorrespondenceRuleRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory replacement for {@link CorrespondenceRuleRepository#getCoteInfo}. The correspondence rules are static
+ * reference data, so they are loaded once into an immutable decision tree keyed by means result, then mags outcome,
+ * crown court outcome, IOJ result and init result. Each level holds the exact matches plus the {@code ANY} and, where
+ * the query allows it, {@code NONE} wildcard branches, so a lookup visits only the branches the SQL would match.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CorrespondenceRuleIndex {
+
+    static final String ANY = "ANY";
+    static final String NONE = "NONE";
+
+    private final CorrespondenceRuleRepository correspondenceRuleRepository;
+
+    private volatile Map<String, Node> rulesByMeansResult = Map.of();
+
+    /**
+     * Levels below the means result, in lookup order. {@code matchesNone} marks the columns where a {@code NONE}
+     * rule also matches a null input.
+     */
+    private enum Level {
+        MAGS_OUTCOME(true, CorrespondenceRule::getMcooOutcome),
+        CC_OUTCOME(true, CorrespondenceRule::getCcooOutcome),
+        IOJ_RESULT(false, CorrespondenceRule::getIojResult),
+        INIT_RESULT(false, CorrespondenceRule::getInitResult);
+
+        private final boolean matchesNone;
+        private final Function<CorrespondenceRule, String> column;
+
+        Level(boolean matchesNone, Function<CorrespondenceRule, String> column) {
+            this.matchesNone = matchesNone;
+            this.column = column;
+        }
+    }
+
+    private record Node(
+            Map<String, Node> exact, Node any, Node none, List<CorrespondenceRuleAndTemplateInfo> rules) {}
+
+    @PostConstruct
+    public void reload() {
+        List<CorrespondenceRule> rules = correspondenceRuleRepository.findAllWithTemplate();
+        Map<String, NodeBuilder> builders = new HashMap<>();
+        for (CorrespondenceRule rule : rules) {
+            if (rule.getMeansResult() != null) {
+                builders.computeIfAbsent(rule.getMeansResult(), key -> new NodeBuilder())
+                        .add(rule, 0);
+            }
+        }
+        Map<String, Node> index = new HashMap<>();
+        builders.forEach((meansResult, builder) -> index.put(meansResult, builder.build()));
+        rulesByMeansResult = Map.copyOf(index);
+        log.info("Loaded {} correspondence rules into the rule index", rules.size());
+    }
+
+    public Optional<CorrespondenceRuleAndTemplateInfo> getCoteInfo(
+            String meansResult, String iojResult, String magsOutcome, String ccOutcome, String initResult) {
+        Node root = meansResult != null ? rulesByMeansResult.get(meansResult) : null;
+        if (root == null) {
+            return Optional.empty();
+        }
+        List<CorrespondenceRuleAndTemplateInfo> matches = new ArrayList<>(1);
+        collect(root, new String[] {magsOutcome, ccOutcome, iojResult, initResult}, 0, matches);
+        if (matches.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, matches.size());
+        }
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.getFirst());
+    }
+
+    private static void collect(
+            Node node, String[] values, int level, List<CorrespondenceRuleAndTemplateInfo> matches) {
+        if (node == null) {
+            return;
+        }
+        if (level == values.length) {
+            matches.addAll(node.rules());
+            return;
+        }
+        String value = values[level];
+        if (value != null) {
+            collect(node.exact().get(value), values, level + 1, matches);
+        } else {
+            collect(node.none(), values, level + 1, matches);
+        }
+        collect(node.any(), values, level + 1, matches);
+    }
+
+    private static final class NodeBuilder {
+        private final Map<String, NodeBuilder> exact = new HashMap<>();
+        private final List<CorrespondenceRuleAndTemplateInfo> rules = new ArrayList<>();
+        private NodeBuilder any;
+        private NodeBuilder none;
+
+        private void add(CorrespondenceRule rule, int depth) {
+            if (depth == Level.values().length) {
+                rules.add(CorrespondenceRuleAndTemplateDetails.of(rule));
+                return;
+            }
+            Level level = Level.values()[depth];
+            String value = level.column.apply(rule);
+            if (value == null) {
+                // a null column never satisfies the equality in the query
+                return;
+            }
+            if (ANY.equals(value)) {
+                any = any != null ? any : new NodeBuilder();
+                any.add(rule, depth + 1);
+                return;
+            }
+            if (level.matchesNone && NONE.equals(value)) {
+                none = none != null ? none : new NodeBuilder();
+                none.add(rule, depth + 1);
+            }
+            exact.computeIfAbsent(value, key -> new NodeBuilder()).add(rule, depth + 1);
+        }
+
+        private Node build() {
+            Map<String, Node> children = new HashMap<>();
+            exact.forEach((value, builder) -> children.put(value, builder.build()));
+            return new Node(
+                    Map.copyOf(children),
+                    any != null ? any.build() : null,
+                    none != null ? none.build() : null,
+                    List.copyOf(rules));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import lombok.RequiredArgsConstructor;
+import uk.gov.justice.laa.crime.contribution.entity.IdempotentResponseEntity;
+import uk.gov.justice.laa.crime.contribution.repository.IdempotentResponseRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "contribution.idempotency", name = "store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotentResponseRepository repository;
+
+    @Override
+    public Optional<StoredResponse> find(String key, Instant now) {
+        return repository
+                .findRow(key)
+                .map(row -> new StoredResponse(key, row.getRequestHash(), row.getResponseBody(), row.getExpiresAt()))
+                .filter(response -> !response.isExpired(now));
+    }
+
+    @Override
+    public boolean claim(StoredResponse pending, Instant now) {
+        // an expired row would block the insert until the next purge
+        repository.deleteExpired(pending.key(), now);
+        return repository.insertIfAbsent(pending.key(), pending.requestHash(), pending.expiresAt()) == 1;
+    }
+
+    @Override
+    public void save(StoredResponse response) {
+        repository.save(IdempotentResponseEntity.builder()
+                .idempotencyKey(response.key())
+                .requestHash(response.requestHash())
+                .responseBody(response.body())
+                .expiresAt(response.expiresAt())
+                .build());
+    }
+
+    @Override
+    public void release(String key) {
+        repository.deletePending(key);
+    }
+
+    @Override
+    public void deleteExpired(Instant now) {
+        repository.deleteExpired(now);
+    }
+}
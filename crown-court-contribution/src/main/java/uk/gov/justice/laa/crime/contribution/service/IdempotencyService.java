@@ -0,0 +1,315 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.justice.laa.crime.contribution.config.IdempotencyConfiguration;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyStore.StoredResponse;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Makes a request carrying an {@code Idempotency-Key} run at most once within the replay window. A request claims its
+ * key in the store before it runs. A repeat of a completed request is answered with the stored response, and a repeat
+ * that arrives while the first is still running waits for its result: on this instance through the request in flight,
+ * on another by polling the store until the response appears. Reusing a key with a different request body is
+ * rejected. A failed request releases its claim and is not stored, so it can be retried with the same key.
+ *
+ * <p>The store is best effort: if it cannot be read or written the request runs as if it carried no key.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final String IDEMPOTENCY_METRIC = "contribution.idempotency";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final IdempotencyConfiguration configuration;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicReference<Instant> nextPurge = new AtomicReference<>(Instant.MIN);
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter awaited;
+
+    public record Result<T>(T body, boolean replayed) {}
+
+    private record InFlight(String requestHash, CompletableFuture<String> body) {}
+
+    /**
+     * This request's hold on a key. {@code replayedBody} is set when the key has already been answered, in which case
+     * the request must not run.
+     */
+    private record Claim(String key, String requestHash, InFlight request, String replayedBody) {}
+
+    @Autowired
+    public IdempotencyService(
+            IdempotencyStore store,
+            IdempotencyConfiguration configuration,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this(store, configuration, objectMapper, meterRegistry, Clock.systemUTC());
+    }
+
+    IdempotencyService(
+            IdempotencyStore store,
+            IdempotencyConfiguration configuration,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.store = store;
+        this.configuration = configuration;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.executed = counter(meterRegistry, "executed");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.awaited = counter(meterRegistry, "awaited");
+    }
+
+    /**
+     * Runs {@code action} unless a request to the same {@code operation} with the same key has already completed, or
+     * is still running, in which case its response is returned instead. Without a key the action always runs.
+     */
+    public <T> Result<T> execute(
+            String operation, String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return new Result<>(action.get(), false);
+        }
+        Claim claim = claim(operation, idempotencyKey, request);
+        if (claim.replayedBody() != null) {
+            return new Result<>(read(claim.replayedBody(), responseType), true);
+        }
+        try {
+            T response = action.get();
+            complete(claim, write(response));
+            return new Result<>(response, false);
+        } catch (RuntimeException | Error exception) {
+            fail(claim, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * The reactive form of {@link #execute}. Claiming, waiting for a repeat and storing the response block on the
+     * store, so they run on the bounded elastic scheduler rather than the thread that completes {@code action}. A
+     * request that fails or is cancelled releases its claim.
+     */
+    public <T> Mono<Result<T>> executeReactive(
+            String operation,
+            String idempotencyKey,
+            Object request,
+            Class<T> responseType,
+            Supplier<Mono<T>> action) {
+        if (idempotencyKey == null) {
+            return Mono.defer(action).map(response -> new Result<>(response, false));
+        }
+        return Mono.fromCallable(() -> claim(operation, idempotencyKey, request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(claim -> claim.replayedBody() != null
+                        ? Mono.fromCallable(() -> new Result<>(read(claim.replayedBody(), responseType), true))
+                        : run(claim, action));
+    }
+
+    private <T> Mono<Result<T>> run(Claim claim, Supplier<Mono<T>> action) {
+        return Mono.defer(action)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Idempotent request produced no response")))
+                .publishOn(Schedulers.boundedElastic())
+                .map(response -> {
+                    complete(claim, write(response));
+                    return new Result<>(response, false);
+                })
+                .onErrorResume(exception -> Mono.fromRunnable(() -> fail(claim, exception))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(Mono.<Result<T>>error(exception)))
+                .doOnCancel(() -> Schedulers.boundedElastic()
+                        .schedule(() -> fail(claim, new CancellationException("Idempotent request was cancelled"))));
+    }
+
+    /**
+     * Claims the key for this request, or waits for the response of the request that holds it. Blocks while a repeat
+     * waits.
+     */
+    private Claim claim(String operation, String idempotencyKey, Object request) {
+        validateKey(idempotencyKey);
+        String key = operation + ":" + idempotencyKey;
+        String requestHash = hash(request);
+        purgeExpired();
+
+        InFlight created = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            checkSameRequest(existing.requestHash(), requestHash);
+            awaited.increment();
+            return new Claim(key, requestHash, null, CalculationStageRunner.join(existing.body()));
+        }
+        try {
+            String body = claimOrAwait(key, requestHash);
+            if (body != null) {
+                created.body().complete(body);
+                inFlight.remove(key, created);
+            }
+            return new Claim(key, requestHash, created, body);
+        } catch (RuntimeException | Error exception) {
+            created.body().completeExceptionally(exception);
+            inFlight.remove(key, created);
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the stored response once the request holding the key has completed, or null once this request holds
+     * the key. A claim that is released or lapses is taken over.
+     */
+    private String claimOrAwait(String key, String requestHash) {
+        boolean waiting = false;
+        while (true) {
+            Instant now = clock.instant();
+            StoredResponse stored;
+            try {
+                stored = store.find(key, now).orElse(null);
+                StoredResponse pending =
+                        new StoredResponse(key, requestHash, null, now.plus(configuration.getClaimTimeout()));
+                if (stored == null && store.claim(pending, now)) {
+                    return null;
+                }
+            } catch (RuntimeException exception) {
+                log.warn("Unable to claim idempotency key, handling the request as new", exception);
+                return null;
+            }
+            if (stored != null) {
+                checkSameRequest(stored.requestHash(), requestHash);
+                if (!stored.isPending()) {
+                    replayed.increment();
+                    return stored.body();
+                }
+                if (!waiting) {
+                    waiting = true;
+                    awaited.increment();
+                }
+            }
+            pause();
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(configuration.getPollInterval());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for an idempotent response", exception);
+        }
+    }
+
+    private void complete(Claim claim, String body) {
+        executed.increment();
+        save(new StoredResponse(
+                claim.key(), claim.requestHash(), body, clock.instant().plus(configuration.getReplayWindow())));
+        claim.request().body().complete(body);
+        inFlight.remove(claim.key(), claim.request());
+    }
+
+    private void fail(Claim claim, Throwable exception) {
+        release(claim.key());
+        claim.request().body().completeExceptionally(exception);
+        inFlight.remove(claim.key(), claim.request());
+    }
+
+    private static void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ValidationException(IDEMPOTENCY_KEY_HEADER + " has already been used with a different request");
+        }
+    }
+
+    private void save(StoredResponse response) {
+        try {
+            store.save(response);
+        } catch (RuntimeException exception) {
+            log.warn("Unable to store idempotent response, a retry will be handled as a new request", exception);
+        }
+    }
+
+    private void release(String key) {
+        try {
+            store.release(key);
+        } catch (RuntimeException exception) {
+            log.warn("Unable to release idempotency key, a retry will wait until the claim lapses", exception);
+        }
+    }
+
+    private void purgeExpired() {
+        Instant now = clock.instant();
+        Instant due = nextPurge.get();
+        if (now.isBefore(due) || !nextPurge.compareAndSet(due, now.plus(configuration.getPurgeInterval()))) {
+            return;
+        }
+        try {
+            store.deleteExpired(now);
+        } catch (RuntimeException exception) {
+            log.warn("Unable to purge expired idempotent responses", exception);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Unable to hash idempotent request", exception);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to serialise idempotent response", exception);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to read stored idempotent response", exception);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(IDEMPOTENCY_METRIC)
+                .description("Requests carrying an Idempotency-Key by how they were answered")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps responses to idempotent requests until they expire. A request claims its key with a pending response, which
+ * has no body, before it runs, and the claim is replaced by the completed response or released if the request fails.
+ */
+public interface IdempotencyStore {
+
+    Optional<StoredResponse> find(String key, Instant now);
+
+    /**
+     * Stores {@code pending} unless an unexpired response, pending or completed, is already stored under its key.
+     *
+     * @return whether the key was claimed
+     */
+    boolean claim(StoredResponse pending, Instant now);
+
+    void save(StoredResponse response);
+
+    /**
+     * Removes the pending response stored under {@code key}, leaving a completed one in place.
+     */
+    void release(String key);
+
+    void deleteExpired(Instant now);
+
+    record StoredResponse(String key, String requestHash, String body, Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+
+        boolean isPending() {
+            return body == null;
+        }
+    }
+}
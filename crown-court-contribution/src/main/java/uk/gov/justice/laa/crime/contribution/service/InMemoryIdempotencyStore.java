@@ -0,0 +1,47 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(
+        prefix = "contribution.idempotency",
+        name = "store",
+        havingValue = "memory",
+        matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, StoredResponse> responses = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<StoredResponse> find(String key, Instant now) {
+        return Optional.ofNullable(responses.get(key)).filter(response -> !response.isExpired(now));
+    }
+
+    @Override
+    public boolean claim(StoredResponse pending, Instant now) {
+        StoredResponse stored = responses.compute(
+                pending.key(), (key, existing) -> existing == null || existing.isExpired(now) ? pending : existing);
+        return stored == pending;
+    }
+
+    @Override
+    public void save(StoredResponse response) {
+        responses.put(response.key(), response);
+    }
+
+    @Override
+    public void release(String key) {
+        responses.computeIfPresent(key, (ignored, stored) -> stored.isPending() ? null : stored);
+    }
+
+    @Override
+    public void deleteExpired(Instant now) {
+        responses.values().removeIf(response -> response.isExpired(now));
+    }
+}
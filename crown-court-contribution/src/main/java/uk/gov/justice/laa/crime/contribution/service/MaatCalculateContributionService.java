@@ -2,6 +2,8 @@ package uk.gov.justice.laa.crime.contribution.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import uk.gov.justice.laa.crime.common.model.common.ApiCrownCourtOutcome;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiAssessment;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
@@ -20,6 +22,8 @@ import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionRequestDTO;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesPage;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
 import uk.gov.justice.laa.crime.contribution.model.Contribution;
 import uk.gov.justice.laa.crime.contribution.model.ContributionResult;
@@ -29,13 +33,15 @@ import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
 import uk.gov.justice.laa.crime.enums.HardshipReviewDetailType;
 import uk.gov.justice.laa.crime.enums.NewWorkReason;
 import uk.gov.justice.laa.crime.enums.contribution.AssessmentType;
+import uk.gov.justice.laa.crime.exception.ValidationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.stereotype.Service;
 
@@ -56,12 +62,42 @@ public class MaatCalculateContributionService {
     private final ContributionService contributionService;
     private final CalculateContributionRequestMapper calculateContributionRequestMapper;
     private final MaatCalculateContributionResponseMapper maatCalculateContributionResponseMapper;
+    private final ContributionCalcParametersService contributionCalcParametersService;
+    private final CalculationStageRunner calculationStageRunner;
+    private final RepIdCalculationCoordinator calculationCoordinator;
+
+    static final String REP_ORDER_STAGE = "rep-order";
+    static final String CALC_PARAMETERS_STAGE = "calc-parameters";
+    static final String HARDSHIP_STAGE = "hardship";
+    static final String CC_OUTCOMES_STAGE = "cc-outcomes";
+    static final String CURRENT_CONTRIBUTIONS_STAGE = "current-contributions";
+    static final String CONTRIBUTION_RULES_STAGE = "contribution-rules";
+    static final String CALCULATION_STAGE = "calculation";
+    static final String COMPARE_CONTRIBUTION_STAGE = "compare-contribution";
+    static final String CREATE_CONTRIBUTION_STAGE = "create-contribution";
+    static final String MAPPING_STAGE = "mapping";
+
+    static final int MAX_SUMMARIES_PAGE_SIZE = 500;
+
+    static final String CONTRIBUTIONS_DECISION = "contributions";
+    static final String CALCULATION_DECISION = "calculation";
+    static final String CREATE_DECISION = "create";
+    static final String APPEAL_DECISION = "appeal";
 
     private static boolean isUpliftApplied(
             CalculateContributionDTO calculateContributionDTO, ContributionResponseDTO contributionResponseDTO) {
-        return contributionResponseDTO.getUpliftCote() != null
-                && calculateContributionDTO.getDateUpliftApplied() != null
-                && calculateContributionDTO.getDateUpliftRemoved() == null;
+        return isUpliftApplied(
+                contributionResponseDTO,
+                calculateContributionDTO.getDateUpliftApplied() != null
+                        && calculateContributionDTO.getDateUpliftRemoved() == null);
+    }
+
+    /**
+     * Whether an uplift in force on the rep order applies to the calculation. Shared with the offline recalculation,
+     * which holds only whether the uplift is in force.
+     */
+    static boolean isUpliftApplied(ContributionResponseDTO contributionResponseDTO, boolean upliftInForce) {
+        return contributionResponseDTO.getUpliftCote() != null && upliftInForce;
     }
 
     public static BigDecimal getAnnualDisposableIncome(final CalculateContributionDTO calculateContributionDTO) {
@@ -151,56 +187,186 @@ public class MaatCalculateContributionService {
 
     public ApiMaatCalculateContributionResponse calculateContribution(
             CalculateContributionDTO calculateContributionDTO) {
+        return calculationCoordinator.coordinate(
+                calculateContributionDTO,
+                () -> calculationStageRunner.runPipeline(
+                        calculateContributionDTO.getCaseType(),
+                        () -> doCalculateContribution(calculateContributionDTO)));
+    }
 
-        RepOrderDTO repOrderDTO = maatCourtDataService.getRepOrderByRepId(calculateContributionDTO.getRepId());
+    private ApiMaatCalculateContributionResponse doCalculateContribution(
+            CalculateContributionDTO calculateContributionDTO) {
+        Integer repId = calculateContributionDTO.getRepId();
+        CompletableFuture<RepOrderDTO> repOrderFuture = calculationStageRunner.runAsync(
+                REP_ORDER_STAGE, () -> maatCourtDataService.getRepOrderByRepId(repId));
+        CompletableFuture<List<Contribution>> currentContributions =
+                fetchCurrentContributions(calculateContributionDTO);
+
+        // wait for both calls so neither outlives the request, then surface a rep order failure first as before
+        awaitQuietly(repOrderFuture, currentContributions);
+        RepOrderDTO repOrderDTO = CalculationStageRunner.join(repOrderFuture);
         calculateContributionDTO.setRepOrderDTO(repOrderDTO);
 
         if (CaseType.APPEAL_CC.equals(calculateContributionDTO.getCaseType())) {
+            calculateContributionDTO.setCurrentContributions(CalculationStageRunner.join(currentContributions));
             return appealContributionService.calculateAppealContribution(calculateContributionDTO);
         }
         return getCalculateContributionResponse(calculateContributionDTO, repOrderDTO);
     }
 
+    /**
+     * Starts the current contributions lookup alongside the rep order lookup when the appeal calculation will need
+     * it, which it does whenever the case has an appeal outcome. Completes with null otherwise.
+     */
+    private CompletableFuture<List<Contribution>> fetchCurrentContributions(
+            final CalculateContributionDTO calculateContributionDTO) {
+        Integer repId = calculateContributionDTO.getRepId();
+        if (!CaseType.APPEAL_CC.equals(calculateContributionDTO.getCaseType())
+                || repId == null
+                || AppealContributionService.getLatestAppealOutcome(calculateContributionDTO.getCrownCourtOutcomeList())
+                        == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return calculationStageRunner.runAsync(
+                CURRENT_CONTRIBUTIONS_STAGE, () -> maatCourtDataService.findContribution(repId, true));
+    }
+
+    /**
+     * Looks up the calculation parameters and, when the rules call for it, the solicitor costs hardship, alongside
+     * each other once the rules have decided a calculation runs. The results are attached to the DTO, and a failure
+     * is rethrown unwrapped, as the lookup made in line would have thrown it.
+     */
+    private void fetchCalculationInputs(final CalculateContributionDTO calculateContributionDTO) {
+        Integer repId = calculateContributionDTO.getRepId();
+        CompletableFuture<ContributionCalcParametersDTO> calcParameters =
+                calculateContributionDTO.getContributionCalcParameters() != null
+                        ? CompletableFuture.completedFuture(calculateContributionDTO.getContributionCalcParameters())
+                        : calculationStageRunner.runAsync(
+                                CALC_PARAMETERS_STAGE,
+                                () -> contributionCalcParametersService.getContributionCalcParameters(
+                                        getEffectiveDate(calculateContributionDTO)));
+        CompletableFuture<ApiCalculateHardshipByDetailResponse> solicitorCostsHardship =
+                calculateContributionDTO.getSolicitorCostsHardship() == null
+                                && repId != null
+                                && isVariationAmountRequired(calculateContributionDTO)
+                        ? calculationStageRunner.runAsync(HARDSHIP_STAGE, () -> requestSolicitorCostsHardship(repId))
+                        : CompletableFuture.completedFuture(calculateContributionDTO.getSolicitorCostsHardship());
+
+        awaitQuietly(calcParameters, solicitorCostsHardship);
+        calculateContributionDTO.setContributionCalcParameters(CalculationStageRunner.join(calcParameters));
+        calculateContributionDTO.setSolicitorCostsHardship(CalculationStageRunner.join(solicitorCostsHardship));
+    }
+
+    /**
+     * Waits for every call to finish, successfully or not, leaving its outcome to be read with
+     * {@link CalculationStageRunner#join}.
+     */
+    private static void awaitQuietly(CompletableFuture<?>... calls) {
+        CompletableFuture.allOf(calls).exceptionally(exception -> null).join();
+    }
+
+    boolean isVariationAmountRequired(final CalculateContributionDTO calculateContributionDTO) {
+        return calculateContributionDTO.getDisposableIncomeAfterCrownHardship() == null
+                && calculateContributionDTO.getCrownCourtOutcomeList() != null
+                && contributionRulesService.isContributionRuleApplicable(
+                        calculateContributionDTO.getCaseType(),
+                        calculateContributionDTO.getMagCourtOutcome(),
+                        contributionRulesService.getActiveCCOutcome(
+                                calculateContributionDTO.getCrownCourtOutcomeList()));
+    }
+
     public List<ApiContributionSummary> getContributionSummaries(final int repId) {
         return maatCourtDataService.getContributionsSummary(repId).stream()
                 .map(contributionSummaryMapper::map)
                 .toList();
     }
 
+    /**
+     * Maps each summary as it arrives from MAAT, so the caller can write it out before the next is read.
+     */
+    public Flux<ApiContributionSummary> streamContributionSummaries(final int repId) {
+        return maatCourtDataService.streamContributionsSummary(repId).map(contributionSummaryMapper::map);
+    }
+
+    public ContributionSummariesPage getContributionSummariesPage(
+            final int repId, final Integer after, final int size) {
+        return pageOf(streamContributionSummaries(repId), after, size).block();
+    }
+
+    /**
+     * Takes the {@code size} summaries that follow the one with id {@code after}, or the first {@code size} when it is
+     * null. One more summary is read to tell whether another page follows, and the rest of the response is not read.
+     * A cursor that matches none of the summaries is rejected rather than answered with an empty last page.
+     */
+    static Mono<ContributionSummariesPage> pageOf(
+            final Flux<ApiContributionSummary> summaries, final Integer after, final int size) {
+        if (size < 1 || size > MAX_SUMMARIES_PAGE_SIZE) {
+            return Mono.error(new ValidationException(
+                    "Page size must be between 1 and " + MAX_SUMMARIES_PAGE_SIZE + ", was " + size));
+        }
+        Flux<ApiContributionSummary> following = after == null
+                ? summaries
+                : summaries
+                        .skipUntil(summary -> after.equals(summary.getId()))
+                        .switchIfEmpty(Mono.error(() -> new ValidationException(
+                                "Cursor " + after + " does not match a contribution summary")))
+                        .skip(1);
+        return following.take(size + 1L).collectList().map(page -> {
+            boolean hasNext = page.size() > size;
+            List<ApiContributionSummary> content = hasNext ? page.subList(0, size) : page;
+            return ContributionSummariesPage.builder()
+                    .summaries(content)
+                    .nextCursor(hasNext ? content.getLast().getId() : null)
+                    .build();
+        });
+    }
+
     public ApiMaatCalculateContributionResponse getCalculateContributionResponse(
             final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
         log.info("Start getCalculateContributionResponse");
 
-        String initResult = getAssessmentResult(calculateContributionDTO, AssessmentType.INIT);
-        String fullResult = getAssessmentResult(calculateContributionDTO, AssessmentType.FULL);
-        String passportedResult = getAssessmentResult(calculateContributionDTO, AssessmentType.PASSPORT);
+        ContributionResponseDTO contributionResponseDTO =
+                checkContributionsCondition(buildContributionRequest(calculateContributionDTO, repOrderDTO));
 
-        String crownCourtOutcome = getCrownCourtOutcome(calculateContributionDTO);
+        boolean contributionsRequired = Constants.Y.equals(contributionResponseDTO.getDoContribs());
+        calculationStageRunner.recordBranch(
+                calculateContributionDTO.getCaseType(),
+                CONTRIBUTIONS_DECISION,
+                contributionsRequired ? "required" : "not_required");
+        if (contributionsRequired) {
+            String fullResult = getAssessmentResult(calculateContributionDTO, AssessmentType.FULL);
+            return performContributions(calculateContributionDTO, contributionResponseDTO, fullResult, repOrderDTO);
+        }
+        return new ApiMaatCalculateContributionResponse();
+    }
+
+    static ContributionRequestDTO buildContributionRequest(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
         String magCourtOutcome = (calculateContributionDTO.getMagCourtOutcome() != null)
                 ? calculateContributionDTO.getMagCourtOutcome().getOutcome()
                 : null;
 
-        ContributionResponseDTO contributionResponseDTO =
-                contributionService.checkContributionsCondition(ContributionRequestDTO.builder()
-                        .caseType(calculateContributionDTO.getCaseType())
-                        .effectiveDate(calculateContributionDTO.getEffectiveDate())
-                        .iojResult(repOrderDTO.getIojResult())
-                        .passportResult(passportedResult)
-                        .monthlyContribs(calculateContributionDTO.getMonthlyContributions())
-                        .fullResult(fullResult)
-                        .initResult(initResult)
-                        .magCourtOutcome(magCourtOutcome)
-                        .crownCourtOutcome(crownCourtOutcome)
-                        .removeContribs(calculateContributionDTO.getRemoveContribs())
-                        .build());
-
-        if (Constants.Y.equals(contributionResponseDTO.getDoContribs())) {
-            return performContributions(calculateContributionDTO, contributionResponseDTO, fullResult, repOrderDTO);
-        }
-        return new ApiMaatCalculateContributionResponse();
+        return ContributionRequestDTO.builder()
+                .caseType(calculateContributionDTO.getCaseType())
+                .effectiveDate(calculateContributionDTO.getEffectiveDate())
+                .iojResult(repOrderDTO.getIojResult())
+                .passportResult(getAssessmentResult(calculateContributionDTO, AssessmentType.PASSPORT))
+                .monthlyContribs(calculateContributionDTO.getMonthlyContributions())
+                .fullResult(getAssessmentResult(calculateContributionDTO, AssessmentType.FULL))
+                .initResult(getAssessmentResult(calculateContributionDTO, AssessmentType.INIT))
+                .magCourtOutcome(magCourtOutcome)
+                .crownCourtOutcome(getCrownCourtOutcome(calculateContributionDTO))
+                .removeContribs(calculateContributionDTO.getRemoveContribs())
+                .build();
     }
 
-    private String getAssessmentResult(
+    ContributionResponseDTO checkContributionsCondition(final ContributionRequestDTO contributionRequestDTO) {
+        return calculationStageRunner.run(
+                CONTRIBUTION_RULES_STAGE,
+                () -> contributionService.checkContributionsCondition(contributionRequestDTO));
+    }
+
+    static String getAssessmentResult(
             CalculateContributionDTO calculateContributionDTO, AssessmentType assessmentType) {
         return calculateContributionDTO.getAssessments().stream()
                 .filter(it -> it.getAssessmentType() == assessmentType)
@@ -228,39 +394,124 @@ public class MaatCalculateContributionService {
             final ContributionResponseDTO contributionResponseDTO,
             final String fullResult,
             final RepOrderDTO repOrderDTO) {
+        boolean calculationRequired =
+                isContributionCalculationRequired(calculateContributionDTO, contributionResponseDTO, fullResult);
+        calculationStageRunner.recordBranch(
+                calculateContributionDTO.getCaseType(),
+                CALCULATION_DECISION,
+                calculationRequired ? "calculated" : "zero");
         ContributionResult result;
+        if (calculationRequired) {
+            CompletableFuture<List<RepOrderCCOutcomeDTO>> ccOutcomes =
+                    fetchCCOutcomes(calculateContributionDTO, repOrderDTO);
+            try {
+                fetchCalculationInputs(calculateContributionDTO);
+                result = calculateContributions(calculateContributionDTO, contributionResponseDTO);
+            } finally {
+                if (ccOutcomes != null) {
+                    awaitQuietly(ccOutcomes);
+                }
+            }
+            // the lookup's failure only matters if the CC outcome check is reached
+            if (ccOutcomes != null && !shouldCreateContributions(result, calculateContributionDTO)) {
+                calculateContributionDTO.setRepOrderCCOutcomes(CalculationStageRunner.join(ccOutcomes));
+            }
+        } else {
+            result = buildZeroContributionResult(calculateContributionDTO);
+        }
+
+        Contribution createdContribution = verifyAndCreateContributions(calculateContributionDTO, repOrderDTO, result);
+
+        return calculationStageRunner.run(
+                MAPPING_STAGE,
+                () -> maatCalculateContributionResponseMapper.map(
+                        result, createdContribution, contributionResponseDTO));
+    }
+
+    /**
+     * Starts the CC outcome lookup alongside the calculation when {@link #isCreateContributionRequired} would reach
+     * it, which it does unless the calculated result already calls for a new contribution. Returns null when the
+     * lookup is not started.
+     */
+    private CompletableFuture<List<RepOrderCCOutcomeDTO>> fetchCCOutcomes(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        if (!isCCOutcomeCheckReachable(calculateContributionDTO, repOrderDTO)) {
+            return null;
+        }
+        return calculationStageRunner.runAsync(
+                CC_OUTCOMES_STAGE, () -> maatCourtDataService.getRepOrderCCOutcomeByRepId(repOrderDTO.getId()));
+    }
 
+    boolean isCCOutcomeCheckReachable(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        return repOrderDTO != null
+                && calculateContributionDTO.getRepOrderCCOutcomes() == null
+                && Objects.equals(repOrderDTO.getId(), calculateContributionDTO.getRepId())
+                && !contributionService.hasApplicationStatusChanged(
+                        repOrderDTO,
+                        calculateContributionDTO.getCaseType(),
+                        calculateContributionDTO.getApplicationStatus());
+    }
+
+    static boolean isContributionCalculationRequired(
+            final CalculateContributionDTO calculateContributionDTO,
+            final ContributionResponseDTO contributionResponseDTO,
+            final String fullResult) {
+        return isContributionCalculationRequired(
+                contributionResponseDTO, calculateContributionDTO.getMonthlyContributions(), fullResult);
+    }
+
+    /**
+     * Shared with the offline recalculation, which has the current monthly contributions but no
+     * {@link CalculateContributionDTO}.
+     */
+    static boolean isContributionCalculationRequired(
+            final ContributionResponseDTO contributionResponseDTO,
+            final BigDecimal currentMonthlyContributions,
+            final String fullResult) {
         // Use Calculated Monthly Contributions value -
         // p_application_object.crown_court_overview_object.contributions_object.monthly_contribs > 0 ->
-        if ((Constants.Y.equals(contributionResponseDTO.getCalcContribs())
+        return (Constants.Y.equals(contributionResponseDTO.getCalcContribs())
                         || contributionResponseDTO.getId() != null
-                        || (calculateContributionDTO.getMonthlyContributions() != null
-                                && calculateContributionDTO
-                                                .getMonthlyContributions()
-                                                .compareTo(BigDecimal.ZERO)
-                                        > 0))
-                && !Constants.INEL.equals(fullResult)) {
-            result = calculateContributions(calculateContributionDTO, contributionResponseDTO);
-        } else {
-            LocalDate assessmentEffectiveDate = getEffectiveDate(calculateContributionDTO);
-            String effectiveDate =
-                    getEffectiveDateByNewWorkReason(calculateContributionDTO, BigDecimal.ZERO, assessmentEffectiveDate);
-            result = ContributionResult.builder()
-                    .monthlyAmount(BigDecimal.ZERO)
-                    .contributionCap(BigDecimal.ZERO)
-                    .upfrontAmount(BigDecimal.ZERO)
-                    .totalMonths(0)
-                    .effectiveDate(DateUtil.parse(effectiveDate))
-                    .contributionCap(calculateContributionDTO.getContributionCap())
-                    .build();
-        }
+                        || (currentMonthlyContributions != null
+                                && currentMonthlyContributions.compareTo(BigDecimal.ZERO) > 0))
+                && !Constants.INEL.equals(fullResult);
+    }
 
-        Contribution createdContribution = verifyAndCreateContributions(calculateContributionDTO, repOrderDTO, result);
+    static int getTotalMonths(
+            final ContributionResponseDTO contributionResponseDTO,
+            final ContributionCalcParametersDTO contributionCalcParametersDTO) {
+        return Constants.N.equals(contributionResponseDTO.getCalcContribs())
+                ? 0
+                : contributionCalcParametersDTO.getTotalMonths();
+    }
 
-        return maatCalculateContributionResponseMapper.map(result, createdContribution, contributionResponseDTO);
+    /**
+     * The upfront contribution to record: an uplift keeps the current upfront contribution.
+     */
+    static BigDecimal getUpfrontContributions(
+            final ApiCalculateContributionResponse apiCalculateContributionResponse,
+            final BigDecimal currentUpfrontContributions) {
+        return Constants.Y.equals(apiCalculateContributionResponse.getUpliftApplied())
+                ? currentUpfrontContributions
+                : apiCalculateContributionResponse.getUpfrontContributions();
     }
 
-    private boolean shouldCreateContributions(
+    static ContributionResult buildZeroContributionResult(final CalculateContributionDTO calculateContributionDTO) {
+        LocalDate assessmentEffectiveDate = getEffectiveDate(calculateContributionDTO);
+        String effectiveDate =
+                getEffectiveDateByNewWorkReason(calculateContributionDTO, BigDecimal.ZERO, assessmentEffectiveDate);
+        return ContributionResult.builder()
+                .monthlyAmount(BigDecimal.ZERO)
+                .contributionCap(BigDecimal.ZERO)
+                .upfrontAmount(BigDecimal.ZERO)
+                .totalMonths(0)
+                .effectiveDate(DateUtil.parse(effectiveDate))
+                .contributionCap(calculateContributionDTO.getContributionCap())
+                .build();
+    }
+
+    static boolean shouldCreateContributions(
             ContributionResult result, CalculateContributionDTO calculateContributionDTO) {
         return (result.monthlyAmount() != null
                         && calculateContributionDTO.getMonthlyContributions() != null
@@ -280,18 +531,18 @@ public class MaatCalculateContributionService {
                                 && isCreateContributionRequired(calculateContributionDTO, repOrderDTO)))) {
             return createContributions(calculateContributionDTO, result);
         }
+        calculationStageRunner.recordBranch(calculateContributionDTO.getCaseType(), CREATE_DECISION, "not_required");
         return null;
     }
 
     public Contribution getCurrentContribution(final CalculateContributionDTO calculateContributionDTO) {
         final Integer contributionId = calculateContributionDTO.getContributionId();
-        List<Contribution> contributionsList = new ArrayList<>();
-        if (contributionId != null) {
-            contributionsList = maatCourtDataService.findContribution(calculateContributionDTO.getRepId(), false);
+        if (contributionId == null) {
+            return null;
         }
-        return contributionsList.stream()
-                .filter(x -> contributionId.equals(x.getId()))
-                .findFirst()
+        return maatCourtDataService
+                .findFirstContribution(
+                        calculateContributionDTO.getRepId(), false, x -> contributionId.equals(x.getId()))
                 .orElse(null);
     }
 
@@ -302,17 +553,39 @@ public class MaatCalculateContributionService {
                         repOrderDTO,
                         calculateContributionDTO.getCaseType(),
                         calculateContributionDTO.getApplicationStatus())
-                || contributionService.hasCCOutcomeChanged(repOrderDTO.getId())
+                || hasCCOutcomeChanged(calculateContributionDTO, repOrderDTO)
                 || contributionService.isCds15WorkAround(repOrderDTO));
     }
 
+    private boolean hasCCOutcomeChanged(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        if (hasFetchedCCOutcomes(calculateContributionDTO, repOrderDTO)) {
+            return contributionService.hasCCOutcomeChanged(calculateContributionDTO.getRepOrderCCOutcomes());
+        }
+        return calculationStageRunner.run(
+                CC_OUTCOMES_STAGE, () -> contributionService.hasCCOutcomeChanged(repOrderDTO.getId()));
+    }
+
+    static boolean hasFetchedCCOutcomes(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        return calculateContributionDTO.getRepOrderCCOutcomes() != null
+                && Objects.equals(repOrderDTO.getId(), calculateContributionDTO.getRepId());
+    }
+
     public Contribution createContributions(
             final CalculateContributionDTO calculateContributionDTO, ContributionResult result) {
         log.info("Inactivate existing Contribution and create a new Contribution");
-        if (compareContributionService.shouldCreateContribution(calculateContributionDTO, result)) {
+        boolean createContribution = calculationStageRunner.run(
+                COMPARE_CONTRIBUTION_STAGE,
+                () -> compareContributionService.shouldCreateContribution(calculateContributionDTO, result));
+        calculationStageRunner.recordBranch(
+                calculateContributionDTO.getCaseType(), CREATE_DECISION, createContribution ? "created" : "unchanged");
+        if (createContribution) {
             CreateContributionRequest createContributionRequest =
                     createContributionRequestMapper.map(calculateContributionDTO, result);
-            return maatCourtDataService.createContribution(createContributionRequest);
+            return calculationStageRunner.run(
+                    CREATE_CONTRIBUTION_STAGE,
+                    () -> maatCourtDataService.createContribution(createContributionRequest));
         }
         return null;
     }
@@ -325,16 +598,18 @@ public class MaatCalculateContributionService {
 
         LocalDate assessmentEffectiveDate = getEffectiveDate(calculateContributionDTO);
         ContributionCalcParametersDTO contributionCalcParametersDTO =
-                maatCourtDataService.getContributionCalcParameters(
-                        DateUtil.getLocalDateString(assessmentEffectiveDate));
+                calculateContributionDTO.getContributionCalcParameters();
+        if (contributionCalcParametersDTO == null) {
+            contributionCalcParametersDTO = calculationStageRunner.run(
+                    CALC_PARAMETERS_STAGE,
+                    () -> contributionCalcParametersService.getContributionCalcParameters(assessmentEffectiveDate));
+        }
         CrownCourtOutcome crownCourtOutcome =
                 contributionRulesService.getActiveCCOutcome(calculateContributionDTO.getCrownCourtOutcomeList());
 
         BigDecimal annualDisposableIncome =
                 calculateAnnualDisposableIncome(calculateContributionDTO, crownCourtOutcome);
-        int totalMonths = Constants.N.equals(contributionResponseDTO.getCalcContribs())
-                ? 0
-                : contributionCalcParametersDTO.getTotalMonths();
+        int totalMonths = getTotalMonths(contributionResponseDTO, contributionCalcParametersDTO);
 
         ApiCalculateContributionRequest apiCalculateContributionRequest = calculateContributionRequestMapper.map(
                 contributionCalcParametersDTO,
@@ -343,18 +618,16 @@ public class MaatCalculateContributionService {
                 calculateContributionDTO.getContributionCap());
 
         // Revisit the request to pass the offenceType object for Contribs Cap
-        ApiCalculateContributionResponse apiCalculateContributionResponse =
-                calculateContributionService.calculateContribution(apiCalculateContributionRequest);
+        ApiCalculateContributionResponse apiCalculateContributionResponse = calculationStageRunner.run(
+                CALCULATION_STAGE,
+                () -> calculateContributionService.calculateContribution(apiCalculateContributionRequest));
         String effectiveDate = getEffectiveDateByNewWorkReason(
                 calculateContributionDTO,
                 apiCalculateContributionResponse.getMonthlyContributions(),
                 assessmentEffectiveDate);
 
-        var upfront = apiCalculateContributionResponse.getUpfrontContributions();
-        if (apiCalculateContributionResponse.getUpliftApplied() != null
-                && apiCalculateContributionResponse.getUpliftApplied().equals(Constants.Y)) {
-            upfront = calculateContributionDTO.getUpfrontContributions();
-        }
+        BigDecimal upfront = getUpfrontContributions(
+                apiCalculateContributionResponse, calculateContributionDTO.getUpfrontContributions());
 
         return ContributionResult.builder()
                 .totalMonths(totalMonths)
@@ -379,8 +652,15 @@ public class MaatCalculateContributionService {
                 calculateContributionDTO.getMagCourtOutcome(),
                 crownCourtOutcome);
         if (isContributionRuleApplicable) {
-            return getAnnualDisposableIncome(calculateContributionDTO)
-                    .add(calculateVariationAmount(calculateContributionDTO.getRepId()));
+            ApiCalculateHardshipByDetailResponse solicitorCostsHardship =
+                    calculateContributionDTO.getSolicitorCostsHardship();
+            BigDecimal variationAmount;
+            if (solicitorCostsHardship != null) {
+                variationAmount = solicitorCostsHardship.getHardshipSummary();
+            } else {
+                variationAmount = calculateVariationAmount(calculateContributionDTO.getRepId());
+            }
+            return getAnnualDisposableIncome(calculateContributionDTO).add(variationAmount);
         }
 
         if (calculateContributionDTO.getTotalAnnualDisposableIncome() != null) {
@@ -391,9 +671,17 @@ public class MaatCalculateContributionService {
 
     public BigDecimal calculateVariationAmount(final Integer repId) {
         ApiCalculateHardshipByDetailResponse apiCalculateHardshipByDetailResponse =
-                crimeHardshipService.calculateHardshipForDetail(new ApiCalculateHardshipByDetailRequest()
-                        .withDetailType(HardshipReviewDetailType.SOL_COSTS.toString())
-                        .withRepId(repId));
+                calculationStageRunner.run(HARDSHIP_STAGE, () -> requestSolicitorCostsHardship(repId));
         return apiCalculateHardshipByDetailResponse.getHardshipSummary();
     }
+
+    private ApiCalculateHardshipByDetailResponse requestSolicitorCostsHardship(final Integer repId) {
+        return crimeHardshipService.calculateHardshipForDetail(buildSolicitorCostsHardshipRequest(repId));
+    }
+
+    static ApiCalculateHardshipByDetailRequest buildSolicitorCostsHardshipRequest(final Integer repId) {
+        return new ApiCalculateHardshipByDetailRequest()
+                .withDetailType(HardshipReviewDetailType.SOL_COSTS.toString())
+                .withRepId(repId);
+    }
 }
@@ -2,16 +2,21 @@ package uk.gov.justice.laa.crime.contribution.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import uk.gov.justice.laa.crime.common.model.contribution.maat_api.CreateContributionRequest;
 import uk.gov.justice.laa.crime.contribution.client.MaatCourtDataApiClient;
+import uk.gov.justice.laa.crime.contribution.client.ReactiveMaatCourtDataApiClient;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionsSummaryDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
 import uk.gov.justice.laa.crime.contribution.model.Contribution;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
 
 import org.springframework.stereotype.Service;
 
@@ -21,50 +26,138 @@ import org.springframework.stereotype.Service;
 public class MaatCourtDataService {
 
     private final MaatCourtDataApiClient maatAPIClient;
+    private final ReactiveMaatCourtDataApiClient maatStreamingClient;
+    private final RequestScopedMemo requestScopedMemo;
     private static final String RESPONSE_STRING = "Response from Court Data API: {}";
 
+    private static final String FIND_CONTRIBUTION = "find-contribution";
+    private static final String GET_REP_ORDER = "get-rep-order";
+    private static final String GET_REP_ORDER_CC_OUTCOME = "get-rep-order-cc-outcome";
+    private static final String GET_CONTRIBUTIONS_SUMMARY = "get-contributions-summary";
+    private static final String GET_CONTRIBUTION_CALC_PARAMETERS = "get-contribution-calc-parameters";
+
+    private static final Comparator<RepOrderCCOutcomeDTO> BY_ID = Comparator.comparing(RepOrderCCOutcomeDTO::getId);
+
     public List<Contribution> findContribution(Integer repId, Boolean findLatestContribution) {
+        return requestScopedMemo.get(
+                FIND_CONTRIBUTION,
+                () -> {
+                    log.debug(
+                            "Request to find contribution for repId: {} findLatestContribution: {} ",
+                            repId,
+                            findLatestContribution);
+                    List<Contribution> response = maatAPIClient.find(repId, findLatestContribution);
+                    log.debug(RESPONSE_STRING, response);
+                    return Optional.ofNullable(response).orElse(List.of());
+                },
+                repId,
+                findLatestContribution);
+    }
+
+    /**
+     * Finds the first contribution for the rep order that matches, decoding the history one contribution at a time and
+     * cancelling the rest of the response once a match is found. Answered from the list already fetched in this
+     * request when there is one.
+     */
+    public Optional<Contribution> findFirstContribution(
+            Integer repId, Boolean findLatestContribution, Predicate<Contribution> match) {
+        Optional<List<Contribution>> fetched = requestScopedMemo.peek(FIND_CONTRIBUTION, repId, findLatestContribution);
+        if (fetched.isPresent()) {
+            return fetched.get().stream().filter(match).findFirst();
+        }
         log.debug(
-                "Request to find contribution for repId: {} findLatestContribution: {} ",
+                "Request to stream contributions for repId: {} findLatestContribution: {} ",
                 repId,
                 findLatestContribution);
-        List<Contribution> response = maatAPIClient.find(repId, findLatestContribution);
+        Optional<Contribution> response = maatStreamingClient
+                .streamContributions(repId, findLatestContribution)
+                .filter(match)
+                .next()
+                .blockOptional();
         log.debug(RESPONSE_STRING, response);
-        return Optional.ofNullable(response).orElse(List.of());
+        return response;
     }
 
     public Contribution createContribution(CreateContributionRequest createContributionRequest) {
         log.debug("Request to create contribution: {}", createContributionRequest);
         Contribution response = maatAPIClient.create(createContributionRequest);
         log.debug(RESPONSE_STRING, response);
+        requestScopedMemo.invalidate(FIND_CONTRIBUTION, GET_CONTRIBUTIONS_SUMMARY);
         return response;
     }
 
     public RepOrderDTO getRepOrderByRepId(Integer repId) {
-        log.info("Request to get rep order for repId: {}", repId);
-        var response = maatAPIClient.getRepOrderByRepId(repId);
-        log.debug(RESPONSE_STRING, response);
-        return response;
+        return requestScopedMemo.get(
+                GET_REP_ORDER,
+                () -> {
+                    log.info("Request to get rep order for repId: {}", repId);
+                    var response = maatAPIClient.getRepOrderByRepId(repId);
+                    log.debug(RESPONSE_STRING, response);
+                    return response;
+                },
+                repId);
     }
 
     public List<RepOrderCCOutcomeDTO> getRepOrderCCOutcomeByRepId(Integer repId) {
-        log.debug("Request to get rep order CC outcome for repId: {}", repId);
-        List<RepOrderCCOutcomeDTO> response = maatAPIClient.getRepOrderCCOutcomeByRepId(repId);
+        return requestScopedMemo.get(
+                GET_REP_ORDER_CC_OUTCOME,
+                () -> {
+                    log.debug("Request to get rep order CC outcome for repId: {}", repId);
+                    List<RepOrderCCOutcomeDTO> response = maatAPIClient.getRepOrderCCOutcomeByRepId(repId);
+                    log.debug(RESPONSE_STRING, response);
+                    return Optional.ofNullable(response).orElse(List.of());
+                },
+                repId);
+    }
+
+    /**
+     * Returns the rep order's CC outcome with the lowest id, keeping only the lowest seen so far while the response is
+     * decoded. Answered from the list already fetched in this request when there is one.
+     */
+    public Optional<RepOrderCCOutcomeDTO> getEarliestRepOrderCCOutcome(Integer repId) {
+        Optional<List<RepOrderCCOutcomeDTO>> fetched = requestScopedMemo.peek(GET_REP_ORDER_CC_OUTCOME, repId);
+        if (fetched.isPresent()) {
+            return fetched.get().stream().min(BY_ID);
+        }
+        log.debug("Request to stream rep order CC outcomes for repId: {}", repId);
+        Optional<RepOrderCCOutcomeDTO> response = maatStreamingClient
+                .streamRepOrderCCOutcomes(repId)
+                .reduce(BinaryOperator.minBy(BY_ID))
+                .blockOptional();
         log.debug(RESPONSE_STRING, response);
-        return Optional.ofNullable(response).orElse(List.of());
+        return response;
     }
 
     public List<ContributionsSummaryDTO> getContributionsSummary(Integer repId) {
-        log.debug("Request to get contributions summary for repId: {}", repId);
-        List<ContributionsSummaryDTO> response = maatAPIClient.getContributionsSummary(repId);
-        log.debug(RESPONSE_STRING, response);
-        return Optional.ofNullable(response).orElse(List.of());
+        return requestScopedMemo.get(
+                GET_CONTRIBUTIONS_SUMMARY,
+                () -> {
+                    log.debug("Request to get contributions summary for repId: {}", repId);
+                    List<ContributionsSummaryDTO> response = maatAPIClient.getContributionsSummary(repId);
+                    log.debug(RESPONSE_STRING, response);
+                    return Optional.ofNullable(response).orElse(List.of());
+                },
+                repId);
+    }
+
+    /**
+     * Emits the contribution summaries for a rep order as they are decoded, without holding the whole list.
+     */
+    public Flux<ContributionsSummaryDTO> streamContributionsSummary(Integer repId) {
+        log.debug("Request to stream contributions summary for repId: {}", repId);
+        return maatStreamingClient.streamContributionsSummary(repId);
     }
 
     public ContributionCalcParametersDTO getContributionCalcParameters(String effectiveDate) {
-        log.debug("Request to get contribution calc parameters for effectiveDate: {}", effectiveDate);
-        ContributionCalcParametersDTO response = maatAPIClient.getContributionCalcParameters(effectiveDate);
-        log.debug(RESPONSE_STRING, response);
-        return response;
+        return requestScopedMemo.get(
+                GET_CONTRIBUTION_CALC_PARAMETERS,
+                () -> {
+                    log.debug("Request to get contribution calc parameters for effectiveDate: {}", effectiveDate);
+                    ContributionCalcParametersDTO response =
+                            maatAPIClient.getContributionCalcParameters(effectiveDate);
+                    log.debug(RESPONSE_STRING, response);
+                    return response;
+                },
+                effectiveDate);
     }
 }
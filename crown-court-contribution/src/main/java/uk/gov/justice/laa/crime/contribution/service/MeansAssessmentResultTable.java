@@ -0,0 +1,155 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.staticdata.enums.MeansAssessmentResult;
+
+/**
+ * Decision table for {@link ContributionService#getMeansAssessmentResult}. Each of the passport, init, full and
+ * hardship results is reduced to the few values the rules tell apart, and the means assessment result for every
+ * combination of those is worked out once, when the class loads. A lookup is then a single array index.
+ *
+ * <p>A combination that no rule covers gives {@code null}, as the rules always have.
+ */
+final class MeansAssessmentResultTable {
+
+    // passport result
+    private static final int PASSPORT_BLANK = 0;
+    private static final int PASSPORT_PASS = 1;
+    private static final int PASSPORT_TEMP = 2;
+    private static final int PASSPORT_FAIL = 3;
+    private static final int PASSPORT_OTHER = 4;
+    private static final int PASSPORT_VALUES = 5;
+
+    // init result
+    private static final int INIT_BLANK = 0;
+    private static final int INIT_PASS = 1;
+    private static final int INIT_FAIL = 2;
+    private static final int INIT_FULL = 3;
+    private static final int INIT_HARDSHIP_APPLICATION = 4;
+    private static final int INIT_OTHER = 5;
+    private static final int INIT_VALUES = 6;
+
+    // full result
+    private static final int FULL_BLANK = 0;
+    private static final int FULL_PASS = 1;
+    private static final int FULL_FAIL = 2;
+    private static final int FULL_INEL = 3;
+    private static final int FULL_OTHER = 4;
+    private static final int FULL_VALUES = 5;
+
+    // hardship result; unlike the others, only a missing result counts as a fail, not a blank one
+    private static final int HARDSHIP_NULL = 0;
+    private static final int HARDSHIP_PASS = 1;
+    private static final int HARDSHIP_FAIL = 2;
+    private static final int HARDSHIP_OTHER = 3;
+    private static final int HARDSHIP_VALUES = 4;
+
+    private static final MeansAssessmentResult[] RESULTS = build();
+
+    private MeansAssessmentResultTable() {}
+
+    static MeansAssessmentResult lookup(
+            String passportResult, String initResult, String fullResult, String hardshipResult) {
+        return RESULTS[index(passport(passportResult), init(initResult), full(fullResult), hardship(hardshipResult))];
+    }
+
+    private static MeansAssessmentResult[] build() {
+        MeansAssessmentResult[] results =
+                new MeansAssessmentResult[PASSPORT_VALUES * INIT_VALUES * FULL_VALUES * HARDSHIP_VALUES];
+        for (int passport = 0; passport < PASSPORT_VALUES; passport++) {
+            for (int init = 0; init < INIT_VALUES; init++) {
+                for (int full = 0; full < FULL_VALUES; full++) {
+                    for (int hardship = 0; hardship < HARDSHIP_VALUES; hardship++) {
+                        results[index(passport, init, full, hardship)] = decide(passport, init, full, hardship);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static MeansAssessmentResult decide(int passport, int init, int full, int hardship) {
+        if (passport != PASSPORT_BLANK) {
+            if (passport == PASSPORT_PASS || passport == PASSPORT_TEMP) {
+                return MeansAssessmentResult.PASSPORT;
+            } else if (passport == PASSPORT_FAIL) {
+                return MeansAssessmentResult.FAILPORT;
+            } else if (init == INIT_PASS || full == FULL_PASS || hardship == HARDSHIP_PASS) {
+                return MeansAssessmentResult.PASS;
+            } else if ((init == INIT_FAIL || init == INIT_FULL || init == INIT_HARDSHIP_APPLICATION)
+                    && full == FULL_FAIL
+                    && (hardship == HARDSHIP_FAIL || hardship == HARDSHIP_NULL)) {
+                return MeansAssessmentResult.FAIL;
+            }
+            return null;
+        }
+
+        if (full == FULL_BLANK) {
+            return switch (init) {
+                case INIT_BLANK -> MeansAssessmentResult.NONE;
+                case INIT_PASS -> MeansAssessmentResult.INIT_PASS;
+                case INIT_FAIL -> MeansAssessmentResult.INIT_FAIL;
+                default -> null;
+            };
+        }
+
+        return switch (full) {
+            case FULL_PASS -> MeansAssessmentResult.PASS;
+            case FULL_FAIL -> MeansAssessmentResult.FAIL;
+            case FULL_INEL -> MeansAssessmentResult.INEL;
+            default -> null;
+        };
+    }
+
+    private static int index(int passport, int init, int full, int hardship) {
+        return ((passport * INIT_VALUES + init) * FULL_VALUES + full) * HARDSHIP_VALUES + hardship;
+    }
+
+    private static int passport(String result) {
+        if (result == null) {
+            return PASSPORT_BLANK;
+        }
+        return switch (result) {
+            case Constants.PASS -> PASSPORT_PASS;
+            case Constants.TEMP -> PASSPORT_TEMP;
+            case Constants.FAIL -> PASSPORT_FAIL;
+            default -> result.isBlank() ? PASSPORT_BLANK : PASSPORT_OTHER;
+        };
+    }
+
+    private static int init(String result) {
+        if (result == null) {
+            return INIT_BLANK;
+        }
+        return switch (result) {
+            case Constants.PASS -> INIT_PASS;
+            case Constants.FAIL -> INIT_FAIL;
+            case Constants.FULL -> INIT_FULL;
+            case Constants.HARDSHIP_APPLICATION -> INIT_HARDSHIP_APPLICATION;
+            default -> result.isBlank() ? INIT_BLANK : INIT_OTHER;
+        };
+    }
+
+    private static int full(String result) {
+        if (result == null) {
+            return FULL_BLANK;
+        }
+        return switch (result) {
+            case Constants.PASS -> FULL_PASS;
+            case Constants.FAIL -> FULL_FAIL;
+            case Constants.INEL -> FULL_INEL;
+            default -> result.isBlank() ? FULL_BLANK : FULL_OTHER;
+        };
+    }
+
+    private static int hardship(String result) {
+        if (result == null) {
+            return HARDSHIP_NULL;
+        }
+        return switch (result) {
+            case Constants.PASS -> HARDSHIP_PASS;
+            case Constants.FAIL -> HARDSHIP_FAIL;
+            default -> HARDSHIP_OTHER;
+        };
+    }
+}
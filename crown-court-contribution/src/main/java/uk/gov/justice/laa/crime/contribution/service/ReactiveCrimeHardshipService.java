@@ -0,0 +1,29 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.ApiCalculateHardshipByDetailRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.ApiCalculateHardshipByDetailResponse;
+import uk.gov.justice.laa.crime.contribution.client.ReactiveHardshipApiClient;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "contribution.pipeline", name = "mode", havingValue = "reactive")
+public class ReactiveCrimeHardshipService {
+
+    private final ReactiveHardshipApiClient hardshipApiClient;
+    private static final String RESPONSE_STRING = "Response from Calculate Hardship API: {}";
+
+    public Mono<ApiCalculateHardshipByDetailResponse> calculateHardshipForDetail(
+            ApiCalculateHardshipByDetailRequest calcHardshipRequest) {
+        log.debug("Request to calculate hardship for detail: {}", calcHardshipRequest);
+        return hardshipApiClient
+                .calculateHardshipForDetail(calcHardshipRequest)
+                .doOnNext(response -> log.debug(RESPONSE_STRING, response));
+    }
+}
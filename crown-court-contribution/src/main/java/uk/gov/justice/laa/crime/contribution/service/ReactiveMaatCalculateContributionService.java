@@ -0,0 +1,409 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.APPEAL_DECISION;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CALCULATION_DECISION;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CALC_PARAMETERS_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CC_OUTCOMES_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.COMPARE_CONTRIBUTION_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CONTRIBUTIONS_DECISION;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CREATE_CONTRIBUTION_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CREATE_DECISION;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.CURRENT_CONTRIBUTIONS_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.HARDSHIP_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.MAPPING_STAGE;
+import static uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService.REP_ORDER_STAGE;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import uk.gov.justice.laa.crime.common.model.common.ApiCrownCourtOutcome;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.ApiCalculateHardshipByDetailResponse;
+import uk.gov.justice.laa.crime.contribution.builder.ContributionSummaryMapper;
+import uk.gov.justice.laa.crime.contribution.builder.CreateContributionRequestMapper;
+import uk.gov.justice.laa.crime.contribution.builder.MaatCalculateContributionResponseMapper;
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesPage;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
+import uk.gov.justice.laa.crime.contribution.model.Contribution;
+import uk.gov.justice.laa.crime.contribution.model.ContributionResult;
+import uk.gov.justice.laa.crime.enums.CaseType;
+import uk.gov.justice.laa.crime.enums.contribution.AssessmentType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Non-blocking implementation of the v1 calculate contribution pipeline, used when
+ * {@code contribution.pipeline.mode=reactive}. It makes the same MAAT and Hardship calls as
+ * {@link MaatCalculateContributionService}, in the same circumstances, through the reactive clients, and leaves every
+ * decision to the rules and helpers that service uses. No thread waits on an outstanding downstream call. Like that
+ * service, it runs one calculation per rep ID at a time through {@link RepIdCalculationCoordinator}.
+ *
+ * <p>Where MAAT or Hardship answer a lookup the calculation cannot do without with an empty body, the blocking
+ * pipeline fails on the null value; this one fails with an {@link IllegalStateException} at the same point.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "contribution.pipeline", name = "mode", havingValue = "reactive")
+public class ReactiveMaatCalculateContributionService {
+
+    private final ReactiveMaatCourtDataService reactiveMaatCourtDataService;
+    private final ReactiveCrimeHardshipService reactiveCrimeHardshipService;
+    private final MaatCalculateContributionService maatCalculateContributionService;
+    private final AppealContributionService appealContributionService;
+    private final CompareContributionService compareContributionService;
+    private final ContributionRulesService contributionRulesService;
+    private final ContributionService contributionService;
+    private final ContributionCalcParametersService contributionCalcParametersService;
+    private final ContributionSummaryMapper contributionSummaryMapper;
+    private final CreateContributionRequestMapper createContributionRequestMapper;
+    private final MaatCalculateContributionResponseMapper maatCalculateContributionResponseMapper;
+    private final CalculationStageRunner calculationStageRunner;
+    private final RepIdCalculationCoordinator calculationCoordinator;
+
+    public Mono<ApiMaatCalculateContributionResponse> calculateContribution(
+            CalculateContributionDTO calculateContributionDTO) {
+        return calculationCoordinator.coordinateReactive(
+                calculateContributionDTO,
+                () -> calculationStageRunner.runPipelineReactive(
+                        calculateContributionDTO.getCaseType(), doCalculateContribution(calculateContributionDTO)));
+    }
+
+    private Mono<ApiMaatCalculateContributionResponse> doCalculateContribution(
+            CalculateContributionDTO calculateContributionDTO) {
+        return Mono.defer(() -> {
+            Mono<Optional<RepOrderDTO>> repOrder = calculationStageRunner
+                    .runReactive(
+                            REP_ORDER_STAGE,
+                            reactiveMaatCourtDataService.getRepOrderByRepId(calculateContributionDTO.getRepId()))
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty());
+
+            // materialized so a rep order failure still surfaces first, as in the blocking pipeline
+            return Mono.zip(repOrder, fetchCurrentContributions(calculateContributionDTO).materialize())
+                    .flatMap(results -> {
+                        RepOrderDTO repOrderDTO = results.getT1().orElse(null);
+                        calculateContributionDTO.setRepOrderDTO(repOrderDTO);
+
+                        if (CaseType.APPEAL_CC.equals(calculateContributionDTO.getCaseType())) {
+                            return Mono.just(results.getT2())
+                                    .<List<Contribution>>dematerialize()
+                                    .doOnNext(calculateContributionDTO::setCurrentContributions)
+                                    .then(Mono.defer(() -> calculateAppealContribution(calculateContributionDTO)));
+                        }
+                        return getCalculateContributionResponse(calculateContributionDTO, repOrderDTO);
+                    });
+        });
+    }
+
+    public Mono<List<ApiContributionSummary>> getContributionSummaries(final int repId) {
+        return reactiveMaatCourtDataService
+                .getContributionsSummary(repId)
+                .map(summaries -> summaries.stream().map(contributionSummaryMapper::map).toList());
+    }
+
+    public Flux<ApiContributionSummary> streamContributionSummaries(final int repId) {
+        return reactiveMaatCourtDataService.streamContributionsSummary(repId).map(contributionSummaryMapper::map);
+    }
+
+    public Mono<ContributionSummariesPage> getContributionSummariesPage(
+            final int repId, final Integer after, final int size) {
+        return MaatCalculateContributionService.pageOf(streamContributionSummaries(repId), after, size);
+    }
+
+    /**
+     * Same as the blocking pipeline: the current contributions are looked up alongside the rep order when the appeal
+     * calculation will need them. Empty otherwise.
+     */
+    private Mono<List<Contribution>> fetchCurrentContributions(
+            final CalculateContributionDTO calculateContributionDTO) {
+        Integer repId = calculateContributionDTO.getRepId();
+        if (!CaseType.APPEAL_CC.equals(calculateContributionDTO.getCaseType())
+                || repId == null
+                || AppealContributionService.getLatestAppealOutcome(calculateContributionDTO.getCrownCourtOutcomeList())
+                        == null) {
+            return Mono.empty();
+        }
+        return calculationStageRunner.runReactive(
+                CURRENT_CONTRIBUTIONS_STAGE, reactiveMaatCourtDataService.findContribution(repId, true));
+    }
+
+    private Mono<ApiMaatCalculateContributionResponse> calculateAppealContribution(
+            final CalculateContributionDTO calculateContributionDTO) {
+        ApiCrownCourtOutcome latestAppealOutcome =
+                AppealContributionService.getLatestAppealOutcome(calculateContributionDTO.getCrownCourtOutcomeList());
+        if (latestAppealOutcome == null) {
+            recordBranch(calculateContributionDTO, APPEAL_DECISION, "no_appeal_outcome");
+            return Mono.just(new ApiMaatCalculateContributionResponse());
+        }
+
+        BigDecimal appealContributionAmount =
+                appealContributionService.getAppealContributionAmount(calculateContributionDTO, latestAppealOutcome);
+        Mono<List<Contribution>> currentContributions = calculateContributionDTO.getCurrentContributions() != null
+                ? Mono.just(calculateContributionDTO.getCurrentContributions())
+                : calculationStageRunner.runReactive(
+                        CURRENT_CONTRIBUTIONS_STAGE,
+                        reactiveMaatCourtDataService.findContribution(calculateContributionDTO.getRepId(), true));
+
+        return currentContributions.flatMap(currentContributionList -> {
+            if (currentContributionList.isEmpty()) {
+                recordBranch(calculateContributionDTO, APPEAL_DECISION, "no_current_contribution");
+                return Mono.just(new ApiMaatCalculateContributionResponse());
+            }
+            Contribution currentContribution = currentContributionList.getFirst();
+            if (AppealContributionService.isAppealContributionChanged(currentContribution, appealContributionAmount)) {
+                recordBranch(calculateContributionDTO, APPEAL_DECISION, "created");
+                return calculationStageRunner
+                        .runReactive(
+                                CREATE_CONTRIBUTION_STAGE,
+                                reactiveMaatCourtDataService.createContribution(createContributionRequestMapper.map(
+                                        calculateContributionDTO, appealContributionAmount)))
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .map(newContribution -> calculationStageRunner.run(
+                                MAPPING_STAGE,
+                                () -> maatCalculateContributionResponseMapper.map(newContribution.orElse(null))));
+            }
+            recordBranch(calculateContributionDTO, APPEAL_DECISION, "unchanged");
+            return Mono.just(calculationStageRunner.run(
+                    MAPPING_STAGE, () -> maatCalculateContributionResponseMapper.map(currentContribution)));
+        });
+    }
+
+    private Mono<ApiMaatCalculateContributionResponse> getCalculateContributionResponse(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        ContributionResponseDTO contributionResponseDTO = maatCalculateContributionService.checkContributionsCondition(
+                MaatCalculateContributionService.buildContributionRequest(calculateContributionDTO, repOrderDTO));
+
+        boolean contributionsRequired = Constants.Y.equals(contributionResponseDTO.getDoContribs());
+        recordBranch(
+                calculateContributionDTO, CONTRIBUTIONS_DECISION, contributionsRequired ? "required" : "not_required");
+        if (contributionsRequired) {
+            String fullResult =
+                    MaatCalculateContributionService.getAssessmentResult(calculateContributionDTO, AssessmentType.FULL);
+            return performContributions(calculateContributionDTO, contributionResponseDTO, fullResult, repOrderDTO);
+        }
+        return Mono.just(new ApiMaatCalculateContributionResponse());
+    }
+
+    private Mono<ApiMaatCalculateContributionResponse> performContributions(
+            final CalculateContributionDTO calculateContributionDTO,
+            final ContributionResponseDTO contributionResponseDTO,
+            final String fullResult,
+            final RepOrderDTO repOrderDTO) {
+        boolean calculationRequired = MaatCalculateContributionService.isContributionCalculationRequired(
+                calculateContributionDTO, contributionResponseDTO, fullResult);
+        recordBranch(calculateContributionDTO, CALCULATION_DECISION, calculationRequired ? "calculated" : "zero");
+        Mono<ContributionResult> result = calculationRequired
+                ? calculateContributions(calculateContributionDTO, contributionResponseDTO, repOrderDTO)
+                : Mono.fromSupplier(
+                        () -> MaatCalculateContributionService.buildZeroContributionResult(calculateContributionDTO));
+
+        return result.flatMap(contributionResult -> verifyAndCreateContributions(
+                        calculateContributionDTO, repOrderDTO, contributionResult)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(createdContribution -> calculationStageRunner.run(
+                        MAPPING_STAGE,
+                        () -> maatCalculateContributionResponseMapper.map(
+                                contributionResult, createdContribution.orElse(null), contributionResponseDTO))));
+    }
+
+    private Mono<ContributionResult> calculateContributions(
+            final CalculateContributionDTO calculateContributionDTO,
+            final ContributionResponseDTO contributionResponseDTO,
+            final RepOrderDTO repOrderDTO) {
+        Mono<ContributionResult> calculated = resolveCalculationInputs(calculateContributionDTO)
+                .then(Mono.fromSupplier(() -> maatCalculateContributionService.calculateContributions(
+                        calculateContributionDTO, contributionResponseDTO)));
+        // materialized so a failed lookup only fails the request if the CC outcome check is reached
+        return Mono.zip(calculated, fetchCCOutcomes(calculateContributionDTO, repOrderDTO).materialize())
+                .flatMap(results -> attachCCOutcomes(calculateContributionDTO, results.getT1(), results.getT2())
+                        .thenReturn(results.getT1()));
+    }
+
+    /**
+     * Looks up the CC outcomes alongside the calculation when {@link #isCreateContributionRequired} would reach them,
+     * which it does unless the calculated result already calls for a new contribution.
+     */
+    private Mono<List<RepOrderCCOutcomeDTO>> fetchCCOutcomes(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        return Mono.defer(() -> {
+            if (!maatCalculateContributionService.isCCOutcomeCheckReachable(calculateContributionDTO, repOrderDTO)) {
+                return Mono.empty();
+            }
+            return calculationStageRunner.runReactive(
+                    CC_OUTCOMES_STAGE, reactiveMaatCourtDataService.getRepOrderCCOutcomeByRepId(repOrderDTO.getId()));
+        });
+    }
+
+    /**
+     * Attaches the looked up CC outcomes once the result shows the CC outcome check is reached, surfacing the
+     * lookup's failure there and nowhere else.
+     */
+    private static Mono<Void> attachCCOutcomes(
+            final CalculateContributionDTO calculateContributionDTO,
+            final ContributionResult result,
+            final Signal<List<RepOrderCCOutcomeDTO>> ccOutcomes) {
+        if (MaatCalculateContributionService.shouldCreateContributions(result, calculateContributionDTO)) {
+            return Mono.empty();
+        }
+        return Mono.just(ccOutcomes)
+                .<List<RepOrderCCOutcomeDTO>>dematerialize()
+                .doOnNext(calculateContributionDTO::setRepOrderCCOutcomes)
+                .then();
+    }
+
+    /**
+     * Loads the calculation inputs alongside each other before the calculation runs, so
+     * {@link MaatCalculateContributionService#calculateContributions} never has to fetch them itself.
+     */
+    private Mono<Void> resolveCalculationInputs(final CalculateContributionDTO calculateContributionDTO) {
+        return Mono.when(
+                resolveCalcParameters(calculateContributionDTO),
+                resolveSolicitorCostsHardship(calculateContributionDTO));
+    }
+
+    private Mono<Void> resolveCalcParameters(final CalculateContributionDTO calculateContributionDTO) {
+        return Mono.defer(() -> {
+            if (calculateContributionDTO.getContributionCalcParameters() != null) {
+                return Mono.empty();
+            }
+            Integer repId = calculateContributionDTO.getRepId();
+            return calculationStageRunner
+                    .runReactive(CALC_PARAMETERS_STAGE, getContributionCalcParameters(calculateContributionDTO))
+                    .switchIfEmpty(Mono.error(() ->
+                            new IllegalStateException("No contribution calc parameters returned for repId: " + repId)))
+                    .doOnNext(calculateContributionDTO::setContributionCalcParameters)
+                    .then();
+        });
+    }
+
+    private Mono<Void> resolveSolicitorCostsHardship(final CalculateContributionDTO calculateContributionDTO) {
+        return Mono.defer(() -> {
+            if (calculateContributionDTO.getSolicitorCostsHardship() != null
+                    || !isSolicitorCostsHardshipRequired(calculateContributionDTO)) {
+                return Mono.empty();
+            }
+            Integer repId = calculateContributionDTO.getRepId();
+            return calculationStageRunner
+                    .runReactive(HARDSHIP_STAGE, requestSolicitorCostsHardship(repId))
+                    .switchIfEmpty(Mono.error(() ->
+                            new IllegalStateException("No solicitor costs hardship returned for repId: " + repId)))
+                    .doOnNext(calculateContributionDTO::setSolicitorCostsHardship)
+                    .then();
+        });
+    }
+
+    /**
+     * The condition under which {@link MaatCalculateContributionService#calculateAnnualDisposableIncome} adds the
+     * solicitor costs variation amount.
+     */
+    private boolean isSolicitorCostsHardshipRequired(final CalculateContributionDTO calculateContributionDTO) {
+        return calculateContributionDTO.getDisposableIncomeAfterCrownHardship() == null
+                && contributionRulesService.isContributionRuleApplicable(
+                        calculateContributionDTO.getCaseType(),
+                        calculateContributionDTO.getMagCourtOutcome(),
+                        contributionRulesService.getActiveCCOutcome(
+                                calculateContributionDTO.getCrownCourtOutcomeList()));
+    }
+
+    private Mono<Contribution> verifyAndCreateContributions(
+            final CalculateContributionDTO calculateContributionDTO,
+            final RepOrderDTO repOrderDTO,
+            final ContributionResult result) {
+        if (MaatCalculateContributionService.shouldCreateContributions(result, calculateContributionDTO)) {
+            return createContributions(calculateContributionDTO, result);
+        }
+        if (repOrderDTO == null) {
+            recordBranch(calculateContributionDTO, CREATE_DECISION, "not_required");
+            return Mono.empty();
+        }
+        return isCreateContributionRequired(calculateContributionDTO, repOrderDTO)
+                .flatMap(required -> {
+                    if (required) {
+                        return createContributions(calculateContributionDTO, result);
+                    }
+                    recordBranch(calculateContributionDTO, CREATE_DECISION, "not_required");
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Boolean> isCreateContributionRequired(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        if (contributionService.hasApplicationStatusChanged(
+                repOrderDTO, calculateContributionDTO.getCaseType(), calculateContributionDTO.getApplicationStatus())) {
+            return Mono.just(true);
+        }
+        return hasCCOutcomeChanged(calculateContributionDTO, repOrderDTO)
+                .map(changed -> changed || contributionService.isCds15WorkAround(repOrderDTO));
+    }
+
+    private Mono<Boolean> hasCCOutcomeChanged(
+            final CalculateContributionDTO calculateContributionDTO, final RepOrderDTO repOrderDTO) {
+        if (MaatCalculateContributionService.hasFetchedCCOutcomes(calculateContributionDTO, repOrderDTO)) {
+            return Mono.just(
+                    contributionService.hasCCOutcomeChanged(calculateContributionDTO.getRepOrderCCOutcomes()));
+        }
+        return calculationStageRunner
+                .runReactive(
+                        CC_OUTCOMES_STAGE,
+                        reactiveMaatCourtDataService
+                                .getEarliestRepOrderCCOutcome(repOrderDTO.getId())
+                                .map(List::of)
+                                .defaultIfEmpty(List.of()))
+                .map(contributionService::hasCCOutcomeChanged);
+    }
+
+    private Mono<Contribution> createContributions(
+            final CalculateContributionDTO calculateContributionDTO, final ContributionResult result) {
+        log.info("Inactivate existing Contribution and create a new Contribution");
+        return calculationStageRunner
+                .runReactive(
+                        COMPARE_CONTRIBUTION_STAGE,
+                        reactiveMaatCourtDataService
+                                .streamContributions(calculateContributionDTO.getRepId(), false)
+                                .filter(CompareContributionService.isActiveContribution(
+                                        calculateContributionDTO.getRepId()))
+                                .take(1)
+                                .collectList()
+                                .map(contributions -> compareContributionService.shouldCreateContribution(
+                                        calculateContributionDTO, result, contributions)))
+                .doOnNext(createContribution -> recordBranch(
+                        calculateContributionDTO, CREATE_DECISION, createContribution ? "created" : "unchanged"))
+                .filter(Boolean::booleanValue)
+                .flatMap(createContribution -> calculationStageRunner.runReactive(
+                        CREATE_CONTRIBUTION_STAGE,
+                        reactiveMaatCourtDataService.createContribution(
+                                createContributionRequestMapper.map(calculateContributionDTO, result))));
+    }
+
+    private void recordBranch(CalculateContributionDTO calculateContributionDTO, String decision, String branch) {
+        calculationStageRunner.recordBranch(calculateContributionDTO.getCaseType(), decision, branch);
+    }
+
+    private Mono<ContributionCalcParametersDTO> getContributionCalcParameters(
+            final CalculateContributionDTO calculateContributionDTO) {
+        return Mono.defer(() -> contributionCalcParametersService.getContributionCalcParameters(
+                MaatCalculateContributionService.getEffectiveDate(calculateContributionDTO),
+                reactiveMaatCourtDataService::getContributionCalcParameters));
+    }
+
+    private Mono<ApiCalculateHardshipByDetailResponse> requestSolicitorCostsHardship(final Integer repId) {
+        return Mono.defer(() -> reactiveCrimeHardshipService.calculateHardshipForDetail(
+                MaatCalculateContributionService.buildSolicitorCostsHardshipRequest(repId)));
+    }
+}
@@ -0,0 +1,107 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.CreateContributionRequest;
+import uk.gov.justice.laa.crime.contribution.client.ReactiveMaatCourtDataApiClient;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionsSummaryDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
+import uk.gov.justice.laa.crime.contribution.model.Contribution;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BinaryOperator;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Non-blocking counterpart of {@link MaatCourtDataService}. Lookups that MAAT answers with a 404 complete empty, except
+ * for lists, which complete with an empty list as the blocking service returns.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "contribution.pipeline", name = "mode", havingValue = "reactive")
+public class ReactiveMaatCourtDataService {
+
+    private final ReactiveMaatCourtDataApiClient maatAPIClient;
+    private static final String RESPONSE_STRING = "Response from Court Data API: {}";
+
+    public Mono<List<Contribution>> findContribution(Integer repId, Boolean findLatestContribution) {
+        log.debug(
+                "Request to find contribution for repId: {} findLatestContribution: {} ",
+                repId,
+                findLatestContribution);
+        return maatAPIClient
+                .find(repId, findLatestContribution)
+                .doOnNext(response -> log.debug(RESPONSE_STRING, response))
+                .defaultIfEmpty(List.of());
+    }
+
+    /**
+     * Emits the contributions for a rep order as they are decoded. Cancelling stops reading the response.
+     */
+    public Flux<Contribution> streamContributions(Integer repId, Boolean findLatestContribution) {
+        log.debug(
+                "Request to stream contributions for repId: {} findLatestContribution: {} ",
+                repId,
+                findLatestContribution);
+        return maatAPIClient.streamContributions(repId, findLatestContribution);
+    }
+
+    public Mono<Contribution> createContribution(CreateContributionRequest createContributionRequest) {
+        log.debug("Request to create contribution: {}", createContributionRequest);
+        return maatAPIClient
+                .create(createContributionRequest)
+                .doOnNext(response -> log.debug(RESPONSE_STRING, response));
+    }
+
+    public Mono<RepOrderDTO> getRepOrderByRepId(Integer repId) {
+        log.info("Request to get rep order for repId: {}", repId);
+        return maatAPIClient.getRepOrderByRepId(repId).doOnNext(response -> log.debug(RESPONSE_STRING, response));
+    }
+
+    public Mono<List<RepOrderCCOutcomeDTO>> getRepOrderCCOutcomeByRepId(Integer repId) {
+        log.debug("Request to get rep order CC outcome for repId: {}", repId);
+        return maatAPIClient
+                .getRepOrderCCOutcomeByRepId(repId)
+                .doOnNext(response -> log.debug(RESPONSE_STRING, response))
+                .defaultIfEmpty(List.of());
+    }
+
+    /**
+     * Completes with the rep order's CC outcome with the lowest id, or empty when it has none.
+     */
+    public Mono<RepOrderCCOutcomeDTO> getEarliestRepOrderCCOutcome(Integer repId) {
+        log.debug("Request to stream rep order CC outcomes for repId: {}", repId);
+        return maatAPIClient
+                .streamRepOrderCCOutcomes(repId)
+                .reduce(BinaryOperator.minBy(Comparator.comparing(RepOrderCCOutcomeDTO::getId)))
+                .doOnNext(response -> log.debug(RESPONSE_STRING, response));
+    }
+
+    public Mono<List<ContributionsSummaryDTO>> getContributionsSummary(Integer repId) {
+        log.debug("Request to get contributions summary for repId: {}", repId);
+        return maatAPIClient
+                .getContributionsSummary(repId)
+                .doOnNext(response -> log.debug(RESPONSE_STRING, response))
+                .defaultIfEmpty(List.of());
+    }
+
+    public Flux<ContributionsSummaryDTO> streamContributionsSummary(Integer repId) {
+        log.debug("Request to stream contributions summary for repId: {}", repId);
+        return maatAPIClient.streamContributionsSummary(repId);
+    }
+
+    public Mono<ContributionCalcParametersDTO> getContributionCalcParameters(String effectiveDate) {
+        log.debug("Request to get contribution calc parameters for effectiveDate: {}", effectiveDate);
+        return maatAPIClient
+                .getContributionCalcParameters(effectiveDate)
+                .doOnNext(response -> log.debug(RESPONSE_STRING, response));
+    }
+}
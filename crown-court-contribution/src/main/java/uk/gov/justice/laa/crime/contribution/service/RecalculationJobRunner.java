@@ -0,0 +1,76 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.contribution.config.RecalculationConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRecalculationService.CaseFormat;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRecalculationService.Summary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Runs a bulk recalculation from the files named in {@code contribution.recalculation}, after which the application
+ * exits with {@link #getExitCode()}. Cases that cannot be recalculated are reported in the output and do not stop the
+ * run, but give it a non-zero exit code.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "contribution.recalculation", name = "enabled", havingValue = "true")
+public class RecalculationJobRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    static final int CASES_FAILED_EXIT_CODE = 2;
+
+    private final ContributionRecalculationService recalculationService;
+    private final RecalculationConfiguration configuration;
+    private final ObjectMapper objectMapper;
+
+    private int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path cases = path(configuration.getCases(), "cases");
+        Path parametersFile = path(configuration.getParameters(), "parameters");
+        Path output = path(configuration.getOutput(), "output");
+
+        List<ContributionCalcParametersDTO> parameters =
+                objectMapper.readValue(parametersFile.toFile(), new TypeReference<>() {});
+        log.info("Recalculating {} with {} parameter sets into {}", cases, parameters.size(), output);
+        Summary summary;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(cases));
+                OutputStream results = new BufferedOutputStream(Files.newOutputStream(output))) {
+            summary = recalculationService.recalculate(
+                    input, CaseFormat.of(cases.getFileName().toString()), parameters, results);
+        }
+        exitCode = summary.failed() > 0 ? CASES_FAILED_EXIT_CODE : 0;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    private static Path path(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("contribution.recalculation." + name + " must be set");
+        }
+        return Path.of(value);
+    }
+}
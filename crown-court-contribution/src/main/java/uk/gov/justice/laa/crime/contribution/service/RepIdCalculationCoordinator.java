@@ -0,0 +1,180 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.contribution.config.CalculationCoordinatorConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stops two calculations for the same rep ID running at once on this instance, so both cannot see no matching active
+ * contribution and both create one. A calculation with the same inputs as one already running shares its result.
+ * A calculation with different inputs waits, in arrival order, until the running one has finished. Rep IDs are
+ * spread over a fixed set of fair locks, so unrelated rep IDs occasionally wait for each other too.
+ *
+ * <p>Reactive calculations are coordinated the same way without blocking: each one subscribes once the calculation
+ * for the same rep ID ahead of it has finished.
+ */
+@Slf4j
+@Component
+public class RepIdCalculationCoordinator {
+
+    static final String COORDINATION_METRIC = "contribution.calculation.coordination";
+
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock[] stripes;
+    private final Map<Inputs, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Void>> lastQueued = new ConcurrentHashMap<>();
+
+    private final Counter coalesced;
+    private final Counter queued;
+
+    private record Inputs(Integer repId, String request) {}
+
+    public RepIdCalculationCoordinator(
+            CalculationCoordinatorConfiguration configuration, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.stripes = new ReentrantLock[configuration.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.queued = counter(meterRegistry, "queued");
+    }
+
+    /**
+     * Runs {@code calculation} for the rep ID in {@code calculateContributionDTO}, which must not have been changed by
+     * the pipeline yet, as its contents identify calculations that can share a result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T coordinate(CalculateContributionDTO calculateContributionDTO, Supplier<T> calculation) {
+        Integer repId = calculateContributionDTO.getRepId();
+        if (repId == null) {
+            return calculation.get();
+        }
+        String request = fingerprint(calculateContributionDTO);
+        if (request == null) {
+            return runLocked(repId, calculation);
+        }
+
+        Inputs inputs = new Inputs(repId, request);
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(inputs, created);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) CalculationStageRunner.join(existing);
+        }
+        try {
+            T result = runLocked(repId, calculation);
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error exception) {
+            created.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(inputs, created);
+        }
+    }
+
+    /**
+     * The reactive form of {@link #coordinate}. A calculation that has to wait does not hold a thread while it does,
+     * and one that others are sharing runs to the end even if the caller that started it goes away.
+     */
+    public <T> Mono<T> coordinateReactive(
+            CalculateContributionDTO calculateContributionDTO, Supplier<Mono<T>> calculation) {
+        Integer repId = calculateContributionDTO.getRepId();
+        if (repId == null) {
+            return Mono.defer(calculation);
+        }
+        return Mono.deferContextual(context -> {
+            String request = fingerprint(calculateContributionDTO);
+            if (request == null) {
+                return runQueued(repId, calculation);
+            }
+
+            Inputs inputs = new Inputs(repId, request);
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(inputs, created);
+            if (existing != null) {
+                coalesced.increment();
+                return shared(existing);
+            }
+            runQueued(repId, calculation)
+                    .contextWrite(context)
+                    .doFinally(signal -> inFlight.remove(inputs, created))
+                    .subscribe(
+                            created::complete,
+                            created::completeExceptionally,
+                            () -> created.completeExceptionally(
+                                    new IllegalStateException("Calculation produced no response")));
+            return shared(created);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Mono<T> shared(CompletableFuture<Object> result) {
+        // suppress cancel so a caller that gives up does not cancel the calculation for the others
+        return Mono.fromFuture(result, true).map(response -> (T) response);
+    }
+
+    /**
+     * Subscribes to {@code calculation} once the one queued before it for the same rep ID has finished. One that is
+     * cancelled while waiting hands its turn on only when the one ahead of it has finished.
+     */
+    private <T> Mono<T> runQueued(Integer repId, Supplier<Mono<T>> calculation) {
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+        CompletableFuture<Void> ahead = lastQueued.put(repId, finished);
+        if (ahead != null && !ahead.isDone()) {
+            queued.increment();
+        }
+        CompletableFuture<Void> turn = ahead == null ? CompletableFuture.completedFuture(null) : ahead;
+        return Mono.fromFuture(turn, true).then(Mono.defer(calculation)).doFinally(signal -> turn.whenComplete(
+                (ignored, exception) -> {
+                    finished.complete(null);
+                    lastQueued.remove(repId, finished);
+                }));
+    }
+
+    private <T> T runLocked(Integer repId, Supplier<T> calculation) {
+        ReentrantLock lock = stripes[Math.floorMod(repId, stripes.length)];
+        // tryLock would jump the queue on a fair lock, so check whether it is held before waiting for it in turn
+        if (lock.isLocked()) {
+            queued.increment();
+        }
+        lock.lock();
+        try {
+            return calculation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String fingerprint(CalculateContributionDTO calculateContributionDTO) {
+        try {
+            return objectMapper.writeValueAsString(calculateContributionDTO);
+        } catch (JsonProcessingException exception) {
+            log.warn("Unable to compare calculation inputs for repId {}", calculateContributionDTO.getRepId());
+            return null;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(COORDINATION_METRIC)
+                .description("Calculations that shared the result of an identical one in flight, or queued behind one")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
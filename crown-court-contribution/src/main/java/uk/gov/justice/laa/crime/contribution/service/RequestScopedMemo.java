@@ -0,0 +1,117 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Remembers the results of downstream lookups for the lifetime of the current inbound request, so an identical lookup
+ * made again by another step of the same calculation is answered from the first result. Concurrent identical lookups
+ * wait for the one already in flight. Failed lookups are not remembered, and nothing is shared between requests.
+ * Outside a request, or once the request has completed, every lookup goes straight through.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestScopedMemo {
+
+    static final String DUPLICATES_AVOIDED_METRIC = "contribution.downstream.duplicate.calls.avoided";
+
+    private static final String ENTRIES_ATTRIBUTE = RequestScopedMemo.class.getName() + ".ENTRIES";
+
+    private final MeterRegistry meterRegistry;
+
+    private record Key(String operation, List<Object> arguments) {}
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String operation, Supplier<T> lookup, Object... arguments) {
+        Map<Key, CompletableFuture<Object>> entries = entries();
+        if (entries == null) {
+            return lookup.get();
+        }
+        Key key = new Key(operation, Arrays.asList(arguments));
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            duplicatesAvoided(operation).increment();
+            return (T) CalculationStageRunner.join(existing);
+        }
+        try {
+            T value = lookup.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error exception) {
+            entries.remove(key, created);
+            created.completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns the result of an identical lookup already made in this request, waiting for it if it is still in flight,
+     * without making the lookup otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> peek(String operation, Object... arguments) {
+        Map<Key, CompletableFuture<Object>> entries = entries();
+        CompletableFuture<Object> existing =
+                entries == null ? null : entries.get(new Key(operation, Arrays.asList(arguments)));
+        if (existing == null) {
+            return Optional.empty();
+        }
+        Optional<T> value = existing.handle(
+                        (result, failure) -> failure == null ? Optional.ofNullable((T) result) : Optional.<T>empty())
+                .join();
+        value.ifPresent(ignored -> duplicatesAvoided(operation).increment());
+        return value;
+    }
+
+    public void invalidate(String... operations) {
+        Map<Key, CompletableFuture<Object>> entries = entries();
+        if (entries != null) {
+            Set<String> invalidated = Set.of(operations);
+            entries.keySet().removeIf(key -> invalidated.contains(key.operation()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Key, CompletableFuture<Object>> entries() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        // the same attributes are shared with the downstream executor's worker threads
+        synchronized (requestAttributes) {
+            try {
+                Object entries = requestAttributes.getAttribute(ENTRIES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (entries == null) {
+                    entries = new ConcurrentHashMap<Key, CompletableFuture<Object>>();
+                    requestAttributes.setAttribute(ENTRIES_ATTRIBUTE, entries, RequestAttributes.SCOPE_REQUEST);
+                }
+                return (Map<Key, CompletableFuture<Object>>) entries;
+            } catch (IllegalStateException exception) {
+                // the attributes of a completed request, still propagated to work that outlives its first dispatch
+                return null;
+            }
+        }
+    }
+
+    private Counter duplicatesAvoided(String operation) {
+        return Counter.builder(DUPLICATES_AVOIDED_METRIC)
+                .description("Downstream lookups answered from an identical earlier lookup in the same request")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
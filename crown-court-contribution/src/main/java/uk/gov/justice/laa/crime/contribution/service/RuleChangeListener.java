@@ -0,0 +1,206 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.contribution.config.RecalculationConfiguration;
+import uk.gov.justice.laa.crime.contribution.config.RuleReloadConfiguration;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the in-memory rule caches of every replica in step with the rule tables. A trigger on each rule table sends a
+ * notification on {@link #CHANNEL} naming the table that changed, and this listener reloads the rules built from that
+ * table. Each cache builds its new rules before swapping them in, so requests keep using the previous rules until then
+ * and never query the tables themselves.
+ *
+ * <p>Notifications are received on a dedicated connection, outside the connection pool, by a single background thread.
+ * As notifications sent while that connection is down are lost, the rule tables are also checksummed on connecting and
+ * every {@link RuleReloadConfiguration#getChecksumInterval()}, and rules whose checksum has changed are reloaded.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "contribution.rule-reload", name = "enabled", havingValue = "true")
+// a recalculation job loads the rules once and exits, so it has no use for the listener's connection
+@ConditionalOnBooleanProperty(
+        name = RecalculationConfiguration.ENABLED_PROPERTY,
+        havingValue = false,
+        matchIfMissing = true)
+public class RuleChangeListener implements AutoCloseable {
+
+    static final String CHANNEL = "crown_court_contribution_rules";
+    static final String RELOAD_METRIC = "contribution.rules.reload";
+    static final String NOTIFICATION = "notification";
+    static final String CHECKSUM = "checksum";
+
+    private static final String SCHEMA = "crown_court_contribution";
+    private static final int POLL_MILLIS = 1_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final RuleReloadConfiguration configuration;
+    private final MeterRegistry meterRegistry;
+    private final List<Rules> rules;
+    private final ScheduledExecutorService executor;
+    // only read and written by the listener thread
+    private final Map<Rules, String> checksums = new HashMap<>();
+    private volatile boolean running;
+
+    /**
+     * Rules built from one or more tables, with the hook that reloads them.
+     */
+    record Rules(String name, List<String> tables, Runnable reload) {
+
+        private String checksumQuery() {
+            String rows = tables.stream()
+                    .map(table -> "SELECT '" + table + "' || t::text AS rule_row FROM " + SCHEMA + "." + table + " t")
+                    .collect(Collectors.joining(" UNION ALL "));
+            return "SELECT md5(coalesce(string_agg(rule_row, '|' ORDER BY rule_row), '')) FROM (" + rows
+                    + ") rule_rows";
+        }
+    }
+
+    public RuleChangeListener(
+            DataSourceProperties dataSourceProperties,
+            RuleReloadConfiguration configuration,
+            CorrespondenceRuleIndex correspondenceRuleIndex,
+            AppealContributionRules appealContributionRules,
+            MeterRegistry meterRegistry) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        this.rules = List.of(
+                new Rules(
+                        "correspondence",
+                        List.of("correspondence_rules", "correspondence_templates"),
+                        correspondenceRuleIndex::reload),
+                new Rules("appeal_contribution", List.of("contrib_appeal_rules"), appealContributionRules::reload));
+        this.executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("rule-change-listener").daemon(true).factory());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        executor.execute(this::listen);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    private void listen() {
+        try (Connection connection = DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            log.info("Listening for rule changes on {}", CHANNEL);
+            PGConnection notifications = connection.unwrap(PGConnection.class);
+            long checksumIntervalNanos = configuration.getChecksumInterval().toNanos();
+            checkForChanges(connection);
+            long nextCheck = System.nanoTime() + checksumIntervalNanos;
+            while (running) {
+                PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                if (received != null && received.length > 0) {
+                    onNotifications(
+                            connection,
+                            Arrays.stream(received)
+                                    .map(PGNotification::getParameter)
+                                    .toList());
+                }
+                if (System.nanoTime() - nextCheck >= 0) {
+                    checkForChanges(connection);
+                    nextCheck = System.nanoTime() + checksumIntervalNanos;
+                }
+            }
+        } catch (SQLException | RuntimeException exception) {
+            if (running) {
+                log.warn(
+                        "Lost the rule change listener connection, reconnecting in {}s",
+                        configuration.getReconnectDelay().toSeconds(),
+                        exception);
+                executor.schedule(this::listen, configuration.getReconnectDelay().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Reloads the rules built from the tables named in the notifications. A notification that names no known table
+     * reloads every rule cache.
+     */
+    void onNotifications(Connection connection, List<String> tables) throws SQLException {
+        List<Rules> changed = rules.stream()
+                .filter(candidate -> tables.stream().anyMatch(candidate.tables()::contains))
+                .toList();
+        for (Rules changedRules : changed.isEmpty() ? rules : changed) {
+            reload(changedRules, checksum(connection, changedRules), NOTIFICATION);
+        }
+    }
+
+    /**
+     * Reloads the rules whose tables have changed since they were last loaded by this listener.
+     */
+    void checkForChanges(Connection connection) throws SQLException {
+        for (Rules candidate : rules) {
+            String checksum = checksum(connection, candidate);
+            if (!Objects.equals(checksum, checksums.get(candidate))) {
+                reload(candidate, checksum, CHECKSUM);
+            }
+        }
+    }
+
+    private void reload(Rules changed, String checksum, String trigger) {
+        try {
+            changed.reload().run();
+            // recorded only once loaded, so a failed reload is retried at the next checksum
+            checksums.put(changed, checksum);
+            log.info("Reloaded {} rules after a {}", changed.name(), trigger);
+            count(changed, trigger, "success");
+        } catch (RuntimeException exception) {
+            log.error("Failed to reload {} rules after a {}", changed.name(), trigger, exception);
+            count(changed, trigger, "failure");
+        }
+    }
+
+    private static String checksum(Connection connection, Rules candidate) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(candidate.checksumQuery())) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    private void count(Rules changed, String trigger, String outcome) {
+        Counter.builder(RELOAD_METRIC)
+                .description("Reloads of the in-memory rules after a rule table changed")
+                .tag("rules", changed.name())
+                .tag("trigger", trigger)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -17,6 +17,56 @@ public class CalculateContributionUtil {
             final BigDecimal disposableIncomePercent,
             final BigDecimal minimumMonthlyAmount) {
         if (checkNull(annualDisposableIncome, disposableIncomePercent, minimumMonthlyAmount)) return null;
+        long incomePence = FixedPointContributionUtil.toPence(annualDisposableIncome);
+        long percentBasisPoints = FixedPointContributionUtil.toBasisPoints(disposableIncomePercent);
+        long minimumPence = FixedPointContributionUtil.toPence(minimumMonthlyAmount);
+        if (minimumPence != FixedPointContributionUtil.NOT_REPRESENTABLE
+                && FixedPointContributionUtil.isSupported(incomePence, percentBasisPoints)) {
+            long monthlyContribution = FixedPointContributionUtil.calculateMonthlyContribution(
+                    incomePence, percentBasisPoints, minimumPence);
+            return monthlyContribution == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(monthlyContribution, 2);
+        }
+        return calculateMonthlyContributionDecimal(
+                annualDisposableIncome, disposableIncomePercent, minimumMonthlyAmount);
+    }
+
+    public BigDecimal calculateUpfrontContributions(
+            final BigDecimal monthlyContributions, final BigDecimal contributionCap, final Integer upfrontTotalMonths) {
+        if (checkNull(monthlyContributions, contributionCap) || upfrontTotalMonths == null) return null;
+        BigDecimal upfrontContribution = monthlyContributions.multiply(BigDecimal.valueOf(upfrontTotalMonths));
+        if (upfrontContribution.compareTo(contributionCap) < 0) {
+            return upfrontContribution;
+        } else return contributionCap;
+    }
+
+    public BigDecimal calculateUpliftedMonthlyAmount(
+            final BigDecimal annualDisposableIncome,
+            final BigDecimal upliftedIncomePercent,
+            final BigDecimal minUpliftedMonthlyAmount) {
+        if (checkNull(annualDisposableIncome, upliftedIncomePercent, minUpliftedMonthlyAmount)) return null;
+        long incomePence = FixedPointContributionUtil.toPence(annualDisposableIncome);
+        long percentBasisPoints = FixedPointContributionUtil.toBasisPoints(upliftedIncomePercent);
+        long minimumPence = FixedPointContributionUtil.toPence(minUpliftedMonthlyAmount);
+        if (minimumPence != FixedPointContributionUtil.NOT_REPRESENTABLE
+                && FixedPointContributionUtil.isSupported(incomePence, percentBasisPoints)) {
+            long monthlyContribution = FixedPointContributionUtil.flooredMonthlyPence(incomePence, percentBasisPoints);
+            return monthlyContribution > minimumPence
+                    ? BigDecimal.valueOf(monthlyContribution, 2)
+                    : minUpliftedMonthlyAmount;
+        }
+        return calculateUpliftedMonthlyAmountDecimal(
+                annualDisposableIncome, upliftedIncomePercent, minUpliftedMonthlyAmount);
+    }
+
+    /**
+     * Original {@link BigDecimal} implementation, used for inputs outside the range of
+     * {@link FixedPointContributionUtil}.
+     */
+    BigDecimal calculateMonthlyContributionDecimal(
+            final BigDecimal annualDisposableIncome,
+            final BigDecimal disposableIncomePercent,
+            final BigDecimal minimumMonthlyAmount) {
+        if (checkNull(annualDisposableIncome, disposableIncomePercent, minimumMonthlyAmount)) return null;
         BigDecimal calcDisposableIncomePercent =
                 disposableIncomePercent.divide(BigDecimal.valueOf(100), MathContext.DECIMAL128);
         BigDecimal monthlyContributionsCalc = BigDecimal.valueOf(Math.floor((annualDisposableIncome
@@ -33,16 +83,7 @@ public class CalculateContributionUtil {
         return monthlyContribution;
     }
 
-    public BigDecimal calculateUpfrontContributions(
-            final BigDecimal monthlyContributions, final BigDecimal contributionCap, final Integer upfrontTotalMonths) {
-        if (checkNull(monthlyContributions, contributionCap) || upfrontTotalMonths == null) return null;
-        BigDecimal upfrontContribution = monthlyContributions.multiply(BigDecimal.valueOf(upfrontTotalMonths));
-        if (upfrontContribution.compareTo(contributionCap) < 0) {
-            return upfrontContribution;
-        } else return contributionCap;
-    }
-
-    public BigDecimal calculateUpliftedMonthlyAmount(
+    BigDecimal calculateUpliftedMonthlyAmountDecimal(
             final BigDecimal annualDisposableIncome,
             final BigDecimal upliftedIncomePercent,
             final BigDecimal minUpliftedMonthlyAmount) {
@@ -0,0 +1,81 @@
+package uk.gov.justice.laa.crime.contribution.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+
+/**
+ * Scaled-integer implementation of the monthly contribution calculations. Monetary amounts are held as whole
+ * pence and percentages as basis points (hundredths of a percent), so every operation is exact integer
+ * arithmetic with no intermediate objects.
+ *
+ * <p>Results match the {@link BigDecimal} implementation in {@link CalculateContributionUtil} for every input
+ * accepted by {@link #isSupported(long, long)}. The bounds are chosen so that the legacy
+ * {@code doubleValue()} round trip can never round a value up across a whole pound.
+ */
+@UtilityClass
+public class FixedPointContributionUtil {
+
+    /** Returned by the conversion methods when a value cannot be held exactly at the required scale. */
+    public static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final int PENCE_SCALE = 2;
+    private static final int BASIS_POINTS_SCALE = 2;
+    private static final int MAX_INTEGER_DIGITS = 16;
+
+    private static final long PENCE_PER_POUND = 100L;
+    // annual pence * basis points / divisor = monthly whole pounds (12 months, 100 pence, 10,000 basis points)
+    private static final long MONTHLY_POUNDS_DIVISOR = 12L * 100L * 10_000L;
+
+    private static final long MAX_ABS_INCOME_PENCE = 1_000_000_000_000L;
+    private static final long MAX_ABS_BASIS_POINTS = 1_000_000L;
+    // Keeps the monthly amount below 2^29 pounds, where a double can still resolve 1/12,000,000 of a pound
+    private static final long MAX_ABS_PRODUCT = (1L << 29) * MONTHLY_POUNDS_DIVISOR;
+
+    public long toPence(final BigDecimal amount) {
+        return toScaledLong(amount, PENCE_SCALE);
+    }
+
+    public long toBasisPoints(final BigDecimal percent) {
+        return toScaledLong(percent, BASIS_POINTS_SCALE);
+    }
+
+    public boolean isSupported(final long annualIncomePence, final long percentBasisPoints) {
+        return isWithin(annualIncomePence, MAX_ABS_INCOME_PENCE)
+                && isWithin(percentBasisPoints, MAX_ABS_BASIS_POINTS)
+                && isWithin(annualIncomePence * percentBasisPoints, MAX_ABS_PRODUCT);
+    }
+
+    /**
+     * Monthly share of the annual income at the given percentage, rounded down to whole pounds and returned in
+     * pence.
+     */
+    public long flooredMonthlyPence(final long annualIncomePence, final long percentBasisPoints) {
+        return Math.floorDiv(annualIncomePence * percentBasisPoints, MONTHLY_POUNDS_DIVISOR) * PENCE_PER_POUND;
+    }
+
+    public long calculateMonthlyContribution(
+            final long annualIncomePence, final long percentBasisPoints, final long minimumMonthlyPence) {
+        long monthlyContribution = flooredMonthlyPence(annualIncomePence, percentBasisPoints);
+        if (monthlyContribution <= 0 || monthlyContribution < minimumMonthlyPence) {
+            return 0L;
+        }
+        return monthlyContribution;
+    }
+
+    public long calculateUpliftedMonthlyAmount(
+            final long annualIncomePence, final long percentBasisPoints, final long minUpliftedMonthlyPence) {
+        return Math.max(flooredMonthlyPence(annualIncomePence, percentBasisPoints), minUpliftedMonthlyPence);
+    }
+
+    private static long toScaledLong(final BigDecimal value, final int scale) {
+        if (value.scale() > scale || value.precision() - value.scale() > MAX_INTEGER_DIGITS) {
+            return NOT_REPRESENTABLE;
+        }
+        return value.movePointRight(scale).longValue();
+    }
+
+    private static boolean isWithin(final long value, final long maxAbs) {
+        return value >= -maxAbs && value <= maxAbs;
+    }
+}
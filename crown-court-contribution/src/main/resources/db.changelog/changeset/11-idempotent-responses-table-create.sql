@@ -0,0 +1,11 @@
+--liquibase formatted sql
+--changeset laa-crime-apps-team:11-idempotent-responses-table-create
+CREATE TABLE IF NOT EXISTS crown_court_contribution.idempotent_responses
+(
+    IDEMPOTENCY_KEY VARCHAR(300) PRIMARY KEY,
+    REQUEST_HASH VARCHAR(64) NOT NULL,
+    RESPONSE_BODY TEXT NOT NULL,
+    EXPIRES_AT TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS IDEMPOTENT_RESPONSES_EXPIRES_AT
+    ON crown_court_contribution.idempotent_responses (EXPIRES_AT);
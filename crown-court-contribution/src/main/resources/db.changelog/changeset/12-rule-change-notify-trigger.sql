@@ -0,0 +1,23 @@
+--liquibase formatted sql
+--changeset laa-crime-apps-team:12-rule-change-notify-trigger dbms:postgresql splitStatements:false
+CREATE OR REPLACE FUNCTION crown_court_contribution.notify_rule_change() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('crown_court_contribution_rules', TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS CORRESPONDENCE_RULES_NOTIFY ON crown_court_contribution.correspondence_rules;
+CREATE TRIGGER CORRESPONDENCE_RULES_NOTIFY
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON crown_court_contribution.correspondence_rules
+    FOR EACH STATEMENT EXECUTE FUNCTION crown_court_contribution.notify_rule_change();
+
+DROP TRIGGER IF EXISTS CORRESPONDENCE_TEMPLATES_NOTIFY ON crown_court_contribution.correspondence_templates;
+CREATE TRIGGER CORRESPONDENCE_TEMPLATES_NOTIFY
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON crown_court_contribution.correspondence_templates
+    FOR EACH STATEMENT EXECUTE FUNCTION crown_court_contribution.notify_rule_change();
+
+DROP TRIGGER IF EXISTS CONTRIB_APPEAL_RULES_NOTIFY ON crown_court_contribution.contrib_appeal_rules;
+CREATE TRIGGER CONTRIB_APPEAL_RULES_NOTIFY
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON crown_court_contribution.contrib_appeal_rules
+    FOR EACH STATEMENT EXECUTE FUNCTION crown_court_contribution.notify_rule_change();
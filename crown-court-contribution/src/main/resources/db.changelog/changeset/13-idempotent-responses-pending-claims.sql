@@ -0,0 +1,3 @@
+--liquibase formatted sql
+--changeset laa-crime-apps-team:13-idempotent-responses-pending-claims
+ALTER TABLE crown_court_contribution.idempotent_responses ALTER COLUMN RESPONSE_BODY DROP NOT NULL;
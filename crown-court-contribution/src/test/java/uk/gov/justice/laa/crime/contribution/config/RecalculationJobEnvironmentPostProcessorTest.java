@@ -0,0 +1,36 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.PropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+class RecalculationJobEnvironmentPostProcessorTest {
+
+    private final RecalculationJobEnvironmentPostProcessor postProcessor =
+            new RecalculationJobEnvironmentPostProcessor();
+
+    @Test
+    void givenRecalculationIsEnabled_whenEnvironmentIsPostProcessed_thenJobRunsWithoutWebServerAndLazily() {
+        MockEnvironment environment =
+                new MockEnvironment().withProperty(RecalculationConfiguration.ENABLED_PROPERTY, "true");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty("spring.main.web-application-type")).isEqualTo("none");
+        assertThat(environment.getProperty("spring.main.lazy-initialization")).isEqualTo("true");
+    }
+
+    @Test
+    void givenRecalculationIsNotEnabled_whenEnvironmentIsPostProcessed_thenEnvironmentIsUnchanged() {
+        MockEnvironment environment = new MockEnvironment();
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getPropertySources())
+                .extracting(PropertySource::getName)
+                .doesNotContain(RecalculationJobEnvironmentPostProcessor.PROPERTY_SOURCE_NAME);
+    }
+}
@@ -0,0 +1,76 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.java21.instrument.binder.jdk.VirtualThreadMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+class VirtualThreadConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfiguration.class, ExecutorConfiguration.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void givenVirtualThreadsEnabled_whenDownstreamCallIsMade_thenItRunsOnVirtualThread() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(VirtualThreadMetrics.class);
+            Executor executor = context.getBean(ExecutorConfiguration.DOWNSTREAM_EXECUTOR, Executor.class);
+
+            CompletableFuture<Boolean> virtual =
+                    CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor);
+
+            assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+        });
+    }
+
+    @Test
+    void givenVirtualThreadsDisabled_whenDownstreamCallIsMade_thenItRunsOnPlatformThread() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(VirtualThreadMetrics.class);
+            Executor executor = context.getBean(ExecutorConfiguration.DOWNSTREAM_EXECUTOR, Executor.class);
+
+            CompletableFuture<Boolean> virtual =
+                    CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor);
+
+            assertThat(virtual.get(5, TimeUnit.SECONDS)).isFalse();
+        });
+    }
+
+    @Test
+    void givenRequestInProgress_whenFilterIsInvoked_thenRequestIsCountedInFlight() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            VirtualThreadConfiguration.InFlightTracker tracker = context.getBean(
+                    VirtualThreadConfiguration.REQUESTS_IN_FLIGHT, VirtualThreadConfiguration.InFlightTracker.class);
+            OncePerRequestFilter filter =
+                    context.getBean("virtualThreadRequestsInFlightFilter", OncePerRequestFilter.class);
+            AtomicInteger inFlightDuringRequest = new AtomicInteger();
+
+            filter.doFilter(
+                    new MockHttpServletRequest(),
+                    new MockHttpServletResponse(),
+                    (request, response) -> inFlightDuringRequest.set(tracker.get()));
+
+            assertThat(inFlightDuringRequest).hasValue(1);
+            assertThat(tracker.get()).isZero();
+            assertThat(context.getBean(MeterRegistry.class)
+                            .get(VirtualThreadConfiguration.IN_FLIGHT_METRIC)
+                            .tag("source", "request")
+                            .gauge()
+                            .value())
+                    .isZero();
+        });
+    }
+}
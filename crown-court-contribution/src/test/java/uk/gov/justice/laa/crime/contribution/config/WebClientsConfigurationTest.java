@@ -0,0 +1,78 @@
+package uk.gov.justice.laa.crime.contribution.config;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.contribution.filter.ClientCredentialsTokenFilter;
+import uk.gov.justice.laa.crime.contribution.filter.ClientCredentialsTokenManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@ExtendWith(MockitoExtension.class)
+class WebClientsConfigurationTest {
+
+    private static final String TOKEN = "access-token";
+    private static final ExchangeFilterFunction PASS_THROUGH = (request, next) -> next.exchange(request);
+
+    @Mock
+    private ClientCredentialsTokenManager tokenManager;
+
+    @BeforeEach
+    void setUp() {
+        when(tokenManager.getToken()).thenReturn(Mono.just(TOKEN));
+    }
+
+    @Test
+    void givenUnauthorizedResponse_whenCallIsMadeThroughConfiguredFilters_thenTokenIsInvalidated() {
+        WebClient webClient = webClientAnswering(HttpStatus.UNAUTHORIZED);
+
+        assertThatThrownBy(() -> webClient
+                        .get()
+                        .uri("https://example.com")
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block())
+                .isInstanceOf(WebClientResponseException.Unauthorized.class);
+        verify(tokenManager).invalidate(TOKEN);
+    }
+
+    @Test
+    void givenServerErrorResponse_whenCallIsMadeThroughConfiguredFilters_thenTokenIsKept() {
+        WebClient webClient = webClientAnswering(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        assertThatThrownBy(() -> webClient
+                        .get()
+                        .uri("https://example.com")
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block())
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        verify(tokenManager, never()).invalidate(any());
+    }
+
+    private WebClient webClientAnswering(HttpStatus status) {
+        return WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(status).build()))
+                .filters(filters -> WebClientsConfiguration.configureFilters(
+                        filters,
+                        new ClientCredentialsTokenFilter(tokenManager),
+                        PASS_THROUGH,
+                        PASS_THROUGH,
+                        PASS_THROUGH,
+                        null))
+                .build();
+    }
+}
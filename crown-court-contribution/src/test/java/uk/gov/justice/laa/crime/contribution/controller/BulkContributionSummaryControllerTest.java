@@ -0,0 +1,111 @@
+package uk.gov.justice.laa.crime.contribution.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import reactor.core.publisher.Flux;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesBulkRequest;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesResult;
+import uk.gov.justice.laa.crime.contribution.service.BulkContributionSummaryService;
+import uk.gov.justice.laa.crime.contribution.tracing.TraceIdHandler;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DirtiesContext
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(BulkContributionSummaryController.class)
+class BulkContributionSummaryControllerTest {
+
+    private static final String ENDPOINT_URL = "/api/internal/v1/contribution/summaries/bulk";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private BulkContributionSummaryService bulkContributionSummaryService;
+
+    @MockitoBean
+    private TraceIdHandler traceIdHandler;
+
+    @Test
+    void givenValidRequest_whenGetContributionSummariesIsInvoked_thenOneLinePerRepIdIsReturned() throws Exception {
+        when(bulkContributionSummaryService.getContributionSummaries(List.of(1, 2)))
+                .thenReturn(Flux.just(
+                        ContributionSummariesResult.builder()
+                                .repId(1)
+                                .summaries(List.of(new ApiContributionSummary().withId(10)))
+                                .build(),
+                        ContributionSummariesResult.builder()
+                                .repId(2)
+                                .error("502 BAD_GATEWAY")
+                                .build()));
+
+        MvcResult result = mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(objectMapper.writeValueAsString(new ContributionSummariesBulkRequest(List.of(1, 2)))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<ContributionSummariesResult> results = objectMapper
+                .readerFor(ContributionSummariesResult.class)
+                .<ContributionSummariesResult>readValues(body)
+                .readAll();
+        assertThat(body.lines()).hasSize(2);
+        assertThat(results)
+                .extracting(ContributionSummariesResult::getRepId, ContributionSummariesResult::getError)
+                .containsExactly(tuple(1, null), tuple(2, "502 BAD_GATEWAY"));
+    }
+
+    @Test
+    void givenNoRepIds_whenGetContributionSummariesIsInvoked_thenBadRequestResponse() throws Exception {
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                        .content("{\"repIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenTooManyRepIds_whenGetContributionSummariesIsInvoked_thenBadRequestResponse() throws Exception {
+        when(bulkContributionSummaryService.getContributionSummaries(anyList()))
+                .thenThrow(new ValidationException("At most 200 repIds can be requested at once, got 201"));
+
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                        .content("{\"repIds\":[1,2,3]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,123 @@
+package uk.gov.justice.laa.crime.contribution.controller;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.DEFINED_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.justice.laa.crime.util.RequestBuilderUtils.buildRequestGivenContent;
+
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.contribution.CrownCourtContributionApplication;
+import uk.gov.justice.laa.crime.contribution.config.BulkSummariesConfiguration;
+import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesBulkRequest;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.wiremock.spring.EnableWireMock;
+import org.wiremock.spring.InjectWireMock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+
+@EnableWireMock
+@DirtiesContext
+@AutoConfigureObservability
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(classes = CrownCourtContributionApplication.class, webEnvironment = DEFINED_PORT)
+class BulkContributionSummaryIntegrationTest {
+
+    private static final String ENDPOINT_URL = "/api/internal/v1/contribution/summaries/bulk";
+    // long enough that most lookups finish after the inbound request's first dispatch has completed
+    private static final int MAAT_DELAY_MILLIS = 100;
+
+    private MockMvc mvc;
+
+    @InjectWireMock
+    private static WireMockServer wiremock;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private BulkSummariesConfiguration bulkSummariesConfiguration;
+
+    @BeforeEach
+    void setup() throws JsonProcessingException {
+        Map<String, Object> token =
+                Map.of("expires_in", 3600, "token_type", "Bearer", "access_token", UUID.randomUUID());
+        wiremock.stubFor(post("/oauth2/token").willReturn(WireMock.okJson(objectMapper.writeValueAsString(token))));
+        wiremock.stubFor(get(urlPathMatching("/contributions/\\d+/summary"))
+                .willReturn(WireMock.ok()
+                        .withFixedDelay(MAAT_DELAY_MILLIS)
+                        .withHeader("Content-Type", String.valueOf(MediaType.APPLICATION_JSON))
+                        .withBody(objectMapper.writeValueAsString(
+                                List.of(TestModelDataBuilder.getContributionSummaryDTO())))));
+        mvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilter(springSecurityFilterChain)
+                .build();
+    }
+
+    @Test
+    void givenMoreRepIdsThanConcurrency_whenGetContributionSummariesIsInvoked_thenEveryLookupSucceeds()
+            throws Exception {
+        List<Integer> repIds = IntStream.rangeClosed(1, bulkSummariesConfiguration.getConcurrency() * 3)
+                .boxed()
+                .toList();
+        String requestData = objectMapper.writeValueAsString(new ContributionSummariesBulkRequest(repIds));
+
+        MvcResult result = mvc.perform(buildRequestGivenContent(HttpMethod.POST, requestData, ENDPOINT_URL)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<ContributionSummariesResult> results = objectMapper
+                .readerFor(ContributionSummariesResult.class)
+                .<ContributionSummariesResult>readValues(body)
+                .readAll();
+        assertThat(results)
+                .extracting(ContributionSummariesResult::getRepId)
+                .containsExactlyInAnyOrderElementsOf(repIds);
+        assertThat(results).allSatisfy(summariesResult -> {
+            assertThat(summariesResult.getError()).isNull();
+            assertThat(summariesResult.getSummaries())
+                    .extracting(ApiContributionSummary::getId)
+                    .containsExactly(TestModelDataBuilder.CONTRIBUTION_ID);
+        });
+    }
+}
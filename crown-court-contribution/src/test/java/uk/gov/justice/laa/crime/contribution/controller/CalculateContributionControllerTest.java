@@ -1,17 +1,28 @@
 package uk.gov.justice.laa.crime.contribution.controller;
 
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.gov.justice.laa.crime.util.RequestBuilderUtils.buildRequestGivenContent;
 
 import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionResponse;
 import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
+import uk.gov.justice.laa.crime.contribution.service.BatchCalculateContributionService;
 import uk.gov.justice.laa.crime.contribution.service.CalculateContributionService;
 import uk.gov.justice.laa.crime.contribution.tracing.TraceIdHandler;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -21,6 +32,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -31,6 +43,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 class CalculateContributionControllerTest {
 
     private static final String ENDPOINT_URL = "/api/internal/v2/contribution/calculate";
+    private static final String BATCH_ENDPOINT_URL = ENDPOINT_URL + "/batch";
 
     @Autowired
     private MockMvc mvc;
@@ -41,6 +54,9 @@ class CalculateContributionControllerTest {
     @MockitoBean
     private CalculateContributionService calculateContributionService;
 
+    @MockitoBean
+    private BatchCalculateContributionService batchCalculateContributionService;
+
     @MockitoBean
     private TraceIdHandler traceIdHandler;
 
@@ -81,4 +97,39 @@ class CalculateContributionControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
+
+    @Test
+    void givenNdjsonRequests_whenCalculateContributionsIsInvoked_thenNdjsonResponseIsStreamed() throws Exception {
+        String requestData = objectMapper.writeValueAsString(List.of(
+                TestModelDataBuilder.buildApiCalculateContributionRequest(),
+                TestModelDataBuilder.buildApiCalculateContributionRequest()));
+        String responseData = "{\"monthlyContributions\":1}\n{\"monthlyContributions\":2}\n";
+
+        when(traceIdHandler.getTraceId()).thenReturn("trace-id");
+        doAnswer(invocation -> {
+                    OutputStream responses = invocation.getArgument(1);
+                    responses.write(responseData.getBytes(StandardCharsets.UTF_8));
+                    return null;
+                })
+                .when(batchCalculateContributionService)
+                .calculateContributions(any(InputStream.class), any(OutputStream.class), eq("trace-id"));
+
+        MvcResult result = mvc.perform(post(BATCH_ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(requestData))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(responseData));
+    }
+
+    @Test
+    void givenUnsupportedContentType_whenCalculateContributionsIsInvoked_thenUnsupportedMediaTypeResponse()
+            throws Exception {
+        mvc.perform(post(BATCH_ENDPOINT_URL).contentType(MediaType.TEXT_PLAIN).content("requests"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
 }
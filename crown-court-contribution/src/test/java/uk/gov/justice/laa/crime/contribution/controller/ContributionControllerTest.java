@@ -1,36 +1,57 @@
 package uk.gov.justice.laa.crime.contribution.controller;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.gov.justice.laa.crime.util.RequestBuilderUtils.buildRequestGivenContent;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionRequest;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCheckContributionRuleRequest;
 import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.contribution.config.IdempotencyConfiguration;
 import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
 import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesPage;
 import uk.gov.justice.laa.crime.contribution.service.ContributionRulesService;
 import uk.gov.justice.laa.crime.contribution.service.ContributionService;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyService;
+import uk.gov.justice.laa.crime.contribution.service.InMemoryIdempotencyStore;
 import uk.gov.justice.laa.crime.contribution.service.MaatCalculateContributionService;
 import uk.gov.justice.laa.crime.contribution.tracing.TraceIdHandler;
 import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+import uk.gov.justice.laa.crime.exception.ValidationException;
 
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,6 +59,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @DirtiesContext
 @AutoConfigureMockMvc(addFilters = false)
 @WebMvcTest(ContributionController.class)
+@EnableConfigurationProperties(IdempotencyConfiguration.class)
+@Import({IdempotencyService.class, InMemoryIdempotencyStore.class, SimpleMeterRegistry.class})
 class ContributionControllerTest {
 
     private static final String BASE_URL = "/api/internal/v1/contribution/";
@@ -103,6 +126,49 @@ class ContributionControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void givenIdempotencyKey_whenCalculateContributionIsRepeated_thenFirstResponseIsReplayed() throws Exception {
+        String requestData = objectMapper.writeValueAsString(TestModelDataBuilder.buildAppealContributionRequest());
+        when(maatCalculateContributionService.calculateContribution(any(CalculateContributionDTO.class)))
+                .thenReturn(new ApiMaatCalculateContributionResponse().withTotalMonths(6));
+
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "replayed-key")
+                        .content(requestData))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER));
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "replayed-key")
+                        .content(requestData))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.totalMonths").value(6));
+
+        verify(maatCalculateContributionService, times(1)).calculateContribution(any(CalculateContributionDTO.class));
+    }
+
+    @Test
+    void givenIdempotencyKeyReusedForDifferentRequest_whenCalculateContributionIsInvoked_thenBadRequestResponse()
+            throws Exception {
+        ApiMaatCalculateContributionRequest request = TestModelDataBuilder.buildAppealContributionRequest();
+        when(maatCalculateContributionService.calculateContribution(any(CalculateContributionDTO.class)))
+                .thenReturn(new ApiMaatCalculateContributionResponse());
+
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "reused-key")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        request.setRepId(request.getRepId() + 1);
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "reused-key")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenValidRequest_whenGetContributionSummariesIsInvoked_thenOkResponse() throws Exception {
         when(maatCalculateContributionService.getContributionSummaries(anyInt()))
@@ -124,6 +190,62 @@ class ContributionControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void givenOpenCircuitBreaker_whenGetContributionSummariesIsInvoked_thenServiceUnavailableResponse()
+            throws Exception {
+        when(maatCalculateContributionService.getContributionSummaries(anyInt()))
+                .thenThrow(CallNotPermittedException.createCallNotPermittedException(
+                        CircuitBreaker.ofDefaults("maatCourtDataWebClient")));
+
+        mvc.perform(buildRequestGivenContent(HttpMethod.GET, "", GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL, false))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value(containsString("maatCourtDataWebClient")));
+    }
+
+    @Test
+    void givenValidRequest_whenStreamContributionSummariesIsInvoked_thenSummariesAreWrittenOnePerLine()
+            throws Exception {
+        when(maatCalculateContributionService.streamContributionSummaries(anyInt()))
+                .thenReturn(Flux.just(new ApiContributionSummary().withId(1), new ApiContributionSummary().withId(2)));
+
+        MvcResult result = mvc.perform(get(GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL + "/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("\\{[^\n]*\"id\":1[^\n]*}\n\\{[^\n]*\"id\":2[^\n]*}\n")));
+    }
+
+    @Test
+    void givenValidRequest_whenGetContributionSummariesPageIsInvoked_thenOkResponse() throws Exception {
+        when(maatCalculateContributionService.getContributionSummariesPage(TestModelDataBuilder.REP_ID, 10, 2))
+                .thenReturn(ContributionSummariesPage.builder()
+                        .summaries(List.of(new ApiContributionSummary().withId(11), new ApiContributionSummary()))
+                        .nextCursor(12)
+                        .build());
+
+        mvc.perform(buildRequestGivenContent(
+                        HttpMethod.GET, "", GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL + "/page?after=10&size=2", false))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.summaries.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(12));
+    }
+
+    @Test
+    void givenInvalidPageSize_whenGetContributionSummariesPageIsInvoked_thenBadRequestResponse() throws Exception {
+        when(maatCalculateContributionService.getContributionSummariesPage(TestModelDataBuilder.REP_ID, null, 0))
+                .thenThrow(new ValidationException("Page size must be between 1 and 500, was 0"));
+
+        mvc.perform(buildRequestGivenContent(
+                        HttpMethod.GET, "", GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL + "/page?size=0", false))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void givenValidRequest_whenCheckContributionRuleIsInvoked_thenOkResponse() throws Exception {
         ApiMaatCheckContributionRuleRequest apiMaatCheckContributionRuleRequest =
@@ -0,0 +1,239 @@
+package uk.gov.justice.laa.crime.contribution.controller;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.justice.laa.crime.util.RequestBuilderUtils.buildRequestGivenContent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCheckContributionRuleRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.contribution.config.IdempotencyConfiguration;
+import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
+import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesPage;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRulesService;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyService;
+import uk.gov.justice.laa.crime.contribution.service.InMemoryIdempotencyStore;
+import uk.gov.justice.laa.crime.contribution.service.ReactiveMaatCalculateContributionService;
+import uk.gov.justice.laa.crime.contribution.tracing.TraceIdHandler;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DirtiesContext
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(value = ReactiveContributionController.class, properties = "contribution.pipeline.mode=reactive")
+@EnableConfigurationProperties(IdempotencyConfiguration.class)
+@Import({IdempotencyService.class, InMemoryIdempotencyStore.class, SimpleMeterRegistry.class})
+class ReactiveContributionControllerTest {
+
+    private static final String BASE_URL = "/api/internal/v1/contribution/";
+    private static final String ENDPOINT_URL = BASE_URL + "calculate-contribution";
+    private static final String CHECK_CONTRIBUTION_RULE_ENDPOINT_URL = BASE_URL + "/check-contribution-rule";
+    private static final String GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL =
+            BASE_URL + "summaries/" + TestModelDataBuilder.REP_ID;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ReactiveMaatCalculateContributionService reactiveMaatCalculateContributionService;
+
+    @MockitoBean
+    private ContributionRulesService contributionRulesService;
+
+    @MockitoBean
+    private TraceIdHandler traceIdHandler;
+
+    @Test
+    void givenValidRequest_whenCalculateAppealContributionIsInvoked_thenOkResponse() throws Exception {
+        String requestData = objectMapper.writeValueAsString(TestModelDataBuilder.buildAppealContributionRequest());
+
+        when(reactiveMaatCalculateContributionService.calculateContribution(any(CalculateContributionDTO.class)))
+                .thenReturn(Mono.just(new ApiMaatCalculateContributionResponse()));
+
+        MvcResult result = mvc.perform(buildRequestGivenContent(HttpMethod.POST, requestData, ENDPOINT_URL, false))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void givenIdempotencyKey_whenCalculateContributionIsRepeated_thenFirstResponseIsReplayed() throws Exception {
+        String requestData = objectMapper.writeValueAsString(TestModelDataBuilder.buildAppealContributionRequest());
+        when(reactiveMaatCalculateContributionService.calculateContribution(any(CalculateContributionDTO.class)))
+                .thenReturn(Mono.just(new ApiMaatCalculateContributionResponse().withTotalMonths(6)));
+
+        MvcResult first = mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "replayed-key")
+                        .content(requestData))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER));
+        MvcResult second = mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "replayed-key")
+                        .content(requestData))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(second))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.totalMonths").value(6));
+
+        verify(reactiveMaatCalculateContributionService, times(1))
+                .calculateContribution(any(CalculateContributionDTO.class));
+    }
+
+    @Test
+    void givenInvalidRequest_whenCalculateAppealContributionIsInvoked_thenBadRequestResponse() throws Exception {
+        String requestData = objectMapper.writeValueAsString(new ApiMaatCalculateContributionRequest());
+
+        mvc.perform(buildRequestGivenContent(HttpMethod.POST, requestData, ENDPOINT_URL, false))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenClientApiException_whenCalculateAppealContributionIsInvoked_thenInternalServerErrorResponse()
+            throws Exception {
+        String requestData = objectMapper.writeValueAsString(TestModelDataBuilder.buildAppealContributionRequest());
+
+        when(reactiveMaatCalculateContributionService.calculateContribution(any(CalculateContributionDTO.class)))
+                .thenReturn(Mono.error(new IllegalStateException("MAAT unavailable")));
+
+        MvcResult result = mvc.perform(buildRequestGivenContent(HttpMethod.POST, requestData, ENDPOINT_URL, false))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void givenValidRequest_whenGetContributionSummariesIsInvoked_thenOkResponse() throws Exception {
+        when(reactiveMaatCalculateContributionService.getContributionSummaries(anyInt()))
+                .thenReturn(Mono.just(List.of(new ApiContributionSummary())));
+
+        MvcResult result = mvc.perform(
+                        buildRequestGivenContent(HttpMethod.GET, "", GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL, false))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void givenValidRequest_whenStreamContributionSummariesIsInvoked_thenNdjsonResponse() throws Exception {
+        when(reactiveMaatCalculateContributionService.streamContributionSummaries(anyInt()))
+                .thenReturn(Flux.just(new ApiContributionSummary().withId(1), new ApiContributionSummary().withId(2)));
+
+        MvcResult result = mvc.perform(get(GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL + "/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void givenValidRequest_whenGetContributionSummariesPageIsInvoked_thenOkResponse() throws Exception {
+        when(reactiveMaatCalculateContributionService.getContributionSummariesPage(
+                        TestModelDataBuilder.REP_ID, null, 50))
+                .thenReturn(Mono.just(ContributionSummariesPage.builder()
+                        .summaries(List.of(new ApiContributionSummary()))
+                        .build()));
+
+        MvcResult result = mvc.perform(buildRequestGivenContent(
+                        HttpMethod.GET, "", GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL + "/page", false))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.summaries.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void givenClientApiException_whenGetContributionSummariesIsInvoked_thenInternalServerErrorResponse()
+            throws Exception {
+        when(reactiveMaatCalculateContributionService.getContributionSummaries(anyInt()))
+                .thenReturn(Mono.error(new WebClientRequestException(
+                        new IOException("Connection refused"),
+                        HttpMethod.GET,
+                        URI.create(GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL),
+                        new HttpHeaders())));
+
+        MvcResult result = mvc.perform(
+                        buildRequestGivenContent(HttpMethod.GET, "", GET_CONTRIBUTION_SUMMARIES_ENDPOINT_URL, false))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void givenValidRequest_whenCheckContributionRuleIsInvoked_thenOkResponse() throws Exception {
+        ApiMaatCheckContributionRuleRequest apiMaatCheckContributionRuleRequest =
+                TestModelDataBuilder.buildCheckContributionRuleRequest();
+        String requestData = objectMapper.writeValueAsString(apiMaatCheckContributionRuleRequest);
+        when(contributionRulesService.getActiveCCOutcome(any())).thenReturn(CrownCourtOutcome.SUCCESSFUL);
+        when(contributionRulesService.isContributionRuleApplicable(any(), any(), any()))
+                .thenReturn(Boolean.TRUE);
+        mvc.perform(buildRequestGivenContent(HttpMethod.POST, requestData, CHECK_CONTRIBUTION_RULE_ENDPOINT_URL, false))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").value(Boolean.TRUE));
+    }
+}
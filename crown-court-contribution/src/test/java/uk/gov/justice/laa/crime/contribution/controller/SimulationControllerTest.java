@@ -0,0 +1,98 @@
+package uk.gov.justice.laa.crime.contribution.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationRequest;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationResult;
+import uk.gov.justice.laa.crime.contribution.service.ContributionSimulationService;
+import uk.gov.justice.laa.crime.contribution.tracing.TraceIdHandler;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DirtiesContext
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(SimulationController.class)
+class SimulationControllerTest {
+
+    private static final String ENDPOINT_URL = "/api/internal/v1/contribution/simulations";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ContributionSimulationService contributionSimulationService;
+
+    @MockitoBean
+    private TraceIdHandler traceIdHandler;
+
+    @Test
+    void givenValidRequest_whenSimulateIsInvoked_thenSimulationResultIsReturned() throws Exception {
+        when(contributionSimulationService.simulate(any(SimulationRequest.class)))
+                .thenReturn(SimulationResult.builder()
+                        .corpus("caseload-2024")
+                        .cases(3L)
+                        .casesAtCap(1L)
+                        .totalMonthlyContributions(new BigDecimal("1300.00"))
+                        .build());
+
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("caseload-2024"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.corpus").value("caseload-2024"))
+                .andExpect(jsonPath("$.cases").value(3))
+                .andExpect(jsonPath("$.casesAtCap").value(1))
+                .andExpect(jsonPath("$.totalMonthlyContributions").value(1300.00));
+    }
+
+    @Test
+    void givenNoCorpus_whenSimulateIsInvoked_thenBadRequestResponse() throws Exception {
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request(" "))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(contributionSimulationService);
+    }
+
+    @Test
+    void givenUnknownCorpus_whenSimulateIsInvoked_thenBadRequestResponse() throws Exception {
+        when(contributionSimulationService.simulate(any(SimulationRequest.class)))
+                .thenThrow(new ValidationException("Unknown corpus missing"));
+
+        mvc.perform(post(ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request("missing"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static SimulationRequest request(String corpus) {
+        return new SimulationRequest(
+                corpus,
+                ContributionCalcParametersDTO.builder()
+                        .disposableIncomePercent(new BigDecimal("80"))
+                        .totalMonths(6)
+                        .build());
+    }
+}
@@ -0,0 +1,110 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(SoftAssertionsExtension.class)
+class ClientCredentialsTokenFilterTest {
+
+    private static final String TOKEN = "access-token";
+    private static final URI DEFAULT_URL = URI.create("https://example.com");
+
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    @Mock
+    private ClientCredentialsTokenManager tokenManager;
+
+    @Mock
+    private ExchangeFunction exchangeFunction;
+
+    @Captor
+    private ArgumentCaptor<ClientRequest> requestCaptor;
+
+    @InjectMocks
+    private ClientCredentialsTokenFilter clientCredentialsTokenFilter;
+
+    private final ClientRequest request =
+            ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+
+    @Test
+    void givenToken_whenTokenFilterIsInvoked_thenBearerTokenIsSent() {
+        when(tokenManager.getToken()).thenReturn(Mono.just(TOKEN));
+        when(exchangeFunction.exchange(any()))
+                .thenReturn(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        ClientResponse response =
+                clientCredentialsTokenFilter.filter(request, exchangeFunction).block();
+
+        verify(exchangeFunction).exchange(requestCaptor.capture());
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        softly.assertThat(requestCaptor.getValue().headers().getFirst(HttpHeaders.AUTHORIZATION))
+                .isEqualTo("Bearer " + TOKEN);
+        verify(tokenManager, never()).invalidate(any());
+    }
+
+    @Test
+    void givenUnauthorizedResponse_whenTokenFilterIsInvoked_thenTokenIsInvalidated() {
+        when(tokenManager.getToken()).thenReturn(Mono.just(TOKEN));
+        when(exchangeFunction.exchange(any()))
+                .thenReturn(Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED).build()));
+
+        ClientResponse response =
+                clientCredentialsTokenFilter.filter(request, exchangeFunction).block();
+
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(tokenManager).invalidate(TOKEN);
+    }
+
+    @Test
+    void givenUnauthorizedError_whenTokenFilterIsInvoked_thenTokenIsInvalidated() {
+        when(tokenManager.getToken()).thenReturn(Mono.just(TOKEN));
+        when(exchangeFunction.exchange(any()))
+                .thenReturn(Mono.error(WebClientResponseException.create(401, "Unauthorized", null, null, null)));
+
+        assertThatThrownBy(() -> clientCredentialsTokenFilter
+                        .filter(request, exchangeFunction)
+                        .block())
+                .isInstanceOf(WebClientResponseException.Unauthorized.class);
+        verify(tokenManager).invalidate(TOKEN);
+    }
+
+    @Test
+    void givenOtherError_whenTokenFilterIsInvoked_thenTokenIsKept() {
+        when(tokenManager.getToken()).thenReturn(Mono.just(TOKEN));
+        when(exchangeFunction.exchange(any()))
+                .thenReturn(Mono.error(WebClientResponseException.create(403, "Forbidden", null, null, null)));
+
+        assertThatThrownBy(() -> clientCredentialsTokenFilter
+                        .filter(request, exchangeFunction)
+                        .block())
+                .isInstanceOf(WebClientResponseException.Forbidden.class);
+        verify(tokenManager, never()).invalidate(any());
+    }
+}
@@ -0,0 +1,168 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(SoftAssertionsExtension.class)
+class ClientCredentialsTokenManagerTest {
+
+    private static final String REGISTRATION_ID = "maat-api";
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    @Mock
+    private OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> tokenResponseClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private ClientCredentialsTokenManager tokenManager;
+
+    @AfterEach
+    void tearDown() {
+        tokenManager.close();
+    }
+
+    @Test
+    void givenNoToken_whenGetTokenIsInvoked_thenTokenIsFetchedOnceAndReused() {
+        when(tokenResponseClient.getTokenResponse(any())).thenReturn(tokenResponse("first"));
+        tokenManager = getTokenManager();
+
+        softly.assertThat(tokenManager.getToken().block()).isEqualTo("first");
+        softly.assertThat(tokenManager.getToken().block()).isEqualTo("first");
+        softly.assertThat(getRefreshCount("success")).isEqualTo(1);
+        softly.assertThat(tokenManager.getSecondsUntilExpiry()).isCloseTo(TOKEN_LIFETIME.toSeconds(), within(1.0));
+        verify(tokenResponseClient, times(1)).getTokenResponse(any());
+    }
+
+    @Test
+    void givenTokenAboutToExpire_whenGetTokenIsInvoked_thenNewTokenIsFetched() {
+        when(tokenResponseClient.getTokenResponse(any()))
+                .thenReturn(tokenResponse("expiring"))
+                .thenReturn(tokenResponse("fresh"));
+        tokenManager = getTokenManager();
+
+        softly.assertThat(tokenManager.getToken().block()).isEqualTo("expiring");
+        clock.advance(TOKEN_LIFETIME.minusSeconds(10));
+        softly.assertThat(tokenManager.getToken().block()).isEqualTo("fresh");
+        verify(tokenResponseClient, times(2)).getTokenResponse(any());
+    }
+
+    @Test
+    void givenInvalidatedToken_whenGetTokenIsInvoked_thenNewTokenIsFetched() {
+        when(tokenResponseClient.getTokenResponse(any()))
+                .thenReturn(tokenResponse("rejected"))
+                .thenReturn(tokenResponse("replacement"));
+        tokenManager = getTokenManager();
+
+        String rejected = tokenManager.getToken().block();
+        tokenManager.invalidate(rejected);
+        tokenManager.invalidate("some-older-token");
+
+        softly.assertThat(tokenManager.getToken().block()).isEqualTo("replacement");
+        softly.assertThat(tokenManager.getToken().block()).isEqualTo("replacement");
+    }
+
+    @Test
+    void givenTokenEndpointFailure_whenGetTokenIsInvoked_thenErrorIsReturnedAndRecorded() {
+        when(tokenResponseClient.getTokenResponse(any()))
+                .thenThrow(new OAuth2AuthorizationException(new OAuth2Error("server_error")));
+        tokenManager = getTokenManager();
+
+        softly.assertThatThrownBy(() -> tokenManager.getToken().block())
+                .isInstanceOf(OAuth2AuthorizationException.class);
+        softly.assertThat(getRefreshCount("error")).isEqualTo(1);
+        softly.assertThat(tokenManager.getSecondsUntilExpiry()).isZero();
+    }
+
+    private ClientCredentialsTokenManager getTokenManager() {
+        ClientRegistration clientRegistration = ClientRegistration.withRegistrationId(REGISTRATION_ID)
+                .clientId("client-id")
+                .clientSecret("client-secret")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .tokenUri("https://example.com/oauth2/token")
+                .build();
+        return new ClientCredentialsTokenManager(
+                clientRegistration,
+                tokenResponseClient,
+                Duration.ofMinutes(5),
+                Duration.ofSeconds(5),
+                Duration.ofMinutes(1),
+                meterRegistry,
+                clock);
+    }
+
+    private long getRefreshCount(String outcome) {
+        return meterRegistry
+                .get(ClientCredentialsTokenManager.REFRESH_METRIC)
+                .tag("registration", REGISTRATION_ID)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private static OAuth2AccessTokenResponse tokenResponse(String tokenValue) {
+        return OAuth2AccessTokenResponse.withToken(tokenValue)
+                .tokenType(OAuth2AccessToken.TokenType.BEARER)
+                .expiresIn(TOKEN_LIFETIME.toSeconds())
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
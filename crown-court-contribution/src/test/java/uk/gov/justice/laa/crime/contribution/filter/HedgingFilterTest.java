@@ -0,0 +1,141 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(SoftAssertionsExtension.class)
+class HedgingFilterTest {
+
+    private static final String CLIENT_NAME = "maatCourtDataWebClient";
+    private static final URI DEFAULT_URL = URI.create("https://example.com/rep-orders/1");
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(20);
+    private static final Duration SLOW_RESPONSE = Duration.ofSeconds(2);
+
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    @Mock
+    private ExchangeFunction exchangeFunction;
+
+    private SimpleMeterRegistry meterRegistry;
+    private final ClientRequest request =
+            ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenPostRequest_whenHedgingFilterIsInvoked_thenRequestIsNotHedged() {
+        ClientRequest postRequest =
+                ClientRequest.create(HttpMethod.POST, DEFAULT_URL).build();
+        when(exchangeFunction.exchange(postRequest)).thenReturn(delayedResponse(HttpStatus.OK, SLOW_RESPONSE));
+
+        ClientResponse response = getFilter(10).filter(postRequest, exchangeFunction).block();
+
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        softly.assertThat(getCount(HedgingFilter.HEDGES_SENT_METRIC)).isZero();
+        verify(exchangeFunction, times(1)).exchange(postRequest);
+    }
+
+    @Test
+    void givenFastResponse_whenHedgingFilterIsInvoked_thenNoHedgeIsSent() {
+        when(exchangeFunction.exchange(request)).thenReturn(Mono.just(response(HttpStatus.OK)));
+
+        ClientResponse response = getFilter(10).filter(request, exchangeFunction).block();
+
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        softly.assertThat(getCount(HedgingFilter.HEDGES_SENT_METRIC)).isZero();
+        verify(exchangeFunction, times(1)).exchange(request);
+    }
+
+    @Test
+    void givenSlowResponse_whenHedgingFilterIsInvoked_thenFirstResponseIsUsedAndOtherIsCancelled() {
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        when(exchangeFunction.exchange(request))
+                .thenReturn(delayedResponse(HttpStatus.OK, SLOW_RESPONSE).doOnCancel(() -> primaryCancelled.set(true)))
+                .thenReturn(Mono.just(response(HttpStatus.ACCEPTED)));
+
+        ClientResponse response = getFilter(10).filter(request, exchangeFunction).block();
+
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        softly.assertThat(primaryCancelled).isTrue();
+        softly.assertThat(getCount(HedgingFilter.HEDGES_SENT_METRIC)).isEqualTo(1);
+        softly.assertThat(getCount(HedgingFilter.HEDGES_WON_METRIC)).isEqualTo(1);
+    }
+
+    @Test
+    void givenFailedHedge_whenHedgingFilterIsInvoked_thenOriginalResponseIsUsed() {
+        when(exchangeFunction.exchange(request))
+                .thenReturn(delayedResponse(HttpStatus.OK, Duration.ofMillis(200)))
+                .thenReturn(Mono.error(new WebClientRequestException(
+                        new IOException("Connection reset"), HttpMethod.GET, DEFAULT_URL, new HttpHeaders())));
+
+        ClientResponse response = getFilter(10).filter(request, exchangeFunction).block();
+
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        softly.assertThat(getCount(HedgingFilter.HEDGES_SENT_METRIC)).isEqualTo(1);
+        softly.assertThat(getCount(HedgingFilter.HEDGES_WON_METRIC)).isZero();
+    }
+
+    @Test
+    void givenHedgeBudgetExhausted_whenHedgingFilterIsInvoked_thenNoHedgeIsSent() {
+        when(exchangeFunction.exchange(request))
+                .thenReturn(delayedResponse(HttpStatus.OK, Duration.ofMillis(200)))
+                .thenReturn(Mono.just(response(HttpStatus.ACCEPTED)))
+                .thenReturn(delayedResponse(HttpStatus.OK, Duration.ofMillis(200)));
+        HedgingFilter filter = getFilter(1);
+
+        ClientResponse hedged = filter.filter(request, exchangeFunction).block();
+        ClientResponse unhedged = filter.filter(request, exchangeFunction).block();
+
+        softly.assertThat(hedged.statusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        softly.assertThat(unhedged.statusCode()).isEqualTo(HttpStatus.OK);
+        softly.assertThat(getCount(HedgingFilter.HEDGES_SENT_METRIC)).isEqualTo(1);
+        softly.assertThat(getCount(HedgingFilter.HEDGES_DENIED_METRIC)).isEqualTo(1);
+        verify(exchangeFunction, times(3)).exchange(request);
+    }
+
+    private HedgingFilter getFilter(int maxTokens) {
+        return new HedgingFilter(CLIENT_NAME, HEDGE_DELAY, 0.0, maxTokens, meterRegistry);
+    }
+
+    private double getCount(String metric) {
+        return meterRegistry.get(metric).tag("client", CLIENT_NAME).counter().count();
+    }
+
+    private static Mono<ClientResponse> delayedResponse(HttpStatus status, Duration delay) {
+        return Mono.delay(delay).map(elapsed -> response(status));
+    }
+
+    private static ClientResponse response(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+}
@@ -0,0 +1,117 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import static org.mockito.Mockito.when;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(SoftAssertionsExtension.class)
+class Resilience4jBulkheadFilterTest {
+
+    private static final String CLIENT_NAME = "hardshipWebClient";
+    private static final URI DEFAULT_URL = URI.create("https://example.com");
+
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    @Mock
+    private ExchangeFunction exchangeFunction;
+
+    private BulkheadRegistry bulkheadRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private final ClientRequest request =
+            ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+
+    @BeforeEach
+    void setupConfiguration() {
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+        bulkheadRegistry = BulkheadRegistry.of(bulkheadConfig);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenCallWithinLimit_whenBulkheadFilterIsInvoked_thenOkResponseIsReturnedAndPermitReleased() {
+        when(exchangeFunction.exchange(request))
+                .thenReturn(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        ClientResponse response = getFilter().filter(request, exchangeFunction).block();
+
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        softly.assertThat(getBulkhead().getMetrics().getAvailableConcurrentCalls())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenBulkheadFull_whenBulkheadFilterIsInvoked_thenCallIsRejected() {
+        Sinks.One<ClientResponse> inFlight = Sinks.one();
+        when(exchangeFunction.exchange(request)).thenReturn(inFlight.asMono());
+        Resilience4jBulkheadFilter filter = getFilter();
+
+        filter.filter(request, exchangeFunction).subscribe();
+
+        softly.assertThatThrownBy(filter.filter(request, exchangeFunction)::block)
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining(CLIENT_NAME);
+        softly.assertThat(meterRegistry
+                        .get(Resilience4jCircuitBreakerFilter.REJECTED_METRIC)
+                        .tag("client", CLIENT_NAME)
+                        .tag("reason", "bulkhead_full")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+
+        inFlight.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        softly.assertThat(getBulkhead().getMetrics().getAvailableConcurrentCalls())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenBulkheadFull_whenBulkheadFilterIsInvoked_thenDownstreamIsNotCalled() {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        when(exchangeFunction.exchange(request)).thenReturn(Mono.fromSupplier(() -> {
+            subscribed.set(true);
+            return ClientResponse.create(HttpStatus.OK).build();
+        }));
+        Resilience4jBulkheadFilter filter = getFilter();
+        getBulkhead().acquirePermission();
+
+        softly.assertThatThrownBy(filter.filter(request, exchangeFunction)::block)
+                .isInstanceOf(BulkheadFullException.class);
+        softly.assertThat(subscribed).isFalse();
+    }
+
+    private Resilience4jBulkheadFilter getFilter() {
+        return new Resilience4jBulkheadFilter(bulkheadRegistry, meterRegistry, CLIENT_NAME);
+    }
+
+    private Bulkhead getBulkhead() {
+        return bulkheadRegistry.bulkhead(CLIENT_NAME);
+    }
+}
@@ -0,0 +1,140 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import static org.mockito.Mockito.when;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(SoftAssertionsExtension.class)
+class Resilience4jCircuitBreakerFilterTest {
+
+    private static final String CLIENT_NAME = "maatCourtDataWebClient";
+    private static final int MINIMUM_CALLS = 2;
+    private static final URI DEFAULT_URL = URI.create("https://example.com");
+
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    @Mock
+    private ExchangeFunction exchangeFunction;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private final ClientRequest request =
+            ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+
+    @BeforeEach
+    void setupConfiguration() {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(MINIMUM_CALLS)
+                .minimumNumberOfCalls(MINIMUM_CALLS)
+                .failureRateThreshold(50)
+                .recordExceptions(WebClientResponseException.BadGateway.class)
+                .build();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void givenSuccessfulResponse_whenCircuitBreakerFilterIsInvoked_thenOkResponseIsReturned() {
+        when(exchangeFunction.exchange(request))
+                .thenReturn(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        ClientResponse response = getFilter().filter(request, exchangeFunction).block();
+
+        softly.assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        softly.assertThat(getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void givenRecordedFailures_whenCircuitBreakerFilterIsInvoked_thenCircuitOpensAndCallsFailFast() {
+        when(exchangeFunction.exchange(request))
+                .thenReturn(Mono.error(getWebClientResponseException(HttpStatus.BAD_GATEWAY)));
+        Resilience4jCircuitBreakerFilter filter = getFilter();
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            softly.assertThatThrownBy(filter.filter(request, exchangeFunction)::block)
+                    .isInstanceOf(WebClientResponseException.BadGateway.class);
+        }
+
+        softly.assertThat(getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        softly.assertThatThrownBy(filter.filter(request, exchangeFunction)::block)
+                .isInstanceOf(CallNotPermittedException.class)
+                .hasMessageContaining(CLIENT_NAME);
+        softly.assertThat(getCircuitBreaker().getMetrics().getNumberOfNotPermittedCalls())
+                .isEqualTo(1);
+        softly.assertThat(meterRegistry
+                        .get(Resilience4jCircuitBreakerFilter.REJECTED_METRIC)
+                        .tag("client", CLIENT_NAME)
+                        .tag("reason", "circuit_open")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenUnrecordedFailures_whenCircuitBreakerFilterIsInvoked_thenCircuitStaysClosed() {
+        when(exchangeFunction.exchange(request))
+                .thenReturn(Mono.error(getWebClientResponseException(HttpStatus.BAD_REQUEST)));
+        Resilience4jCircuitBreakerFilter filter = getFilter();
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            softly.assertThatThrownBy(filter.filter(request, exchangeFunction)::block)
+                    .isInstanceOf(WebClientResponseException.BadRequest.class);
+        }
+
+        softly.assertThat(getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void givenOpenCircuit_whenCircuitBreakerFilterIsInvoked_thenDownstreamIsNotCalled() {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        when(exchangeFunction.exchange(request)).thenReturn(Mono.fromSupplier(() -> {
+            subscribed.set(true);
+            return ClientResponse.create(HttpStatus.OK).build();
+        }));
+        Resilience4jCircuitBreakerFilter filter = getFilter();
+        getCircuitBreaker().transitionToOpenState();
+
+        softly.assertThatThrownBy(filter.filter(request, exchangeFunction)::block)
+                .isInstanceOf(CallNotPermittedException.class);
+        softly.assertThat(subscribed).isFalse();
+    }
+
+    private Resilience4jCircuitBreakerFilter getFilter() {
+        return new Resilience4jCircuitBreakerFilter(circuitBreakerRegistry, meterRegistry, CLIENT_NAME);
+    }
+
+    private CircuitBreaker getCircuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(CLIENT_NAME);
+    }
+
+    private static WebClientResponseException getWebClientResponseException(HttpStatus status) {
+        return WebClientResponseException.create(
+                status.value(), status.getReasonPhrase(), new HttpHeaders(), new byte[0], null);
+    }
+}
@@ -1,14 +1,18 @@
 package uk.gov.justice.laa.crime.contribution.filter;
 
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedList;
 
@@ -42,7 +46,10 @@ class Resilience4jRetryFilterTest {
 
     private static final int NUM_RETRIES = 3;
     private static RetryRegistry retryRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private RetryBudget retryBudget;
     public static final String DEFAULT_CONFIG_NAME = "default";
+    private static final String CLIENT_NAME = "maatCourtDataWebClient";
     private static final URI DEFAULT_URL = URI.create("https://example.com");
 
     @BeforeEach
@@ -57,6 +64,8 @@ class Resilience4jRetryFilterTest {
                 .failAfterMaxAttempts(true)
                 .build();
         retryRegistry = RetryRegistry.of(retryConfig);
+        meterRegistry = new SimpleMeterRegistry();
+        retryBudget = new RetryBudget(CLIENT_NAME, 0.5, 10, meterRegistry);
     }
 
     @Test
@@ -71,8 +80,8 @@ class Resilience4jRetryFilterTest {
 
         when(exchangeFunction.exchange(request)).thenReturn(errorMono);
 
-        Mono<ClientResponse> response =
-                new Resilience4jRetryFilter(retryRegistry, DEFAULT_CONFIG_NAME).filter(request, exchangeFunction);
+        Mono<ClientResponse> response = new Resilience4jRetryFilter(retryRegistry, retryBudget, DEFAULT_CONFIG_NAME)
+                .filter(request, exchangeFunction);
 
         softly.assertThatThrownBy(response::block)
                 .isInstanceOf(WebClientResponseException.BadGateway.class)
@@ -91,7 +100,8 @@ class Resilience4jRetryFilterTest {
         when(exchangeFunction.exchange(request)).thenReturn(responseMono);
 
         Mono<ClientResponse> clientResponse =
-                new Resilience4jRetryFilter(retryRegistry, DEFAULT_CONFIG_NAME).filter(request, exchangeFunction);
+                new Resilience4jRetryFilter(retryRegistry, retryBudget, DEFAULT_CONFIG_NAME)
+                        .filter(request, exchangeFunction);
 
         ClientResponse response = clientResponse.block();
 
@@ -112,7 +122,8 @@ class Resilience4jRetryFilterTest {
         when(exchangeFunction.exchange(request)).thenReturn(responseMono);
 
         Mono<ClientResponse> clientResponse =
-                new Resilience4jRetryFilter(retryRegistry, DEFAULT_CONFIG_NAME).filter(request, exchangeFunction);
+                new Resilience4jRetryFilter(retryRegistry, retryBudget, DEFAULT_CONFIG_NAME)
+                        .filter(request, exchangeFunction);
 
         ClientResponse response = clientResponse.block();
 
@@ -134,8 +145,8 @@ class Resilience4jRetryFilterTest {
         when(exchangeFunction.exchange(request))
                 .thenReturn(Mono.error(getWebClientResponseException(HttpStatus.UNAUTHORIZED)));
 
-        Mono<ClientResponse> response =
-                new Resilience4jRetryFilter(retryRegistry, DEFAULT_CONFIG_NAME).filter(request, exchangeFunction);
+        Mono<ClientResponse> response = new Resilience4jRetryFilter(retryRegistry, retryBudget, DEFAULT_CONFIG_NAME)
+                .filter(request, exchangeFunction);
 
         softly.assertThatThrownBy(response::block)
                 .isInstanceOf(WebClientResponseException.class)
@@ -166,7 +177,7 @@ class Resilience4jRetryFilterTest {
         when(exchangeFunction.exchange(request)).thenReturn(errorMono);
 
         Mono<ClientResponse> response =
-                new Resilience4jRetryFilter(retryRegistry, "override").filter(request, exchangeFunction);
+                new Resilience4jRetryFilter(retryRegistry, retryBudget, "override").filter(request, exchangeFunction);
 
         softly.assertThatThrownBy(response::block)
                 .isInstanceOf(WebClientResponseException.Conflict.class)
@@ -190,7 +201,7 @@ class Resilience4jRetryFilterTest {
         when(exchangeFunction.exchange(request)).thenReturn(errorMono);
 
         Mono<ClientResponse> response =
-                new Resilience4jRetryFilter(retryRegistry, "override").filter(request, exchangeFunction);
+                new Resilience4jRetryFilter(retryRegistry, retryBudget, "override").filter(request, exchangeFunction);
 
         softly.assertThatThrownBy(response::block)
                 .isInstanceOf(WebClientResponseException.Conflict.class)
@@ -199,6 +210,82 @@ class Resilience4jRetryFilterTest {
         verifyCorrectNumberOfCalls(2, DEFAULT_CONFIG_NAME);
     }
 
+    @Test
+    void givenRetryBudgetExhausted_whenRetryFilterIsInvoked_thenOriginalExceptionIsThrownWithoutRetry() {
+        retryBudget = new RetryBudget(CLIENT_NAME, 0.5, 1, meterRegistry);
+        retryBudget.tryAcquireRetry();
+        ClientRequest request =
+                ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+
+        when(exchangeFunction.exchange(request))
+                .thenReturn(Mono.error(getWebClientResponseException(HttpStatus.BAD_GATEWAY)));
+
+        Mono<ClientResponse> response = new Resilience4jRetryFilter(retryRegistry, retryBudget, DEFAULT_CONFIG_NAME)
+                .filter(request, exchangeFunction);
+
+        softly.assertThatThrownBy(response::block)
+                .isInstanceOf(WebClientResponseException.BadGateway.class)
+                .hasMessageContaining("502 Bad Gateway");
+
+        verify(exchangeFunction, times(1)).exchange(request);
+        softly.assertThat(getRetriesCount("denied")).isEqualTo(1);
+    }
+
+    @Test
+    void givenRetryBudgetExhausted_whenRetryFilterIsInvoked_thenExceptionIsThrownWithoutWaitingOutTheBackoff() {
+        RetryConfig slowRetryConfig = RetryConfig.custom()
+                .maxAttempts(NUM_RETRIES)
+                .waitDuration(Duration.ofMinutes(1))
+                .retryExceptions(WebClientResponseException.BadGateway.class)
+                .build();
+        retryRegistry.retry("slow", slowRetryConfig);
+        retryBudget = new RetryBudget(CLIENT_NAME, 0.5, 1, meterRegistry);
+        retryBudget.tryAcquireRetry();
+        ClientRequest request =
+                ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+
+        when(exchangeFunction.exchange(request))
+                .thenReturn(Mono.error(getWebClientResponseException(HttpStatus.BAD_GATEWAY)));
+
+        Mono<ClientResponse> response =
+                new Resilience4jRetryFilter(retryRegistry, retryBudget, "slow").filter(request, exchangeFunction);
+
+        // block would time out with an IllegalStateException had the one minute backoff been waited out
+        softly.assertThatThrownBy(() -> response.block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.BadGateway.class);
+
+        verify(exchangeFunction, times(1)).exchange(request);
+        softly.assertThat(getRetriesCount("denied")).isEqualTo(1);
+    }
+
+    @Test
+    void givenSuccessfulResponseFollowingRetry_whenRetryFilterIsInvoked_thenRetriesAreChargedToTheBudget() {
+        ClientRequest request =
+                ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+        LinkedList<RuntimeException> errors = new LinkedList<>(Arrays.asList(
+                getWebClientResponseException(HttpStatus.TOO_MANY_REQUESTS),
+                getWebClientResponseException(HttpStatus.BAD_GATEWAY)));
+
+        when(exchangeFunction.exchange(request)).thenReturn(getClientResponseMono(errors));
+
+        new Resilience4jRetryFilter(retryRegistry, retryBudget, DEFAULT_CONFIG_NAME)
+                .filter(request, exchangeFunction)
+                .block();
+
+        softly.assertThat(getRetriesCount("allowed")).isEqualTo(2);
+        softly.assertThat(getRetriesCount("denied")).isZero();
+        softly.assertThat(retryBudget.getAvailableTokens()).isEqualTo(8.5);
+    }
+
+    private double getRetriesCount(String result) {
+        return meterRegistry
+                .get(RetryBudget.RETRIES_METRIC)
+                .tag("client", CLIENT_NAME)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
     private static WebClientResponseException getWebClientResponseException(HttpStatus status) {
         return WebClientResponseException.create(
                 status.value(), status.getReasonPhrase(), new HttpHeaders(), new byte[0], null);
@@ -0,0 +1,121 @@
+package uk.gov.justice.laa.crime.contribution.filter;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+/**
+ * Runs a WebClient with the retry filter against a local stub that fails every call, then recovers.
+ */
+@ExtendWith(SoftAssertionsExtension.class)
+class RetryBudgetBrownoutTest {
+
+    private static final String CLIENT_NAME = "maatCourtDataWebClient";
+    private static final String SUMMARY_URL = "/contributions/1/summary";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_TOKENS = 5;
+    private static final int REQUESTS = 20;
+
+    @InjectSoftAssertions
+    private SoftAssertions softly;
+
+    private WireMockServer wiremock;
+    private SimpleMeterRegistry meterRegistry;
+    private RetryBudget retryBudget;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setup() {
+        wiremock = new WireMockServer(wireMockConfig().dynamicPort());
+        wiremock.start();
+
+        RetryConfig retryConfig = RetryConfig.custom()
+                .maxAttempts(MAX_ATTEMPTS)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(WebClientResponseException.ServiceUnavailable.class)
+                .build();
+        meterRegistry = new SimpleMeterRegistry();
+        retryBudget = new RetryBudget(CLIENT_NAME, 0.2, MAX_TOKENS, meterRegistry);
+        webClient = WebClient.builder()
+                .baseUrl(wiremock.baseUrl())
+                .filter(new Resilience4jRetryFilter(RetryRegistry.of(retryConfig), retryBudget, CLIENT_NAME))
+                .filter(WebClientFilters.errorResponseHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wiremock.stop();
+    }
+
+    @Test
+    void givenDownstreamBrownout_whenRequestsAreSent_thenRetriesStopOnceTheBudgetIsSpent() {
+        wiremock.stubFor(get(urlEqualTo(SUMMARY_URL))
+                .willReturn(aResponse().withStatus(HttpStatus.SERVICE_UNAVAILABLE.value())));
+
+        for (int i = 0; i < REQUESTS; i++) {
+            softly.assertThatThrownBy(this::getSummary)
+                    .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        }
+
+        // without a budget every request would be tried MAX_ATTEMPTS times
+        softly.assertThat(wiremock.countRequestsMatching(getRequestedFor(urlEqualTo(SUMMARY_URL)).build())
+                        .getCount())
+                .isEqualTo(REQUESTS + MAX_TOKENS);
+        softly.assertThat(getRetriesCount("allowed")).isEqualTo(MAX_TOKENS);
+        softly.assertThat(getRetriesCount("denied")).isEqualTo(REQUESTS - 2);
+        softly.assertThat(retryBudget.getAvailableTokens()).isZero();
+    }
+
+    @Test
+    void givenDownstreamRecovers_whenRequestsSucceed_thenTheBudgetIsRefilled() {
+        wiremock.stubFor(get(urlEqualTo(SUMMARY_URL))
+                .willReturn(aResponse().withStatus(HttpStatus.SERVICE_UNAVAILABLE.value())));
+        for (int i = 0; i < REQUESTS; i++) {
+            softly.assertThatThrownBy(this::getSummary)
+                    .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        }
+
+        wiremock.stubFor(get(urlEqualTo(SUMMARY_URL)).willReturn(okJson("[]")));
+        for (int i = 0; i < REQUESTS; i++) {
+            getSummary();
+        }
+
+        softly.assertThat(retryBudget.getAvailableTokens()).isEqualTo(4.0);
+    }
+
+    private String getSummary() {
+        return webClient.get().uri(SUMMARY_URL).retrieve().bodyToMono(String.class).block();
+    }
+
+    private double getRetriesCount(String result) {
+        return meterRegistry
+                .get(RetryBudget.RETRIES_METRIC)
+                .tag("client", CLIENT_NAME)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,202 @@
+package uk.gov.justice.laa.crime.contribution.load;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.justice.laa.crime.contribution.CrownCourtContributionApplication;
+import uk.gov.justice.laa.crime.contribution.config.CrownCourtContributionTestConfiguration;
+import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.wiremock.spring.ConfigureWireMock;
+import org.wiremock.spring.EnableWireMock;
+import org.wiremock.spring.WireMockConfigurationCustomizer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+
+/**
+ * Drives the v1 summaries endpoint over HTTP against a MAAT stub that answers after a fixed delay, with Tomcat held
+ * to a handful of request threads. Subclasses pick the pipeline mode; each writes its throughput and p95 latency per
+ * concurrency level to {@code build/reports/load/pipeline-<mode>.csv} so the two runs can be compared side by side.
+ *
+ * <p>Tagged {@code load} and excluded from {@code test}; run with {@code ./gradlew loadTest}.
+ */
+@Slf4j
+@Tag("load")
+@DirtiesContext
+@EnableWireMock(@ConfigureWireMock(configurationCustomizers = AbstractPipelineLoadTest.LoadWireMockCustomizer.class))
+@Import(CrownCourtContributionTestConfiguration.class)
+@SpringBootTest(
+        classes = CrownCourtContributionApplication.class,
+        webEnvironment = RANDOM_PORT,
+        properties = {
+            "server.tomcat.threads.max=" + AbstractPipelineLoadTest.TOMCAT_THREADS,
+            "server.tomcat.threads.min-spare=" + AbstractPipelineLoadTest.TOMCAT_THREADS,
+            "server.tomcat.accept-count=1000",
+            "spring.jpa.show-sql=false"
+        })
+abstract class AbstractPipelineLoadTest {
+
+    static final int TOMCAT_THREADS = 8;
+    private static final int MAAT_DELAY_MILLIS = 200;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int[] CONCURRENCY_LEVELS = {8, 32, 128};
+    private static final String SUMMARIES_ENDPOINT_URL =
+            "/api/internal/v1/contribution/summaries/" + TestModelDataBuilder.REP_ID;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${wiremock.server.port}")
+    private int wiremockPort;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    abstract String mode();
+
+    @BeforeEach
+    void setup() throws IOException {
+        WireMock wireMock = new WireMock(wiremockPort);
+        wireMock.register(post("/oauth2/token")
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(
+                        Map.of("expires_in", 3600, "token_type", "Bearer", "access_token", UUID.randomUUID())))));
+        wireMock.register(get(urlEqualTo("/contributions/" + TestModelDataBuilder.REP_ID + "/summary"))
+                .willReturn(WireMock.okJson(objectMapper.writeValueAsString(
+                                List.of(TestModelDataBuilder.getContributionSummaryDTO())))
+                        .withFixedDelay(MAAT_DELAY_MILLIS)));
+    }
+
+    @Test
+    void givenSlowMaat_whenSummariesAreRequestedConcurrently_thenThroughputAndLatencyAreReported() throws Exception {
+        // warm up the connection pools, the OAuth token and the JIT before measuring
+        run(TOMCAT_THREADS);
+
+        List<String> report = new ArrayList<>();
+        report.add("mode,concurrency,requests,errors,throughput_per_second,p95_millis");
+        for (int concurrency : CONCURRENCY_LEVELS) {
+            LoadResult result = run(concurrency);
+            log.info(
+                    "{} pipeline, {} concurrent clients: {} requests, {} errors, {} req/s, p95 {} ms",
+                    mode(),
+                    concurrency,
+                    result.requests(),
+                    result.errors(),
+                    String.format("%.1f", result.throughput()),
+                    result.p95Millis());
+            report.add(String.format(
+                    "%s,%d,%d,%d,%.1f,%d",
+                    mode(),
+                    concurrency,
+                    result.requests(),
+                    result.errors(),
+                    result.throughput(),
+                    result.p95Millis()));
+            assertThat(result.errors()).isZero();
+        }
+
+        Path reportFile = Path.of("build", "reports", "load", "pipeline-" + mode() + ".csv");
+        Files.createDirectories(reportFile.getParent());
+        Files.write(reportFile, report);
+    }
+
+    private LoadResult run(int concurrency) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + SUMMARIES_ENDPOINT_URL))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int client = 0; client < concurrency; client++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response =
+                                    httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException exception) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sorted = latencies.stream().sorted().toList();
+        long p95 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1);
+        return new LoadResult(
+                sorted.size(),
+                errors.get(),
+                sorted.size() / (elapsed / 1_000_000_000.0),
+                Duration.ofNanos(p95).toMillis());
+    }
+
+    private record LoadResult(int requests, int errors, double throughput, long p95Millis) {}
+
+    /**
+     * WireMock parks a container thread for the length of each fixed delay, so give it enough that the stub is never
+     * the bottleneck at the highest concurrency level.
+     */
+    static class LoadWireMockCustomizer implements WireMockConfigurationCustomizer {
+        @Override
+        public void customize(WireMockConfiguration configuration, ConfigureWireMock options) {
+            configuration.containerThreads(CONCURRENCY_LEVELS[CONCURRENCY_LEVELS.length - 1] * 2);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package uk.gov.justice.laa.crime.contribution.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "contribution.pipeline.mode=reactive")
+class ReactivePipelineLoadTest extends AbstractPipelineLoadTest {
+
+    @Override
+    String mode() {
+        return "reactive";
+    }
+}
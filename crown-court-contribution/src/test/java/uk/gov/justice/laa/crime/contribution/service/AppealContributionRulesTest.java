@@ -0,0 +1,95 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import uk.gov.justice.laa.crime.contribution.entity.ContributionAppealRulesEntity;
+import uk.gov.justice.laa.crime.contribution.repository.ContributionAppealRulesRepository;
+import uk.gov.justice.laa.crime.contribution.staticdata.enums.AppealContributionAmount;
+import uk.gov.justice.laa.crime.enums.AppealType;
+import uk.gov.justice.laa.crime.enums.AssessmentResult;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AppealContributionRulesTest {
+
+    private static final int ACS_PART_SUCCESS_FAIL_RULE = 47922142;
+
+    @Autowired
+    private ContributionAppealRulesRepository contributionAppealRulesRepository;
+
+    private AppealContributionRules appealContributionRules;
+
+    @BeforeEach
+    void setUp() {
+        appealContributionRules = new AppealContributionRules(contributionAppealRulesRepository);
+        appealContributionRules.reload();
+    }
+
+    @Test
+    void givenEveryCombinationOfInputs_whenGetContributionAmountIsInvoked_thenResultMatchesCalculatedAmount() {
+        List<String> mismatches = new ArrayList<>();
+        for (AppealType appealType : AppealType.values()) {
+            for (CrownCourtOutcome outcome : CrownCourtOutcome.values()) {
+                for (AssessmentResult assessmentResult : AssessmentResult.values()) {
+                    BigDecimal expected = AppealContributionAmount.calculate(appealType, outcome, assessmentResult)
+                            .getContributionAmount();
+                    BigDecimal actual =
+                            appealContributionRules.getContributionAmount(appealType, outcome, assessmentResult);
+                    if (expected.compareTo(actual) != 0) {
+                        mismatches.add("(%s, %s, %s): expected %s but was %s"
+                                .formatted(appealType, outcome, assessmentResult, expected, actual));
+                    }
+                }
+            }
+        }
+
+        assertThat(contributionAppealRulesRepository.findAllByCaseType(AppealContributionRules.APPEAL_CASE_TYPE))
+                .hasSize(18);
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    void givenRuleChanged_whenReloadIsInvoked_thenChangedAmountIsReturned() {
+        ContributionAppealRulesEntity rule =
+                contributionAppealRulesRepository.findById(ACS_PART_SUCCESS_FAIL_RULE).orElseThrow();
+        rule.setContributionAmount(new BigDecimal("300"));
+        contributionAppealRulesRepository.saveAndFlush(rule);
+
+        appealContributionRules.reload();
+
+        assertThat(appealContributionRules.getContributionAmount(
+                        AppealType.ACS, CrownCourtOutcome.PART_SUCCESS, AssessmentResult.FAIL))
+                .isEqualByComparingTo("300");
+    }
+
+    @Test
+    void givenUnrecognisedRule_whenReloadIsInvoked_thenExceptionIsThrownAndRulesAreKept() {
+        ContributionAppealRulesEntity rule =
+                contributionAppealRulesRepository.findById(ACS_PART_SUCCESS_FAIL_RULE).orElseThrow();
+        rule.setOutcome("UNKNOWN");
+        contributionAppealRulesRepository.saveAndFlush(rule);
+
+        assertThatThrownBy(() -> appealContributionRules.reload()).isInstanceOf(IllegalStateException.class);
+        assertThat(appealContributionRules.getContributionAmount(
+                        AppealType.ACS, CrownCourtOutcome.PART_SUCCESS, AssessmentResult.FAIL))
+                .isEqualByComparingTo("250");
+    }
+
+    @Test
+    void givenMissingInput_whenGetContributionAmountIsInvoked_thenCalculatedAmountIsReturned() {
+        assertThat(appealContributionRules.getContributionAmount(null, CrownCourtOutcome.UNSUCCESSFUL, null))
+                .isEqualByComparingTo("500");
+    }
+}
@@ -4,10 +4,12 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiAssessment;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
 import uk.gov.justice.laa.crime.common.model.contribution.maat_api.CreateContributionRequest;
@@ -16,6 +18,7 @@ import uk.gov.justice.laa.crime.contribution.builder.MaatCalculateContributionRe
 import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
 import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
 import uk.gov.justice.laa.crime.contribution.model.Contribution;
+import uk.gov.justice.laa.crime.contribution.repository.ContributionAppealRulesRepository;
 import uk.gov.justice.laa.crime.enums.AssessmentResult;
 import uk.gov.justice.laa.crime.enums.CaseType;
 
@@ -26,6 +29,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +41,15 @@ class AppealContributionServiceTest {
     @Mock
     private CreateContributionRequestMapper createContributionRequestMapper;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private CalculationStageRunner calculationStageRunner = new CalculationStageRunner(Runnable::run, meterRegistry);
+
+    @Spy
+    private AppealContributionRules appealContributionRules =
+            new AppealContributionRules(mock(ContributionAppealRulesRepository.class));
+
     @InjectMocks
     private AppealContributionService appealContributionService;
 
@@ -68,6 +81,13 @@ class AppealContributionServiceTest {
         verify(maatCourtDataService, times(1)).findContribution(calculateContributionDTO.getRepId(), true);
         verify(maatCourtDataService, times(1)).createContribution(any(CreateContributionRequest.class));
         verify(maatCalculateContributionResponseMapper, times(1)).map(createdContribution);
+        assertThat(meterRegistry
+                        .get(CalculationStageRunner.BRANCH_METRIC)
+                        .tag("decision", MaatCalculateContributionService.APPEAL_DECISION)
+                        .tag("branch", "created")
+                        .counter()
+                        .count())
+                .isEqualTo(1);
     }
 
     @Test
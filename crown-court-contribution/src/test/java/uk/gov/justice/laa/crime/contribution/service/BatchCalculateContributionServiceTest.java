@@ -0,0 +1,154 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.validation.Validation;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionResponse;
+import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
+import uk.gov.justice.laa.crime.dto.ErrorDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class BatchCalculateContributionServiceTest {
+
+    private static final String TRACE_ID = "trace-id";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CalculateContributionService calculateContributionService = new CalculateContributionService();
+
+    private ExecutorService executor;
+    private BatchCalculateContributionService batchCalculateContributionService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        batchCalculateContributionService = new BatchCalculateContributionService(
+                calculateContributionService,
+                objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenJsonArray_whenCalculateContributionsIsInvoked_thenResponsesAreStreamedInOrder() throws IOException {
+        List<ApiCalculateContributionRequest> requests = buildRequests(3);
+
+        List<String> lines = calculate(objectMapper.writeValueAsString(requests));
+
+        assertThat(lines).containsExactlyElementsOf(expectedResponses(requests));
+    }
+
+    @Test
+    void givenNdjsonStream_whenCalculateContributionsIsInvoked_thenResponsesAreStreamedInOrder() throws IOException {
+        List<ApiCalculateContributionRequest> requests = buildRequests(3);
+        StringBuilder body = new StringBuilder();
+        for (ApiCalculateContributionRequest request : requests) {
+            body.append(objectMapper.writeValueAsString(request)).append('\n');
+        }
+
+        List<String> lines = calculate(body.toString());
+
+        assertThat(lines).containsExactlyElementsOf(expectedResponses(requests));
+    }
+
+    @Test
+    void givenBatchLargerThanWindow_whenCalculateContributionsIsInvoked_thenOrderIsPreserved() throws IOException {
+        List<ApiCalculateContributionRequest> requests =
+                buildRequests(BatchCalculateContributionService.MAX_IN_FLIGHT * 3 + 7);
+
+        List<String> lines = calculate(objectMapper.writeValueAsString(requests));
+
+        assertThat(lines).containsExactlyElementsOf(expectedResponses(requests));
+    }
+
+    @Test
+    void givenInvalidRequest_whenCalculateContributionsIsInvoked_thenErrorLineIsWrittenInItsPlace()
+            throws IOException {
+        List<ApiCalculateContributionRequest> requests = new ArrayList<>(buildRequests(2));
+        requests.add(1, TestModelDataBuilder.buildInvalidApiCalculateContributionRequest());
+
+        List<String> lines = calculate(objectMapper.writeValueAsString(requests));
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo(expectedResponse(requests.get(0)));
+        ErrorDTO error = objectMapper.readValue(lines.get(1), ErrorDTO.class);
+        assertThat(error.getCode()).isEqualTo("400 BAD_REQUEST");
+        assertThat(error.getMessage()).startsWith("Request 1: upfrontTotalMonths");
+        assertThat(error.getTraceId()).isEqualTo(TRACE_ID);
+        assertThat(lines.get(2)).isEqualTo(expectedResponse(requests.get(2)));
+    }
+
+    @Test
+    void givenMalformedRequest_whenCalculateContributionsIsInvoked_thenPrecedingResponsesAndErrorAreWritten()
+            throws IOException {
+        ApiCalculateContributionRequest request = TestModelDataBuilder.buildApiCalculateContributionRequest();
+        String body = objectMapper.writeValueAsString(request) + "\n{\"annualDisposableIncome\": \"abc\"}\n";
+
+        List<String> lines = calculate(body);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).isEqualTo(expectedResponse(request));
+        ErrorDTO error = objectMapper.readValue(lines.get(1), ErrorDTO.class);
+        assertThat(error.getCode()).isEqualTo("400 BAD_REQUEST");
+        assertThat(error.getMessage()).startsWith("Request 1: ");
+    }
+
+    @Test
+    void givenEmptyBody_whenCalculateContributionsIsInvoked_thenNothingIsWritten() throws IOException {
+        assertThat(calculate("")).isEmpty();
+    }
+
+    private List<String> calculate(String body) throws IOException {
+        ByteArrayOutputStream responses = new ByteArrayOutputStream();
+        batchCalculateContributionService.calculateContributions(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), responses, TRACE_ID);
+        return responses.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private List<String> expectedResponses(List<ApiCalculateContributionRequest> requests) {
+        return requests.stream().map(this::expectedResponse).collect(Collectors.toList());
+    }
+
+    private String expectedResponse(ApiCalculateContributionRequest request) {
+        try {
+            ApiCalculateContributionResponse response = calculateContributionService.calculateContribution(request);
+            return objectMapper.writeValueAsString(response);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static List<ApiCalculateContributionRequest> buildRequests(int count) {
+        List<ApiCalculateContributionRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(TestModelDataBuilder.buildApiCalculateContributionRequest()
+                    .withAnnualDisposableIncome(BigDecimal.valueOf(1000L + i * 97L))
+                    .withContributionCap(BigDecimal.valueOf(5000))
+                    .withUpliftApplied(i % 5 == 0)
+                    .withUpliftedIncomePercent(BigDecimal.valueOf(90))
+                    .withMinUpliftedMonthlyAmount(BigDecimal.valueOf(50)));
+        }
+        return requests;
+    }
+}
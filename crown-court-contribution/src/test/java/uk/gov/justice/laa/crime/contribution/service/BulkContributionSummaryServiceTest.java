@@ -0,0 +1,151 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.contribution.builder.ContributionSummaryMapper;
+import uk.gov.justice.laa.crime.contribution.config.BulkSummariesConfiguration;
+import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesResult;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@ExtendWith(MockitoExtension.class)
+class BulkContributionSummaryServiceTest {
+
+    @Mock
+    private MaatCourtDataService maatCourtDataService;
+
+    private final ContributionSummaryMapper contributionSummaryMapper = new ContributionSummaryMapper();
+    private final BulkSummariesConfiguration bulkSummariesConfiguration = new BulkSummariesConfiguration();
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    private BulkContributionSummaryService bulkContributionSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        bulkContributionSummaryService = new BulkContributionSummaryService(
+                maatCourtDataService, contributionSummaryMapper, bulkSummariesConfiguration, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenDuplicateRepIds_whenGetContributionSummariesIsInvoked_thenEachRepIdIsLookedUpOnce() {
+        when(maatCourtDataService.getContributionsSummary(anyInt()))
+                .thenReturn(List.of(TestModelDataBuilder.getContributionSummaryDTO()));
+
+        List<ContributionSummariesResult> results = bulkContributionSummaryService
+                .getContributionSummaries(List.of(1, 2, 1, 2, 3))
+                .collectList()
+                .block();
+
+        assertThat(results)
+                .extracting(ContributionSummariesResult::getRepId)
+                .containsExactlyInAnyOrder(1, 2, 3);
+        assertThat(results)
+                .allSatisfy(result -> assertThat(result.getSummaries())
+                        .extracting(ApiContributionSummary::getId)
+                        .containsExactly(TestModelDataBuilder.CONTRIBUTION_ID));
+        verify(maatCourtDataService, times(1)).getContributionsSummary(1);
+        verify(maatCourtDataService, times(1)).getContributionsSummary(2);
+        verify(maatCourtDataService, times(1)).getContributionsSummary(3);
+    }
+
+    @Test
+    void givenOneLookupFails_whenGetContributionSummariesIsInvoked_thenFailureIsReportedAndOthersSucceed() {
+        when(maatCourtDataService.getContributionsSummary(1)).thenReturn(List.of());
+        when(maatCourtDataService.getContributionsSummary(2))
+                .thenThrow(WebClientResponseException.create(502, "Bad Gateway", null, null, null));
+
+        List<ContributionSummariesResult> results = bulkContributionSummaryService
+                .getContributionSummaries(List.of(1, 2))
+                .collectList()
+                .block();
+
+        assertThat(results)
+                .filteredOn(result -> result.getRepId() == 1)
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getSummaries()).isEmpty();
+                    assertThat(result.getError()).isNull();
+                });
+        assertThat(results)
+                .filteredOn(result -> result.getRepId() == 2)
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getSummaries()).isNull();
+                    assertThat(result.getError()).isEqualTo("502 BAD_GATEWAY");
+                });
+    }
+
+    @Test
+    void givenLookupsFailWithoutResponse_whenGetContributionSummariesIsInvoked_thenStatusIsReportedWithoutMessage() {
+        when(maatCourtDataService.getContributionsSummary(1))
+                .thenThrow(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("maat-api")));
+        when(maatCourtDataService.getContributionsSummary(2))
+                .thenThrow(new IllegalStateException("http://maat-api/contributions/2/summary refused"));
+
+        List<ContributionSummariesResult> results = bulkContributionSummaryService
+                .getContributionSummaries(List.of(1, 2))
+                .collectList()
+                .block();
+
+        assertThat(results)
+                .extracting(ContributionSummariesResult::getRepId, ContributionSummariesResult::getError)
+                .containsExactlyInAnyOrder(tuple(1, "503 SERVICE_UNAVAILABLE"), tuple(2, "500 INTERNAL_SERVER_ERROR"));
+    }
+
+    @Test
+    void givenManyRepIds_whenGetContributionSummariesIsInvoked_thenLookupsRunAtMostConcurrencyAtATime() {
+        bulkSummariesConfiguration.setConcurrency(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger mostInFlight = new AtomicInteger();
+        when(maatCourtDataService.getContributionsSummary(anyInt())).thenAnswer(invocation -> {
+            mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return List.of();
+        });
+
+        List<ContributionSummariesResult> results = bulkContributionSummaryService
+                .getContributionSummaries(List.of(1, 2, 3, 4, 5, 6, 7, 8))
+                .collectList()
+                .block();
+
+        assertThat(results).hasSize(8);
+        assertThat(mostInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void givenTooManyRepIds_whenGetContributionSummariesIsInvoked_thenValidationExceptionIsThrown() {
+        bulkSummariesConfiguration.setMaxRepIds(2);
+
+        assertThatThrownBy(() -> bulkContributionSummaryService.getContributionSummaries(List.of(1, 2, 3)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("At most 2");
+    }
+}
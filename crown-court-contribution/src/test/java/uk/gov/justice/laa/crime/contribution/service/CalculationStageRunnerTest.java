@@ -0,0 +1,170 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.contribution.config.RequestContextTaskDecorator;
+import uk.gov.justice.laa.crime.enums.CaseType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class CalculationStageRunnerTest {
+
+    private ExecutorService executorService;
+    private SimpleMeterRegistry meterRegistry;
+    private CalculationStageRunner calculationStageRunner;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(2);
+        TaskExecutorAdapter executor = new TaskExecutorAdapter(executorService);
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        meterRegistry = new SimpleMeterRegistry();
+        calculationStageRunner = new CalculationStageRunner(executor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void givenStage_whenRunIsInvoked_thenTimingIsRecordedAgainstStage() {
+        String result = calculationStageRunner.run("rep-order", () -> "done");
+
+        Timer timer = meterRegistry
+                .get(CalculationStageRunner.STAGE_METRIC)
+                .tag("stage", "rep-order")
+                .timer();
+        assertThat(result).isEqualTo("done");
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void givenReactiveStage_whenItIsSubscribed_thenTimingIsRecordedAgainstStage() {
+        Mono<String> stage = calculationStageRunner.runReactive("rep-order", Mono.just("done"));
+
+        assertThat(meterRegistry.find(CalculationStageRunner.STAGE_METRIC).timer()).isNull();
+        assertThat(stage.block()).isEqualTo("done");
+        assertThat(meterRegistry
+                        .get(CalculationStageRunner.STAGE_METRIC)
+                        .tag("stage", "rep-order")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenFailingStage_whenRunIsInvoked_thenTimingIsRecordedAsError() {
+        assertThatThrownBy(() -> calculationStageRunner.run("rep-order", () -> {
+                    throw new IllegalStateException("MAAT unavailable");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry
+                        .get(CalculationStageRunner.STAGE_METRIC)
+                        .tag("stage", "rep-order")
+                        .tag("outcome", CalculationStageRunner.ERROR)
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenPipeline_whenRunPipelineIsInvoked_thenTimingIsRecordedAgainstCaseType() {
+        calculationStageRunner.runPipeline(CaseType.INDICTABLE, () -> "done");
+        calculationStageRunner
+                .runPipelineReactive(null, Mono.error(new IllegalStateException("MAAT unavailable")))
+                .onErrorResume(exception -> Mono.empty())
+                .block();
+
+        assertThat(meterRegistry
+                        .get(CalculationStageRunner.PIPELINE_METRIC)
+                        .tag("case.type", CaseType.INDICTABLE.name())
+                        .tag("outcome", CalculationStageRunner.SUCCESS)
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry
+                        .get(CalculationStageRunner.PIPELINE_METRIC)
+                        .tag("case.type", "none")
+                        .tag("outcome", CalculationStageRunner.ERROR)
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenBranch_whenRecordBranchIsInvoked_thenBranchIsCounted() {
+        calculationStageRunner.recordBranch(CaseType.EITHER_WAY, "contributions", "required");
+        calculationStageRunner.recordBranch(CaseType.EITHER_WAY, "contributions", "required");
+
+        assertThat(meterRegistry
+                        .get(CalculationStageRunner.BRANCH_METRIC)
+                        .tag("case.type", CaseType.EITHER_WAY.name())
+                        .tag("decision", "contributions")
+                        .tag("branch", "required")
+                        .counter()
+                        .count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void givenIndependentStages_whenRunAsyncIsInvoked_thenStagesRunConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CompletableFuture<Boolean> first = calculationStageRunner.runAsync("first", () -> awaitOther(bothStarted));
+        CompletableFuture<Boolean> second = calculationStageRunner.runAsync("second", () -> awaitOther(bothStarted));
+
+        assertThat(CalculationStageRunner.join(first)).isTrue();
+        assertThat(CalculationStageRunner.join(second)).isTrue();
+    }
+
+    @Test
+    void givenRequestContext_whenRunAsyncIsInvoked_thenContextIsAvailableOnWorkerThread() {
+        RequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+
+        CompletableFuture<RequestAttributes> result =
+                calculationStageRunner.runAsync("rep-order", RequestContextHolder::getRequestAttributes);
+
+        assertThat(CalculationStageRunner.join(result)).isSameAs(requestAttributes);
+    }
+
+    @Test
+    void givenFailingStage_whenJoinIsInvoked_thenOriginalExceptionIsThrown() {
+        CompletableFuture<Object> result = calculationStageRunner.runAsync("rep-order", () -> {
+            throw new IllegalStateException("MAAT unavailable");
+        });
+
+        assertThatThrownBy(() -> CalculationStageRunner.join(result))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("MAAT unavailable");
+    }
+
+    private static boolean awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.justice.laa.crime.contribution.service;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
@@ -15,6 +16,7 @@ import uk.gov.justice.laa.crime.enums.MagCourtOutcome;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -44,7 +46,7 @@ class CompareContributionServiceTest {
         Contribution inactiveContribution = TestModelDataBuilder.buildContributionForCompareContributionService();
         inactiveContribution.setActive("N");
 
-        when(maatCourtDataService.findContribution(anyInt(), anyBoolean())).thenReturn(List.of(inactiveContribution));
+        givenContributions(inactiveContribution);
 
         boolean result =
                 compareContributionService.shouldCreateContribution(calculateContributionDTO, contributionResult);
@@ -78,8 +80,7 @@ class CompareContributionServiceTest {
                 .effectiveDate(effectiveDate)
                 .build();
 
-        when(maatCourtDataService.findContribution(anyInt(), anyBoolean()))
-                .thenReturn(List.of(TestModelDataBuilder.buildContributionForCompareContributionService()));
+        givenContributions(TestModelDataBuilder.buildContributionForCompareContributionService());
 
         boolean result =
                 compareContributionService.shouldCreateContribution(calculateContributionDTO, contributionResult);
@@ -109,10 +110,9 @@ class CompareContributionServiceTest {
                 .effectiveDate(LocalDate.now())
                 .build();
 
-        when(maatCourtDataService.findContribution(anyInt(), anyBoolean()))
-                .thenReturn(List.of(
-                        TestModelDataBuilder.buildInactiveContributionForCompareContributionService(),
-                        TestModelDataBuilder.buildContributionForCompareContributionService()));
+        givenContributions(
+                TestModelDataBuilder.buildInactiveContributionForCompareContributionService(),
+                TestModelDataBuilder.buildContributionForCompareContributionService());
 
         boolean result =
                 compareContributionService.shouldCreateContribution(calculateContributionDTO, contributionResult);
@@ -132,8 +132,7 @@ class CompareContributionServiceTest {
                         MagCourtOutcome.COMMITTED_FOR_TRIAL);
         ContributionResult contributionResult = TestModelDataBuilder.getContributionResult();
 
-        when(maatCourtDataService.findContribution(anyInt(), anyBoolean()))
-                .thenReturn(List.of(TestModelDataBuilder.buildContributionForCompareContributionService()));
+        givenContributions(TestModelDataBuilder.buildContributionForCompareContributionService());
 
         boolean result =
                 compareContributionService.shouldCreateContribution(calculateContributionDTO, contributionResult);
@@ -164,10 +163,9 @@ class CompareContributionServiceTest {
                 .effectiveDate(LocalDate.now())
                 .build();
 
-        when(maatCourtDataService.findContribution(anyInt(), anyBoolean()))
-                .thenReturn(List.of(
-                        TestModelDataBuilder.buildInactiveContributionForCompareContributionService(),
-                        TestModelDataBuilder.buildContributionForCompareContributionService()));
+        givenContributions(
+                TestModelDataBuilder.buildInactiveContributionForCompareContributionService(),
+                TestModelDataBuilder.buildContributionForCompareContributionService());
 
         boolean result =
                 compareContributionService.shouldCreateContribution(calculateContributionDTO, contributionResult);
@@ -175,6 +173,28 @@ class CompareContributionServiceTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    void givenNoActiveContribution_whenShouldCreateContributionIsInvokedWithList_thenReturnTrue() {
+        CalculateContributionDTO calculateContributionDTO =
+                TestModelDataBuilder.getContributionDTOForCompareContributionService(
+                        CaseType.EITHER_WAY.getCaseTypeString(), null, null, null, null, null);
+
+        boolean result = compareContributionService.shouldCreateContribution(
+                calculateContributionDTO,
+                TestModelDataBuilder.getContributionResult(),
+                List.of(TestModelDataBuilder.buildInactiveContributionForCompareContributionService()));
+
+        assertThat(result).isTrue();
+    }
+
+    private void givenContributions(Contribution... contributions) {
+        when(maatCourtDataService.findFirstContribution(anyInt(), anyBoolean(), any()))
+                .thenAnswer(invocation -> {
+                    Predicate<Contribution> match = invocation.getArgument(2);
+                    return Stream.of(contributions).filter(match).findFirst();
+                });
+    }
+
     private static Stream<Arguments> getActiveNonIdenticalContribution() {
         return Stream.of(
                 Arguments.of(
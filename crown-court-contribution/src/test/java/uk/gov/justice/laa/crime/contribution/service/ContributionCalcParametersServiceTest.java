@@ -0,0 +1,335 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import uk.gov.justice.laa.crime.contribution.config.CalcParametersCacheConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.util.DateUtil;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+@ExtendWith(MockitoExtension.class)
+class ContributionCalcParametersServiceTest {
+
+    private static final LocalDate FROM_DATE = LocalDate.of(2023, 4, 1);
+    private static final LocalDate TO_DATE = LocalDate.of(2024, 3, 31);
+    private static final LocalDate EFFECTIVE_DATE = LocalDate.of(2023, 10, 15);
+
+    @Mock
+    private MaatCourtDataService maatCourtDataService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TestClock clock;
+    private List<Runnable> backgroundTasks;
+    private ContributionCalcParametersService contributionCalcParametersService;
+
+    @BeforeEach
+    void setUp() {
+        CalcParametersCacheConfiguration cacheConfiguration = new CalcParametersCacheConfiguration();
+        cacheConfiguration.setTimeToLive(Duration.ofHours(12));
+        cacheConfiguration.setRefreshAhead(Duration.ofHours(10));
+        cacheConfiguration.setMaxStale(Duration.ofDays(1));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new TestClock(Instant.parse("2023-10-15T08:00:00Z"));
+        backgroundTasks = new ArrayList<>();
+        contributionCalcParametersService = new ContributionCalcParametersService(
+                maatCourtDataService, cacheConfiguration, meterRegistry, backgroundTasks::add, clock);
+    }
+
+    @Test
+    void givenDateInsideCachedInterval_whenGetContributionCalcParametersIsInvoked_thenMaatIsNotCalledAgain() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+        ContributionCalcParametersDTO result =
+                contributionCalcParametersService.getContributionCalcParameters(LocalDate.of(2024, 1, 31));
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        verifyMaatCalls(1);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void givenDateOnIntervalEnd_whenGetContributionCalcParametersIsInvoked_thenCachedValuesAreReturned() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+        ContributionCalcParametersDTO result = contributionCalcParametersService.getContributionCalcParameters(TO_DATE);
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        verifyMaatCalls(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void givenDateAfterIntervalEnd_whenGetContributionCalcParametersIsInvoked_thenMaatIsCalled() {
+        LocalDate nextFromDate = TO_DATE.plusDays(1);
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        stubParameters(nextFromDate, parameters(nextFromDate, null, BigDecimal.ONE));
+
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+        ContributionCalcParametersDTO result =
+                contributionCalcParametersService.getContributionCalcParameters(nextFromDate);
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.ONE);
+        assertThat(contributionCalcParametersService
+                        .getContributionCalcParameters(LocalDate.of(2030, 1, 1))
+                        .getDisposableIncomePercent())
+                .isEqualTo(BigDecimal.ONE);
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void givenCachedParameters_whenReturnedCopyIsModified_thenCacheIsUnchanged() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+
+        contributionCalcParametersService
+                .getContributionCalcParameters(EFFECTIVE_DATE)
+                .setDisposableIncomePercent(BigDecimal.ZERO);
+
+        assertThat(contributionCalcParametersService
+                        .getContributionCalcParameters(EFFECTIVE_DATE)
+                        .getDisposableIncomePercent())
+                .isEqualTo(BigDecimal.TEN);
+    }
+
+    @Test
+    void givenEntryPastRefreshAhead_whenGetContributionCalcParametersIsInvoked_thenEntryIsReloadedInBackground() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        clock.advance(Duration.ofHours(11));
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.ONE));
+        ContributionCalcParametersDTO cached =
+                contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        assertThat(cached.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        assertThat(count("hit")).isEqualTo(1);
+        verifyMaatCalls(1);
+        assertThat(backgroundTasks).hasSize(1);
+        backgroundTasks.forEach(Runnable::run);
+
+        clock.advance(Duration.ofHours(1));
+        ContributionCalcParametersDTO result =
+                contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.ONE);
+        verifyMaatCalls(2);
+        assertThat(count("refresh")).isEqualTo(1);
+    }
+
+    @Test
+    void givenRefreshAheadFails_whenGetContributionCalcParametersIsInvoked_thenCachedValuesAreReturned() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        clock.advance(Duration.ofHours(11));
+        stubFailure(EFFECTIVE_DATE);
+        ContributionCalcParametersDTO result =
+                contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+        backgroundTasks.forEach(Runnable::run);
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        assertThat(contributionCalcParametersService
+                        .getContributionCalcParameters(EFFECTIVE_DATE)
+                        .getDisposableIncomePercent())
+                .isEqualTo(BigDecimal.TEN);
+        assertThat(count("hit")).isEqualTo(2);
+        assertThat(count("refresh")).isZero();
+    }
+
+    @Test
+    void givenExpiredEntryAndMaatFailure_whenGetContributionCalcParametersIsInvoked_thenStaleValuesAreReturned() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        clock.advance(Duration.ofHours(13));
+        stubFailure(EFFECTIVE_DATE);
+        ContributionCalcParametersDTO result =
+                contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        assertThat(count("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void givenEntryPastMaxStaleAndMaatFailure_whenGetContributionCalcParametersIsInvoked_thenExceptionIsThrown() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        clock.advance(Duration.ofHours(37));
+        stubFailure(EFFECTIVE_DATE);
+
+        assertThatThrownBy(() -> contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE))
+                .isInstanceOf(WebClientRequestException.class);
+    }
+
+    @Test
+    void givenNullResponse_whenGetContributionCalcParametersIsInvoked_thenResponseIsNotCached() {
+        stubParameters(EFFECTIVE_DATE, null);
+
+        assertThat(contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE))
+                .isNull();
+        assertThat(contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE))
+                .isNull();
+
+        verifyMaatCalls(2);
+    }
+
+    @Test
+    void givenParametersLoadedByBlockingLookup_whenReactiveLookupIsInvoked_thenCachedValuesAreReturned() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+        AtomicInteger fetches = new AtomicInteger();
+
+        ContributionCalcParametersDTO result = contributionCalcParametersService
+                .getContributionCalcParameters(EFFECTIVE_DATE, effectiveDate -> {
+                    fetches.incrementAndGet();
+                    return Mono.empty();
+                })
+                .block();
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        assertThat(fetches).hasValue(0);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void givenParametersLoadedByReactiveLookup_whenBlockingLookupIsInvoked_thenMaatIsNotCalled() {
+        contributionCalcParametersService
+                .getContributionCalcParameters(
+                        EFFECTIVE_DATE, effectiveDate -> Mono.just(parameters(FROM_DATE, TO_DATE, BigDecimal.TEN)))
+                .block();
+
+        ContributionCalcParametersDTO result =
+                contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        verifyMaatCalls(0);
+    }
+
+    @Test
+    void givenEntryPastRefreshAhead_whenReactiveLookupIsInvoked_thenCachedValuesAreReturnedAndEntryIsReloaded() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+        clock.advance(Duration.ofHours(11));
+        Sinks.One<ContributionCalcParametersDTO> reload = Sinks.one();
+
+        ContributionCalcParametersDTO cached = contributionCalcParametersService
+                .getContributionCalcParameters(EFFECTIVE_DATE, effectiveDate -> reload.asMono())
+                .block();
+        reload.tryEmitValue(parameters(FROM_DATE, TO_DATE, BigDecimal.ONE));
+        ContributionCalcParametersDTO result =
+                contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        assertThat(cached.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.ONE);
+        verifyMaatCalls(1);
+        assertThat(count("refresh")).isEqualTo(1);
+    }
+
+    @Test
+    void givenExpiredEntryAndMaatFailure_whenReactiveLookupIsInvoked_thenStaleValuesAreReturned() {
+        stubParameters(EFFECTIVE_DATE, parameters(FROM_DATE, TO_DATE, BigDecimal.TEN));
+        contributionCalcParametersService.getContributionCalcParameters(EFFECTIVE_DATE);
+
+        clock.advance(Duration.ofHours(13));
+        ContributionCalcParametersDTO result = contributionCalcParametersService
+                .getContributionCalcParameters(
+                        EFFECTIVE_DATE, effectiveDate -> Mono.error(new IllegalStateException("MAAT unavailable")))
+                .block();
+
+        assertThat(result.getDisposableIncomePercent()).isEqualTo(BigDecimal.TEN);
+        assertThat(count("stale")).isEqualTo(1);
+    }
+
+    private void stubParameters(LocalDate effectiveDate, ContributionCalcParametersDTO parameters) {
+        when(maatCourtDataService.getContributionCalcParameters(DateUtil.getLocalDateString(effectiveDate)))
+                .thenReturn(parameters);
+    }
+
+    private void stubFailure(LocalDate effectiveDate) {
+        when(maatCourtDataService.getContributionCalcParameters(DateUtil.getLocalDateString(effectiveDate)))
+                .thenThrow(new WebClientRequestException(
+                        new RuntimeException("Connection refused"),
+                        HttpMethod.GET,
+                        URI.create("http://localhost"),
+                        HttpHeaders.EMPTY));
+    }
+
+    private void verifyMaatCalls(int calls) {
+        verify(maatCourtDataService, times(calls))
+                .getContributionCalcParameters(DateUtil.getLocalDateString(EFFECTIVE_DATE));
+    }
+
+    private double count(String result) {
+        return meterRegistry
+                .counter(ContributionCalcParametersService.CACHE_METRIC, "result", result)
+                .count();
+    }
+
+    private static ContributionCalcParametersDTO parameters(
+            LocalDate fromDate, LocalDate toDate, BigDecimal disposableIncomePercent) {
+        return ContributionCalcParametersDTO.builder()
+                .fromDate(DateUtil.convertDateToDateTime(fromDate))
+                .toDate(DateUtil.convertDateToDateTime(toDate))
+                .disposableIncomePercent(disposableIncomePercent)
+                .totalMonths(6)
+                .build();
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant;
+
+        private TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.justice.laa.crime.contribution.builder.CalculateContributionRequestMapper;
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.config.RecalculationConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionRequestDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RecalculationCase;
+import uk.gov.justice.laa.crime.contribution.dto.RecalculationResult;
+import uk.gov.justice.laa.crime.contribution.repository.ContributionAppealRulesRepository;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRecalculationService.CaseFormat;
+import uk.gov.justice.laa.crime.contribution.service.ContributionRecalculationService.Summary;
+import uk.gov.justice.laa.crime.enums.AppealType;
+import uk.gov.justice.laa.crime.enums.CaseType;
+import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ContributionRecalculationServiceTest {
+
+    private static final LocalDate RATE_CHANGE = LocalDate.of(2024, 4, 1);
+    private static final List<ContributionCalcParametersDTO> PARAMETERS = List.of(
+            parameters(LocalDate.of(2023, 4, 1), RATE_CHANGE, new BigDecimal("90")),
+            parameters(RATE_CHANGE, null, new BigDecimal("80")));
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Mock
+    private ContributionService contributionService;
+
+    @Mock
+    private ContributionAppealRulesRepository contributionAppealRulesRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContributionRecalculationService recalculationService;
+
+    @BeforeEach
+    void setUp() {
+        RecalculationConfiguration configuration = new RecalculationConfiguration();
+        configuration.setParallelism(4);
+        meterRegistry = new SimpleMeterRegistry();
+        recalculationService = new ContributionRecalculationService(
+                contributionService,
+                new CalculateContributionService(),
+                new CalculateContributionRequestMapper(),
+                new AppealContributionRules(contributionAppealRulesRepository),
+                configuration,
+                objectMapper,
+                meterRegistry);
+    }
+
+    @Test
+    void givenCasesEitherSideOfRateChange_whenRecalculateIsInvoked_thenResultsAreWrittenInInputOrder()
+            throws IOException {
+        givenContributionsRequired();
+        String cases = ndjson(
+                indictableCase(1, LocalDate.of(2024, 1, 10)), indictableCase(2, LocalDate.of(2024, 5, 1)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Summary summary = recalculationService.recalculate(input(cases), CaseFormat.NDJSON, PARAMETERS, output);
+
+        assertThat(results(output))
+                .extracting(
+                        RecalculationResult::getRepId,
+                        RecalculationResult::getMonthlyContributions,
+                        RecalculationResult::getMonthlyContributionsChange,
+                        RecalculationResult::getChanged)
+                .containsExactly(
+                        tuple(1, new BigDecimal("900.00"), new BigDecimal("0.00"), false),
+                        tuple(2, new BigDecimal("800.00"), new BigDecimal("-100.00"), true));
+        assertThat(summary.cases()).isEqualTo(2);
+        assertThat(summary.changed()).isEqualTo(1);
+        assertThat(count("unchanged")).isEqualTo(1);
+    }
+
+    @Test
+    void givenCsvCases_whenRecalculateIsInvoked_thenHeaderNamesTheColumns() throws IOException {
+        givenContributionsRequired();
+        String cases =
+                """
+                repId,caseType,assessmentEffectiveDate,fullResult,annualDisposableIncome,contributionCap,iojResult
+                7,INDICTABLE,2024-05-01,FAIL,12000,5000,
+                """;
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        recalculationService.recalculate(input(cases), CaseFormat.of("caseload.csv"), PARAMETERS, output);
+
+        assertThat(results(output))
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getRepId()).isEqualTo(7);
+                    assertThat(result.getMonthlyContributions()).isEqualByComparingTo("800");
+                    assertThat(result.getUpfrontContributions()).isEqualByComparingTo("2400");
+                    assertThat(result.getChanged()).isTrue();
+                });
+    }
+
+    @Test
+    void givenNoParametersForAssessmentDate_whenRecalculateIsInvoked_thenCaseIsReportedAsFailed() throws IOException {
+        givenContributionsRequired();
+        String cases = ndjson(indictableCase(3, LocalDate.of(2022, 1, 1)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Summary summary = recalculationService.recalculate(input(cases), CaseFormat.NDJSON, PARAMETERS, output);
+
+        assertThat(results(output))
+                .singleElement()
+                .extracting(RecalculationResult::getError)
+                .isEqualTo("No contribution calculation parameters cover 2022-01-01");
+        assertThat(summary.failed()).isEqualTo(1);
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void givenAppealCase_whenRecalculateIsInvoked_thenAppealAmountIsUsed() throws IOException {
+        RecalculationCase appeal = RecalculationCase.builder()
+                .repId(4)
+                .caseType(CaseType.APPEAL_CC)
+                .appealType(AppealType.ACN)
+                .crownCourtOutcome(CrownCourtOutcome.UNSUCCESSFUL)
+                .fullResult("FAIL")
+                .currentUpfrontContributions(new BigDecimal("250"))
+                .build();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        recalculationService.recalculate(input(ndjson(appeal)), CaseFormat.NDJSON, PARAMETERS, output);
+
+        assertThat(results(output))
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getUpfrontContributions()).isEqualByComparingTo("500");
+                    assertThat(result.getUpfrontContributionsChange()).isEqualByComparingTo("250");
+                    assertThat(result.getChanged()).isTrue();
+                });
+        verifyNoInteractions(contributionService);
+    }
+
+    @Test
+    void givenContributionsNotRequired_whenRecalculateIsInvoked_thenCaseIsUnchanged() throws IOException {
+        when(contributionService.checkContributionsCondition(any(ContributionRequestDTO.class)))
+                .thenReturn(ContributionResponseDTO.builder()
+                        .doContribs(Constants.N)
+                        .calcContribs(Constants.N)
+                        .build());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        recalculationService.recalculate(
+                input(ndjson(indictableCase(5, RATE_CHANGE))), CaseFormat.NDJSON, PARAMETERS, output);
+
+        assertThat(results(output))
+                .singleElement()
+                .satisfies(result -> {
+                    assertThat(result.getContributionsRequired()).isFalse();
+                    assertThat(result.getMonthlyContributions()).isNull();
+                    assertThat(result.getChanged()).isFalse();
+                });
+    }
+
+    private void givenContributionsRequired() {
+        when(contributionService.checkContributionsCondition(any(ContributionRequestDTO.class)))
+                .thenReturn(ContributionResponseDTO.builder()
+                        .doContribs(Constants.Y)
+                        .calcContribs(Constants.Y)
+                        .build());
+    }
+
+    private static RecalculationCase indictableCase(int repId, LocalDate assessmentEffectiveDate) {
+        return RecalculationCase.builder()
+                .repId(repId)
+                .caseType(CaseType.INDICTABLE)
+                .assessmentEffectiveDate(assessmentEffectiveDate)
+                .fullResult("FAIL")
+                .annualDisposableIncome(new BigDecimal("12000"))
+                .contributionCap(new BigDecimal("5000"))
+                .currentMonthlyContributions(new BigDecimal("900.00"))
+                .currentUpfrontContributions(new BigDecimal("2700.00"))
+                .build();
+    }
+
+    private static ContributionCalcParametersDTO parameters(LocalDate from, LocalDate to, BigDecimal percent) {
+        return ContributionCalcParametersDTO.builder()
+                .fromDate(from.atStartOfDay())
+                .toDate(to != null ? to.atStartOfDay() : null)
+                .disposableIncomePercent(percent)
+                .upliftedIncomePercent(new BigDecimal("100"))
+                .minUpliftedMonthlyAmount(new BigDecimal("50"))
+                .minimumMonthlyAmount(new BigDecimal("20"))
+                .totalMonths(6)
+                .upfrontTotalMonths(3)
+                .build();
+    }
+
+    private String ndjson(RecalculationCase... cases) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (RecalculationCase recalculationCase : cases) {
+            lines.append(objectMapper.writeValueAsString(recalculationCase)).append('\n');
+        }
+        return lines.toString();
+    }
+
+    private static ByteArrayInputStream input(String cases) {
+        return new ByteArrayInputStream(cases.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<RecalculationResult> results(ByteArrayOutputStream output) throws IOException {
+        return objectMapper
+                .readerFor(RecalculationResult.class)
+                .<RecalculationResult>readValues(output.toByteArray())
+                .readAll();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry
+                .counter(ContributionRecalculationService.RECALCULATION_METRIC, "outcome", outcome)
+                .count();
+    }
+}
@@ -22,7 +22,6 @@ import uk.gov.justice.laa.crime.contribution.dto.ContributionRequestDTO;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
-import uk.gov.justice.laa.crime.contribution.repository.CorrespondenceRuleRepository;
 import uk.gov.justice.laa.crime.contribution.staticdata.enums.MeansAssessmentResult;
 import uk.gov.justice.laa.crime.enums.CaseType;
 import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
@@ -68,7 +67,7 @@ class ContributionServiceTest {
     private MaatCourtDataService maatCourtDataService;
 
     @Mock
-    private CorrespondenceRuleRepository repository;
+    private CorrespondenceRuleIndex correspondenceRuleIndex;
 
     @Mock
     private ContributionResponseDTOMapper contributionResponseDTOMapper;
@@ -464,7 +463,7 @@ class ContributionServiceTest {
     void givenAValidContributeRequest_whenCheckContribConditionIsInvoked_thenReturnValidContribution(
             ContributionRequestDTO request) {
 
-        when(repository.getCoteInfo(anyString(), anyString(), anyString(), anyString(), anyString()))
+        when(correspondenceRuleIndex.getCoteInfo(anyString(), anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(Optional.of(TestModelDataBuilder.getCorrespondenceRuleAndTemplateInfo()));
 
         contributionService.checkContributionsCondition(request);
@@ -482,7 +481,7 @@ class ContributionServiceTest {
                 .iojResult("PASS")
                 .build();
 
-        when(repository.getCoteInfo(anyString(), anyString(), anyString(), anyString(), anyString()))
+        when(correspondenceRuleIndex.getCoteInfo(anyString(), anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(Optional.empty());
 
         ContributionResponseDTO response = contributionService.checkContributionsCondition(request);
@@ -576,11 +575,32 @@ class ContributionServiceTest {
     @MethodSource("ccOutcomeScenarios")
     void givenVariousOutcomes_whenHasCCOutcomeChangedIsInvoked_thenResultMatchesExpectation(
             List<RepOrderCCOutcomeDTO> outcomes, boolean expected) {
-        when(maatCourtDataService.getRepOrderCCOutcomeByRepId(REP_ID)).thenReturn(outcomes);
-        boolean result = contributionService.hasCCOutcomeChanged(REP_ID);
+        boolean result = contributionService.hasCCOutcomeChanged(outcomes);
         assertThat(result).isEqualTo(expected);
     }
 
+    @Test
+    void givenEarliestOutcomeIsNotAcquitted_whenHasCCOutcomeChangedIsInvokedWithRepId_thenTrueIsReturned() {
+        when(maatCourtDataService.getEarliestRepOrderCCOutcome(REP_ID))
+                .thenReturn(Optional.of(TestModelDataBuilder.getRepOrderCCOutcomeDTO(
+                        12345, CrownCourtOutcome.PART_CONVICTED.getCode())));
+        assertThat(contributionService.hasCCOutcomeChanged(REP_ID)).isTrue();
+    }
+
+    @Test
+    void givenEarliestOutcomeIsAcquitted_whenHasCCOutcomeChangedIsInvokedWithRepId_thenFalseIsReturned() {
+        when(maatCourtDataService.getEarliestRepOrderCCOutcome(REP_ID))
+                .thenReturn(Optional.of(
+                        TestModelDataBuilder.getRepOrderCCOutcomeDTO(12345, CrownCourtOutcome.AQUITTED.getCode())));
+        assertThat(contributionService.hasCCOutcomeChanged(REP_ID)).isFalse();
+    }
+
+    @Test
+    void givenNoOutcomes_whenHasCCOutcomeChangedIsInvokedWithRepId_thenFalseIsReturned() {
+        when(maatCourtDataService.getEarliestRepOrderCCOutcome(REP_ID)).thenReturn(Optional.empty());
+        assertThat(contributionService.hasCCOutcomeChanged(REP_ID)).isFalse();
+    }
+
     private static Stream<Arguments> ccOutcomeScenarios() {
         return Stream.of(
                 // --- Empty outcome lists ---
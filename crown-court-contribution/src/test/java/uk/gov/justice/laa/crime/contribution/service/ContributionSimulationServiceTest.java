@@ -0,0 +1,227 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.justice.laa.crime.contribution.builder.CalculateContributionRequestMapper;
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.config.RecalculationConfiguration;
+import uk.gov.justice.laa.crime.contribution.config.SimulationConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionRequestDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RecalculationCase;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationRequest;
+import uk.gov.justice.laa.crime.contribution.dto.SimulationResult;
+import uk.gov.justice.laa.crime.contribution.repository.ContributionAppealRulesRepository;
+import uk.gov.justice.laa.crime.enums.CaseType;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ContributionSimulationServiceTest {
+
+    private static final String CORPUS = "caseload-2024";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ExecutorService calculationExecutor = Executors.newFixedThreadPool(2);
+
+    @TempDir
+    private Path corpusDirectory;
+
+    @Mock
+    private ContributionService contributionService;
+
+    @Mock
+    private ContributionAppealRulesRepository contributionAppealRulesRepository;
+
+    private SimulationConfiguration configuration;
+    private SimpleMeterRegistry meterRegistry;
+    private ContributionSimulationService simulationService;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new SimulationConfiguration();
+        configuration.setCorpusDirectory(corpusDirectory.toString());
+        configuration.setChunkSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        ContributionRecalculationService recalculationService = new ContributionRecalculationService(
+                contributionService,
+                new CalculateContributionService(),
+                new CalculateContributionRequestMapper(),
+                new AppealContributionRules(contributionAppealRulesRepository),
+                new RecalculationConfiguration(),
+                objectMapper,
+                meterRegistry);
+        simulationService = new ContributionSimulationService(
+                recalculationService, configuration, calculationExecutor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        calculationExecutor.shutdownNow();
+    }
+
+    @Test
+    void givenCorpus_whenSimulateIsInvoked_thenCasesAreAggregated() throws IOException {
+        givenContributionsRequired();
+        givenCorpus(
+                indictableCase(1, "12000", "5000"), indictableCase(2, "12000", "500"), indictableCase(3, "100", null));
+
+        SimulationResult result = simulationService.simulate(request(parameters("80")));
+
+        assertThat(result.getCorpus()).isEqualTo(CORPUS);
+        assertThat(result.getCases()).isEqualTo(3);
+        assertThat(result.getContributingCases()).isEqualTo(2);
+        assertThat(result.getChangedCases()).isEqualTo(3);
+        assertThat(result.getFailedCases()).isZero();
+        assertThat(result.getCasesAtCap()).isEqualTo(1);
+        assertThat(result.getCasesBelowMinimum()).isEqualTo(1);
+        assertThat(result.getTotalMonthlyContributions()).isEqualByComparingTo("1300");
+        assertThat(result.getCurrentTotalMonthlyContributions()).isEqualByComparingTo("2700");
+        assertThat(result.getTotalContributions()).isEqualByComparingTo("7800");
+        assertThat(result.getMonthlyContributionsPercentiles())
+                .containsOnlyKeys("p25", "p50", "p75", "p90", "p99")
+                .hasEntrySatisfying("p25", value -> assertThat(value).isEqualByComparingTo("0"))
+                .hasEntrySatisfying("p50", value -> assertThat(value).isEqualByComparingTo("500"))
+                .hasEntrySatisfying("p99", value -> assertThat(value).isEqualByComparingTo("800"));
+    }
+
+    @Test
+    void givenRepeatedParameters_whenSimulateIsInvoked_thenCachedResultIsReturned() throws IOException {
+        givenContributionsRequired();
+        givenCorpus(indictableCase(1, "12000", "5000"));
+
+        SimulationResult first = simulationService.simulate(request(parameters("80")));
+        SimulationResult second = simulationService.simulate(request(parameters("80.00")));
+
+        assertThat(second).isSameAs(first);
+        verify(contributionService, times(1)).checkContributionsCondition(any(ContributionRequestDTO.class));
+        assertThat(count("simulated")).isEqualTo(1);
+        assertThat(count("cached")).isEqualTo(1);
+    }
+
+    @Test
+    void givenCorpusChanged_whenSimulateIsInvoked_thenCorpusIsSimulatedAgain() throws IOException {
+        givenContributionsRequired();
+        Path file = givenCorpus(indictableCase(1, "12000", "5000"));
+        simulationService.simulate(request(parameters("80")));
+
+        givenCorpus(indictableCase(1, "12000", "5000"), indictableCase(2, "24000", "5000"));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        SimulationResult result = simulationService.simulate(request(parameters("80")));
+
+        assertThat(result.getCases()).isEqualTo(2);
+        assertThat(result.getTotalMonthlyContributions()).isEqualByComparingTo("2400");
+        assertThat(count("simulated")).isEqualTo(2);
+    }
+
+    @Test
+    void givenUnknownOrUnsafeCorpus_whenSimulateIsInvoked_thenValidationExceptionIsThrown() {
+        ContributionCalcParametersDTO parameters = parameters("80");
+
+        assertThatThrownBy(() -> simulationService.simulate(new SimulationRequest("missing", parameters)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Unknown corpus missing");
+        assertThatThrownBy(() -> simulationService.simulate(new SimulationRequest("../etc/passwd", parameters)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Unknown corpus ../etc/passwd");
+    }
+
+    @Test
+    void givenIncompleteParameters_whenSimulateIsInvoked_thenValidationExceptionIsThrown() {
+        ContributionCalcParametersDTO parameters = ContributionCalcParametersDTO.builder()
+                .disposableIncomePercent(new BigDecimal("80"))
+                .build();
+
+        assertThatThrownBy(() -> simulationService.simulate(request(parameters)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Simulation parameters are missing upliftedIncomePercent, minimumMonthlyAmount, "
+                        + "minUpliftedMonthlyAmount, totalMonths, upfrontTotalMonths");
+        verifyNoInteractions(contributionService);
+    }
+
+    @Test
+    void givenNoCorpusDirectory_whenSimulateIsInvoked_thenValidationExceptionIsThrown() {
+        configuration.setCorpusDirectory(null);
+
+        assertThatThrownBy(() -> simulationService.simulate(request(parameters("80"))))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Simulations are not available, no corpus directory is configured");
+    }
+
+    private void givenContributionsRequired() {
+        when(contributionService.checkContributionsCondition(any(ContributionRequestDTO.class)))
+                .thenReturn(ContributionResponseDTO.builder()
+                        .doContribs(Constants.Y)
+                        .calcContribs(Constants.Y)
+                        .build());
+    }
+
+    private Path givenCorpus(RecalculationCase... cases) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (RecalculationCase recalculationCase : cases) {
+            lines.append(objectMapper.writeValueAsString(recalculationCase)).append('\n');
+        }
+        return Files.writeString(corpusDirectory.resolve(CORPUS + ".ndjson"), lines);
+    }
+
+    private static SimulationRequest request(ContributionCalcParametersDTO parameters) {
+        return new SimulationRequest(CORPUS, parameters);
+    }
+
+    private static RecalculationCase indictableCase(int repId, String income, String cap) {
+        return RecalculationCase.builder()
+                .repId(repId)
+                .caseType(CaseType.INDICTABLE)
+                .assessmentEffectiveDate(LocalDate.of(2024, 5, 1))
+                .fullResult("FAIL")
+                .annualDisposableIncome(new BigDecimal(income))
+                .contributionCap(cap != null ? new BigDecimal(cap) : null)
+                .currentMonthlyContributions(new BigDecimal("900.00"))
+                .build();
+    }
+
+    private static ContributionCalcParametersDTO parameters(String disposableIncomePercent) {
+        return ContributionCalcParametersDTO.builder()
+                .disposableIncomePercent(new BigDecimal(disposableIncomePercent))
+                .upliftedIncomePercent(new BigDecimal("100"))
+                .minUpliftedMonthlyAmount(new BigDecimal("50"))
+                .minimumMonthlyAmount(new BigDecimal("20"))
+                .totalMonths(6)
+                .upfrontTotalMonths(3)
+                .build();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry
+                .counter(ContributionSimulationService.SIMULATION_METRIC, "outcome", outcome)
+                .count();
+    }
+}
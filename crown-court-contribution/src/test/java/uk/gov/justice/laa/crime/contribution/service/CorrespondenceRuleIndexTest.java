@@ -0,0 +1,144 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.justice.laa.crime.contribution.entity.CorrespondenceRule;
+import uk.gov.justice.laa.crime.contribution.projection.CorrespondenceRuleAndTemplateInfo;
+import uk.gov.justice.laa.crime.contribution.repository.CorrespondenceRuleRepository;
+import uk.gov.justice.laa.crime.contribution.staticdata.enums.MeansAssessmentResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CorrespondenceRuleIndexTest {
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    @Autowired
+    private CorrespondenceRuleRepository correspondenceRuleRepository;
+
+    private CorrespondenceRuleIndex correspondenceRuleIndex;
+
+    @BeforeEach
+    void setUp() {
+        correspondenceRuleIndex = new CorrespondenceRuleIndex(correspondenceRuleRepository);
+        correspondenceRuleIndex.reload();
+    }
+
+    @Test
+    void givenEveryCombinationOfInputs_whenGetCoteInfoIsInvoked_thenResultMatchesNativeQuery() {
+        List<CorrespondenceRule> rules = correspondenceRuleRepository.findAll();
+        Set<String> meansResults = values(rules, CorrespondenceRule::getMeansResult);
+        Arrays.stream(MeansAssessmentResult.values()).map(MeansAssessmentResult::getResult).forEach(meansResults::add);
+        Set<String> magsOutcomes = values(rules, CorrespondenceRule::getMcooOutcome);
+        Set<String> ccOutcomes = values(rules, CorrespondenceRule::getCcooOutcome);
+        ccOutcomes.add("CONVICTED");
+        Set<String> iojResults = values(rules, CorrespondenceRule::getIojResult);
+        Set<String> initResults = values(rules, CorrespondenceRule::getInitResult);
+        initResults.add(CorrespondenceRuleIndex.NONE);
+
+        List<String> mismatches = new ArrayList<>();
+        int combinations = 0;
+        int matched = 0;
+        for (String meansResult : meansResults) {
+            for (String magsOutcome : magsOutcomes) {
+                for (String ccOutcome : ccOutcomes) {
+                    for (String iojResult : iojResults) {
+                        for (String initResult : initResults) {
+                            combinations++;
+                            String expected =
+                                    describe(() -> correspondenceRuleRepository.getCoteInfo(
+                                            meansResult, iojResult, magsOutcome, ccOutcome, initResult));
+                            String actual = describe(() -> correspondenceRuleIndex.getCoteInfo(
+                                    meansResult, iojResult, magsOutcome, ccOutcome, initResult));
+                            if (!expected.equals(actual)) {
+                                mismatches.add("(%s, %s, %s, %s, %s): expected %s but was %s"
+                                        .formatted(
+                                                meansResult,
+                                                iojResult,
+                                                magsOutcome,
+                                                ccOutcome,
+                                                initResult,
+                                                expected,
+                                                actual));
+                            } else if (expected.startsWith("[")) {
+                                matched++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(mismatches).isEmpty();
+        assertThat(combinations).isGreaterThan(1000);
+        assertThat(matched).isPositive();
+    }
+
+    @Test
+    void givenPassportRuleInputs_whenGetCoteInfoIsInvoked_thenTemplateIsReturned() {
+        Optional<CorrespondenceRuleAndTemplateInfo> result =
+                correspondenceRuleIndex.getCoteInfo("PASSPORT", "PASS", "COMMITTED FOR TRIAL", null, "PASS");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(11008119);
+        assertThat(result.get().getUpliftCoteId()).isEqualTo(12959325);
+        assertThat(result.get().getCalcContribs()).isEqualTo("N");
+    }
+
+    @Test
+    void givenRuleWithoutTemplate_whenGetCoteInfoIsInvoked_thenEmptyIsReturned() {
+        assertThat(correspondenceRuleIndex.getCoteInfo("INITFAIL", "FAIL", "APPEAL TO CC", null, "FAIL"))
+                .isEmpty();
+    }
+
+    @Test
+    void givenNullMeansResult_whenGetCoteInfoIsInvoked_thenEmptyIsReturned() {
+        assertThat(correspondenceRuleIndex.getCoteInfo(null, "PASS", null, null, "PASS"))
+                .isEmpty();
+    }
+
+    private static Set<String> values(List<CorrespondenceRule> rules, Function<CorrespondenceRule, String> column) {
+        Set<String> values = new LinkedHashSet<>();
+        rules.stream().map(column).forEach(values::add);
+        values.add(CorrespondenceRuleIndex.ANY);
+        values.add(UNKNOWN);
+        values.add(null);
+        return values;
+    }
+
+    private static String describe(CoteInfoLookup lookup) {
+        try {
+            return lookup.get()
+                    .map(info -> Arrays.asList(
+                                    info.getId(),
+                                    info.getCalcContribs(),
+                                    info.getUpliftCoteId(),
+                                    info.getReassessmentCoteId(),
+                                    info.getCotyCorrespondenceType(),
+                                    info.getDescription())
+                            .toString())
+                    .orElse("empty");
+        } catch (RuntimeException exception) {
+            return exception.getClass().getSimpleName();
+        }
+    }
+
+    @FunctionalInterface
+    private interface CoteInfoLookup {
+        Optional<CorrespondenceRuleAndTemplateInfo> get();
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.justice.laa.crime.contribution.repository.IdempotentResponseRepository;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyStore.StoredResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DatabaseIdempotencyStoreTest {
+
+    private static final String KEY = "calculate-contribution:7d1f3c52-4b0e-4f6a-9a0c-2f5e8b6d1a90";
+    private static final String REQUEST_HASH = "a".repeat(64);
+    private static final Instant NOW = Instant.parse("2024-06-03T09:00:00Z");
+
+    @Autowired
+    private IdempotentResponseRepository repository;
+
+    private DatabaseIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DatabaseIdempotencyStore(repository);
+    }
+
+    @Test
+    void givenUnclaimedKey_whenClaimIsInvoked_thenPendingResponseIsStored() {
+        assertThat(store.claim(pending(NOW.plus(Duration.ofMinutes(2))), NOW)).isTrue();
+
+        assertThat(store.find(KEY, NOW)).hasValueSatisfying(stored -> {
+            assertThat(stored.isPending()).isTrue();
+            assertThat(stored.requestHash()).isEqualTo(REQUEST_HASH);
+        });
+    }
+
+    @Test
+    void givenClaimedKey_whenClaimIsInvokedAgain_thenKeyIsNotClaimed() {
+        store.claim(pending(NOW.plus(Duration.ofMinutes(2))), NOW);
+
+        assertThat(store.claim(pending(NOW.plus(Duration.ofMinutes(3))), NOW.plusSeconds(60))).isFalse();
+    }
+
+    @Test
+    void givenLapsedClaim_whenClaimIsInvoked_thenKeyIsClaimed() {
+        store.claim(pending(NOW.plus(Duration.ofMinutes(2))), NOW);
+        Instant later = NOW.plus(Duration.ofMinutes(2));
+
+        assertThat(store.claim(pending(later.plus(Duration.ofMinutes(2))), later)).isTrue();
+    }
+
+    @Test
+    void givenClaimedKey_whenReleaseIsInvoked_thenKeyCanBeClaimedAgain() {
+        store.claim(pending(NOW.plus(Duration.ofMinutes(2))), NOW);
+
+        store.release(KEY);
+
+        assertThat(store.find(KEY, NOW)).isEmpty();
+        assertThat(store.claim(pending(NOW.plus(Duration.ofMinutes(2))), NOW)).isTrue();
+    }
+
+    @Test
+    void givenCompletedResponse_whenReleaseIsInvoked_thenResponseIsKept() {
+        store.claim(pending(NOW.plus(Duration.ofMinutes(2))), NOW);
+        store.save(new StoredResponse(KEY, REQUEST_HASH, "{}", NOW.plus(Duration.ofHours(24))));
+
+        store.release(KEY);
+
+        assertThat(store.find(KEY, NOW)).hasValueSatisfying(stored -> assertThat(stored.body()).isEqualTo("{}"));
+        assertThat(store.claim(pending(NOW.plus(Duration.ofMinutes(2))), NOW)).isFalse();
+    }
+
+    private static StoredResponse pending(Instant expiresAt) {
+        return new StoredResponse(KEY, REQUEST_HASH, null, expiresAt);
+    }
+}
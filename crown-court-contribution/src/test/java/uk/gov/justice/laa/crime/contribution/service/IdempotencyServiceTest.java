@@ -0,0 +1,329 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
+import uk.gov.justice.laa.crime.contribution.config.IdempotencyConfiguration;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyService.Result;
+import uk.gov.justice.laa.crime.contribution.service.IdempotencyStore.StoredResponse;
+import uk.gov.justice.laa.crime.exception.ValidationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class IdempotencyServiceTest {
+
+    private static final String OPERATION = "calculate-contribution";
+    private static final String KEY = "7d1f3c52-4b0e-4f6a-9a0c-2f5e8b6d1a90";
+    private static final Map<String, Integer> REQUEST = Map.of("repId", 1234);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private IdempotencyConfiguration configuration;
+    private SimpleMeterRegistry meterRegistry;
+    private TestClock clock;
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService idempotencyService;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new IdempotencyConfiguration();
+        configuration.setReplayWindow(Duration.ofHours(1));
+        configuration.setClaimTimeout(Duration.ofMinutes(2));
+        configuration.setPollInterval(Duration.ofMillis(10));
+        configuration.setPurgeInterval(Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new TestClock(Instant.parse("2024-06-03T09:00:00Z"));
+        store = new InMemoryIdempotencyStore();
+        idempotencyService = new IdempotencyService(store, configuration, objectMapper, meterRegistry, clock);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void givenNoKey_whenExecuteIsInvoked_thenActionRunsEveryTime() {
+        execute(null, REQUEST, this::calculate);
+        Result<ApiMaatCalculateContributionResponse> result = execute(null, REQUEST, this::calculate);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(calls).hasValue(2);
+        assertThat(count("executed")).isZero();
+    }
+
+    @Test
+    void givenCompletedRequest_whenExecuteIsInvokedWithSameKey_thenStoredResponseIsReplayed() {
+        Result<ApiMaatCalculateContributionResponse> first = execute(KEY, REQUEST, this::calculate);
+        Result<ApiMaatCalculateContributionResponse> second = execute(KEY, REQUEST, this::calculate);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.body()).isEqualTo(first.body());
+        assertThat(calls).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("replayed")).isEqualTo(1);
+    }
+
+    @Test
+    void givenCompletedRequest_whenExecuteIsInvokedWithSameKeyForDifferentRequest_thenValidationExceptionIsThrown() {
+        execute(KEY, REQUEST, this::calculate);
+
+        assertThatThrownBy(() -> execute(KEY, Map.of("repId", 5678), this::calculate))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("different request");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void givenReplayWindowHasPassed_whenExecuteIsInvokedWithSameKey_thenActionRunsAgain() {
+        execute(KEY, REQUEST, this::calculate);
+        clock.advance(Duration.ofHours(1));
+
+        Result<ApiMaatCalculateContributionResponse> result = execute(KEY, REQUEST, this::calculate);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void givenFailedRequest_whenExecuteIsInvokedWithSameKey_thenActionRunsAgain() {
+        assertThatThrownBy(() -> execute(KEY, REQUEST, () -> {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException("MAAT unavailable");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        Result<ApiMaatCalculateContributionResponse> result = execute(KEY, REQUEST, this::calculate);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void givenRequestInFlight_whenExecuteIsInvokedWithSameKey_thenItWaitsForTheFirstResponse() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Result<ApiMaatCalculateContributionResponse>> first =
+                CompletableFuture.supplyAsync(() -> execute(KEY, REQUEST, () -> {
+                    started.countDown();
+                    await(release);
+                    return calculate();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Result<ApiMaatCalculateContributionResponse>> duplicate =
+                CompletableFuture.supplyAsync(() -> execute(KEY, REQUEST, this::calculate));
+        while (count("awaited") == 0 && !duplicate.isDone()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+        assertThat(duplicate.get().body()).isEqualTo(first.get(5, TimeUnit.SECONDS).body());
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void givenRequestRunningOnAnotherInstance_whenExecuteIsInvokedWithSameKey_thenItWaitsForTheStoredResponse()
+            throws Exception {
+        IdempotencyService otherInstance =
+                new IdempotencyService(store, configuration, objectMapper, meterRegistry, clock);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Result<ApiMaatCalculateContributionResponse>> first =
+                CompletableFuture.supplyAsync(() -> otherInstance.execute(
+                        OPERATION, KEY, REQUEST, ApiMaatCalculateContributionResponse.class, () -> {
+                            started.countDown();
+                            await(release);
+                            return calculate();
+                        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Result<ApiMaatCalculateContributionResponse>> duplicate =
+                CompletableFuture.supplyAsync(() -> execute(KEY, REQUEST, this::calculate));
+        while (count("awaited") == 0 && !duplicate.isDone()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+        assertThat(duplicate.get().body()).isEqualTo(first.get(5, TimeUnit.SECONDS).body());
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void givenRequestFailsOnAnotherInstance_whenDuplicateIsWaiting_thenDuplicateRunsTheAction() throws Exception {
+        IdempotencyService otherInstance =
+                new IdempotencyService(store, configuration, objectMapper, meterRegistry, clock);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Result<ApiMaatCalculateContributionResponse>> first =
+                CompletableFuture.supplyAsync(() -> otherInstance.execute(
+                        OPERATION, KEY, REQUEST, ApiMaatCalculateContributionResponse.class, () -> {
+                            started.countDown();
+                            await(release);
+                            calls.incrementAndGet();
+                            throw new IllegalStateException("MAAT unavailable");
+                        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Result<ApiMaatCalculateContributionResponse>> duplicate =
+                CompletableFuture.supplyAsync(() -> execute(KEY, REQUEST, this::calculate));
+        while (count("awaited") == 0 && !duplicate.isDone()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThat(first).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void givenClaimLeftByStoppedInstance_whenClaimTimeoutHasPassed_thenActionRuns() {
+        Instant lapsesAt = clock.instant().plus(Duration.ofMinutes(2));
+        store.claim(new StoredResponse(OPERATION + ":" + KEY, "stopped-instance", null, lapsesAt), clock.instant());
+        clock.advance(Duration.ofMinutes(2));
+
+        Result<ApiMaatCalculateContributionResponse> result = execute(KEY, REQUEST, this::calculate);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void givenCompletedReactiveRequest_whenExecuteReactiveIsInvokedWithSameKey_thenStoredResponseIsReplayed() {
+        Result<ApiMaatCalculateContributionResponse> first =
+                executeReactive(KEY, () -> Mono.fromSupplier(this::calculate));
+        Result<ApiMaatCalculateContributionResponse> second =
+                executeReactive(KEY, () -> Mono.fromSupplier(this::calculate));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.body()).isEqualTo(first.body());
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void givenFailedReactiveRequest_whenExecuteReactiveIsInvokedWithSameKey_thenActionRunsAgain() {
+        assertThatThrownBy(() -> executeReactive(KEY, () -> Mono.error(new IllegalStateException("MAAT unavailable"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        Result<ApiMaatCalculateContributionResponse> result =
+                executeReactive(KEY, () -> Mono.fromSupplier(this::calculate));
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(calls).hasValue(1);
+        assertThat(store.find(OPERATION + ":" + KEY, clock.instant()))
+                .hasValueSatisfying(stored -> assertThat(stored.isPending()).isFalse());
+    }
+
+    @Test
+    void givenStoreFailure_whenExecuteIsInvoked_thenRequestIsHandledAsNew() {
+        IdempotencyStore failingStore = mock(IdempotencyStore.class);
+        when(failingStore.find(any(), any())).thenThrow(new IllegalStateException("database unavailable"));
+        doThrow(new IllegalStateException("database unavailable")).when(failingStore).save(any());
+        idempotencyService = new IdempotencyService(
+                failingStore, new IdempotencyConfiguration(), objectMapper, meterRegistry, clock);
+
+        Result<ApiMaatCalculateContributionResponse> result = execute(KEY, REQUEST, this::calculate);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.body().getTotalMonths()).isEqualTo(1);
+    }
+
+    @Test
+    void givenBlankKey_whenExecuteIsInvoked_thenValidationExceptionIsThrown() {
+        assertThatThrownBy(() -> execute(" ", REQUEST, this::calculate)).isInstanceOf(ValidationException.class);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void givenExpiredResponses_whenPurgeIntervalHasPassed_thenTheyAreRemoved() {
+        execute(KEY, REQUEST, this::calculate);
+        clock.advance(Duration.ofHours(2));
+
+        execute("another-key", REQUEST, this::calculate);
+
+        assertThat(store.find(OPERATION + ":" + KEY, clock.instant().minus(Duration.ofHours(2)))).isEmpty();
+    }
+
+    private Result<ApiMaatCalculateContributionResponse> execute(
+            String key, Object request, Supplier<ApiMaatCalculateContributionResponse> action) {
+        return idempotencyService.execute(OPERATION, key, request, ApiMaatCalculateContributionResponse.class, action);
+    }
+
+    private Result<ApiMaatCalculateContributionResponse> executeReactive(
+            String key, Supplier<Mono<ApiMaatCalculateContributionResponse>> action) {
+        return idempotencyService
+                .executeReactive(OPERATION, key, REQUEST, ApiMaatCalculateContributionResponse.class, action)
+                .block(Duration.ofSeconds(5));
+    }
+
+    private ApiMaatCalculateContributionResponse calculate() {
+        return new ApiMaatCalculateContributionResponse().withTotalMonths(calls.incrementAndGet());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry
+                .counter(IdempotencyService.IDEMPOTENCY_METRIC, "outcome", outcome)
+                .count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant instant;
+
+        private TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
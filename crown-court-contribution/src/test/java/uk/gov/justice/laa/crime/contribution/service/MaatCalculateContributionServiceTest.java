@@ -1,9 +1,9 @@
 package uk.gov.justice.laa.crime.contribution.service;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -18,6 +18,8 @@ import static uk.gov.justice.laa.crime.enums.contribution.AssessmentType.HARDSHI
 import static uk.gov.justice.laa.crime.enums.contribution.AssessmentType.INIT;
 import static uk.gov.justice.laa.crime.enums.contribution.AssessmentType.PASSPORT;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
 import uk.gov.justice.laa.crime.common.model.common.ApiCrownCourtOutcome;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiAssessment;
 import uk.gov.justice.laa.crime.common.model.contribution.ApiCalculateContributionRequest;
@@ -32,10 +34,12 @@ import uk.gov.justice.laa.crime.contribution.builder.ContributionSummaryMapper;
 import uk.gov.justice.laa.crime.contribution.builder.CreateContributionRequestMapper;
 import uk.gov.justice.laa.crime.contribution.builder.MaatCalculateContributionResponseMapper;
 import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.config.CalculationCoordinatorConfiguration;
 import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
 import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionSummariesPage;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionsSummaryDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
 import uk.gov.justice.laa.crime.contribution.model.Contribution;
@@ -45,6 +49,7 @@ import uk.gov.justice.laa.crime.enums.CaseType;
 import uk.gov.justice.laa.crime.enums.CrownCourtOutcome;
 import uk.gov.justice.laa.crime.enums.MagCourtOutcome;
 import uk.gov.justice.laa.crime.enums.NewWorkReason;
+import uk.gov.justice.laa.crime.exception.ValidationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -52,6 +57,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
@@ -61,7 +67,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 @ExtendWith(MockitoExtension.class)
 @ExtendWith(SoftAssertionsExtension.class)
@@ -106,6 +115,165 @@ class MaatCalculateContributionServiceTest {
     @Mock
     private MaatCalculateContributionResponseMapper maatCalculateContributionResponseMapper;
 
+    @Mock
+    private ContributionCalcParametersService contributionCalcParametersService;
+
+    @Spy
+    private CalculationStageRunner calculationStageRunner =
+            new CalculationStageRunner(Runnable::run, new SimpleMeterRegistry());
+
+    @Spy
+    private RepIdCalculationCoordinator calculationCoordinator = new RepIdCalculationCoordinator(
+            new CalculationCoordinatorConfiguration(),
+            Jackson2ObjectMapperBuilder.json().build(),
+            new SimpleMeterRegistry());
+
+    @Test
+    void givenDoContribsIsN_whenCalculateContributionIsInvoked_thenCalculationInputsAreNotRequested() {
+        CalculateContributionDTO calculateContributionDTO = CalculateContributionDTO.builder()
+                .repId(TestModelDataBuilder.REP_ID)
+                .caseType(CaseType.EITHER_WAY)
+                .crownCourtOutcomeList(List.of())
+                .assessments(List.of(new ApiAssessment()
+                        .withAssessmentType(INIT)
+                        .withResult(AssessmentResult.PASS)
+                        .withAssessmentDate(TestModelDataBuilder.TEST_DATE)))
+                .build();
+        RepOrderDTO repOrderDTO =
+                RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build();
+
+        when(maatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(repOrderDTO);
+        when(contributionService.checkContributionsCondition(any()))
+                .thenReturn(ContributionResponseDTO.builder().doContribs(Constants.N).build());
+
+        maatCalculateContributionService.calculateContribution(calculateContributionDTO);
+
+        softly.assertThat(calculateContributionDTO.getRepOrderDTO()).isEqualTo(repOrderDTO);
+        softly.assertThat(calculateContributionDTO.getContributionCalcParameters()).isNull();
+        softly.assertThat(calculateContributionDTO.getSolicitorCostsHardship()).isNull();
+        softly.assertThat(calculateContributionDTO.getRepOrderCCOutcomes()).isNull();
+        verifyNoInteractions(contributionCalcParametersService, crimeHardshipService);
+        verify(maatCourtDataService, never()).getRepOrderCCOutcomeByRepId(anyInt());
+    }
+
+    @Test
+    void givenCalcParametersLookupFails_whenCalculationIsRequired_thenFailureIsThrownWithoutAnotherCall() {
+        CalculateContributionDTO calculateContributionDTO = CalculateContributionDTO.builder()
+                .repId(TestModelDataBuilder.REP_ID)
+                .caseType(CaseType.INDICTABLE)
+                .assessments(List.of(new ApiAssessment()
+                        .withAssessmentType(INIT)
+                        .withResult(AssessmentResult.PASS)
+                        .withAssessmentDate(TestModelDataBuilder.TEST_DATE)))
+                .build();
+        WebClientResponseException serviceUnavailable =
+                WebClientResponseException.create(503, "Service Unavailable", null, null, null);
+
+        when(maatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build());
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
+                .thenThrow(serviceUnavailable);
+        when(contributionService.checkContributionsCondition(any()))
+                .thenReturn(ContributionResponseDTO.builder()
+                        .doContribs(Constants.Y)
+                        .calcContribs(Constants.Y)
+                        .build());
+
+        assertThatThrownBy(() -> maatCalculateContributionService.calculateContribution(calculateContributionDTO))
+                .isSameAs(serviceUnavailable);
+        verify(contributionCalcParametersService).getContributionCalcParameters(any());
+        verifyNoInteractions(calculateContributionService);
+    }
+
+    @Test
+    void givenHardshipLookupFails_whenCalculationIsRequired_thenFailureIsThrownWithoutAnotherCall() {
+        CalculateContributionDTO calculateContributionDTO = CalculateContributionDTO.builder()
+                .repId(TestModelDataBuilder.REP_ID)
+                .caseType(CaseType.INDICTABLE)
+                .crownCourtOutcomeList(List.of())
+                .assessments(List.of(new ApiAssessment()
+                        .withAssessmentType(INIT)
+                        .withResult(AssessmentResult.PASS)
+                        .withAssessmentDate(TestModelDataBuilder.TEST_DATE)))
+                .build();
+        IllegalStateException hardshipUnavailable = new IllegalStateException("Hardship unavailable");
+
+        when(maatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build());
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
+                .thenReturn(TestModelDataBuilder.getContributionCalcParametersDTO());
+        when(contributionRulesService.isContributionRuleApplicable(CaseType.INDICTABLE, null, null))
+                .thenReturn(true);
+        when(crimeHardshipService.calculateHardshipForDetail(any(ApiCalculateHardshipByDetailRequest.class)))
+                .thenThrow(hardshipUnavailable);
+        when(contributionService.checkContributionsCondition(any()))
+                .thenReturn(ContributionResponseDTO.builder()
+                        .doContribs(Constants.Y)
+                        .calcContribs(Constants.Y)
+                        .build());
+
+        assertThatThrownBy(() -> maatCalculateContributionService.calculateContribution(calculateContributionDTO))
+                .isSameAs(hardshipUnavailable);
+        verify(crimeHardshipService).calculateHardshipForDetail(any(ApiCalculateHardshipByDetailRequest.class));
+        verifyNoInteractions(calculateContributionService);
+    }
+
+    @Test
+    void givenApplicationStatusHasChanged_whenIsCCOutcomeCheckReachableIsInvoked_thenFalseIsReturned() {
+        CalculateContributionDTO calculateContributionDTO = TestModelDataBuilder.getCalculateContributionDTO();
+        RepOrderDTO repOrderDTO =
+                RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build();
+        when(contributionService.hasApplicationStatusChanged(any(), any(), any()))
+                .thenReturn(true);
+
+        assertThat(maatCalculateContributionService.isCCOutcomeCheckReachable(calculateContributionDTO, repOrderDTO))
+                .isFalse();
+    }
+
+    @Test
+    void givenApplicationStatusIsUnchanged_whenIsCCOutcomeCheckReachableIsInvoked_thenTrueIsReturned() {
+        CalculateContributionDTO calculateContributionDTO = TestModelDataBuilder.getCalculateContributionDTO();
+        RepOrderDTO repOrderDTO =
+                RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build();
+
+        assertThat(maatCalculateContributionService.isCCOutcomeCheckReachable(calculateContributionDTO, repOrderDTO))
+                .isTrue();
+    }
+
+    @Test
+    void givenRepOrderLookupFails_whenCalculateContributionIsInvoked_thenExceptionIsThrown() {
+        CalculateContributionDTO calculateContributionDTO = CalculateContributionDTO.builder()
+                .repId(TestModelDataBuilder.REP_ID)
+                .caseType(CaseType.APPEAL_CC)
+                .build();
+        when(maatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenThrow(new IllegalStateException("MAAT unavailable"));
+
+        assertThatThrownBy(() -> maatCalculateContributionService.calculateContribution(calculateContributionDTO))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("MAAT unavailable");
+    }
+
+    @Test
+    void givenFetchedCalcParameters_whenCalcContributionsIsInvoked_thenParametersAreNotRequestedAgain() {
+        CalculateContributionDTO calculateContributionDTO = TestModelDataBuilder.getContributionDTOForCalcContribs();
+        calculateContributionDTO.setContributionCalcParameters(
+                ContributionCalcParametersDTO.builder().totalMonths(6).build());
+        ContributionResponseDTO contributionResponseDTO =
+                ContributionResponseDTO.builder().calcContribs(Constants.Y).build();
+        when(calculateContributionRequestMapper.map(any(), any(), any(), any()))
+                .thenReturn(mock(ApiCalculateContributionRequest.class));
+        when(calculateContributionService.calculateContribution(any()))
+                .thenReturn(TestModelDataBuilder.getCalculateContributionResponse());
+
+        ContributionResult result = maatCalculateContributionService.calculateContributions(
+                calculateContributionDTO, contributionResponseDTO);
+
+        assertThat(result.totalMonths()).isEqualTo(6);
+        verifyNoInteractions(contributionCalcParametersService);
+    }
+
     @Test
     void givenAValidCaseType_whenCalculateContributionIsInvoked_thenShouldNotCalledCalculateContribution() {
         when(maatCourtDataService.getRepOrderByRepId(anyInt())).thenReturn(TestModelDataBuilder.getRepOrderDTO());
@@ -513,7 +681,7 @@ class MaatCalculateContributionServiceTest {
 
     private CalculateContributionDTO setupDataForCalculateContributionsTests() {
         CalculateContributionDTO calculateContributionDTO = TestModelDataBuilder.getContributionDTOForCalcContribs();
-        when(maatCourtDataService.getContributionCalcParameters(anyString()))
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
                 .thenReturn(new ContributionCalcParametersDTO());
         when(contributionRulesService.getActiveCCOutcome(any())).thenReturn(CrownCourtOutcome.SUCCESSFUL);
         return calculateContributionDTO;
@@ -608,7 +776,7 @@ class MaatCalculateContributionServiceTest {
 
         when(contributionRulesService.getActiveCCOutcome(any())).thenReturn(CrownCourtOutcome.SUCCESSFUL);
 
-        when(maatCourtDataService.getContributionCalcParameters(anyString()))
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
                 .thenReturn(ContributionCalcParametersDTO.builder()
                         .upliftedIncomePercent(BigDecimal.TEN)
                         .minUpliftedMonthlyAmount(BigDecimal.ONE)
@@ -663,7 +831,7 @@ class MaatCalculateContributionServiceTest {
 
         when(contributionRulesService.getActiveCCOutcome(any())).thenReturn(CrownCourtOutcome.SUCCESSFUL);
 
-        when(maatCourtDataService.getContributionCalcParameters(anyString()))
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
                 .thenReturn(ContributionCalcParametersDTO.builder()
                         .upliftedIncomePercent(BigDecimal.TEN)
                         .minUpliftedMonthlyAmount(BigDecimal.ONE)
@@ -725,7 +893,7 @@ class MaatCalculateContributionServiceTest {
 
         when(contributionRulesService.getActiveCCOutcome(any())).thenReturn(CrownCourtOutcome.SUCCESSFUL);
 
-        when(maatCourtDataService.getContributionCalcParameters(anyString()))
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
                 .thenReturn(ContributionCalcParametersDTO.builder()
                         .upliftedIncomePercent(BigDecimal.TEN)
                         .minUpliftedMonthlyAmount(BigDecimal.ONE)
@@ -1020,6 +1188,78 @@ class MaatCalculateContributionServiceTest {
         assertThat(response).isEqualTo(List.of());
     }
 
+    @Test
+    void givenMoreSummariesThanPageSize_whenGetContributionSummariesPageIsInvoked_thenNextCursorIsReturned() {
+        when(maatCourtDataService.streamContributionsSummary(TestModelDataBuilder.REP_ID))
+                .thenReturn(summaryDTOs(1, 2, 3, 4, 5));
+        when(contributionSummaryMapper.map(any()))
+                .thenAnswer(invocation -> new ApiContributionSummary()
+                        .withId(invocation.<ContributionsSummaryDTO>getArgument(0).getId()));
+
+        ContributionSummariesPage page =
+                maatCalculateContributionService.getContributionSummariesPage(TestModelDataBuilder.REP_ID, null, 2);
+
+        softly.assertThat(page.getSummaries()).extracting(ApiContributionSummary::getId).containsExactly(1, 2);
+        softly.assertThat(page.getNextCursor()).isEqualTo(2);
+    }
+
+    @Test
+    void givenCursorOnLastPage_whenGetContributionSummariesPageIsInvoked_thenNoNextCursorIsReturned() {
+        when(maatCourtDataService.streamContributionsSummary(TestModelDataBuilder.REP_ID))
+                .thenReturn(summaryDTOs(1, 2, 3, 4, 5));
+        when(contributionSummaryMapper.map(any()))
+                .thenAnswer(invocation -> new ApiContributionSummary()
+                        .withId(invocation.<ContributionsSummaryDTO>getArgument(0).getId()));
+
+        ContributionSummariesPage page =
+                maatCalculateContributionService.getContributionSummariesPage(TestModelDataBuilder.REP_ID, 3, 2);
+
+        softly.assertThat(page.getSummaries()).extracting(ApiContributionSummary::getId).containsExactly(4, 5);
+        softly.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void givenCursorIsLastSummary_whenGetContributionSummariesPageIsInvoked_thenEmptyPageIsReturned() {
+        when(maatCourtDataService.streamContributionsSummary(TestModelDataBuilder.REP_ID))
+                .thenReturn(summaryDTOs(1, 2, 3));
+        when(contributionSummaryMapper.map(any()))
+                .thenAnswer(invocation -> new ApiContributionSummary()
+                        .withId(invocation.<ContributionsSummaryDTO>getArgument(0).getId()));
+
+        ContributionSummariesPage page =
+                maatCalculateContributionService.getContributionSummariesPage(TestModelDataBuilder.REP_ID, 3, 2);
+
+        softly.assertThat(page.getSummaries()).isEmpty();
+        softly.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void givenUnknownCursor_whenGetContributionSummariesPageIsInvoked_thenValidationExceptionIsThrown() {
+        when(maatCourtDataService.streamContributionsSummary(TestModelDataBuilder.REP_ID))
+                .thenReturn(summaryDTOs(1, 2, 3));
+        when(contributionSummaryMapper.map(any()))
+                .thenAnswer(invocation -> new ApiContributionSummary()
+                        .withId(invocation.<ContributionsSummaryDTO>getArgument(0).getId()));
+
+        assertThatThrownBy(() -> maatCalculateContributionService.getContributionSummariesPage(
+                        TestModelDataBuilder.REP_ID, 10, 2))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Cursor 10 does not match a contribution summary");
+    }
+
+    @Test
+    void givenPageSizeOutOfRange_whenGetContributionSummariesPageIsInvoked_thenValidationExceptionIsThrown() {
+        when(maatCourtDataService.streamContributionsSummary(TestModelDataBuilder.REP_ID)).thenReturn(Flux.empty());
+
+        assertThatThrownBy(() -> maatCalculateContributionService.getContributionSummariesPage(
+                        TestModelDataBuilder.REP_ID, null, 0))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private static Flux<ContributionsSummaryDTO> summaryDTOs(Integer... ids) {
+        return Flux.fromArray(ids).map(id -> ContributionsSummaryDTO.builder().id(id).build());
+    }
+
     @Test
     void givenCalcContribsIsY_whenPerformContributionsInvoked_thenCalculatesContributions() {
         CalculateContributionDTO calculateContributionDTO = TestModelDataBuilder.getCalculateContributionDTO();
@@ -1031,7 +1271,7 @@ class MaatCalculateContributionServiceTest {
         when(calculateContributionService.calculateContribution(any()))
                 .thenReturn(new ApiCalculateContributionResponse().withMonthlyContributions(BigDecimal.TEN));
 
-        when(maatCourtDataService.getContributionCalcParameters(anyString()))
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
                 .thenReturn(
                         ContributionCalcParametersDTO.builder().totalMonths(2).build());
 
@@ -1055,7 +1295,7 @@ class MaatCalculateContributionServiceTest {
         when(calculateContributionService.calculateContribution(any()))
                 .thenReturn(new ApiCalculateContributionResponse().withMonthlyContributions(BigDecimal.TEN));
 
-        when(maatCourtDataService.getContributionCalcParameters(anyString()))
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
                 .thenReturn(
                         ContributionCalcParametersDTO.builder().totalMonths(2).build());
 
@@ -1079,7 +1319,7 @@ class MaatCalculateContributionServiceTest {
         when(calculateContributionService.calculateContribution(any()))
                 .thenReturn(new ApiCalculateContributionResponse().withMonthlyContributions(BigDecimal.TEN));
 
-        when(maatCourtDataService.getContributionCalcParameters(anyString()))
+        when(contributionCalcParametersService.getContributionCalcParameters(any()))
                 .thenReturn(
                         ContributionCalcParametersDTO.builder().totalMonths(2).build());
 
@@ -1133,8 +1373,8 @@ class MaatCalculateContributionServiceTest {
         CalculateContributionDTO calculateContributionDTO = CalculateContributionDTO.builder()
                 .contributionId(TestModelDataBuilder.CONTRIBUTION_ID)
                 .build();
-        when(maatCourtDataService.findContribution(any(), any()))
-                .thenReturn(List.of(Contribution.builder()
+        when(maatCourtDataService.findFirstContribution(any(), any(), any()))
+                .thenReturn(Optional.of(Contribution.builder()
                         .id(TestModelDataBuilder.CONTRIBUTION_ID)
                         .build()));
         Contribution contribution = maatCalculateContributionService.getCurrentContribution(calculateContributionDTO);
@@ -1216,4 +1456,31 @@ class MaatCalculateContributionServiceTest {
         assertThat(MaatCalculateContributionService.getCrownCourtOutcome(calculateContributionDTO))
                 .isEqualTo(CrownCourtOutcome.ABANDONED.getCode());
     }
+
+    @Test
+    void givenCalcContribsNo_whenGetTotalMonthsIsInvoked_thenZeroIsReturned() {
+        ContributionCalcParametersDTO parameters =
+                ContributionCalcParametersDTO.builder().totalMonths(6).build();
+        ContributionResponseDTO contributionResponseDTO = new ContributionResponseDTO();
+
+        contributionResponseDTO.setCalcContribs(Constants.N);
+        softly.assertThat(MaatCalculateContributionService.getTotalMonths(contributionResponseDTO, parameters))
+                .isZero();
+        contributionResponseDTO.setCalcContribs(Constants.Y);
+        softly.assertThat(MaatCalculateContributionService.getTotalMonths(contributionResponseDTO, parameters))
+                .isEqualTo(6);
+    }
+
+    @Test
+    void givenUpliftApplied_whenGetUpfrontContributionsIsInvoked_thenCurrentUpfrontContributionsAreKept() {
+        ApiCalculateContributionResponse response = new ApiCalculateContributionResponse()
+                .withUpfrontContributions(BigDecimal.TEN)
+                .withUpliftApplied(Constants.Y);
+
+        softly.assertThat(MaatCalculateContributionService.getUpfrontContributions(response, BigDecimal.ONE))
+                .isEqualTo(BigDecimal.ONE);
+        response.setUpliftApplied(Constants.N);
+        softly.assertThat(MaatCalculateContributionService.getUpfrontContributions(response, BigDecimal.ONE))
+                .isEqualTo(BigDecimal.TEN);
+    }
 }
@@ -1,23 +1,35 @@
 package uk.gov.justice.laa.crime.contribution.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
 import uk.gov.justice.laa.crime.common.model.contribution.maat_api.CreateContributionRequest;
 import uk.gov.justice.laa.crime.contribution.client.MaatCourtDataApiClient;
+import uk.gov.justice.laa.crime.contribution.client.ReactiveMaatCourtDataApiClient;
 import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
 import uk.gov.justice.laa.crime.contribution.dto.ContributionsSummaryDTO;
 import uk.gov.justice.laa.crime.contribution.dto.RepOrderCCOutcomeDTO;
 import uk.gov.justice.laa.crime.contribution.model.Contribution;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @ExtendWith(MockitoExtension.class)
 class MaatCourtDataServiceTest {
@@ -27,9 +39,52 @@ class MaatCourtDataServiceTest {
     @Mock
     private MaatCourtDataApiClient maatCourtDataClient;
 
+    @Mock
+    private ReactiveMaatCourtDataApiClient maatStreamingClient;
+
+    @Spy
+    private RequestScopedMemo requestScopedMemo = new RequestScopedMemo(new SimpleMeterRegistry());
+
     @InjectMocks
     private MaatCourtDataService maatCourtDataService;
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void givenRepeatedLookupInOneRequest_whenFindContributionIsInvoked_thenApiIsCalledOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(maatCourtDataClient.find(TEST_REP_ID, false)).thenReturn(List.of(TestModelDataBuilder.getContribution()));
+
+        List<Contribution> first = maatCourtDataService.findContribution(TEST_REP_ID, false);
+        List<Contribution> second = maatCourtDataService.findContribution(TEST_REP_ID, false);
+
+        assertThat(second).isSameAs(first);
+        verify(maatCourtDataClient, times(1)).find(TEST_REP_ID, false);
+    }
+
+    @Test
+    void givenContributionCreatedInRequest_whenFindContributionIsInvoked_thenApiIsCalledAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        CreateContributionRequest createContributionRequest = new CreateContributionRequest();
+
+        maatCourtDataService.findContribution(TEST_REP_ID, false);
+        maatCourtDataService.createContribution(createContributionRequest);
+        maatCourtDataService.findContribution(TEST_REP_ID, false);
+
+        verify(maatCourtDataClient, times(2)).find(TEST_REP_ID, false);
+    }
+
+    @Test
+    void givenRepeatedLookupOutsideRequest_whenGetRepOrderByRepIdIsInvoked_thenApiIsCalledEachTime() {
+        maatCourtDataService.getRepOrderByRepId(TEST_REP_ID);
+        maatCourtDataService.getRepOrderByRepId(TEST_REP_ID);
+
+        verify(maatCourtDataClient, times(2)).getRepOrderByRepId(TEST_REP_ID);
+    }
+
     @Test
     void givenValidRepId_whenFindContributionIsInvoked_thenResponseIsReturned() {
         maatCourtDataService.findContribution(TEST_REP_ID, true);
@@ -88,4 +143,52 @@ class MaatCourtDataServiceTest {
         maatCourtDataService.getContributionCalcParameters(effectiveDate);
         verify(maatCourtDataClient).getContributionCalcParameters(effectiveDate);
     }
+
+    @Test
+    void givenMatchingContribution_whenFindFirstContributionIsInvoked_thenRemainingContributionsAreNotRead() {
+        List<Integer> emitted = new ArrayList<>();
+        when(maatStreamingClient.streamContributions(TEST_REP_ID, false))
+                .thenReturn(Flux.range(1, 100)
+                        .map(id -> Contribution.builder().id(id).build())
+                        .doOnNext(contribution -> emitted.add(contribution.getId())));
+
+        Optional<Contribution> result = maatCourtDataService.findFirstContribution(
+                TEST_REP_ID, false, contribution -> contribution.getId() == 3);
+
+        assertThat(result).map(Contribution::getId).contains(3);
+        assertThat(emitted).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void givenContributionsFetchedInRequest_whenFindFirstContributionIsInvoked_thenFetchedListIsUsed() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(maatCourtDataClient.find(TEST_REP_ID, false))
+                .thenReturn(List.of(Contribution.builder().id(7).build()));
+        maatCourtDataService.findContribution(TEST_REP_ID, false);
+
+        Optional<Contribution> result =
+                maatCourtDataService.findFirstContribution(TEST_REP_ID, false, contribution -> true);
+
+        assertThat(result).map(Contribution::getId).contains(7);
+        verify(maatStreamingClient, never()).streamContributions(TEST_REP_ID, false);
+    }
+
+    @Test
+    void givenNoOutcomes_whenGetEarliestRepOrderCCOutcomeIsInvoked_thenEmptyIsReturned() {
+        when(maatStreamingClient.streamRepOrderCCOutcomes(TEST_REP_ID)).thenReturn(Flux.empty());
+        assertThat(maatCourtDataService.getEarliestRepOrderCCOutcome(TEST_REP_ID)).isEmpty();
+    }
+
+    @Test
+    void givenOutcomes_whenGetEarliestRepOrderCCOutcomeIsInvoked_thenLowestIdIsReturned() {
+        when(maatStreamingClient.streamRepOrderCCOutcomes(TEST_REP_ID))
+                .thenReturn(Flux.just(
+                        TestModelDataBuilder.getRepOrderCCOutcomeDTO(12346, null),
+                        TestModelDataBuilder.getRepOrderCCOutcomeDTO(12345, null),
+                        TestModelDataBuilder.getRepOrderCCOutcomeDTO(12347, null)));
+
+        Optional<RepOrderCCOutcomeDTO> result = maatCourtDataService.getEarliestRepOrderCCOutcome(TEST_REP_ID);
+
+        assertThat(result).map(RepOrderCCOutcomeDTO::getId).contains(12345);
+    }
 }
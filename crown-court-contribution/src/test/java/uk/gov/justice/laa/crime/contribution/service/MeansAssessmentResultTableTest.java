@@ -0,0 +1,110 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static java.util.Optional.ofNullable;
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.justice.laa.crime.contribution.common.Constants.FAIL;
+import static uk.gov.justice.laa.crime.contribution.common.Constants.PASS;
+
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.staticdata.enums.MeansAssessmentResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+class MeansAssessmentResultTableTest {
+
+    // every value the rules test for, plus blank, lower case and unknown values
+    private static final List<String> RESULTS = Arrays.asList(
+            null,
+            "",
+            " ",
+            Constants.PASS,
+            Constants.FAIL,
+            Constants.TEMP,
+            Constants.FULL,
+            Constants.HARDSHIP_APPLICATION,
+            Constants.INEL,
+            Constants.PASSPORT,
+            "pass",
+            "UNKNOWN");
+
+    @Test
+    void givenEveryCombinationOfResults_whenLookupIsInvoked_thenResultMatchesNestedRules() {
+        List<String> mismatches = new ArrayList<>();
+        int combinations = 0;
+        for (String passportResult : RESULTS) {
+            for (String initResult : RESULTS) {
+                for (String fullResult : RESULTS) {
+                    for (String hardshipResult : RESULTS) {
+                        combinations++;
+                        MeansAssessmentResult expected =
+                                nestedRules(passportResult, initResult, fullResult, hardshipResult);
+                        MeansAssessmentResult actual = MeansAssessmentResultTable.lookup(
+                                passportResult, initResult, fullResult, hardshipResult);
+                        if (expected != actual) {
+                            mismatches.add("(%s, %s, %s, %s): expected %s but was %s"
+                                    .formatted(
+                                            passportResult,
+                                            initResult,
+                                            fullResult,
+                                            hardshipResult,
+                                            expected,
+                                            actual));
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(mismatches).isEmpty();
+        assertThat(combinations).isEqualTo(RESULTS.size() * RESULTS.size() * RESULTS.size() * RESULTS.size());
+    }
+
+    /**
+     * The rules as {@code ContributionService#getMeansAssessmentResult} had them before the decision table. An
+     * unrecognised passport result with no init result threw a {@link NullPointerException} from
+     * {@code Set.contains}; the table gives {@code null} for it, as for the other combinations no rule covers.
+     */
+    private static MeansAssessmentResult nestedRules(
+            String passportResult, String initResult, String fullResult, String hardshipResult) {
+        if (StringUtils.isNotBlank(passportResult)) {
+            if (Set.of(PASS, Constants.TEMP).contains(passportResult)) {
+                return MeansAssessmentResult.PASSPORT;
+            } else if (FAIL.equals(passportResult)) {
+                return MeansAssessmentResult.FAILPORT;
+            } else if (PASS.equals(initResult) || PASS.equals(fullResult) || PASS.equals(hardshipResult)) {
+                return MeansAssessmentResult.PASS;
+            } else if (initResult != null
+                    && Set.of(FAIL, Constants.FULL, Constants.HARDSHIP_APPLICATION)
+                            .contains(initResult)
+                    && (FAIL.equals(fullResult))
+                    && (FAIL.equals(ofNullable(hardshipResult).orElse(FAIL)))) {
+                return MeansAssessmentResult.FAIL;
+            }
+            return null;
+        }
+
+        if (StringUtils.isBlank(fullResult)) {
+            if (StringUtils.isBlank(initResult)) {
+                return MeansAssessmentResult.NONE;
+            }
+            return switch (initResult) {
+                case Constants.PASS -> MeansAssessmentResult.INIT_PASS;
+                case Constants.FAIL -> MeansAssessmentResult.INIT_FAIL;
+                default -> null;
+            };
+        }
+
+        return switch (fullResult) {
+            case Constants.PASS -> MeansAssessmentResult.PASS;
+            case Constants.FAIL -> MeansAssessmentResult.FAIL;
+            case Constants.INEL -> MeansAssessmentResult.INEL;
+            default -> null;
+        };
+    }
+}
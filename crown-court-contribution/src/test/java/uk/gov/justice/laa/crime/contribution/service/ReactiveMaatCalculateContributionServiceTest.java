@@ -0,0 +1,302 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.laa.crime.enums.contribution.AssessmentType.INIT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.justice.laa.crime.common.model.common.ApiAssessment;
+import uk.gov.justice.laa.crime.common.model.contribution.ApiMaatCalculateContributionResponse;
+import uk.gov.justice.laa.crime.common.model.contribution.common.ApiContributionSummary;
+import uk.gov.justice.laa.crime.common.model.contribution.maat_api.CreateContributionRequest;
+import uk.gov.justice.laa.crime.contribution.builder.ContributionSummaryMapper;
+import uk.gov.justice.laa.crime.contribution.builder.CreateContributionRequestMapper;
+import uk.gov.justice.laa.crime.contribution.builder.MaatCalculateContributionResponseMapper;
+import uk.gov.justice.laa.crime.contribution.common.Constants;
+import uk.gov.justice.laa.crime.contribution.config.CalculationCoordinatorConfiguration;
+import uk.gov.justice.laa.crime.contribution.data.builder.TestModelDataBuilder;
+import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionCalcParametersDTO;
+import uk.gov.justice.laa.crime.contribution.dto.ContributionResponseDTO;
+import uk.gov.justice.laa.crime.contribution.dto.RepOrderDTO;
+import uk.gov.justice.laa.crime.contribution.model.Contribution;
+import uk.gov.justice.laa.crime.contribution.model.ContributionResult;
+import uk.gov.justice.laa.crime.enums.AssessmentResult;
+import uk.gov.justice.laa.crime.enums.CaseType;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveMaatCalculateContributionServiceTest {
+
+    @Mock
+    private ReactiveMaatCourtDataService reactiveMaatCourtDataService;
+
+    @Mock
+    private ReactiveCrimeHardshipService reactiveCrimeHardshipService;
+
+    @Mock
+    private MaatCalculateContributionService maatCalculateContributionService;
+
+    @Mock
+    private AppealContributionService appealContributionService;
+
+    @Mock
+    private CompareContributionService compareContributionService;
+
+    @Mock
+    private ContributionRulesService contributionRulesService;
+
+    @Mock
+    private ContributionService contributionService;
+
+    @Mock
+    private ContributionCalcParametersService contributionCalcParametersService;
+
+    @Mock
+    private ContributionSummaryMapper contributionSummaryMapper;
+
+    @Mock
+    private CreateContributionRequestMapper createContributionRequestMapper;
+
+    @Mock
+    private MaatCalculateContributionResponseMapper maatCalculateContributionResponseMapper;
+
+    @Spy
+    private CalculationStageRunner calculationStageRunner =
+            new CalculationStageRunner(Runnable::run, new SimpleMeterRegistry());
+
+    @Spy
+    private RepIdCalculationCoordinator calculationCoordinator = new RepIdCalculationCoordinator(
+            new CalculationCoordinatorConfiguration(),
+            Jackson2ObjectMapperBuilder.json().build(),
+            new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ReactiveMaatCalculateContributionService reactiveMaatCalculateContributionService;
+
+    private static CalculateContributionDTO getCalculateContributionDTO() {
+        return CalculateContributionDTO.builder()
+                .repId(TestModelDataBuilder.REP_ID)
+                .caseType(CaseType.EITHER_WAY)
+                .monthlyContributions(BigDecimal.ONE)
+                .assessments(List.of(new ApiAssessment()
+                        .withAssessmentType(INIT)
+                        .withResult(AssessmentResult.PASS)
+                        .withAssessmentDate(TestModelDataBuilder.TEST_DATE)))
+                .build();
+    }
+
+    @Test
+    void givenDoContribsIsN_whenCalculateContributionIsInvoked_thenEmptyResponseIsReturned() {
+        CalculateContributionDTO calculateContributionDTO = getCalculateContributionDTO();
+        RepOrderDTO repOrderDTO =
+                RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build();
+
+        when(reactiveMaatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(Mono.just(repOrderDTO));
+        when(maatCalculateContributionService.checkContributionsCondition(any()))
+                .thenReturn(ContributionResponseDTO.builder().doContribs(Constants.N).build());
+
+        ApiMaatCalculateContributionResponse response = reactiveMaatCalculateContributionService
+                .calculateContribution(calculateContributionDTO)
+                .block();
+
+        assertThat(response).isEqualTo(new ApiMaatCalculateContributionResponse());
+        assertThat(calculateContributionDTO.getRepOrderDTO()).isEqualTo(repOrderDTO);
+        assertThat(calculateContributionDTO.getContributionCalcParameters()).isNull();
+        assertThat(calculateContributionDTO.getRepOrderCCOutcomes()).isNull();
+        verifyNoInteractions(contributionCalcParametersService, reactiveCrimeHardshipService);
+        verify(reactiveMaatCourtDataService, never()).getRepOrderCCOutcomeByRepId(any());
+        verify(maatCalculateContributionService, never()).calculateContributions(any(), any());
+    }
+
+    @Test
+    void givenCalculationIsRequired_whenCalculateContributionIsInvoked_thenCalcParametersAreFetchedOnce() {
+        CalculateContributionDTO calculateContributionDTO = getCalculateContributionDTO();
+        RepOrderDTO repOrderDTO =
+                RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build();
+        ContributionCalcParametersDTO contributionCalcParametersDTO =
+                TestModelDataBuilder.getContributionCalcParametersDTO();
+        ContributionResponseDTO contributionResponseDTO = ContributionResponseDTO.builder()
+                .doContribs(Constants.Y)
+                .calcContribs(Constants.Y)
+                .build();
+        ContributionResult contributionResult = ContributionResult.builder()
+                .monthlyAmount(BigDecimal.TEN)
+                .build();
+        CreateContributionRequest createContributionRequest = new CreateContributionRequest();
+        Contribution createdContribution = TestModelDataBuilder.buildContribution();
+        ApiMaatCalculateContributionResponse expectedResponse = new ApiMaatCalculateContributionResponse();
+
+        when(reactiveMaatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(Mono.just(repOrderDTO));
+        when(maatCalculateContributionService.isCCOutcomeCheckReachable(calculateContributionDTO, repOrderDTO))
+                .thenReturn(true);
+        when(reactiveMaatCourtDataService.getRepOrderCCOutcomeByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(Mono.just(List.of()));
+        when(contributionCalcParametersService.getContributionCalcParameters(any(), any()))
+                .thenReturn(Mono.just(contributionCalcParametersDTO));
+        when(maatCalculateContributionService.checkContributionsCondition(any()))
+                .thenReturn(contributionResponseDTO);
+        when(maatCalculateContributionService.calculateContributions(calculateContributionDTO, contributionResponseDTO))
+                .thenReturn(contributionResult);
+        when(reactiveMaatCourtDataService.streamContributions(TestModelDataBuilder.REP_ID, false))
+                .thenReturn(Flux.empty());
+        when(compareContributionService.shouldCreateContribution(
+                        calculateContributionDTO, contributionResult, List.of()))
+                .thenReturn(true);
+        when(createContributionRequestMapper.map(calculateContributionDTO, contributionResult))
+                .thenReturn(createContributionRequest);
+        when(reactiveMaatCourtDataService.createContribution(createContributionRequest))
+                .thenReturn(Mono.just(createdContribution));
+        when(maatCalculateContributionResponseMapper.map(
+                        contributionResult, createdContribution, contributionResponseDTO))
+                .thenReturn(expectedResponse);
+
+        ApiMaatCalculateContributionResponse response = reactiveMaatCalculateContributionService
+                .calculateContribution(calculateContributionDTO)
+                .block();
+
+        assertThat(response).isSameAs(expectedResponse);
+        assertThat(calculateContributionDTO.getContributionCalcParameters()).isEqualTo(contributionCalcParametersDTO);
+        // the new monthly amount already calls for a contribution, so the CC outcomes are not needed
+        assertThat(calculateContributionDTO.getRepOrderCCOutcomes()).isNull();
+        verify(contributionCalcParametersService).getContributionCalcParameters(any(), any());
+    }
+
+    @Test
+    void givenCalcParametersLookupFails_whenCalculationIsRequired_thenFailureIsReturnedWithoutAnotherCall() {
+        CalculateContributionDTO calculateContributionDTO = getCalculateContributionDTO();
+        WebClientResponseException serviceUnavailable =
+                WebClientResponseException.create(503, "Service Unavailable", null, null, null);
+
+        when(reactiveMaatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(Mono.just(
+                        RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build()));
+        when(contributionCalcParametersService.getContributionCalcParameters(any(), any()))
+                .thenReturn(Mono.error(serviceUnavailable));
+        when(maatCalculateContributionService.checkContributionsCondition(any()))
+                .thenReturn(ContributionResponseDTO.builder()
+                        .doContribs(Constants.Y)
+                        .calcContribs(Constants.Y)
+                        .build());
+
+        Mono<ApiMaatCalculateContributionResponse> response =
+                reactiveMaatCalculateContributionService.calculateContribution(calculateContributionDTO);
+
+        assertThatThrownBy(response::block).isSameAs(serviceUnavailable);
+        verify(contributionCalcParametersService).getContributionCalcParameters(any(), any());
+        verify(maatCalculateContributionService, never()).calculateContributions(any(), any());
+    }
+
+    @Test
+    void givenEmptyCalcParameters_whenCalculationIsRequired_thenExceptionIsThrown() {
+        CalculateContributionDTO calculateContributionDTO = getCalculateContributionDTO();
+
+        when(reactiveMaatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(Mono.just(
+                        RepOrderDTO.builder().id(TestModelDataBuilder.REP_ID).build()));
+        when(contributionCalcParametersService.getContributionCalcParameters(any(), any()))
+                .thenReturn(Mono.empty());
+        when(maatCalculateContributionService.checkContributionsCondition(any()))
+                .thenReturn(ContributionResponseDTO.builder()
+                        .doContribs(Constants.Y)
+                        .calcContribs(Constants.Y)
+                        .build());
+
+        Mono<ApiMaatCalculateContributionResponse> response =
+                reactiveMaatCalculateContributionService.calculateContribution(calculateContributionDTO);
+
+        assertThatThrownBy(response::block)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("No contribution calc parameters returned for repId: " + TestModelDataBuilder.REP_ID);
+        verify(maatCalculateContributionService, never()).calculateContributions(any(), any());
+    }
+
+    @Test
+    void givenAppealContributionAmountChange_whenCalculateContributionIsInvoked_thenContributionIsCreated() {
+        CalculateContributionDTO calculateContributionDTO =
+                TestModelDataBuilder.getContributionDTOForCompareContributionService(
+                        CaseType.APPEAL_CC.getCaseTypeString(), null, null, null, null, null);
+        calculateContributionDTO.setCaseType(CaseType.APPEAL_CC);
+        calculateContributionDTO.setCrownCourtOutcomeList(TestModelDataBuilder.getApiCrownCourtSummaryAppeal());
+        Contribution currentContribution =
+                Contribution.builder().upfrontContributions(BigDecimal.valueOf(250)).build();
+        CreateContributionRequest createContributionRequest = new CreateContributionRequest();
+        Contribution createdContribution = TestModelDataBuilder.buildContribution();
+        ApiMaatCalculateContributionResponse expectedResponse = new ApiMaatCalculateContributionResponse();
+
+        when(reactiveMaatCourtDataService.getRepOrderByRepId(calculateContributionDTO.getRepId()))
+                .thenReturn(Mono.just(RepOrderDTO.builder()
+                        .id(calculateContributionDTO.getRepId())
+                        .build()));
+        when(reactiveMaatCourtDataService.findContribution(calculateContributionDTO.getRepId(), true))
+                .thenReturn(Mono.just(List.of(currentContribution)));
+        when(appealContributionService.getAppealContributionAmount(eq(calculateContributionDTO), any()))
+                .thenReturn(BigDecimal.valueOf(500));
+        when(createContributionRequestMapper.map(calculateContributionDTO, BigDecimal.valueOf(500)))
+                .thenReturn(createContributionRequest);
+        when(reactiveMaatCourtDataService.createContribution(createContributionRequest))
+                .thenReturn(Mono.just(createdContribution));
+        when(maatCalculateContributionResponseMapper.map(createdContribution)).thenReturn(expectedResponse);
+
+        ApiMaatCalculateContributionResponse response = reactiveMaatCalculateContributionService
+                .calculateContribution(calculateContributionDTO)
+                .block();
+
+        assertThat(response).isSameAs(expectedResponse);
+        verify(reactiveMaatCourtDataService, times(1)).findContribution(calculateContributionDTO.getRepId(), true);
+        verifyNoInteractions(contributionCalcParametersService, reactiveCrimeHardshipService);
+    }
+
+    @Test
+    void givenRepOrderLookupFails_whenCalculateContributionIsInvoked_thenExceptionIsThrown() {
+        CalculateContributionDTO calculateContributionDTO = CalculateContributionDTO.builder()
+                .repId(TestModelDataBuilder.REP_ID)
+                .caseType(CaseType.APPEAL_CC)
+                .build();
+        when(reactiveMaatCourtDataService.getRepOrderByRepId(TestModelDataBuilder.REP_ID))
+                .thenReturn(Mono.error(new IllegalStateException("MAAT unavailable")));
+
+        Mono<ApiMaatCalculateContributionResponse> response =
+                reactiveMaatCalculateContributionService.calculateContribution(calculateContributionDTO);
+
+        assertThatThrownBy(response::block)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("MAAT unavailable");
+    }
+
+    @Test
+    void givenAValidRepId_whenGetContributionSummariesIsInvoked_thenContributionSummaryListIsReturned() {
+        ApiContributionSummary contributionSummary = new ApiContributionSummary();
+        when(reactiveMaatCourtDataService.getContributionsSummary(TestModelDataBuilder.REP_ID))
+                .thenReturn(Mono.just(List.of(TestModelDataBuilder.getContributionSummaryDTO())));
+        when(contributionSummaryMapper.map(any())).thenReturn(contributionSummary);
+
+        List<ApiContributionSummary> response = reactiveMaatCalculateContributionService
+                .getContributionSummaries(TestModelDataBuilder.REP_ID)
+                .block();
+
+        assertThat(response).isEqualTo(List.of(contributionSummary));
+    }
+}
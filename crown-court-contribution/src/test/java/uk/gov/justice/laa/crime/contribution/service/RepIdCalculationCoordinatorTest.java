@@ -0,0 +1,241 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import uk.gov.justice.laa.crime.contribution.config.CalculationCoordinatorConfiguration;
+import uk.gov.justice.laa.crime.contribution.dto.CalculateContributionDTO;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class RepIdCalculationCoordinatorTest {
+
+    private static final int REP_ID = 1234;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepIdCalculationCoordinator coordinator;
+    private AtomicInteger calls;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        CalculationCoordinatorConfiguration configuration = new CalculationCoordinatorConfiguration();
+        configuration.setStripes(16);
+        meterRegistry = new SimpleMeterRegistry();
+        coordinator = new RepIdCalculationCoordinator(
+                configuration, Jackson2ObjectMapperBuilder.json().build(), meterRegistry);
+        calls = new AtomicInteger();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenIdenticalCalculationInFlight_whenCoordinateIsInvoked_thenResultIsShared() throws Exception {
+        CompletableFuture<Integer> first = submit(dto(REP_ID, BigDecimal.TEN), this::blockingCalculation);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> duplicate = submit(dto(REP_ID, BigDecimal.TEN), calls::incrementAndGet);
+        awaitCount("coalesced", 1);
+
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void givenDifferentCalculationInFlightForSameRepId_whenCoordinateIsInvoked_thenItRunsAfterwards()
+            throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        CompletableFuture<Integer> first = submit(dto(REP_ID, BigDecimal.TEN), () -> {
+            events.add("first started");
+            int result = blockingCalculation();
+            events.add("first finished");
+            return result;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> second = submit(dto(REP_ID, BigDecimal.ONE), () -> {
+            events.add("second started");
+            return calls.incrementAndGet();
+        });
+        awaitCount("queued", 1);
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(events).containsExactly("first started", "first finished", "second started");
+    }
+
+    @Test
+    void givenCalculationForAnotherRepId_whenCoordinateIsInvoked_thenItDoesNotWait() throws Exception {
+        submit(dto(REP_ID, BigDecimal.TEN), this::blockingCalculation);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Integer other = coordinator.coordinate(dto(REP_ID + 1, BigDecimal.TEN), calls::incrementAndGet);
+
+        assertThat(other).isEqualTo(2);
+        assertThat(count("queued")).isZero();
+        release.countDown();
+    }
+
+    @Test
+    void givenFailedCalculation_whenCoordinateIsInvokedAgain_thenCalculationRunsAgain() {
+        CalculateContributionDTO request = dto(REP_ID, BigDecimal.TEN);
+
+        assertThatThrownBy(() -> coordinator.coordinate(request, () -> {
+                    throw new IllegalStateException("MAAT unavailable");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(coordinator.coordinate(request, calls::incrementAndGet)).isEqualTo(1);
+    }
+
+    @Test
+    void givenNoRepId_whenCoordinateIsInvoked_thenCalculationRuns() {
+        assertThat(coordinator.coordinate(dto(null, BigDecimal.TEN), calls::incrementAndGet)).isEqualTo(1);
+    }
+
+    @Test
+    void givenIdenticalReactiveCalculationInFlight_whenCoordinateReactiveIsInvoked_thenResultIsShared() {
+        Sinks.One<Integer> running = Sinks.one();
+        CompletableFuture<Integer> first = coordinator
+                .coordinateReactive(dto(REP_ID, BigDecimal.TEN), () -> {
+                    calls.incrementAndGet();
+                    return running.asMono();
+                })
+                .toFuture();
+        CompletableFuture<Integer> duplicate = coordinator
+                .coordinateReactive(dto(REP_ID, BigDecimal.TEN), () -> Mono.fromSupplier(calls::incrementAndGet))
+                .toFuture();
+
+        running.tryEmitValue(7);
+
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(7);
+        assertThat(duplicate).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(7);
+        assertThat(calls).hasValue(1);
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void givenDifferentReactiveCalculationInFlightForSameRepId_whenCoordinateReactiveIsInvoked_thenItRunsAfterwards() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        Sinks.One<Integer> running = Sinks.one();
+        CompletableFuture<Integer> first = coordinator
+                .coordinateReactive(dto(REP_ID, BigDecimal.TEN), () -> {
+                    events.add("first started");
+                    return running.asMono().doOnNext(result -> events.add("first finished"));
+                })
+                .toFuture();
+        CompletableFuture<Integer> second = coordinator
+                .coordinateReactive(dto(REP_ID, BigDecimal.ONE), () -> Mono.fromSupplier(() -> {
+                    events.add("second started");
+                    return 2;
+                }))
+                .toFuture();
+
+        assertThat(second).isNotDone();
+        assertThat(count("queued")).isEqualTo(1);
+        running.tryEmitValue(1);
+
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(1);
+        assertThat(second).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(2);
+        assertThat(events).containsExactly("first started", "first finished", "second started");
+    }
+
+    @Test
+    void givenCallerGoesAway_whenReactiveCalculationIsQueued_thenItStillRunsInTurn() {
+        Sinks.One<Integer> running = Sinks.one();
+        coordinator
+                .coordinateReactive(dto(REP_ID, BigDecimal.TEN), running::asMono)
+                .subscribe();
+        coordinator
+                .coordinateReactive(dto(REP_ID, BigDecimal.ONE), () -> Mono.fromSupplier(calls::incrementAndGet))
+                .subscribe()
+                .dispose();
+        CompletableFuture<Integer> third = coordinator
+                .coordinateReactive(dto(REP_ID, BigDecimal.ZERO), () -> Mono.fromSupplier(calls::incrementAndGet))
+                .toFuture();
+
+        assertThat(calls).hasValue(0);
+        running.tryEmitValue(1);
+
+        assertThat(third).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(2);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void givenFailedReactiveCalculation_whenCoordinateReactiveIsInvokedAgain_thenCalculationRunsAgain() {
+        CalculateContributionDTO request = dto(REP_ID, BigDecimal.TEN);
+
+        assertThatThrownBy(() -> coordinator
+                        .coordinateReactive(request, () -> Mono.error(new IllegalStateException("MAAT unavailable")))
+                        .block(Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(coordinator
+                        .coordinateReactive(request, () -> Mono.fromSupplier(calls::incrementAndGet))
+                        .block(Duration.ofSeconds(5)))
+                .isEqualTo(1);
+    }
+
+    private CompletableFuture<Integer> submit(CalculateContributionDTO request, Supplier<Integer> calculation) {
+        return CompletableFuture.supplyAsync(() -> coordinator.coordinate(request, calculation), executor);
+    }
+
+    private int blockingCalculation() {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return calls.incrementAndGet();
+    }
+
+    private void awaitCount(String outcome, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(outcome)).isEqualTo(expected);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry
+                .counter(RepIdCalculationCoordinator.COORDINATION_METRIC, "outcome", outcome)
+                .count();
+    }
+
+    private static CalculateContributionDTO dto(Integer repId, BigDecimal monthlyContributions) {
+        return CalculateContributionDTO.builder()
+                .repId(repId)
+                .monthlyContributions(monthlyContributions)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class RequestScopedMemoTest {
+
+    private static final String OPERATION = "get-rep-order";
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestScopedMemo requestScopedMemo;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestScopedMemo = new RequestScopedMemo(meterRegistry);
+        calls = new AtomicInteger();
+        startRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void givenIdenticalLookups_whenGetIsInvoked_thenFirstResultIsReused() {
+        Integer first = requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+        Integer second = requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry
+                        .counter(RequestScopedMemo.DUPLICATES_AVOIDED_METRIC, "operation", OPERATION)
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenDifferentArguments_whenGetIsInvoked_thenEachLookupIsMade() {
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 5678);
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, (Object) null);
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void givenNewRequest_whenGetIsInvoked_thenEarlierResultIsNotReused() {
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+        startRequest();
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void givenNoRequest_whenGetIsInvoked_thenEveryLookupIsMade() {
+        RequestContextHolder.resetRequestAttributes();
+
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void givenCompletedRequest_whenGetIsInvoked_thenEveryLookupIsMade() {
+        ServletRequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        requestAttributes.requestCompleted();
+
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+
+        assertThat(calls).hasValue(2);
+        assertThat(requestScopedMemo.peek(OPERATION, 1234)).isEmpty();
+    }
+
+    @Test
+    void givenFailedLookup_whenGetIsInvokedAgain_thenLookupIsRetried() {
+        assertThatThrownBy(() -> requestScopedMemo.get(
+                        OPERATION,
+                        () -> {
+                            throw new IllegalStateException("MAAT unavailable");
+                        },
+                        1234))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234)).isEqualTo(1);
+    }
+
+    @Test
+    void givenInvalidatedOperation_whenGetIsInvoked_thenLookupIsMadeAgain() {
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+        requestScopedMemo.invalidate(OPERATION);
+        requestScopedMemo.get(OPERATION, calls::incrementAndGet, 1234);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
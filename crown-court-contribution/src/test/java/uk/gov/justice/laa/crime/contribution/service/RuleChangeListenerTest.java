@@ -0,0 +1,135 @@
+package uk.gov.justice.laa.crime.contribution.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import uk.gov.justice.laa.crime.contribution.config.RuleReloadConfiguration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+@ExtendWith(MockitoExtension.class)
+class RuleChangeListenerTest {
+
+    @Mock
+    private CorrespondenceRuleIndex correspondenceRuleIndex;
+
+    @Mock
+    private AppealContributionRules appealContributionRules;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RuleChangeListener ruleChangeListener;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        ruleChangeListener = new RuleChangeListener(
+                new DataSourceProperties(),
+                new RuleReloadConfiguration(),
+                correspondenceRuleIndex,
+                appealContributionRules,
+                meterRegistry);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+    }
+
+    @Test
+    void givenTemplatesChanged_whenNotificationIsReceived_thenOnlyCorrespondenceRulesAreReloaded() throws SQLException {
+        when(resultSet.getString(1)).thenReturn("correspondence-1");
+
+        ruleChangeListener.onNotifications(connection, List.of("correspondence_templates"));
+
+        verify(correspondenceRuleIndex).reload();
+        verify(appealContributionRules, never()).reload();
+        assertThat(count("correspondence", RuleChangeListener.NOTIFICATION, "success"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void givenUnknownTable_whenNotificationIsReceived_thenAllRulesAreReloaded() throws SQLException {
+        when(resultSet.getString(1)).thenReturn("correspondence-1", "appeal-1");
+
+        ruleChangeListener.onNotifications(connection, List.of("unknown"));
+
+        verify(correspondenceRuleIndex).reload();
+        verify(appealContributionRules).reload();
+    }
+
+    @Test
+    void givenChecksumChanged_whenCheckForChangesIsInvoked_thenOnlyChangedRulesAreReloaded() throws SQLException {
+        when(resultSet.getString(1))
+                .thenReturn(
+                        "correspondence-1", "appeal-1", "correspondence-1", "appeal-1", "correspondence-1", "appeal-2");
+
+        ruleChangeListener.checkForChanges(connection);
+        ruleChangeListener.checkForChanges(connection);
+        ruleChangeListener.checkForChanges(connection);
+
+        verify(correspondenceRuleIndex, times(1)).reload();
+        verify(appealContributionRules, times(2)).reload();
+        assertThat(count("appeal_contribution", RuleChangeListener.CHECKSUM, "success"))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void givenNotificationReload_whenChecksumIsUnchanged_thenRulesAreNotReloadedAgain() throws SQLException {
+        when(resultSet.getString(1)).thenReturn("appeal-1", "correspondence-1", "appeal-1");
+
+        ruleChangeListener.onNotifications(connection, List.of("contrib_appeal_rules"));
+        ruleChangeListener.checkForChanges(connection);
+
+        verify(appealContributionRules, times(1)).reload();
+        verify(correspondenceRuleIndex, times(1)).reload();
+    }
+
+    @Test
+    void givenReloadFails_whenCheckForChangesIsInvoked_thenReloadIsRetried() throws SQLException {
+        when(resultSet.getString(1)).thenReturn("correspondence-1", "appeal-1", "correspondence-1", "appeal-1");
+        doThrow(new IllegalStateException("Unrecognised appeal contribution rule"))
+                .doNothing()
+                .when(appealContributionRules)
+                .reload();
+
+        ruleChangeListener.checkForChanges(connection);
+        ruleChangeListener.checkForChanges(connection);
+
+        verify(correspondenceRuleIndex, times(1)).reload();
+        verify(appealContributionRules, times(2)).reload();
+        assertThat(count("appeal_contribution", RuleChangeListener.CHECKSUM, "failure"))
+                .isEqualTo(1);
+        assertThat(count("appeal_contribution", RuleChangeListener.CHECKSUM, "success"))
+                .isEqualTo(1);
+    }
+
+    private double count(String rules, String trigger, String outcome) {
+        return meterRegistry
+                .counter(RuleChangeListener.RELOAD_METRIC, "rules", rules, "trigger", trigger, "outcome", outcome)
+                .count();
+    }
+}
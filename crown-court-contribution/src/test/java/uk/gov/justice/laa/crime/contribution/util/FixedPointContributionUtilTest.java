@@ -0,0 +1,145 @@
+package uk.gov.justice.laa.crime.contribution.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FixedPointContributionUtilTest {
+
+    private static final long MONTHLY_POUNDS_DIVISOR = 12_000_000L;
+    private static final BigDecimal[] MINIMUMS = {
+        BigDecimal.ZERO, BigDecimal.valueOf(20), BigDecimal.valueOf(8750, 2), BigDecimal.valueOf(500)
+    };
+
+    @Test
+    void givenIncomeGridAndWholePercentages_whenCalculated_thenMatchesDecimalImplementation() {
+        List<String> mismatches = new ArrayList<>();
+        for (long incomePence = -100_000L; incomePence <= 20_000_000L; incomePence += 7_919L) {
+            for (long basisPoints = 0; basisPoints <= 10_000L; basisPoints += 100L) {
+                compare(incomePence, basisPoints, MINIMUMS[(int) (incomePence & 3)], mismatches);
+            }
+        }
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    void givenIncomesOnPoundBoundaries_whenCalculated_thenMatchesDecimalImplementation() {
+        List<String> mismatches = new ArrayList<>();
+        Random random = new Random(20_240_101L);
+        for (int i = 0; i < 40_000; i++) {
+            long basisPoints = 1 + random.nextInt(10_000);
+            long pounds = 1 + random.nextInt(50_000);
+            // the smallest income that reaches the next whole pound, and the income either side of it
+            long boundaryIncome = Math.ceilDiv(pounds * MONTHLY_POUNDS_DIVISOR, basisPoints);
+            for (long incomePence = boundaryIncome - 1; incomePence <= boundaryIncome + 1; incomePence++) {
+                compare(incomePence, basisPoints, MINIMUMS[i & 3], mismatches);
+            }
+        }
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    void givenRandomInputsAcrossSupportedRange_whenCalculated_thenMatchesDecimalImplementation() {
+        List<String> mismatches = new ArrayList<>();
+        Random random = new Random(42L);
+        for (int i = 0; i < 50_000; i++) {
+            long basisPoints = random.nextLong(-1_000_000L, 1_000_001L);
+            long incomePence = random.nextLong(-1_000_000_000_000L, 1_000_000_000_001L);
+            if (!FixedPointContributionUtil.isSupported(incomePence, basisPoints)) {
+                incomePence = incomePence % 1_000_000_000L;
+            }
+            compare(incomePence, basisPoints, BigDecimal.valueOf(random.nextInt(100_000), 2), mismatches);
+        }
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    void givenMonthlyAmountsNearTheSupportedLimit_whenCalculated_thenMatchesDecimalImplementation() {
+        List<String> mismatches = new ArrayList<>();
+        Random random = new Random(536_870_912L);
+        for (int i = 0; i < 40_000; i++) {
+            // from 100% up, so the income stays within the supported range
+            long basisPoints = random.nextLong(10_000L, 1_000_001L);
+            long pounds = random.nextLong(1L << 28, 1L << 29);
+            long boundaryIncome = Math.ceilDiv(pounds * MONTHLY_POUNDS_DIVISOR, basisPoints);
+            for (long incomePence = boundaryIncome - 1; incomePence <= boundaryIncome + 1; incomePence++) {
+                compare(incomePence, basisPoints, MINIMUMS[i & 3], mismatches);
+            }
+        }
+        assertThat(mismatches).isEmpty();
+    }
+
+    @Test
+    void givenMonthlyAmountsAboveTheSupportedLimit_whenCalculated_thenDecimalImplementationIsUsed() {
+        // the double round trip in the decimal implementation rounds each of these up to the next whole pound
+        long[][] inputs = {{499_999_666_667L, 999_997L}, {499_993_888_889L, 999_991L}, {499_995_909_091L, 999_989L}};
+        List<String> mismatches = new ArrayList<>();
+        for (long[] input : inputs) {
+            assertThat(FixedPointContributionUtil.isSupported(input[0], input[1])).isFalse();
+            compare(input[0], input[1], BigDecimal.ZERO, mismatches);
+        }
+        assertThat(mismatches).isEmpty();
+        assertThat(CalculateContributionUtil.calculateMonthlyContribution(
+                        BigDecimal.valueOf(499_999_666_667L, 2), BigDecimal.valueOf(999_997L, 2), BigDecimal.ZERO))
+                .isEqualByComparingTo("41666513889");
+    }
+
+    @Test
+    void givenInputsOutsideSupportedRange_whenCalculated_thenDecimalImplementationIsUsed() {
+        BigDecimal income = new BigDecimal("12345.678");
+        BigDecimal percent = BigDecimal.TEN;
+        BigDecimal minimum = BigDecimal.valueOf(20);
+
+        assertThat(FixedPointContributionUtil.toPence(income)).isEqualTo(FixedPointContributionUtil.NOT_REPRESENTABLE);
+        assertThat(CalculateContributionUtil.calculateMonthlyContribution(income, percent, minimum))
+                .isEqualTo(CalculateContributionUtil.calculateMonthlyContributionDecimal(income, percent, minimum));
+        assertThat(CalculateContributionUtil.calculateUpliftedMonthlyAmount(income, percent, minimum))
+                .isEqualTo(CalculateContributionUtil.calculateUpliftedMonthlyAmountDecimal(income, percent, minimum));
+    }
+
+    @Test
+    void givenValueTooLargeForLong_whenConvertedToPence_thenNotRepresentableIsReturned() {
+        assertThat(FixedPointContributionUtil.toPence(new BigDecimal("1E+17")))
+                .isEqualTo(FixedPointContributionUtil.NOT_REPRESENTABLE);
+        assertThat(FixedPointContributionUtil.isSupported(FixedPointContributionUtil.NOT_REPRESENTABLE, 1000L))
+                .isFalse();
+    }
+
+    @Test
+    void givenScaledInputs_whenCalculateMonthlyContributionIsInvoked_thenPenceAreReturned() {
+        assertThat(FixedPointContributionUtil.toPence(new BigDecimal("10000"))).isEqualTo(1_000_000L);
+        assertThat(FixedPointContributionUtil.toBasisPoints(new BigDecimal("12.5"))).isEqualTo(1_250L);
+        assertThat(FixedPointContributionUtil.calculateMonthlyContribution(1_000_000L, 1_000L, 8_000L))
+                .isEqualTo(8_300L);
+        assertThat(FixedPointContributionUtil.calculateMonthlyContribution(1_000_000L, 1_000L, 10_000L))
+                .isZero();
+        assertThat(FixedPointContributionUtil.calculateUpliftedMonthlyAmount(1_000_000L, 1_000L, 10_000L))
+                .isEqualTo(10_000L);
+    }
+
+    private static void compare(long incomePence, long basisPoints, BigDecimal minimum, List<String> mismatches) {
+        BigDecimal income = BigDecimal.valueOf(incomePence, 2);
+        BigDecimal percent = BigDecimal.valueOf(basisPoints, 2);
+
+        BigDecimal expectedMonthly =
+                CalculateContributionUtil.calculateMonthlyContributionDecimal(income, percent, minimum);
+        BigDecimal actualMonthly = CalculateContributionUtil.calculateMonthlyContribution(income, percent, minimum);
+        if (!expectedMonthly.equals(actualMonthly)) {
+            mismatches.add("monthly(%s, %s, %s): expected %s but was %s"
+                    .formatted(income, percent, minimum, expectedMonthly, actualMonthly));
+        }
+
+        BigDecimal expectedUplifted =
+                CalculateContributionUtil.calculateUpliftedMonthlyAmountDecimal(income, percent, minimum);
+        BigDecimal actualUplifted = CalculateContributionUtil.calculateUpliftedMonthlyAmount(income, percent, minimum);
+        if (!expectedUplifted.equals(actualUplifted)) {
+            mismatches.add("uplifted(%s, %s, %s): expected %s but was %s"
+                    .formatted(income, percent, minimum, expectedUplifted, actualUplifted));
+        }
+    }
+}
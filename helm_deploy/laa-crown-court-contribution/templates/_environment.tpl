@@ -17,6 +17,14 @@ env:
     value: {{ .Values.sentry.sampleRate | quote }}
   - name: LOG_LEVEL
     value: {{ .Values.logging.level }}
+  - name: VIRTUAL_THREADS_ENABLED
+    value: {{ .Values.java.virtualThreads | default false | quote }}
+  - name: CONTRIBUTION_PIPELINE_MODE
+    value: {{ .Values.contribution.pipelineMode | default "blocking" | quote }}
+  - name: MAAT_HEDGING_ENABLED
+    value: {{ .Values.contribution.hedgeMaatGets | default false | quote }}
+  - name: IDEMPOTENCY_STORE
+    value: {{ .Values.contribution.idempotencyStore | default "memory" | quote }}
   - name: MAAT_API_BASE_URL
     value: {{ .Values.maatApi.baseUrl }}
   - name: MAAT_API_OAUTH_URL